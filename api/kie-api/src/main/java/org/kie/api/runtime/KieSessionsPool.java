@@ -65,4 +65,36 @@ public interface KieSessionsPool {
      * Shutdown this pool and clean up all the resources
      */
     void shutdown();
+
+    /**
+     * Disposes the sessions of this pool that have not been used for longer than its maximum idle time, if any.
+     * The pool already does it when a session is taken from or pushed back into it, so this is only needed to shrink
+     * a pool that is no longer used.
+     */
+    void evictIdleSessions();
+
+    /**
+     * @return the number of sessions currently created by this pool, both in use and idle
+     */
+    int getSize();
+
+    /**
+     * @return the number of sessions currently available in this pool
+     */
+    int getIdleSize();
+
+    /**
+     * @return the number of requests served with a session already existing in this pool
+     */
+    long getHitsCount();
+
+    /**
+     * @return the number of requests that required the creation of a new session
+     */
+    long getMissesCount();
+
+    /**
+     * @return the total nanoseconds spent by the requesting threads waiting for a session to be released
+     */
+    long getWaitTime();
 }
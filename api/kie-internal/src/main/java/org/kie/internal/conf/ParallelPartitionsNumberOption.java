@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.internal.conf;
+
+import org.kie.api.conf.SingleValueKieBaseOption;
+
+/**
+ * A class for the number of partitions evaluated in parallel when the multithread evaluation is enabled.
+ * If 0 or a negative number is set, the number of partitions is the number of available processors.
+ *
+ * drools.parallelPartitionsNumber = &lt;0...n&gt;
+ *
+ * DEFAULT = 0
+ */
+public class ParallelPartitionsNumberOption implements SingleValueKieBaseOption {
+
+    private static final long serialVersionUID = 510l;
+
+    /**
+     * The property name for the number of parallel partitions
+     */
+    public static final String PROPERTY_NAME = "drools.parallelPartitionsNumber";
+
+    /**
+     * The default value for this option
+     */
+    public static final int DEFAULT_VALUE = 0;
+
+    /**
+     * number of partitions
+     */
+    private final int partitionsNumber;
+
+    /**
+     * Private constructor to enforce the use of the factory method
+     * @param partitionsNumber
+     */
+    private ParallelPartitionsNumberOption( int partitionsNumber ) {
+        this.partitionsNumber = partitionsNumber;
+    }
+
+    /**
+     * This is a factory method for this parallel partitions number configuration.
+     * The factory method is a best practice for the case where the
+     * actual object construction is changed in the future.
+     *
+     * @param partitionsNumber the number of partitions evaluated in parallel
+     *
+     * @return the actual type safe parallel partitions number configuration.
+     */
+    public static ParallelPartitionsNumberOption get( int partitionsNumber ) {
+        return new ParallelPartitionsNumberOption( partitionsNumber );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    /**
+     * Returns the number of partitions evaluated in parallel
+     *
+     * @return
+     */
+    public int getPartitionsNumber() {
+        return partitionsNumber;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + partitionsNumber;
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if ( this == obj ) { return true; }
+        if ( obj == null ) { return false; }
+        if ( getClass() != obj.getClass() ) { return false; }
+        ParallelPartitionsNumberOption other = (ParallelPartitionsNumberOption) obj;
+        if ( partitionsNumber != other.partitionsNumber ) {
+            return false;
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.internal.conf;
+
+import org.kie.api.conf.SingleValueKieBaseOption;
+
+/**
+ * An Enum for the synchronous jitting option: when enabled, the constraints reaching the jitting
+ * threshold are compiled in the evaluating thread instead of in a background one.
+ *
+ * drools.synchronousJitting = &lt;true|false&gt;
+ *
+ * DEFAULT = false
+ */
+public enum SynchronousJittingOption implements SingleValueKieBaseOption {
+
+    YES(true),
+    NO(false);
+
+    /**
+     * The property name for the synchronous jitting option
+     */
+    public static final String PROPERTY_NAME = "drools.synchronousJitting";
+
+    private boolean value;
+
+    SynchronousJittingOption( final boolean value ) {
+        this.value = value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public boolean isSynchronousJitting() {
+        return this.value;
+    }
+
+}
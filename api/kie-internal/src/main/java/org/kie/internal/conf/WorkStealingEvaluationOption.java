@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.internal.conf;
+
+import org.kie.api.conf.SingleValueKieBaseOption;
+
+/**
+ * An Enum for the work stealing evaluation option: when enabled, the partitions of a multithread
+ * evaluation are claimed by the evaluating threads as soon as they get idle.
+ *
+ * drools.workStealingEvaluation = &lt;true|false&gt;
+ *
+ * DEFAULT = false
+ */
+public enum WorkStealingEvaluationOption implements SingleValueKieBaseOption {
+
+    YES(true),
+    NO(false);
+
+    /**
+     * The property name for the work stealing evaluation option
+     */
+    public static final String PROPERTY_NAME = "drools.workStealingEvaluation";
+
+    private boolean value;
+
+    WorkStealingEvaluationOption( final boolean value ) {
+        this.value = value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public boolean isWorkStealingEvaluation() {
+        return this.value;
+    }
+
+}
@@ -46,6 +46,7 @@ import org.drools.core.impl.InternalKieContainer;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.impl.KnowledgeBaseImpl;
 import org.drools.core.impl.RuleUnitExecutorSession;
+import org.drools.core.impl.SessionsPoolConfiguration;
 import org.drools.core.impl.StatefulKnowledgeSessionImpl;
 import org.drools.core.impl.StatefulSessionPool;
 import org.drools.core.impl.StatelessKnowledgeSessionImpl;
@@ -460,17 +461,21 @@ public class KieContainerImpl
     }
 
     public KieContainerSessionsPool newKieSessionsPool( int initialSize) {
-        return new KieContainerSessionsPoolImpl(this, initialSize);
+        return newKieSessionsPool( new SessionsPoolConfiguration( initialSize ) );
     }
 
-    StatefulSessionPool createKieSessionsPool(String kSessionName, KieSessionConfiguration conf, Environment env, int initialSize, boolean stateless) {
+    public KieContainerSessionsPool newKieSessionsPool( SessionsPoolConfiguration configuration ) {
+        return new KieContainerSessionsPoolImpl(this, configuration);
+    }
+
+    StatefulSessionPool createKieSessionsPool(String kSessionName, KieSessionConfiguration conf, Environment env, SessionsPoolConfiguration configuration, boolean stateless) {
         KieSessionModel kSessionModel = kSessionName != null ? getKieSessionModel(kSessionName) : findKieSessionModel(false);
         if ( kSessionModel == null ) {
             log.error("Unknown KieSession name: " + kSessionName);
             return null;
         }
         KnowledgeBaseImpl kBase = (KnowledgeBaseImpl) getKieBaseFromKieSessionModel( kSessionModel );
-        return kBase == null ? null : new StatefulSessionPool(kBase, initialSize, () -> {
+        return kBase == null ? null : new StatefulSessionPool(kBase, configuration, () -> {
             SessionConfiguration sessConf = conf != null ? (SessionConfiguration) conf : kBase.getSessionConfiguration();
             StatefulKnowledgeSessionImpl kSession = stateless ?
                     kBase.internalCreateStatefulKnowledgeSession( env, sessConf ).setStateless( true ) :
@@ -17,6 +17,7 @@
 package org.drools.compiler.kie.builder.impl;
 
 import org.drools.core.impl.AbstractKieSessionsPool;
+import org.drools.core.impl.SessionsPoolConfiguration;
 import org.drools.core.impl.StatefulSessionPool;
 import org.drools.core.impl.StatelessKnowledgeSessionImpl;
 import org.kie.api.runtime.KieContainerSessionsPool;
@@ -28,8 +29,8 @@ public class KieContainerSessionsPoolImpl extends AbstractKieSessionsPool implem
 
     private final KieContainerImpl kContainer;
 
-    KieContainerSessionsPoolImpl( KieContainerImpl kContainer, int initialSize ) {
-        super(initialSize);
+    KieContainerSessionsPoolImpl( KieContainerImpl kContainer, SessionsPoolConfiguration configuration ) {
+        super(configuration);
         this.kContainer = kContainer;
     }
 
@@ -75,7 +76,7 @@ public class KieContainerSessionsPoolImpl extends AbstractKieSessionsPool implem
 
     @Override
     protected StatefulSessionPool createStatefulSessionPool( String kSessionName, KieSessionConfiguration conf, boolean stateless ) {
-        return kContainer.createKieSessionsPool(kSessionName, conf, environment, initialSize, stateless);
+        return kContainer.createKieSessionsPool(kSessionName, conf, environment, configuration, stateless);
     }
 
     @Override
@@ -35,12 +35,15 @@ import org.kie.internal.conf.IndexLeftBetaMemoryOption;
 import org.kie.internal.conf.IndexPrecedenceOption;
 import org.kie.internal.conf.IndexRightBetaMemoryOption;
 import org.kie.internal.conf.MaxThreadsOption;
+import org.kie.internal.conf.ParallelPartitionsNumberOption;
 import org.kie.internal.conf.MultithreadEvaluationOption;
 import org.kie.internal.conf.PermGenThresholdOption;
 import org.kie.internal.conf.SequentialAgendaOption;
 import org.kie.internal.conf.SequentialOption;
 import org.kie.internal.conf.ShareAlphaNodesOption;
 import org.kie.internal.conf.ShareBetaNodesOption;
+import org.kie.internal.conf.SynchronousJittingOption;
+import org.kie.internal.conf.WorkStealingEvaluationOption;
 
 public class KnowledgeBaseConfigurationTest {
 
@@ -416,6 +419,30 @@ public class KnowledgeBaseConfigurationTest {
                       config.getProperty( MaxThreadsOption.PROPERTY_NAME ) );
     }
     
+    @Test
+    public void testParallelPartitionsNumberConfiguration() {
+        // setting the option using the type safe method
+        config.setOption( ParallelPartitionsNumberOption.get(4) );
+
+        // checking the type safe getOption() method
+        assertEquals( ParallelPartitionsNumberOption.get(4),
+                      config.getOption( ParallelPartitionsNumberOption.class ) );
+        // checking the string based getProperty() method
+        assertEquals( "4",
+                      config.getProperty( ParallelPartitionsNumberOption.PROPERTY_NAME ) );
+
+        // setting the options using the string based setProperty() method
+        config.setProperty( ParallelPartitionsNumberOption.PROPERTY_NAME,
+                            "6" );
+
+        // checking the type safe getOption() method
+        assertEquals( ParallelPartitionsNumberOption.get(6),
+                      config.getOption( ParallelPartitionsNumberOption.class ) );
+        // checking the string based getProperty() method
+        assertEquals( "6",
+                      config.getProperty( ParallelPartitionsNumberOption.PROPERTY_NAME ) );
+    }
+
     @Test
     public void testMultithreadEvaluationConfiguration() {
         // setting the option using the type safe method
@@ -440,6 +467,54 @@ public class KnowledgeBaseConfigurationTest {
                       config.getProperty( MultithreadEvaluationOption.PROPERTY_NAME ) );
     }
     
+    @Test
+    public void testSynchronousJittingConfiguration() {
+        // setting the option using the type safe method
+        config.setOption( SynchronousJittingOption.YES );
+
+        // checking the type safe getOption() method
+        assertEquals( SynchronousJittingOption.YES,
+                      config.getOption( SynchronousJittingOption.class ) );
+        // checking the string based getProperty() method
+        assertEquals( "true",
+                      config.getProperty( SynchronousJittingOption.PROPERTY_NAME ) );
+
+        // setting the options using the string based setProperty() method
+        config.setProperty( SynchronousJittingOption.PROPERTY_NAME,
+                            "false" );
+
+        // checking the type safe getOption() method
+        assertEquals( SynchronousJittingOption.NO,
+                      config.getOption( SynchronousJittingOption.class ) );
+        // checking the string based getProperty() method
+        assertEquals( "false",
+                      config.getProperty( SynchronousJittingOption.PROPERTY_NAME ) );
+    }
+
+    @Test
+    public void testWorkStealingEvaluationConfiguration() {
+        // setting the option using the type safe method
+        config.setOption( WorkStealingEvaluationOption.YES );
+
+        // checking the type safe getOption() method
+        assertEquals( WorkStealingEvaluationOption.YES,
+                      config.getOption( WorkStealingEvaluationOption.class ) );
+        // checking the string based getProperty() method
+        assertEquals( "true",
+                      config.getProperty( WorkStealingEvaluationOption.PROPERTY_NAME ) );
+
+        // setting the options using the string based setProperty() method
+        config.setProperty( WorkStealingEvaluationOption.PROPERTY_NAME,
+                            "false" );
+
+        // checking the type safe getOption() method
+        assertEquals( WorkStealingEvaluationOption.NO,
+                      config.getOption( WorkStealingEvaluationOption.class ) );
+        // checking the string based getProperty() method
+        assertEquals( "false",
+                      config.getProperty( WorkStealingEvaluationOption.PROPERTY_NAME ) );
+    }
+    
     @Test
     public void testRulebaseSetUpdateHandler() {
         // this test is to avoid a regression, since update handler was supposed to be disabled in Drools 5.
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.drools.compiler.CommonTestMethodBase;
+import org.drools.compiler.Person;
+import org.drools.compiler.Primitives;
+import org.drools.compiler.rule.builder.util.AccumulateUtil;
+import org.drools.core.definitions.rule.impl.RuleImpl;
+import org.drools.core.rule.Accumulate;
+import org.drools.core.rule.Pattern;
+import org.drools.core.rule.RuleConditionElement;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AccumulateMinMaxTest extends CommonTestMethodBase {
+
+    @Test
+    public void testMinMaxWithRetractionsAndUpdates() {
+        String drl =
+                "package org.drools.compiler.test;\n" +
+                "import " + Person.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n" +
+                "rule R when\n" +
+                "    accumulate( Person( $a : age ); $max : maxI( $a ), $min : minI( $a ), $maxL : maxL( $a ), $minD : minD( $a ) )\n" +
+                "then\n" +
+                "    list.add( $max + \" \" + $min + \" \" + $maxL + \" \" + $minD );\n" +
+                "end\n";
+
+        KieBase kbase = loadKnowledgeBaseFromString( drl );
+        // the typed max and min are reversed instead of accumulating the whole group again
+        assertTrue( getAccumulate( kbase, "R" ).supportsReverse() );
+
+        KieSession ksession = kbase.newKieSession();
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        Person mark = new Person( "Mark", 37 );
+        FactHandle markFh = ksession.insert( mark );
+        FactHandle edsonFh = ksession.insert( new Person( "Edson", 35 ) );
+        FactHandle marioFh = ksession.insert( new Person( "Mario", 40 ) );
+        ksession.insert( new Person( "Mario2", 40 ) );
+        ksession.fireAllRules();
+        assertEquals( "40 35 40 35.0", list.get( list.size() - 1 ) );
+
+        // the max is still there until all its occurrences are retracted
+        ksession.delete( marioFh );
+        ksession.fireAllRules();
+        assertEquals( "40 35 40 35.0", list.get( list.size() - 1 ) );
+
+        ksession.delete( edsonFh );
+        ksession.fireAllRules();
+        assertEquals( "40 37 40 37.0", list.get( list.size() - 1 ) );
+
+        mark.setAge( 50 );
+        ksession.update( markFh, mark );
+        ksession.fireAllRules();
+        assertEquals( "50 40 50 40.0", list.get( list.size() - 1 ) );
+
+        ksession.dispose();
+    }
+
+    @Test
+    public void testLongAndDoubleMinMaxWithRetractionsAndUpdates() {
+        String drl =
+                "package org.drools.compiler.test;\n" +
+                "import " + Primitives.class.getCanonicalName() + ";\n" +
+                "global java.util.List list;\n" +
+                "rule R when\n" +
+                "    accumulate( Primitives( $l : longPrimitive, $d : doublePrimitive );\n" +
+                "                $maxL : maxL( $l ), $minL : minL( $l ), $maxD : maxD( $d ), $minD : minD( $d ) )\n" +
+                "then\n" +
+                "    list.add( $maxL + \" \" + $minL + \" \" + $maxD + \" \" + $minD );\n" +
+                "end\n";
+
+        KieBase kbase = loadKnowledgeBaseFromString( drl );
+        assertTrue( getAccumulate( kbase, "R" ).supportsReverse() );
+
+        KieSession ksession = kbase.newKieSession();
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        Primitives p1 = primitives( 10L, 1.5 );
+        FactHandle fh1 = ksession.insert( p1 );
+        FactHandle fh2 = ksession.insert( primitives( 20L, 0.5 ) );
+        ksession.insert( primitives( 15L, 2.5 ) );
+        ksession.fireAllRules();
+        assertEquals( "20 10 2.5 0.5", list.get( list.size() - 1 ) );
+
+        ksession.delete( fh2 );
+        ksession.fireAllRules();
+        assertEquals( "15 10 2.5 1.5", list.get( list.size() - 1 ) );
+
+        p1.setLongPrimitive( 30L );
+        p1.setDoublePrimitive( 3.5 );
+        ksession.update( fh1, p1 );
+        ksession.fireAllRules();
+        assertEquals( "30 15 3.5 2.5", list.get( list.size() - 1 ) );
+
+        ksession.dispose();
+    }
+
+    @Test
+    public void testNumericMinMaxKeepTheirResultType() {
+        // max and min of a number still resolve to maxN and minN, returning a Number, the typed variants are opt-in
+        assertEquals( "maxN", AccumulateUtil.getFunctionName( () -> int.class, "max" ) );
+        assertEquals( "minN", AccumulateUtil.getFunctionName( () -> Long.class, "min" ) );
+        assertEquals( "maxN", AccumulateUtil.getFunctionName( () -> double.class, "max" ) );
+        assertEquals( "max", AccumulateUtil.getFunctionName( () -> String.class, "max" ) );
+    }
+
+    private static Primitives primitives( long l, double d ) {
+        Primitives primitives = new Primitives();
+        primitives.setLongPrimitive( l );
+        primitives.setDoublePrimitive( d );
+        return primitives;
+    }
+
+    private static Accumulate getAccumulate( KieBase kbase, String ruleName ) {
+        RuleImpl rule = (RuleImpl) kbase.getRule( "org.drools.compiler.test", ruleName );
+        for (RuleConditionElement element : rule.getLhs().getChildren()) {
+            if (element instanceof Pattern && ((Pattern) element).getSource() instanceof Accumulate) {
+                return (Accumulate) ((Pattern) element).getSource();
+            }
+        }
+        throw new IllegalStateException( "No accumulate in rule " + ruleName );
+    }
+}
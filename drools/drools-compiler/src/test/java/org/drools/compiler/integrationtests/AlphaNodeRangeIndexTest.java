@@ -0,0 +1,239 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.drools.compiler.CommonTestMethodBase;
+import org.drools.compiler.Person;
+import org.drools.compiler.Primitives;
+import org.drools.core.base.ClassObjectType;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.reteoo.AlphaRangeIndex;
+import org.drools.core.reteoo.CompositeObjectSinkAdapter;
+import org.drools.core.reteoo.EntryPointNode;
+import org.drools.core.reteoo.ObjectTypeNode;
+import org.drools.core.rule.EntryPointId;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class AlphaNodeRangeIndexTest extends CommonTestMethodBase {
+
+    private static final String[] OPERATORS = { ">", ">=", "<", "<=" };
+
+    @Test
+    public void testIntRangeIndex() throws Exception {
+        KieBase kbase = loadKnowledgeBaseFromString( getRangeRules( "Person", "age", "" ) );
+        assertRangeIndexed( kbase, Person.class );
+        kbase = SerializationHelper.serializeObject( kbase );
+        assertRangeIndexed( kbase, Person.class );
+
+        KieSession ksession = kbase.newKieSession();
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        int[] ages = { -5, 0, 5, 10, 55, 100, 105 };
+        List<String> expected = new ArrayList<String>();
+        for (int age : ages) {
+            ksession.insert( new Person( "p" + age, age ) );
+            addExpected( expected, "p" + age, age );
+        }
+        ksession.fireAllRules();
+
+        assertMatches( expected, list );
+        ksession.dispose();
+    }
+
+    @Test
+    public void testDoubleRangeIndex() {
+        KieBase kbase = loadKnowledgeBaseFromString( getRangeRules( "Primitives", "doublePrimitive", ".0" ) );
+        assertRangeIndexed( kbase, Primitives.class );
+
+        KieSession ksession = kbase.newKieSession();
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        double[] values = { -0.5, -0.0, 0.0, 9.99, 10.0, 10.01, 100.0, Double.NaN, Double.POSITIVE_INFINITY };
+        List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < values.length; i++) {
+            Primitives p = new Primitives();
+            p.setDoublePrimitive( values[i] );
+            p.setStringAttribute( "d" + i );
+            ksession.insert( p );
+            addExpected( expected, "d" + i, values[i] );
+        }
+        ksession.fireAllRules();
+
+        assertMatches( expected, list );
+        ksession.dispose();
+    }
+
+    @Test
+    public void testModifyWithRangeIndex() {
+        KieBase kbase = loadKnowledgeBaseFromString( getRangeRules( "Person", "age", "" ) );
+        KieSession ksession = kbase.newKieSession();
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        Person person = new Person( "p", 15 );
+        FactHandle fh = ksession.insert( person );
+        ksession.fireAllRules();
+
+        List<String> expected = new ArrayList<String>();
+        addExpected( expected, "p", 15 );
+        assertMatches( expected, list );
+
+        list.clear();
+        person.setAge( 60 );
+        ksession.update( fh, person );
+        ksession.fireAllRules();
+
+        expected.clear();
+        addExpected( expected, "p", 60 );
+        assertMatches( expected, list );
+        ksession.dispose();
+    }
+
+    @Test
+    public void testPropertyReactiveModifyWithRangeIndex() {
+        String drl = "import " + Person.class.getCanonicalName() + ";\n" +
+                     "declare Person @propertyReactive end\n" +
+                     getRangeRules( "Person", "age", "" ) +
+                     "rule changeLikes when\n" +
+                     "    $p : Person( likes == null )\n" +
+                     "then\n" +
+                     "    modify( $p ) { setLikes( \"cheese\" ) }\n" +
+                     "end\n" +
+                     "rule changeAge when\n" +
+                     "    $p : Person( likes == \"cheese\", age == 15 )\n" +
+                     "then\n" +
+                     "    modify( $p ) { setAge( 45 ) }\n" +
+                     "end\n";
+
+        KieBase kbase = loadKnowledgeBaseFromString( drl );
+        KieSession ksession = kbase.newKieSession();
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        ksession.insert( new Person( "p", 15 ) );
+        ksession.fireAllRules();
+
+        // the modification of likes must not re-fire the range rules, the one of age must
+        List<String> expected = new ArrayList<String>();
+        addExpected( expected, "p", 15 );
+        addExpected( expected, "p", 45 );
+        assertMatches( expected, list );
+        ksession.dispose();
+    }
+
+    @Test
+    public void testNonExactLiteralIsNotIndexed() {
+        // an int field compared with a decimal literal must keep the original constraint semantics
+        StringBuilder sb = new StringBuilder();
+        sb.append( "import " ).append( Person.class.getCanonicalName() ).append( ";\n" );
+        sb.append( "global java.util.List list;\n" );
+        for (int i = 0; i < 6; i++) {
+            sb.append( "rule R" ).append( i ).append( " when\n" )
+              .append( "    $p : Person( age > " ).append( i * 10 ).append( ".5 )\n" )
+              .append( "then\n" )
+              .append( "    list.add( $p.getName() + \" R" ).append( i ).append( "\" );\n" )
+              .append( "end\n" );
+        }
+
+        KieSession ksession = loadKnowledgeBaseFromString( sb.toString() ).newKieSession();
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+
+        ksession.insert( new Person( "p", 30 ) );
+        ksession.fireAllRules();
+
+        List<String> expected = new ArrayList<String>();
+        for (int i = 0; i < 6; i++) {
+            if ( 30 > i * 10 + 0.5 ) {
+                expected.add( "p R" + i );
+            }
+        }
+        assertMatches( expected, list );
+        ksession.dispose();
+    }
+
+    private static String getRangeRules( String type, String field, String suffix ) {
+        StringBuilder sb = new StringBuilder();
+        sb.append( "import " ).append( Person.class.getCanonicalName() ).append( ";\n" );
+        sb.append( "import " ).append( Primitives.class.getCanonicalName() ).append( ";\n" );
+        sb.append( "global java.util.List list;\n" );
+        for (int op = 0; op < OPERATORS.length; op++) {
+            for (int i = 0; i <= 100; i += 10) {
+                String name = getRuleName( op, i );
+                sb.append( "rule " ).append( name ).append( " when\n" )
+                  .append( "    $f : " ).append( type ).append( "( " ).append( field ).append( " " )
+                  .append( OPERATORS[op] ).append( " " ).append( i ).append( suffix ).append( " )\n" )
+                  .append( "then\n" )
+                  .append( "    list.add( " ).append( "Person".equals( type ) ? "$f.getName()" : "$f.getStringAttribute()" )
+                  .append( " + \" " ).append( name ).append( "\" );\n" )
+                  .append( "end\n" );
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String getRuleName( int op, int value ) {
+        return "R" + op + "_" + value;
+    }
+
+    private static void addExpected( List<String> expected, String name, double value ) {
+        for (int i = 0; i <= 100; i += 10) {
+            if ( value > i ) {
+                expected.add( name + " " + getRuleName( 0, i ) );
+            }
+            if ( value >= i ) {
+                expected.add( name + " " + getRuleName( 1, i ) );
+            }
+            if ( value < i ) {
+                expected.add( name + " " + getRuleName( 2, i ) );
+            }
+            if ( value <= i ) {
+                expected.add( name + " " + getRuleName( 3, i ) );
+            }
+        }
+    }
+
+    private static void assertMatches( List<String> expected, List<String> actual ) {
+        List<String> sortedExpected = new ArrayList<String>( expected );
+        List<String> sortedActual = new ArrayList<String>( actual );
+        Collections.sort( sortedExpected );
+        Collections.sort( sortedActual );
+        assertEquals( sortedExpected, sortedActual );
+    }
+
+    private static void assertRangeIndexed( KieBase kbase, Class<?> type ) {
+        EntryPointNode epn = ( (InternalKnowledgeBase) kbase ).getRete().getEntryPointNode( EntryPointId.DEFAULT );
+        ObjectTypeNode otn = epn.getObjectTypeNodes().get( new ClassObjectType( type ) );
+        AlphaRangeIndex[] rangeIndexes = ( (CompositeObjectSinkAdapter) otn.getObjectSinkPropagator() ).getRangeIndexes();
+        assertNotNull( rangeIndexes );
+        assertEquals( 1, rangeIndexes.length );
+        assertTrue( rangeIndexes[0].isIndexed() );
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.compiler.integrationtests;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.compiler.StockTick;
+import org.drools.core.ClockType;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.core.time.impl.ExpirationTimerWheel;
+import org.drools.core.time.impl.PseudoClockScheduler;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.conf.EventProcessingOption;
+import org.kie.api.io.ResourceType;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+import org.kie.api.runtime.conf.ClockTypeOption;
+import org.kie.api.runtime.rule.FactHandle;
+import org.kie.internal.utils.KieHelper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ExpirationTimerWheelTest {
+
+    private static final String DRL =
+            "import " + StockTick.class.getCanonicalName() + "\n" +
+            "declare StockTick @role( event ) @expires( 70s ) end\n" +
+            "rule R when\n" +
+            "  StockTick( price > 0 )\n" +
+            "then\n" +
+            "end";
+
+    private static KieSession newSession( boolean expirationTimerWheel ) {
+        KieSessionConfiguration sessionConfig = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
+        sessionConfig.setOption( ClockTypeOption.get( ClockType.PSEUDO_CLOCK.getId() ) );
+        sessionConfig.setProperty( ExpirationTimerWheel.PROPERTY_NAME, Boolean.toString( expirationTimerWheel ) );
+
+        KieBase kbase = new KieHelper().addContent( DRL, ResourceType.DRL ).build( EventProcessingOption.STREAM );
+        return kbase.newKieSession( sessionConfig, null );
+    }
+
+    private static List<Long> runExpirations( KieSession ksession ) {
+        PseudoClockScheduler clock = ksession.getSessionClock();
+
+        // the events expire at different times, far enough to be spread on the first levels of the wheel
+        for (int i = 1; i <= 300; i++) {
+            ksession.insert( new StockTick( i, "ACME", 10 ) );
+            clock.advanceTime( i % 7 == 0 ? 1000 : 37, TimeUnit.MILLISECONDS );
+        }
+        ksession.fireAllRules();
+
+        List<Long> counts = new ArrayList<Long>();
+        while (ksession.getFactCount() > 0) {
+            clock.advanceTime( 13, TimeUnit.MILLISECONDS );
+            ksession.fireAllRules();
+            counts.add( ksession.getFactCount() );
+        }
+        return counts;
+    }
+
+    @Test
+    public void testExpireAtTheSameTimesOfTheJobs() {
+        KieSession withJobs = newSession( false );
+        KieSession withWheel = newSession( true );
+        try {
+            assertNull( ( (InternalWorkingMemory) withJobs ).getExpirationTimerWheel() );
+            assertNotNull( ( (InternalWorkingMemory) withWheel ).getExpirationTimerWheel() );
+
+            assertEquals( runExpirations( withJobs ), runExpirations( withWheel ) );
+            assertTrue( ( (InternalWorkingMemory) withWheel ).getExpirationTimerWheel().getEntries().isEmpty() );
+        } finally {
+            withJobs.dispose();
+            withWheel.dispose();
+        }
+    }
+
+    @Test
+    public void testBatchExpirationsInBuckets() {
+        KieSession ksession = newSession( true );
+        try {
+            InternalWorkingMemory wm = (InternalWorkingMemory) ksession;
+            for (int i = 1; i <= 1000; i++) {
+                ksession.insert( new StockTick( i, "ACME", 10 ) );
+            }
+            ksession.fireAllRules();
+
+            assertEquals( 1000, wm.getExpirationTimerWheel().getEntries().size() );
+            // all the events expire in the same bucket, so only one job is scheduled for them
+            assertEquals( 1, wm.getTimerService().getTimerJobInstances( wm.getIdentifier() ).size() );
+
+            PseudoClockScheduler clock = ksession.getSessionClock();
+            clock.advanceTime( 69, TimeUnit.SECONDS );
+            ksession.fireAllRules();
+            assertEquals( 1000, ksession.getFactCount() );
+
+            clock.advanceTime( 2, TimeUnit.SECONDS );
+            ksession.fireAllRules();
+            assertEquals( 0, ksession.getFactCount() );
+            assertTrue( wm.getExpirationTimerWheel().getEntries().isEmpty() );
+            assertEquals( 0, wm.getTimerService().getTimerJobInstances( wm.getIdentifier() ).size() );
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testDeleteRemovesPendingExpiration() {
+        KieSession ksession = newSession( true );
+        try {
+            InternalWorkingMemory wm = (InternalWorkingMemory) ksession;
+            PseudoClockScheduler clock = ksession.getSessionClock();
+            FactHandle fh1 = ksession.insert( new StockTick( 1, "ACME", 10 ) );
+            clock.advanceTime( 5, TimeUnit.SECONDS );
+            ksession.insert( new StockTick( 2, "ACME", 10 ) );
+            ksession.fireAllRules();
+            assertEquals( 2, wm.getExpirationTimerWheel().getEntries().size() );
+
+            ksession.delete( fh1 );
+            ksession.fireAllRules();
+            assertEquals( 1, wm.getExpirationTimerWheel().getEntries().size() );
+
+            clock.advanceTime( 71, TimeUnit.SECONDS );
+            ksession.fireAllRules();
+            assertEquals( 0, ksession.getFactCount() );
+            assertTrue( wm.getExpirationTimerWheel().getEntries().isEmpty() );
+        } finally {
+            ksession.dispose();
+        }
+    }
+
+    @Test
+    public void testPendingExpirationsAfterSerialization() throws Exception {
+        KieSession ksession = newSession( true );
+        PseudoClockScheduler clock = ksession.getSessionClock();
+        for (int i = 1; i <= 10; i++) {
+            ksession.insert( new StockTick( i, "ACME", 10 ) );
+            clock.advanceTime( 5, TimeUnit.SECONDS );
+        }
+        ksession.fireAllRules();
+
+        KieSession restored = SerializationHelper.getSerialisedStatefulKnowledgeSession( ksession, true );
+        try {
+            InternalWorkingMemory wm = (InternalWorkingMemory) restored;
+            assertEquals( 10, restored.getFactCount() );
+            assertEquals( 10, wm.getExpirationTimerWheel().getEntries().size() );
+
+            PseudoClockScheduler restoredClock = restored.getSessionClock();
+            restoredClock.advanceTime( 27, TimeUnit.SECONDS );
+            restored.fireAllRules();
+            // only the first 2 events have been inserted more than 70s ago
+            assertEquals( 8, restored.getFactCount() );
+
+            restoredClock.advanceTime( 1, TimeUnit.HOURS );
+            restored.fireAllRules();
+            assertEquals( 0, restored.getFactCount() );
+        } finally {
+            restored.dispose();
+        }
+    }
+
+    @Test(timeout = 10000L)
+    public void testExpireWithRealtimeClock() throws Exception {
+        String drl =
+                "import " + StockTick.class.getCanonicalName() + "\n" +
+                "declare StockTick @role( event ) @expires( 100ms ) end\n";
+
+        KieSessionConfiguration sessionConfig = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
+        sessionConfig.setProperty( ExpirationTimerWheel.PROPERTY_NAME, "true" );
+
+        KieBase kbase = new KieHelper().addContent( drl, ResourceType.DRL ).build( EventProcessingOption.STREAM );
+        KieSession ksession = kbase.newKieSession( sessionConfig, null );
+        try {
+            for (int i = 1; i <= 100; i++) {
+                ksession.insert( new StockTick( i, "ACME", 10 ) );
+            }
+            ksession.fireAllRules();
+
+            while (ksession.getFactCount() > 0) {
+                Thread.sleep( 10L );
+                ksession.fireAllRules();
+            }
+            assertTrue( ( (InternalWorkingMemory) ksession ).getExpirationTimerWheel().getEntries().isEmpty() );
+        } finally {
+            ksession.dispose();
+        }
+    }
+}
@@ -23,11 +23,16 @@ import org.drools.compiler.CommonTestMethodBase;
 import org.drools.compiler.Person;
 import org.drools.compiler.integrationtests.facts.AnEnum;
 import org.drools.compiler.integrationtests.facts.FactWithEnum;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.drools.core.rule.constraint.ConstraintJittingReport;
 import org.junit.Test;
 import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
 import org.kie.api.io.ResourceType;
 import org.kie.api.runtime.KieSession;
 import org.kie.internal.conf.ConstraintJittingThresholdOption;
+import org.kie.internal.conf.SynchronousJittingOption;
 import org.kie.internal.utils.KieHelper;
 
 public class JittingTest extends CommonTestMethodBase {
@@ -121,4 +126,35 @@ public class JittingTest extends CommonTestMethodBase {
         kieSession.insert(new FactWithEnum(AnEnum.FIRST));
         Assertions.assertThat(kieSession.fireAllRules()).isEqualTo(1);
     }
+
+    @Test
+    public void testSynchronousJitting() {
+        final String drl = "import " + Person.class.getCanonicalName() + ";\n" +
+                " rule R1 \n" +
+                " when \n" +
+                "    Person( name.length() > 4 )\n" +
+                " then \n" +
+                " end ";
+
+        final KieBaseConfiguration kieBaseConf = KieServices.Factory.get().newKieBaseConfiguration();
+        kieBaseConf.setOption( ConstraintJittingThresholdOption.get(3) );
+        kieBaseConf.setOption( SynchronousJittingOption.YES );
+
+        final KieBase kieBase = new KieHelper().addContent( drl, ResourceType.DRL ).build( kieBaseConf );
+        final KieSession kieSession = kieBase.newKieSession();
+
+        final ConstraintJittingReport report = ( (InternalKnowledgeBase) kieBase ).getConstraintJittingReport();
+        kieSession.insert(new Person("mark", 37));
+        kieSession.insert(new Person("mario", 38));
+        assertEquals(0, report.getJittedConstraintsCount());
+
+        // the third evaluation reaches the threshold and compiles the constraint before returning
+        kieSession.insert(new Person("edson", 35));
+        assertEquals(1, report.getJittedConstraintsCount());
+        Assertions.assertThat(report.getInterpretedExpressions()).isEmpty();
+
+        kieSession.insert(new Person("luca", 36));
+        Assertions.assertThat(kieSession.fireAllRules()).isEqualTo(2);
+        kieSession.dispose();
+    }
 }
@@ -16,11 +16,19 @@
 
 package org.drools.compiler.integrationtests;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.drools.compiler.CommonTestMethodBase;
+import org.drools.compiler.Person;
 import org.junit.Test;
 import org.kie.api.KieBase;
 import org.kie.api.runtime.KieSession;
 
+import static org.junit.Assert.assertEquals;
+
 public class ObjectTypeNodeTest extends CommonTestMethodBase {
 
     @Test
@@ -84,4 +92,35 @@ public class ObjectTypeNodeTest extends CommonTestMethodBase {
         ksession.fireAllRules();
     }
 
+    @Test
+    public void testHashedAlphaNodesAfterSerialization() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        sb.append( "import " ).append( Person.class.getCanonicalName() ).append( ";\n" );
+        sb.append( "global java.util.List list;\n" );
+        for (int i = 0; i < 5; i++) {
+            sb.append( "rule Age" ).append( i ).append( " when\n" )
+              .append( "    Person( age == " ).append( i ).append( " )\n" )
+              .append( "then\n" )
+              .append( "    list.add( \"Age" ).append( i ).append( "\" );\n" )
+              .append( "end\n" );
+            sb.append( "rule Name" ).append( i ).append( " when\n" )
+              .append( "    Person( name == \"p" ).append( i ).append( "\" )\n" )
+              .append( "then\n" )
+              .append( "    list.add( \"Name" ).append( i ).append( "\" );\n" )
+              .append( "end\n" );
+        }
+
+        KieBase kbase = loadKnowledgeBaseFromString( sb.toString() );
+        kbase = SerializationHelper.serializeObject( kbase );
+        KieSession ksession = kbase.newKieSession();
+
+        List<String> list = new ArrayList<String>();
+        ksession.setGlobal( "list", list );
+        ksession.insert( new Person( "p3", 3 ) );
+        ksession.insert( new Person( "p7", 1 ) );
+        ksession.fireAllRules();
+
+        Collections.sort( list );
+        assertEquals( Arrays.asList( "Age1", "Age3", "Name3" ), list );
+    }
 }
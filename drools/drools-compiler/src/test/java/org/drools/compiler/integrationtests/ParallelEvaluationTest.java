@@ -37,7 +37,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.drools.compiler.util.debug.DebugList;
 import org.drools.core.ClockType;
 import org.drools.core.base.ClassObjectType;
+import org.drools.core.common.CompositeDefaultAgenda;
+import org.drools.core.common.InternalAgenda;
 import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.common.PartitionsEvaluationMetrics;
 import org.drools.core.impl.InternalKnowledgeBase;
 import org.drools.core.impl.KnowledgeBaseFactory;
 import org.drools.core.impl.StatefulKnowledgeSessionImpl;
@@ -48,6 +51,8 @@ import org.drools.core.rule.EntryPointId;
 import org.drools.core.time.impl.PseudoClockScheduler;
 import org.junit.Test;
 import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.KieServices;
 import org.kie.api.conf.EventProcessingOption;
 import org.kie.api.io.ResourceType;
 import org.kie.api.runtime.KieSession;
@@ -55,6 +60,8 @@ import org.kie.api.runtime.KieSessionConfiguration;
 import org.kie.api.runtime.conf.ClockTypeOption;
 import org.kie.api.runtime.rule.FactHandle;
 import org.kie.internal.conf.MultithreadEvaluationOption;
+import org.kie.internal.conf.ParallelPartitionsNumberOption;
+import org.kie.internal.conf.WorkStealingEvaluationOption;
 import org.kie.internal.utils.KieHelper;
 
 public class ParallelEvaluationTest {
@@ -119,6 +126,91 @@ public class ParallelEvaluationTest {
         assertEquals(ruleNr, list.size());
     }
 
+    @Test(timeout = 40000L)
+    public void testWithWorkStealing() {
+        StringBuilder sb = new StringBuilder( 4000 );
+        sb.append( "global java.util.List list;\n" );
+        int ruleNr = 200;
+
+        for (int i = 0; i < ruleNr; i++) {
+            sb.append( getRule( i, "insert( $i + 10 );\ninsert( \"\" + ($i + 10) );\n" ) );
+        }
+
+        KieBaseConfiguration kieBaseConf = KieServices.Factory.get().newKieBaseConfiguration();
+        kieBaseConf.setOption( MultithreadEvaluationOption.YES );
+        kieBaseConf.setOption( WorkStealingEvaluationOption.YES );
+
+        KieSession ksession = new KieHelper().addContent( sb.toString(), ResourceType.DRL )
+                                             .build( kieBaseConf )
+                                             .newKieSession();
+
+        InternalAgenda agenda = ( (InternalWorkingMemory) ksession ).getAgenda();
+        assertTrue( agenda.isParallelAgenda() );
+
+        List<Integer> list = new DebugList<Integer>();
+        ksession.setGlobal( "list", list );
+
+        for (int i = 0; i < 10; i++) {
+            ksession.insert( i );
+            ksession.insert( "" + i );
+        }
+
+        ksession.fireAllRules();
+
+        assertEquals(ruleNr, list.size());
+
+        PartitionsEvaluationMetrics metrics = ( (CompositeDefaultAgenda) agenda ).getPartitionsEvaluationMetrics();
+        for (int i = 0; i < metrics.getPartitionsNumber(); i++) {
+            assertTrue( metrics.getEvaluationsCount( i ) > 0 );
+            assertTrue( metrics.getBusyTime( i ) > 0 );
+        }
+    }
+
+    @Test(timeout = 40000L)
+    public void testWithConfiguredPartitionsNumber() {
+        checkConfiguredPartitionsNumber( 2 );
+        checkConfiguredPartitionsNumber( 5 );
+    }
+
+    private void checkConfiguredPartitionsNumber( int partitionsNumber ) {
+        StringBuilder sb = new StringBuilder( 4000 );
+        sb.append( "global java.util.List list;\n" );
+        int ruleNr = 50;
+
+        for (int i = 0; i < ruleNr; i++) {
+            sb.append( getRule( i, "" ) );
+        }
+
+        KieBaseConfiguration kieBaseConf = KieServices.Factory.get().newKieBaseConfiguration();
+        kieBaseConf.setOption( MultithreadEvaluationOption.YES );
+        kieBaseConf.setOption( ParallelPartitionsNumberOption.get( partitionsNumber ) );
+
+        KieBase kbase = new KieHelper().addContent( sb.toString(), ResourceType.DRL )
+                                       .build( kieBaseConf );
+
+        EntryPointNode epn = ((InternalKnowledgeBase) kbase).getRete().getEntryPointNode( EntryPointId.DEFAULT );
+        ObjectTypeNode otn = epn.getObjectTypeNodes().get( new ClassObjectType( Integer.class ) );
+        assertEquals( partitionsNumber, ( (CompositePartitionAwareObjectSinkAdapter) otn.getObjectSinkPropagator() ).getUsedPartitionsCount() );
+
+        KieSession ksession = kbase.newKieSession();
+        InternalAgenda agenda = ( (InternalWorkingMemory) ksession ).getAgenda();
+        assertTrue( agenda.isParallelAgenda() );
+        assertEquals( partitionsNumber, ( (CompositeDefaultAgenda) agenda ).getPartitionsEvaluationMetrics().getPartitionsNumber() );
+
+        List<Integer> list = new DebugList<Integer>();
+        ksession.setGlobal( "list", list );
+
+        for (int i = 0; i < ruleNr; i++) {
+            ksession.insert( i );
+            ksession.insert( "" + i );
+        }
+
+        ksession.fireAllRules();
+
+        assertEquals(ruleNr, list.size());
+        ksession.dispose();
+    }
+
     @Test(timeout = 40000L)
     public void testWithDeletes() {
         StringBuilder sb = new StringBuilder( 400 );
@@ -31,6 +31,8 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.drools.compiler.kie.builder.impl.KieContainerImpl;
+import org.drools.core.impl.SessionsPoolConfiguration;
 import org.junit.Test;
 import org.kie.api.KieBase;
 import org.kie.api.command.Command;
@@ -141,6 +143,61 @@ public class SessionsPoolTest {
         assertEquals(1, list.size());
     }
 
+    @Test
+    public void testBoundedKieSessionsPool() {
+        SessionsPoolConfiguration conf = new SessionsPoolConfiguration().setMinSize( 1 ).setMaxSize( 2 ).setAcquireTimeout( 100 );
+        KieContainerSessionsPool pool = ( (KieContainerImpl) getKieContainer() ).newKieSessionsPool( conf );
+
+        KieSession ksession1 = pool.newKieSession();
+        KieSession ksession2 = pool.newKieSession();
+        checkKieSession( ksession1 );
+        checkKieSession( ksession2 );
+        assertEquals( 2, pool.getSize() );
+        assertEquals( 1, pool.getHitsCount() );
+        assertEquals( 1, pool.getMissesCount() );
+
+        try {
+            pool.newKieSession();
+            fail("the pool is bounded to 2 sessions, so it should time out");
+        } catch (IllegalStateException e) { }
+        assertTrue( pool.getWaitTime() > 0 );
+
+        ksession2.dispose();
+        assertEquals( 1, pool.getIdleSize() );
+
+        KieSession ksession3 = pool.newKieSession();
+        assertSame( ksession2, ksession3 );
+        assertEquals( 2, pool.getHitsCount() );
+
+        ksession1.dispose();
+        ksession3.dispose();
+        assertEquals( 2, pool.getIdleSize() );
+
+        pool.shutdown();
+    }
+
+    @Test
+    public void testEvictIdleSessions() throws Exception {
+        SessionsPoolConfiguration conf = new SessionsPoolConfiguration().setMinSize( 1 ).setMaxIdleTime( 50 );
+        KieContainerSessionsPool pool = ( (KieContainerImpl) getKieContainer() ).newKieSessionsPool( conf );
+
+        KieSession ksession1 = pool.newKieSession();
+        KieSession ksession2 = pool.newKieSession();
+        KieSession ksession3 = pool.newKieSession();
+        ksession1.dispose();
+        ksession2.dispose();
+        ksession3.dispose();
+        assertEquals( 3, pool.getSize() );
+
+        // the pool is no longer used, so its idle sessions are only disposed when explicitly asked
+        Thread.sleep( 100 );
+        pool.evictIdleSessions();
+        assertEquals( 1, pool.getSize() );
+        assertEquals( 1, pool.getIdleSize() );
+
+        pool.shutdown();
+    }
+
     private KieContainer getKieContainer() {
         String drl =
                 "global java.util.List list\n" +
@@ -30,6 +30,7 @@ import java.util.Map;
 import java.util.Properties;
 
 import org.drools.core.common.AgendaGroupFactory;
+import org.drools.core.common.RuleBasePartitionId;
 import org.drools.core.reteoo.KieComponentFactory;
 import org.drools.core.runtime.rule.impl.DefaultConsequenceExceptionHandler;
 import org.drools.core.spi.ConflictResolver;
@@ -57,11 +58,14 @@ import org.kie.internal.conf.IndexPrecedenceOption;
 import org.kie.internal.conf.IndexRightBetaMemoryOption;
 import org.kie.internal.conf.MaxThreadsOption;
 import org.kie.internal.conf.MultithreadEvaluationOption;
+import org.kie.internal.conf.ParallelPartitionsNumberOption;
+import org.kie.internal.conf.WorkStealingEvaluationOption;
 import org.kie.internal.conf.PermGenThresholdOption;
 import org.kie.internal.conf.SequentialAgendaOption;
 import org.kie.internal.conf.SequentialOption;
 import org.kie.internal.conf.ShareAlphaNodesOption;
 import org.kie.internal.conf.ShareBetaNodesOption;
+import org.kie.internal.conf.SynchronousJittingOption;
 import org.kie.internal.utils.ChainedProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -105,6 +109,7 @@ import org.slf4j.LoggerFactory;
  * drools.declarativeAgendaEnabled =  &lt;true|false&gt; 
  * drools.permgenThreshold = &lt;1...n&gt;
  * drools.jittingThreshold = &lt;1...n&gt;
+ * drools.synchronousJitting = &lt;true|false&gt;
  * </pre>
  */
 public class RuleBaseConfiguration
@@ -133,6 +138,7 @@ public class RuleBaseConfiguration
     private boolean         shareBetaNodes;
     private int             permGenThreshold;
     private int             jittingThreshold;
+    private boolean         synchronousJitting;
     private int             alphaNodeHashingThreshold;
     private int             compositeKeyDepth;
     private boolean         indexLeftBetaMemory;
@@ -154,6 +160,10 @@ public class RuleBaseConfiguration
     // in parallel by using multiple internal threads
     private boolean multithread;
     private int     maxThreads;
+    // if "true", the partitions are claimed by the evaluating threads as soon as they get idle
+    // instead of being statically assigned one per thread
+    private boolean workStealingEvaluation;
+    private int     parallelPartitionsNumber;
 
     // this property activates MBean monitoring and management
     private boolean mbeansEnabled;
@@ -205,6 +215,9 @@ public class RuleBaseConfiguration
         out.writeBoolean(phreakEnabled);
         out.writeBoolean(declarativeAgenda);
         out.writeObject(componentFactory);
+        out.writeBoolean(workStealingEvaluation);
+        out.writeInt(parallelPartitionsNumber);
+        out.writeBoolean(synchronousJitting);
     }
 
     public void readExternal(ObjectInput in) throws IOException,
@@ -236,6 +249,9 @@ public class RuleBaseConfiguration
         phreakEnabled = in.readBoolean();
         declarativeAgenda = in.readBoolean();
         componentFactory = (KieComponentFactory) in.readObject();
+        workStealingEvaluation = in.readBoolean();
+        parallelPartitionsNumber = in.readInt();
+        synchronousJitting = in.readBoolean();
     }
 
     /**
@@ -297,6 +313,8 @@ public class RuleBaseConfiguration
             setPermGenThreshold(StringUtils.isEmpty(value) ? PermGenThresholdOption.DEFAULT_VALUE : Integer.parseInt(value));
         } else if ( name.equals( ConstraintJittingThresholdOption.PROPERTY_NAME ) ) {
             setJittingThreshold( StringUtils.isEmpty( value ) ? ConstraintJittingThresholdOption.DEFAULT_VALUE : Integer.parseInt( value ) );
+        } else if ( name.equals( SynchronousJittingOption.PROPERTY_NAME ) ) {
+            setSynchronousJitting( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
         } else if ( name.equals( AlphaThresholdOption.PROPERTY_NAME ) ) {
             setAlphaNodeHashingThreshold( StringUtils.isEmpty( value ) ? 3 : Integer.parseInt(value));
         } else if ( name.equals( CompositeKeyDepthOption.PROPERTY_NAME ) ) {
@@ -319,6 +337,10 @@ public class RuleBaseConfiguration
             setMultithreadEvaluation( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
         } else if ( name.equals( MaxThreadsOption.PROPERTY_NAME ) ) {
             setMaxThreads( StringUtils.isEmpty( value ) ? 3 : Integer.parseInt(value));
+        } else if ( name.equals( WorkStealingEvaluationOption.PROPERTY_NAME ) ) {
+            setWorkStealingEvaluation( StringUtils.isEmpty( value ) ? false : Boolean.valueOf(value));
+        } else if ( name.equals( ParallelPartitionsNumberOption.PROPERTY_NAME ) ) {
+            setParallelPartitionsNumber( StringUtils.isEmpty( value ) ? ParallelPartitionsNumberOption.DEFAULT_VALUE : Integer.parseInt(value));
         } else if ( name.equals( EventProcessingOption.PROPERTY_NAME ) ) {
             setEventProcessingMode( EventProcessingOption.determineEventProcessingMode( StringUtils.isEmpty( value ) ? "cloud" : value));
         } else if ( name.equals( MBeansOption.PROPERTY_NAME ) ) {
@@ -348,6 +370,8 @@ public class RuleBaseConfiguration
             return Integer.toString( getPermGenThreshold() );
         } else if ( name.equals( ConstraintJittingThresholdOption.PROPERTY_NAME ) ) {
             return Integer.toString( getJittingThreshold() );
+        } else if ( name.equals( SynchronousJittingOption.PROPERTY_NAME ) ) {
+            return Boolean.toString( isSynchronousJitting() );
         } else if ( name.equals( AlphaThresholdOption.PROPERTY_NAME ) ) {
             return Integer.toString( getAlphaNodeHashingThreshold() );
         } else if ( name.equals( CompositeKeyDepthOption.PROPERTY_NAME ) ) {
@@ -370,6 +394,10 @@ public class RuleBaseConfiguration
             return Boolean.toString( isMultithreadEvaluation() );
         } else if ( name.equals( MaxThreadsOption.PROPERTY_NAME ) ) {
             return Integer.toString( getMaxThreads());
+        } else if ( name.equals( WorkStealingEvaluationOption.PROPERTY_NAME ) ) {
+            return Boolean.toString( isWorkStealingEvaluation() );
+        } else if ( name.equals( ParallelPartitionsNumberOption.PROPERTY_NAME ) ) {
+            return Integer.toString( getParallelPartitionsNumber() );
         } else if ( name.equals( EventProcessingOption.PROPERTY_NAME ) ) {
             return getEventProcessingMode().getMode();
         } else if ( name.equals( MBeansOption.PROPERTY_NAME ) ) {
@@ -424,6 +452,8 @@ public class RuleBaseConfiguration
 
         setJittingThreshold( Integer.parseInt( this.chainedProperties.getProperty( ConstraintJittingThresholdOption.PROPERTY_NAME, "" + ConstraintJittingThresholdOption.DEFAULT_VALUE)));
 
+        setSynchronousJitting( Boolean.valueOf( this.chainedProperties.getProperty( SynchronousJittingOption.PROPERTY_NAME, "false" ) ).booleanValue() );
+
         setAlphaNodeHashingThreshold(Integer.parseInt(this.chainedProperties.getProperty(AlphaThresholdOption.PROPERTY_NAME, "3")));
 
         setCompositeKeyDepth(Integer.parseInt(this.chainedProperties.getProperty(CompositeKeyDepthOption.PROPERTY_NAME, "3")));
@@ -447,12 +477,18 @@ public class RuleBaseConfiguration
         setAdvancedProcessRuleIntegration( Boolean.valueOf( this.chainedProperties.getProperty( "drools.advancedProcessRuleIntegration",
                                                                                                 "false" ) ).booleanValue() );
 
+        setParallelPartitionsNumber( Integer.parseInt( this.chainedProperties.getProperty( ParallelPartitionsNumberOption.PROPERTY_NAME,
+                                                                                           "" + ParallelPartitionsNumberOption.DEFAULT_VALUE ) ) );
+
         setMultithreadEvaluation( Boolean.valueOf( this.chainedProperties.getProperty( MultithreadEvaluationOption.PROPERTY_NAME,
                                                                                        "false" ) ).booleanValue() );
 
         setMaxThreads( Integer.parseInt( this.chainedProperties.getProperty( MaxThreadsOption.PROPERTY_NAME,
                                                                              "3" ) ) );
 
+        setWorkStealingEvaluation( Boolean.valueOf( this.chainedProperties.getProperty( WorkStealingEvaluationOption.PROPERTY_NAME,
+                                                                                        "false" ) ).booleanValue() );
+
         setEventProcessingMode( EventProcessingOption.determineEventProcessingMode( this.chainedProperties.getProperty( EventProcessingOption.PROPERTY_NAME,
                                                                                                                         "cloud" ) ) );
 
@@ -562,6 +598,28 @@ public class RuleBaseConfiguration
         this.jittingThreshold = jittingThreshold;
     }
 
+    /**
+     * Defines if a constraint reaching the jitting threshold is compiled by the thread evaluating it,
+     * that uses the compiled evaluator right away ("true"), or by a background thread, while the
+     * constraint keeps being interpreted until the compilation completes ("false").
+     * Default is false.
+     *
+     * @param synchronousJitting true to compile the hot constraints in the evaluating thread
+     */
+    public void setSynchronousJitting( boolean synchronousJitting ) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.synchronousJitting = synchronousJitting;
+    }
+
+    /**
+     * Returns true if the hot constraints are compiled by the thread evaluating them. Default is false.
+     *
+     * @return
+     */
+    public boolean isSynchronousJitting() {
+        return synchronousJitting;
+    }
+
     public int getAlphaNodeHashingThreshold() {
         return this.alphaNodeHashingThreshold;
     }
@@ -713,6 +771,56 @@ public class RuleBaseConfiguration
         return this.maxThreads;
     }
 
+    /**
+     * If multi-thread evaluation is enabled, defines if the partitions of the
+     * rule base are claimed by the evaluating threads as soon as they are idle
+     * ("true"), so a thread done with a light partition goes on with the pending
+     * ones, or if each partition is statically assigned to its own thread ("false").
+     * Each partition is still evaluated by a single thread at a time.
+     * Default is false.
+     *
+     * @param workStealingEvaluation true to enable the work stealing evaluation
+     */
+    public void setWorkStealingEvaluation(final boolean workStealingEvaluation) {
+        checkCanChange();
+        this.workStealingEvaluation = workStealingEvaluation;
+    }
+
+    /**
+     * Returns true if the partitions are evaluated in work stealing mode
+     * when multi-thread evaluation is enabled. Default is false.
+     *
+     * @return
+     */
+    public boolean isWorkStealingEvaluation() {
+        return this.workStealingEvaluation;
+    }
+
+    /**
+     * If multi-thread evaluation is enabled, this parameter configures in how many
+     * partitions, each one evaluated by at most one thread at a time, the rules of
+     * this rule base are split.
+     *
+     * @param parallelPartitionsNumber the number of partitions. If 0 or a negative
+     *                                 number is set, the engine will use a number of
+     *                                 partitions equal to the number of available
+     *                                 processors. Default is 0.
+     */
+    public void setParallelPartitionsNumber(final int parallelPartitionsNumber) {
+        checkCanChange();
+        this.parallelPartitionsNumber = parallelPartitionsNumber > 0 ? parallelPartitionsNumber : RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER;
+    }
+
+    /**
+     * Returns the number of partitions evaluated in parallel when
+     * multi-thread evaluation is enabled.
+     *
+     * @return
+     */
+    public int getParallelPartitionsNumber() {
+        return this.parallelPartitionsNumber;
+    }
+
     public boolean isClassLoaderCacheEnabled() {
         return this.classLoaderCacheEnabled;
     }
@@ -1080,6 +1188,8 @@ public class RuleBaseConfiguration
             return (T) PermGenThresholdOption.get(permGenThreshold);
         } else if (ConstraintJittingThresholdOption.class.equals(option)) {
             return (T) ConstraintJittingThresholdOption.get(jittingThreshold);
+        } else if (SynchronousJittingOption.class.equals(option)) {
+            return (T) (this.synchronousJitting ? SynchronousJittingOption.YES : SynchronousJittingOption.NO);
         } else if (AlphaThresholdOption.class.equals(option)) {
             return (T) AlphaThresholdOption.get(alphaNodeHashingThreshold);
         } else if (CompositeKeyDepthOption.class.equals(option)) {
@@ -1097,8 +1207,12 @@ public class RuleBaseConfiguration
             return (T) getEventProcessingMode();
         } else if (MaxThreadsOption.class.equals(option)) {
             return (T) MaxThreadsOption.get(getMaxThreads());
+        } else if (ParallelPartitionsNumberOption.class.equals(option)) {
+            return (T) ParallelPartitionsNumberOption.get(getParallelPartitionsNumber());
         } else if (MultithreadEvaluationOption.class.equals(option)) {
             return (T) (this.multithread ? MultithreadEvaluationOption.YES : MultithreadEvaluationOption.NO);
+        } else if (WorkStealingEvaluationOption.class.equals(option)) {
+            return (T) (this.workStealingEvaluation ? WorkStealingEvaluationOption.YES : WorkStealingEvaluationOption.NO);
         } else if (MBeansOption.class.equals(option)) {
             return (T) (this.isMBeansEnabled() ? MBeansOption.ENABLED : MBeansOption.DISABLED);
         } else if (ClassLoaderCacheOption.class.equals(option)) {
@@ -1133,6 +1247,8 @@ public class RuleBaseConfiguration
             setPermGenThreshold(((PermGenThresholdOption) option).getThreshold());
         } else if (option instanceof ConstraintJittingThresholdOption) {
             setJittingThreshold( ( (ConstraintJittingThresholdOption) option ).getThreshold());
+        } else if (option instanceof SynchronousJittingOption) {
+            setSynchronousJitting( ( (SynchronousJittingOption) option ).isSynchronousJitting());
         } else if (option instanceof AlphaThresholdOption) {
             setAlphaNodeHashingThreshold( ( (AlphaThresholdOption) option ).getThreshold());
         } else if (option instanceof CompositeKeyDepthOption) {
@@ -1143,8 +1259,12 @@ public class RuleBaseConfiguration
             setEventProcessingMode( (EventProcessingOption) option);
         } else if (option instanceof MaxThreadsOption) {
             setMaxThreads( ( (MaxThreadsOption) option ).getMaxThreads());
+        } else if (option instanceof ParallelPartitionsNumberOption) {
+            setParallelPartitionsNumber( ( (ParallelPartitionsNumberOption) option ).getPartitionsNumber());
         } else if (option instanceof MultithreadEvaluationOption) {
             setMultithreadEvaluation( ( (MultithreadEvaluationOption) option ).isMultithreadEvaluation());
+        } else if (option instanceof WorkStealingEvaluationOption) {
+            setWorkStealingEvaluation( ( (WorkStealingEvaluationOption) option ).isWorkStealingEvaluation());
         } else if (option instanceof MBeansOption) {
             setMBeansEnabled( ( (MBeansOption) option ).isEnabled());
         } else if (option instanceof ClassLoaderCacheOption) {
@@ -22,6 +22,7 @@ import java.util.Properties;
 
 import org.drools.core.process.instance.WorkItemManagerFactory;
 import org.drools.core.time.TimerService;
+import org.drools.core.time.impl.ExpirationTimerWheel;
 import org.drools.core.time.impl.TimerJobFactoryManager;
 import org.drools.core.util.StringUtils;
 import org.kie.api.KieBase;
@@ -81,6 +82,12 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
     public abstract TimerJobFactoryType getTimerJobFactoryType();
     public abstract void setTimerJobFactoryType(TimerJobFactoryType timerJobFactoryType);
 
+    public abstract PropagationListType getPropagationListType();
+    public abstract void setPropagationListType(PropagationListType propagationListType);
+
+    public abstract boolean isExpirationTimerWheel();
+    public abstract void setExpirationTimerWheel(boolean expirationTimerWheel);
+
     public final TimerJobFactoryManager getTimerJobFactoryManager() {
         return getTimerJobFactoryType().createInstance();
     }
@@ -170,6 +177,10 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
             setQueryListenerOption( QueryListenerOption.determineQueryListenerClassOption( property ) );
         } else if ( name.equals( BeliefSystemTypeOption.PROPERTY_NAME ) ) {
             setBeliefSystemType(StringUtils.isEmpty(value) ? BeliefSystemType.SIMPLE : BeliefSystemType.resolveBeliefSystemType(value));
+        } else if ( name.equals( PropagationListType.PROPERTY_NAME ) ) {
+            setPropagationListType(StringUtils.isEmpty(value) ? PropagationListType.SYNCHRONIZED : PropagationListType.resolvePropagationListType(value));
+        } else if ( name.equals( ExpirationTimerWheel.PROPERTY_NAME ) ) {
+            setExpirationTimerWheel(!StringUtils.isEmpty(value) && Boolean.parseBoolean(value));
         }
     }
 
@@ -189,6 +200,10 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
             return getQueryListenerOption().getAsString();
         } else if ( name.equals( BeliefSystemTypeOption.PROPERTY_NAME ) ) {
             return getBeliefSystemType().getId();
+        } else if ( name.equals( PropagationListType.PROPERTY_NAME ) ) {
+            return getPropagationListType().getId();
+        } else if ( name.equals( ExpirationTimerWheel.PROPERTY_NAME ) ) {
+            return Boolean.toString(isExpirationTimerWheel());
         }
         return null;
     }
@@ -203,7 +218,9 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
         return isKeepReference() == that.isKeepReference() &&
                getBeliefSystemType() == that.getBeliefSystemType() &&
                getClockType() == that.getClockType() &&
-               getTimerJobFactoryType() == that.getTimerJobFactoryType();
+               getTimerJobFactoryType() == that.getTimerJobFactoryType() &&
+               getPropagationListType() == that.getPropagationListType() &&
+               isExpirationTimerWheel() == that.isExpirationTimerWheel();
     }
 
     @Override
@@ -212,6 +229,8 @@ public abstract class SessionConfiguration implements KieSessionConfiguration, E
         result = 31 * result + getClockType().hashCode();
         result = 31 * result + getBeliefSystemType().hashCode();
         result = 31 * result + getTimerJobFactoryType().hashCode();
+        result = 31 * result + getPropagationListType().hashCode();
+        result = 31 * result + (isExpirationTimerWheel() ? 1 : 0);
         return result;
     }
 }
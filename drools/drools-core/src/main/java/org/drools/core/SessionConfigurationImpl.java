@@ -25,6 +25,7 @@ import java.util.Properties;
 
 import org.drools.core.process.instance.WorkItemManagerFactory;
 import org.drools.core.time.TimerService;
+import org.drools.core.time.impl.ExpirationTimerWheel;
 import org.drools.core.util.ConfFileUtils;
 import org.drools.core.util.MVELSafeHelper;
 import org.drools.reflective.ComponentsFactory;
@@ -62,6 +63,7 @@ import org.kie.internal.utils.ChainedProperties;
  * 
  * drools.keepReference = <true|false>
  * drools.clockType = <pseudo|realtime|heartbeat|implicit>
+ * drools.expirationTimerWheel = <true|false>
  */
 public class SessionConfigurationImpl extends SessionConfiguration {
 
@@ -90,6 +92,10 @@ public class SessionConfigurationImpl extends SessionConfiguration {
     
     private TimerJobFactoryType            timerJobFactoryType;
 
+    private PropagationListType            propagationListType;
+
+    private boolean                        expirationTimerWheel;
+
     public void writeExternal(ObjectOutput out) throws IOException {
         out.writeObject( chainedProperties );
         out.writeBoolean(immutable);
@@ -97,6 +103,8 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         out.writeObject(clockType);
         out.writeObject( queryListener );
         out.writeObject( timerJobFactoryType );
+        out.writeObject( propagationListType );
+        out.writeBoolean( expirationTimerWheel );
     }
 
     @SuppressWarnings("unchecked")
@@ -117,6 +125,8 @@ public class SessionConfigurationImpl extends SessionConfiguration {
                 throw e;
             }
         }
+        propagationListType = (PropagationListType) in.readObject();
+        expirationTimerWheel = in.readBoolean();
     }
 
     /**
@@ -175,6 +185,11 @@ public class SessionConfigurationImpl extends SessionConfiguration {
 
         setTimerJobFactoryType(TimerJobFactoryType.resolveTimerJobFactoryType(this.chainedProperties.getProperty(TimerJobFactoryOption.PROPERTY_NAME,
                                                                                                                  TimerJobFactoryType.THREAD_SAFE_TRACKABLE.getId())));
+
+        setPropagationListType(PropagationListType.resolvePropagationListType(this.chainedProperties.getProperty(PropagationListType.PROPERTY_NAME,
+                                                                                                                 PropagationListType.SYNCHRONIZED.getId())));
+
+        setExpirationTimerWheel(Boolean.valueOf(this.chainedProperties.getProperty(ExpirationTimerWheel.PROPERTY_NAME, "false")));
     }
 
     public SessionConfigurationImpl addDefaultProperties(Properties properties) {
@@ -265,6 +280,24 @@ public class SessionConfigurationImpl extends SessionConfiguration {
         this.timerJobFactoryType = timerJobFactoryType;
     }
 
+    public PropagationListType getPropagationListType() {
+        return propagationListType;
+    }
+
+    public void setPropagationListType(PropagationListType propagationListType) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.propagationListType = propagationListType;
+    }
+
+    public boolean isExpirationTimerWheel() {
+        return expirationTimerWheel;
+    }
+
+    public void setExpirationTimerWheel(boolean expirationTimerWheel) {
+        checkCanChange(); // throws an exception if a change isn't possible;
+        this.expirationTimerWheel = expirationTimerWheel;
+    }
+
     private void setQueryListenerClass(QueryListenerOption option) {
         checkCanChange();
         this.queryListener = option;
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.base.accumulators;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.Arrays;
+
+/**
+ * Base class of the accumulators calculating minimum and maximum int and long values. The accumulated values
+ * are kept unboxed in a sorted array, with the number of occurrences of each value, so that a retracted value
+ * can be reversed instead of accumulating the whole group again.
+ */
+public abstract class AbstractLongMinMaxAccumulateFunction extends AbstractAccumulateFunction<AbstractLongMinMaxAccumulateFunction.LongMinMaxData> {
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        // functions are stateless, so nothing to serialize
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        // functions are stateless, so nothing to serialize
+    }
+
+    public static class LongMinMaxData implements Externalizable {
+        private long[] values = new long[8];
+        private int[] counts = new int[8];
+        private int size;
+
+        public LongMinMaxData() {}
+
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            size = in.readInt();
+            values = new long[Math.max( size, 8 )];
+            counts = new int[values.length];
+            for (int i = 0; i < size; i++) {
+                values[i] = in.readLong();
+                counts[i] = in.readInt();
+            }
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeInt( size );
+            for (int i = 0; i < size; i++) {
+                out.writeLong( values[i] );
+                out.writeInt( counts[i] );
+            }
+        }
+
+        public void add(long value) {
+            int index = Arrays.binarySearch( values, 0, size, value );
+            if ( index >= 0 ) {
+                counts[index]++;
+                return;
+            }
+            index = -index - 1;
+            if ( size == values.length ) {
+                values = Arrays.copyOf( values, size * 2 );
+                counts = Arrays.copyOf( counts, size * 2 );
+            }
+            System.arraycopy( values, index, values, index + 1, size - index );
+            System.arraycopy( counts, index, counts, index + 1, size - index );
+            values[index] = value;
+            counts[index] = 1;
+            size++;
+        }
+
+        public void remove(long value) {
+            int index = Arrays.binarySearch( values, 0, size, value );
+            if ( index < 0 ) {
+                return;
+            }
+            if ( --counts[index] == 0 ) {
+                System.arraycopy( values, index + 1, values, index, size - index - 1 );
+                System.arraycopy( counts, index + 1, counts, index, size - index - 1 );
+                size--;
+            }
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public long getMin() {
+            return values[0];
+        }
+
+        public long getMax() {
+            return values[size - 1];
+        }
+
+        public void clear() {
+            size = 0;
+        }
+
+        @Override
+        public String toString() {
+            return "minMax";
+        }
+    }
+
+    public LongMinMaxData createContext() {
+        return new LongMinMaxData();
+    }
+
+    public void init(LongMinMaxData data) {
+        data.clear();
+    }
+
+    public void accumulate(LongMinMaxData data,
+                           Object value) {
+        if (value != null) {
+            data.add( ( (Number) value ).longValue() );
+        }
+    }
+
+    public void reverse(LongMinMaxData data,
+                        Object value) {
+        if (value != null) {
+            data.remove( ( (Number) value ).longValue() );
+        }
+    }
+
+    public boolean supportsReverse() {
+        return true;
+    }
+}
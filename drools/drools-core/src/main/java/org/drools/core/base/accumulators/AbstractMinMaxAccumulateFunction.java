@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.base.accumulators;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.TreeMap;
+
+/**
+ * Base class of the accumulators calculating minimum and maximum values. The accumulated values are kept
+ * in a sorted multiset counting the occurrences of each value, so that a retracted value can be reversed
+ * in O(log n) instead of accumulating the whole group again.
+ */
+public abstract class AbstractMinMaxAccumulateFunction extends AbstractAccumulateFunction<AbstractMinMaxAccumulateFunction.MinMaxData> {
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        // functions are stateless, so nothing to serialize
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        // functions are stateless, so nothing to serialize
+    }
+
+    public static class MinMaxData implements Externalizable {
+        private TreeMap<Comparable, Integer> values = new TreeMap<Comparable, Integer>();
+
+        public MinMaxData() {}
+
+        @SuppressWarnings("unchecked")
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            values = (TreeMap<Comparable, Integer>) in.readObject();
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject(values);
+        }
+
+        public void add(Comparable value) {
+            Integer count = values.get( value );
+            values.put( value, count == null ? 1 : count + 1 );
+        }
+
+        public void remove(Comparable value) {
+            Integer count = values.get( value );
+            if ( count == null ) {
+                return;
+            }
+            if ( count == 1 ) {
+                values.remove( value );
+            } else {
+                values.put( value, count - 1 );
+            }
+        }
+
+        public Comparable getMin() {
+            return values.isEmpty() ? null : values.firstKey();
+        }
+
+        public Comparable getMax() {
+            return values.isEmpty() ? null : values.lastKey();
+        }
+
+        public void clear() {
+            values.clear();
+        }
+
+        @Override
+        public String toString() {
+            return "minMax";
+        }
+    }
+
+    public MinMaxData createContext() {
+        return new MinMaxData();
+    }
+
+    public void init(MinMaxData data) {
+        data.clear();
+    }
+
+    public void accumulate(MinMaxData data,
+                           Object value) {
+        if (value != null) {
+            data.add( toComparable( value ) );
+        }
+    }
+
+    public void reverse(MinMaxData data,
+                        Object value) {
+        if (value != null) {
+            data.remove( toComparable( value ) );
+        }
+    }
+
+    public boolean supportsReverse() {
+        return true;
+    }
+
+    /**
+     * Converts an accumulated value into the key of the sorted multiset
+     */
+    protected abstract Comparable toComparable(Object value);
+}
@@ -28,6 +28,8 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.drools.core.impl.InternalKnowledgeBase;
@@ -60,10 +62,14 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
 
     private static final AtomicBoolean FIRING_UNTIL_HALT_USING_EXECUTOR = new AtomicBoolean( false );
 
-    private final DefaultAgenda[] agendas = new DefaultAgenda[RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER];
+    private DefaultAgenda[] agendas;
 
     private final DefaultAgenda.ExecutionStateMachine executionStateMachine = new DefaultAgenda.ExecutionStateMachine();
 
+    private PartitionsEvaluationMetrics metrics;
+
+    private boolean workStealing;
+
     private PropagationList propagationList;
 
     public CompositeDefaultAgenda() { }
@@ -73,13 +79,16 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
     }
 
     public CompositeDefaultAgenda(InternalKnowledgeBase kBase, boolean initMain) {
+        this.agendas = new DefaultAgenda[kBase.getConfiguration().getParallelPartitionsNumber()];
         for ( int i = 0; i < agendas.length; i++ ) {
             agendas[i] = new PartitionedDefaultAgenda(kBase, initMain, executionStateMachine, i);
         }
+        this.metrics = new PartitionsEvaluationMetrics( agendas.length );
     }
 
     @Override
     public void writeExternal( ObjectOutput out ) throws IOException {
+        out.writeInt( agendas.length );
         for ( DefaultAgenda agenda : agendas ) {
             out.writeObject( agenda );
         }
@@ -87,9 +96,11 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
 
     @Override
     public void readExternal( ObjectInput in ) throws IOException, ClassNotFoundException {
+        agendas = new DefaultAgenda[in.readInt()];
         for ( int i = 0; i < agendas.length; i++ ) {
             agendas[i] = (DefaultAgenda) in.readObject();
         }
+        metrics = new PartitionsEvaluationMetrics( agendas.length );
     }
 
     public DefaultAgenda getPartitionedAgenda(int partitionNr) {
@@ -110,6 +121,11 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
         Stream.of( agendas ).forEach( a -> a.setWorkingMemory( workingMemory ) );
         // this composite agenda and the first partitioned one share the same propagation list
         this.propagationList = agendas[0].getPropagationList();
+        this.workStealing = workingMemory.getKnowledgeBase().getConfiguration().isWorkStealingEvaluation();
+    }
+
+    public PartitionsEvaluationMetrics getPartitionsEvaluationMetrics() {
+        return metrics;
     }
 
     @Override
@@ -146,19 +162,60 @@ public class CompositeDefaultAgenda implements Externalizable, InternalAgenda {
     }
 
     private int parallelFire( AgendaFilter agendaFilter, int fireLimit ) {
+        if ( workStealing ) {
+            return workStealingFire( agendaFilter, fireLimit );
+        }
+
         CompletableFuture<Integer>[] results = new CompletableFuture[agendas.length-1];
         for (int i = 0; i < results.length; i++) {
             final int j = i;
-            results[j] = supplyAsync( () -> agendas[j].internalFireAllRules( agendaFilter, fireLimit, false ), EXECUTOR );
+            results[j] = supplyAsync( () -> firePartition( j, agendaFilter, fireLimit ), EXECUTOR );
+        }
+
+        int result = firePartition( agendas.length-1, agendaFilter, fireLimit );
+        for (int i = 0; i < results.length; i++) {
+            result += results[i].join();
+        }
+        return result;
+    }
+
+    private int workStealingFire( AgendaFilter agendaFilter, int fireLimit ) {
+        // the partitions that have been busy for longer in the former evaluation are claimed first
+        int[] partitions = metrics.getPartitionsByLastBusyTime();
+        AtomicInteger nextPartition = new AtomicInteger( 0 );
+
+        // each thread, including the current one, keeps claiming the partitions not evaluated yet, so a thread
+        // done with a light partition goes on with the pending ones instead of idling while a single thread
+        // evaluates the heaviest one, and a partition never waits for a busy pool thread to pick it up
+        Supplier<Integer> evaluator = () -> {
+            int fireCount = 0;
+            for (int i = nextPartition.getAndIncrement(); i < partitions.length; i = nextPartition.getAndIncrement()) {
+                fireCount += firePartition( partitions[i], agendaFilter, fireLimit );
+            }
+            return fireCount;
+        };
+
+        CompletableFuture<Integer>[] results = new CompletableFuture[agendas.length-1];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = supplyAsync( evaluator, EXECUTOR );
         }
 
-        int result = agendas[agendas.length-1].internalFireAllRules( agendaFilter, fireLimit, false );
+        int result = evaluator.get();
         for (int i = 0; i < results.length; i++) {
             result += results[i].join();
         }
         return result;
     }
 
+    private int firePartition( int partition, AgendaFilter agendaFilter, int fireLimit ) {
+        long start = System.nanoTime();
+        try {
+            return agendas[partition].internalFireAllRules( agendaFilter, fireLimit, false );
+        } finally {
+            metrics.record( partition, System.nanoTime() - start );
+        }
+    }
+
     @Override
     public RuleAgendaItem createRuleAgendaItem( int salience, PathMemory rs, TerminalNode rtn ) {
         return getPartitionedAgendaForNode(rtn).createRuleAgendaItem( salience, rs, rtn );
@@ -39,7 +39,6 @@ import org.drools.core.phreak.PropagationList;
 import org.drools.core.phreak.RuleAgendaItem;
 import org.drools.core.phreak.RuleExecutor;
 import org.drools.core.phreak.SynchronizedBypassPropagationList;
-import org.drools.core.phreak.SynchronizedPropagationList;
 import org.drools.core.reteoo.LeftTuple;
 import org.drools.core.reteoo.ObjectTypeConf;
 import org.drools.core.reteoo.ObjectTypeNode;
@@ -256,7 +255,7 @@ public class DefaultAgenda
     private PropagationList createPropagationList() {
         return workingMemory.getSessionConfiguration().hasForceEagerActivationFilter() ?
                new SynchronizedBypassPropagationList( workingMemory ) :
-               new SynchronizedPropagationList( workingMemory );
+               workingMemory.getSessionConfiguration().getPropagationListType().createInstance( workingMemory );
     }
 
     public PropagationList getPropagationList() {
@@ -353,7 +353,7 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
 
     private void setLinkedTuples( InternalKnowledgeBase kbase ) {
         linkedTuples = kbase != null && kbase.getConfiguration().isMultithreadEvaluation() ?
-                       new CompositeLinkedTuples() :
+                       new CompositeLinkedTuples( kbase.getConfiguration().getParallelPartitionsNumber() ) :
                        new SingleLinkedTuples();
     }
 
@@ -744,9 +744,10 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
 
     public static class CompositeLinkedTuples implements LinkedTuples {
 
-        private final SingleLinkedTuples[] partitionedTuples = new SingleLinkedTuples[RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER];
+        private final SingleLinkedTuples[] partitionedTuples;
 
-        public CompositeLinkedTuples() {
+        public CompositeLinkedTuples( int partitionsNumber ) {
+            partitionedTuples = new SingleLinkedTuples[partitionsNumber];
             for (int i = 0; i < partitionedTuples.length; i++) {
                 partitionedTuples[i] = new SingleLinkedTuples();
             }
@@ -754,7 +755,7 @@ public class DefaultFactHandle extends AbstractBaseLinkedListNode<DefaultFactHan
 
         @Override
         public LinkedTuples clone() {
-            CompositeLinkedTuples clone = new CompositeLinkedTuples();
+            CompositeLinkedTuples clone = new CompositeLinkedTuples( partitionedTuples.length );
             for (int i = 0; i < partitionedTuples.length; i++) {
                 clone.partitionedTuples[i] = partitionedTuples[i].clone();
             }
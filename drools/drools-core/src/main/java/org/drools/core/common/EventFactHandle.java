@@ -21,6 +21,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.drools.core.WorkingMemoryEntryPoint;
 import org.drools.core.time.JobHandle;
 import org.drools.core.time.TimerService;
+import org.drools.core.time.impl.ExpirationTimerWheel;
 import org.drools.core.util.LinkedList;
 
 public class EventFactHandle extends DefaultFactHandle implements Comparable<EventFactHandle> {
@@ -86,7 +87,7 @@ public class EventFactHandle extends DefaultFactHandle implements Comparable<Eve
         this.duration = duration;
 
         if ( wmEntryPoint.getKnowledgeBase() != null && wmEntryPoint.getKnowledgeBase().getConfiguration().isMultithreadEvaluation() ) {
-            notExpiredPartitions = new AtomicInteger( RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER );
+            notExpiredPartitions = new AtomicInteger( wmEntryPoint.getKnowledgeBase().getConfiguration().getParallelPartitionsNumber() );
         }
     }
 
@@ -329,7 +330,11 @@ public class EventFactHandle extends DefaultFactHandle implements Comparable<Eve
                 TimerService clock = workingMemory.getTimerService();
                 while ( !jobs.isEmpty() ) {
                     JobHandle job = jobs.removeFirst();
-                    clock.removeJob(job);
+                    if (job instanceof ExpirationTimerWheel.Entry) {
+                        ((ExpirationTimerWheel.Entry) job).cancel();
+                    } else {
+                        clock.removeJob(job);
+                    }
                 }
             }
         }
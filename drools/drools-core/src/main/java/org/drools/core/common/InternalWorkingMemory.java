@@ -35,6 +35,7 @@ import org.drools.core.runtime.process.InternalProcessRuntime;
 import org.drools.core.spi.Activation;
 import org.drools.core.spi.FactHandleFactory;
 import org.drools.core.time.TimerService;
+import org.drools.core.time.impl.ExpirationTimerWheel;
 import org.kie.api.runtime.Calendars;
 import org.kie.api.runtime.Channel;
 import org.kie.api.runtime.rule.EntryPoint;
@@ -206,6 +207,10 @@ public interface InternalWorkingMemory
         throw new UnsupportedOperationException();
     }
 
+    default ExpirationTimerWheel getExpirationTimerWheel() {
+        return null;
+    }
+
     default void onSuspend() { }
     default void onResume() { }
 
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.common;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Collects how long each partition of a parallel agenda has been busy evaluating and firing its rules.
+ *
+ * Each partition is evaluated by a single thread at a time, so only the totals, which can be read
+ * by any thread while the partitions are running, need to be atomic.
+ */
+public class PartitionsEvaluationMetrics {
+
+    private final AtomicLongArray busyNanos;
+    private final AtomicLongArray evaluations;
+
+    // the busy time of each partition in its latest evaluation
+    private final long[] lastBusyNanos;
+
+    public PartitionsEvaluationMetrics( int partitionsNumber ) {
+        this.busyNanos = new AtomicLongArray( partitionsNumber );
+        this.evaluations = new AtomicLongArray( partitionsNumber );
+        this.lastBusyNanos = new long[partitionsNumber];
+    }
+
+    void record( int partition, long nanos ) {
+        busyNanos.addAndGet( partition, nanos );
+        evaluations.incrementAndGet( partition );
+        lastBusyNanos[partition] = nanos;
+    }
+
+    /**
+     * Returns the indexes of the partitions sorted by their busy time in the latest evaluation, the busiest first.
+     * This must be invoked only when no partition is being evaluated.
+     */
+    int[] getPartitionsByLastBusyTime() {
+        int[] partitions = new int[lastBusyNanos.length];
+        for (int i = 0; i < partitions.length; i++) {
+            int j = i;
+            // insertion sort, the partitions are as many as the available cores
+            while (j > 0 && lastBusyNanos[partitions[j - 1]] < lastBusyNanos[i]) {
+                partitions[j] = partitions[j - 1];
+                j--;
+            }
+            partitions[j] = i;
+        }
+        return partitions;
+    }
+
+    public int getPartitionsNumber() {
+        return busyNanos.length();
+    }
+
+    /**
+     * Returns the total time in nanoseconds spent evaluating the given partition
+     */
+    public long getBusyTime( int partition ) {
+        return busyNanos.get( partition );
+    }
+
+    /**
+     * Returns how many times the given partition has been evaluated
+     */
+    public long getEvaluationsCount( int partition ) {
+        return evaluations.get( partition );
+    }
+
+    public void reset() {
+        for (int i = 0; i < busyNanos.length(); i++) {
+            busyNanos.set( i, 0L );
+            evaluations.set( i, 0L );
+        }
+    }
+}
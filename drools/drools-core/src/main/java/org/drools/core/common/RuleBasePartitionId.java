@@ -28,16 +28,23 @@ public final class RuleBasePartitionId implements Serializable {
 
     private static final long serialVersionUID = 510l;
 
+    /**
+     * The default number of partitions evaluated in parallel, each kbase can configure its own
+     * through RuleBaseConfiguration
+     */
     public static final int PARALLEL_PARTITIONS_NUMBER = KieExecutors.Pool.SIZE;
 
-    public static final RuleBasePartitionId MAIN_PARTITION = new RuleBasePartitionId( 0 );
+    public static final RuleBasePartitionId MAIN_PARTITION = new RuleBasePartitionId( 0, 0 );
 
     private static final AtomicInteger PARTITION_COUNTER = new AtomicInteger( 1 );
 
     private final int id;
 
-    private RuleBasePartitionId( int id ) {
+    private final int parallelEvaluationSlot;
+
+    private RuleBasePartitionId( int id, int parallelEvaluationSlot ) {
         this.id = id;
+        this.parallelEvaluationSlot = parallelEvaluationSlot;
     }
 
     public int getId() {
@@ -45,7 +52,7 @@ public final class RuleBasePartitionId implements Serializable {
     }
 
     public int getParallelEvaluationSlot() {
-        return id % PARALLEL_PARTITIONS_NUMBER;
+        return parallelEvaluationSlot;
     }
 
     @Override
@@ -62,7 +69,7 @@ public final class RuleBasePartitionId implements Serializable {
         return "Partition(" + (id == 0 ? "MAIN" : id) + ")";
     }
 
-    public static RuleBasePartitionId createPartition() {
-        return new RuleBasePartitionId( PARTITION_COUNTER.getAndIncrement() );
+    public static RuleBasePartitionId createPartition( int parallelEvaluationSlot ) {
+        return new RuleBasePartitionId( PARTITION_COUNTER.getAndIncrement(), parallelEvaluationSlot );
     }
 }
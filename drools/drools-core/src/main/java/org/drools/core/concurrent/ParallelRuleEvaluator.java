@@ -24,7 +24,6 @@ import java.util.concurrent.LinkedBlockingQueue;
 
 import org.drools.core.common.DefaultAgenda;
 import org.drools.core.common.InternalAgendaGroup;
-import org.drools.core.common.RuleBasePartitionId;
 import org.drools.core.phreak.RuleAgendaItem;
 import org.drools.core.spi.Activation;
 import org.drools.core.spi.KnowledgeHelper;
@@ -35,10 +34,10 @@ public class ParallelRuleEvaluator extends AbstractRuleEvaluator implements Rule
 
     private static final RuleAgendaItem POISON_PILL = new RuleAgendaItem();
 
-    private final int evaluatorsNr = RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER;
+    private final int evaluatorsNr;
 
-    private RuleEvaluatorCallable[] evaluators = new RuleEvaluatorCallable[evaluatorsNr];
-    private Future<Integer>[] results = new Future[evaluatorsNr];
+    private RuleEvaluatorCallable[] evaluators;
+    private Future<Integer>[] results;
 
     private AgendaFilter filter;
     private int fireCount;
@@ -46,6 +45,9 @@ public class ParallelRuleEvaluator extends AbstractRuleEvaluator implements Rule
 
     public ParallelRuleEvaluator( DefaultAgenda agenda ) {
         super(agenda);
+        evaluatorsNr = agenda.getWorkingMemory().getKnowledgeBase().getConfiguration().getParallelPartitionsNumber();
+        evaluators = new RuleEvaluatorCallable[evaluatorsNr];
+        results = new Future[evaluatorsNr];
         for (int i = 0; i < evaluatorsNr; i++) {
             evaluators[i] = new RuleEvaluatorCallable();
         }
@@ -27,14 +27,14 @@ public abstract class AbstractKieSessionsPool implements KieSessionsPool {
 
     private volatile boolean alive = true;
 
-    protected final int initialSize;
+    protected final SessionsPoolConfiguration configuration;
 
     private final Map<String, StatefulSessionPool> pools = new ConcurrentHashMap<>();
 
     protected final Environment environment = EnvironmentFactory.newEnvironment();
 
-    protected AbstractKieSessionsPool( int initialSize ) {
-        this.initialSize = initialSize;
+    protected AbstractKieSessionsPool( SessionsPoolConfiguration configuration ) {
+        this.configuration = configuration;
     }
 
     @Override
@@ -53,6 +53,36 @@ public abstract class AbstractKieSessionsPool implements KieSessionsPool {
         return pools.computeIfAbsent( getKey(kSessionName, conf, stateless), k -> createStatefulSessionPool( kSessionName, conf, stateless ) );
     }
 
+    @Override
+    public void evictIdleSessions() {
+        pools.values().forEach( p -> p.getPool().evictIdleResources() );
+    }
+
+    @Override
+    public int getSize() {
+        return pools.values().stream().mapToInt( p -> p.getPool().getSize() ).sum();
+    }
+
+    @Override
+    public int getIdleSize() {
+        return pools.values().stream().mapToInt( p -> p.getPool().getIdleSize() ).sum();
+    }
+
+    @Override
+    public long getHitsCount() {
+        return pools.values().stream().mapToLong( p -> p.getPool().getHitsCount() ).sum();
+    }
+
+    @Override
+    public long getMissesCount() {
+        return pools.values().stream().mapToLong( p -> p.getPool().getMissesCount() ).sum();
+    }
+
+    @Override
+    public long getWaitTime() {
+        return pools.values().stream().mapToLong( p -> p.getPool().getWaitTime() ).sum();
+    }
+
     private void checkAlive() {
         if (!alive) {
             throw new IllegalStateException( "Illegal method call. This session pool was previously disposed." );
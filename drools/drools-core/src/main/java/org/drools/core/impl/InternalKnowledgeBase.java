@@ -40,6 +40,7 @@ import org.drools.core.reteoo.ReteooBuilder;
 import org.drools.core.reteoo.SegmentMemory;
 import org.drools.core.rule.InvalidPatternException;
 import org.drools.core.rule.TypeDeclaration;
+import org.drools.core.rule.constraint.ConstraintJittingReport;
 import org.drools.core.ruleunit.RuleUnitDescriptionRegistry;
 import org.drools.core.spi.FactHandleFactory;
 import org.drools.core.util.TripleStore;
@@ -58,8 +59,12 @@ public interface InternalKnowledgeBase extends KieBase {
 
     RuleBasePartitionId createNewPartitionId();
 
+    void registerPartitionNode( RuleBasePartitionId partitionId );
+
     RuleBaseConfiguration getConfiguration();
 
+    ConstraintJittingReport getConstraintJittingReport();
+
     void readLock();
     void readUnlock();
 
@@ -25,8 +25,8 @@ public class KieSessionsPoolImpl extends AbstractKieSessionsPool {
 
     private final KnowledgeBaseImpl kBase;
 
-    KieSessionsPoolImpl( KnowledgeBaseImpl kBase, int initialSize ) {
-        super(initialSize);
+    KieSessionsPoolImpl( KnowledgeBaseImpl kBase, SessionsPoolConfiguration configuration ) {
+        super(configuration);
         this.kBase = kBase;
     }
 
@@ -58,7 +58,7 @@ public class KieSessionsPoolImpl extends AbstractKieSessionsPool {
 
     @Override
     protected StatefulSessionPool createStatefulSessionPool( String kSessionName, KieSessionConfiguration conf, boolean stateless ) {
-        return new StatefulSessionPool(kBase, initialSize, () ->
+        return new StatefulSessionPool(kBase, configuration, () ->
                 stateless ?
                     kBase.internalCreateStatefulKnowledgeSession( environment, ( SessionConfiguration ) conf ).setStateless( true ):
                     (StatefulKnowledgeSessionImpl ) kBase.newKieSession(conf, environment));
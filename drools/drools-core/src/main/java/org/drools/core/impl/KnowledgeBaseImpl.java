@@ -89,6 +89,7 @@ import org.drools.core.rule.InvalidPatternException;
 import org.drools.core.rule.JavaDialectRuntimeData;
 import org.drools.core.rule.TypeDeclaration;
 import org.drools.core.rule.WindowDeclaration;
+import org.drools.core.rule.constraint.ConstraintJittingReport;
 import org.drools.core.ruleunit.RuleUnitDescriptionRegistry;
 import org.drools.core.spi.FactHandleFactory;
 import org.drools.core.util.TripleStore;
@@ -137,6 +138,8 @@ public class KnowledgeBaseImpl
 
     private RuleBaseConfiguration config;
 
+    private transient int[] partitionsCost;
+
     protected Map<String, InternalKnowledgePackage> pkgs;
 
     private Map<String, Process> processes;
@@ -191,6 +194,8 @@ public class KnowledgeBaseImpl
 
     private List<AsyncReceiveNode> receiveNodes;
 
+    private final transient ConstraintJittingReport constraintJittingReport = new ConstraintJittingReport();
+
     public KnowledgeBaseImpl() { }
 
     public KnowledgeBaseImpl(final String id,
@@ -323,7 +328,11 @@ public class KnowledgeBaseImpl
     }
 
     public KieSessionsPool newKieSessionsPool( int initialSize) {
-        return new KieSessionsPoolImpl(this, initialSize);
+        return newKieSessionsPool( new SessionsPoolConfiguration( initialSize ) );
+    }
+
+    public KieSessionsPool newKieSessionsPool( SessionsPoolConfiguration configuration ) {
+        return new KieSessionsPoolImpl(this, configuration);
     }
 
     public KieSession newKieSession() {
@@ -490,6 +499,9 @@ public class KnowledgeBaseImpl
         this.getConfiguration().getComponentFactory().getTraitFactory().setRuleBase(this);
 
         rewireReteAfterDeserialization();
+        if ( config.isMultithreadEvaluation() ) {
+            recomputePartitionsCost();
+        }
     }
 
     private void rewireReteAfterDeserialization() {
@@ -1665,6 +1677,10 @@ public class KnowledgeBaseImpl
         return this.config;
     }
 
+    public ConstraintJittingReport getConstraintJittingReport() {
+        return constraintJittingReport;
+    }
+
     public ClassLoader getRootClassLoader() {
         return this.rootClassLoader;
     }
@@ -1676,8 +1692,56 @@ public class KnowledgeBaseImpl
         }
     }
 
-    public RuleBasePartitionId createNewPartitionId() {
-        return RuleBasePartitionId.createPartition();
+    public synchronized RuleBasePartitionId createNewPartitionId() {
+        // assigns the new partition to the parallel evaluation slot currently holding the lowest number of nodes
+        int[] costs = getPartitionsCost();
+        int leastLoadedSlot = 0;
+        for (int i = 1; i < costs.length; i++) {
+            if (costs[i] < costs[leastLoadedSlot]) {
+                leastLoadedSlot = i;
+            }
+        }
+        return RuleBasePartitionId.createPartition( leastLoadedSlot );
+    }
+
+    public synchronized void registerPartitionNode( RuleBasePartitionId partitionId ) {
+        // the main partition is compared by id, since it is not a singleton anymore after deserialization
+        if ( partitionId != null && !partitionId.equals( RuleBasePartitionId.MAIN_PARTITION ) ) {
+            int[] costs = getPartitionsCost();
+            costs[partitionId.getParallelEvaluationSlot()]++;
+        }
+    }
+
+    private void recomputePartitionsCost() {
+        // the costs are not serialized, they are counted again on the nodes of the deserialized network,
+        // so that the partitions of the rules added later are still balanced on the existing ones
+        partitionsCost = new int[config.getParallelPartitionsNumber()];
+        Set<BaseNode> visitedNodes = new HashSet<BaseNode>();
+        for (EntryPointNode entryPointNode : rete.getEntryPointNodes().values()) {
+            countPartitionNodes( entryPointNode, visitedNodes );
+        }
+    }
+
+    private void countPartitionNodes(BaseNode node, Set<BaseNode> visitedNodes) {
+        if ( !visitedNodes.add( node ) ) {
+            return;
+        }
+        registerPartitionNode( node.getPartitionId() );
+        Sink[] sinks = node.getSinks();
+        if (sinks != null) {
+            for (Sink sink : sinks) {
+                if (sink instanceof BaseNode) {
+                    countPartitionNodes( (BaseNode) sink, visitedNodes );
+                }
+            }
+        }
+    }
+
+    private int[] getPartitionsCost() {
+        if ( partitionsCost == null ) {
+            partitionsCost = new int[config.getParallelPartitionsNumber()];
+        }
+        return partitionsCost;
     }
 
     public FactType getFactType(String packageName, String typeName) {
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.impl;
+
+/**
+ * The sizing of a pool of sessions. By default the pool creates a new session whenever none is available
+ * and never shrinks, setting a maximum size makes it bounded, so when all the sessions are in use the threads
+ * requesting another one wait until a session is disposed, up to the acquire timeout.
+ */
+public class SessionsPoolConfiguration {
+
+    private int initialSize;
+    private int minSize;
+    private int maxSize = -1;
+    private long maxIdleTime = -1;
+    private long acquireTimeout = -1;
+
+    public SessionsPoolConfiguration() { }
+
+    public SessionsPoolConfiguration( int initialSize ) {
+        this.initialSize = initialSize;
+    }
+
+    public int getInitialSize() {
+        return initialSize;
+    }
+
+    /**
+     * The number of sessions eagerly created by the pool.
+     */
+    public SessionsPoolConfiguration setInitialSize( int initialSize ) {
+        this.initialSize = initialSize;
+        return this;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * The number of sessions that the pool keeps even if they are idle. The pool is warmed up to this size when created.
+     */
+    public SessionsPoolConfiguration setMinSize( int minSize ) {
+        this.minSize = minSize;
+        return this;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * The maximum number of sessions created by the pool. If 0 or negative the pool is unbounded. Default is -1.
+     */
+    public SessionsPoolConfiguration setMaxSize( int maxSize ) {
+        this.maxSize = maxSize;
+        return this;
+    }
+
+    public long getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    /**
+     * The milliseconds after which a session not used is disposed. If 0 or negative the idle sessions are never disposed.
+     * Default is -1.
+     */
+    public SessionsPoolConfiguration setMaxIdleTime( long maxIdleTime ) {
+        this.maxIdleTime = maxIdleTime;
+        return this;
+    }
+
+    public long getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    /**
+     * The milliseconds a thread waits for a session when all the sessions of a bounded pool are in use,
+     * after which an IllegalStateException is thrown. If negative the thread waits indefinitely. Default is -1.
+     */
+    public SessionsPoolConfiguration setAcquireTimeout( long acquireTimeout ) {
+        this.acquireTimeout = acquireTimeout;
+        return this;
+    }
+}
@@ -119,6 +119,7 @@ import org.drools.core.spi.PropagationContext;
 import org.drools.core.spi.Tuple;
 import org.drools.core.time.TimerService;
 import org.drools.core.time.TimerServiceFactory;
+import org.drools.core.time.impl.ExpirationTimerWheel;
 import org.drools.core.util.bitmask.BitMask;
 import org.drools.core.util.index.TupleList;
 import org.kie.api.KieBase;
@@ -220,6 +221,8 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
 
     private TimerService timerService;
 
+    private ExpirationTimerWheel expirationTimerWheel;
+
     protected Map<String, WorkingMemoryEntryPoint> entryPoints = new ConcurrentHashMap<String, WorkingMemoryEntryPoint>();
 
     protected InternalFactHandle initialFactHandle;
@@ -366,6 +369,7 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         this.lock = new ReentrantLock();
 
         this.timerService = TimerServiceFactory.getTimerService( this.config );
+        this.expirationTimerWheel = this.config.isExpirationTimerWheel() ? new ExpirationTimerWheel( this ) : null;
 
         this.opCounter = new AtomicLong(0);
         this.lastIdleTimestamp = new AtomicLong(-1);
@@ -1095,6 +1099,9 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         updateEntryPointsCache();
 
         this.timerService.reset();
+        if (this.expirationTimerWheel != null) {
+            this.expirationTimerWheel.reset();
+        }
 
         if (this.processRuntime != null) {
             this.processRuntime.dispose();
@@ -1942,6 +1949,10 @@ public class StatefulKnowledgeSessionImpl extends AbstractRuntime
         return this.timerService;
     }
 
+    public ExpirationTimerWheel getExpirationTimerWheel() {
+        return this.expirationTimerWheel;
+    }
+
     public SessionClock getSessionClock() {
         return (SessionClock) this.timerService;
     }
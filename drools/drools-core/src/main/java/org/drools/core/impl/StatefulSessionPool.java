@@ -26,8 +26,14 @@ public class StatefulSessionPool {
     private final ScalablePool<StatefulKnowledgeSessionImpl> pool;
 
     public StatefulSessionPool( KnowledgeBaseImpl kbase, int initialSize, Supplier<StatefulKnowledgeSessionImpl> supplier ) {
+        this( kbase, new SessionsPoolConfiguration( initialSize ), supplier );
+    }
+
+    public StatefulSessionPool( KnowledgeBaseImpl kbase, SessionsPoolConfiguration configuration, Supplier<StatefulKnowledgeSessionImpl> supplier ) {
         this.kbase = kbase;
-        this.pool = new ScalablePool<>(initialSize, supplier, s -> s.reset(), s -> s.fromPool(null).dispose());
+        this.pool = new ScalablePool<>(configuration.getInitialSize(), configuration.getMinSize(), configuration.getMaxSize(),
+                                       configuration.getMaxIdleTime(), configuration.getAcquireTimeout(),
+                                       supplier, s -> s.reset(), s -> s.fromPool(null).dispose());
     }
 
     public KnowledgeBaseImpl getKieBase() {
@@ -45,4 +51,8 @@ public class StatefulSessionPool {
     public void shutdown() {
         pool.shutdown();
     }
+
+    public ScalablePool<StatefulKnowledgeSessionImpl> getPool() {
+        return pool;
+    }
 }
@@ -80,6 +80,7 @@ import org.drools.core.time.SelfRemovalJobContext;
 import org.drools.core.time.Trigger;
 import org.drools.core.time.impl.CompositeMaxDurationTrigger;
 import org.drools.core.time.impl.CronTrigger;
+import org.drools.core.time.impl.ExpirationTimerWheel;
 import org.drools.core.time.impl.IntervalTrigger;
 import org.drools.core.time.impl.PointInTimeTrigger;
 import org.drools.core.time.impl.PseudoClockScheduler;
@@ -458,6 +459,10 @@ public class ProtobufOutputMarshaller {
             PropagationEntry entry = i.next();
             if (entry instanceof WorkingMemoryAction) {
                 _queue.addAction(((WorkingMemoryAction) entry).serialize(context));
+            } else if (entry instanceof ExpirationTimerWheel.ExpireBucketAction) {
+                for (WorkingMemoryAction expireAction : ((ExpirationTimerWheel.ExpireBucketAction) entry).getExpireActions()) {
+                    _queue.addAction(expireAction.serialize(context));
+                }
             }
         }
         _session.setActionQueue( _queue.build() );
@@ -760,6 +765,7 @@ public class ProtobufOutputMarshaller {
 
     private static ProtobufMessages.Timers writeTimers(Collection<TimerJobInstance> timers,
                                                        MarshallerWriteContext outCtx) {
+        ExpirationTimerWheel expirationTimerWheel = outCtx.wm.getExpirationTimerWheel();
         if ( !timers.isEmpty() ) {
             List<TimerJobInstance> sortedTimers = new ArrayList<TimerJobInstance>( timers );
             Collections.sort( sortedTimers,
@@ -773,6 +779,10 @@ public class ProtobufOutputMarshaller {
             ProtobufMessages.Timers.Builder _timers = ProtobufMessages.Timers.newBuilder();
             for ( TimerJobInstance timer : sortedTimers ) {
                 JobContext jctx = ((SelfRemovalJobContext) timer.getJobContext()).getJobContext();
+                if (jctx instanceof ExpirationTimerWheel.BucketJobContext) {
+                    // the expirations pending in the timer wheel are written one by one below
+                    continue;
+                }
                 if (jctx instanceof ObjectTypeNode.ExpireJobContext &&
                     !((ObjectTypeNode.ExpireJobContext) jctx).getExpireAction().getFactHandle().isValid()) {
                     continue;
@@ -783,6 +793,13 @@ public class ProtobufOutputMarshaller {
                     _timers.addTimer( _timer );
                 }
             }
+            if ( expirationTimerWheel != null ) {
+                for ( ExpirationTimerWheel.Entry entry : expirationTimerWheel.getEntries() ) {
+                    if ( entry.getExpireAction().getFactHandle().isValid() ) {
+                        _timers.addTimer( ObjectTypeNode.ExpireJobContextTimerOutputMarshaller.serialize( entry ) );
+                    }
+                }
+            }
             return _timers.build();
         }
         return null;
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.drools.core.common.InternalWorkingMemory;
+
+/**
+ * A PropagationList that many threads can add entries to without taking any lock. The entries are pushed
+ * with a CAS on a linked stack that the (single) consuming thread detaches as a whole and reverses on takeAll,
+ * so they are still flushed in the order they have been added by each thread.
+ *
+ * The monitor of this list is only taken when an entry is added to an empty list, in order to wake up
+ * a fireUntilHalt waiting on rest. Since the agenda checks that the list is empty and starts waiting while
+ * holding the same monitor, this wake up cannot be lost.
+ */
+public class LockFreePropagationList implements PropagationList {
+
+    protected final InternalWorkingMemory workingMemory;
+
+    // the most recently added entry, each entry points to the one added before it
+    private final AtomicReference<PropagationEntry> top = new AtomicReference<PropagationEntry>();
+
+    private volatile boolean disposed = false;
+
+    private volatile boolean hasEntriesDeferringExpiration = false;
+
+    public LockFreePropagationList(InternalWorkingMemory workingMemory) {
+        this.workingMemory = workingMemory;
+    }
+
+    @Override
+    public void addEntry(final PropagationEntry entry) {
+        if (entry.requiresImmediateFlushing()) {
+            if (entry.isCalledFromRHS()) {
+                entry.execute(workingMemory);
+            } else {
+                workingMemory.getAgenda().executeTask( new ExecutableEntry() {
+                    @Override
+                    public void execute() {
+                        if (entry instanceof PhreakTimerNode.TimerAction) {
+                            ( (PhreakTimerNode.TimerAction) entry ).execute( workingMemory, true );
+                        } else {
+                            entry.execute( workingMemory );
+                        }
+                    }
+
+                    @Override
+                    public void enqueue() {
+                        internalAddEntry( entry );
+                    }
+                } );
+            }
+        } else {
+            internalAddEntry( entry );
+        }
+    }
+
+    void internalAddEntry( PropagationEntry entry ) {
+        PropagationEntry currentTop;
+        do {
+            currentTop = top.get();
+            entry.setNext( currentTop );
+        } while ( !top.compareAndSet( currentTop, entry ) );
+
+        if ( entry.defersExpiration() ) {
+            hasEntriesDeferringExpiration = true;
+        }
+        if ( currentTop == null ) {
+            notifyWaitOnRest();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+    }
+
+    @Override
+    public void flush() {
+        flush( workingMemory, takeAll() );
+    }
+
+    @Override
+    public void flush(PropagationEntry currentHead) {
+        flush( workingMemory, currentHead );
+    }
+
+    private void flush( InternalWorkingMemory workingMemory, PropagationEntry currentHead ) {
+        for (PropagationEntry entry = currentHead; !disposed && entry != null; entry = entry.getNext()) {
+            entry.execute(workingMemory);
+        }
+    }
+
+    public boolean hasEntriesDeferringExpiration() {
+        return hasEntriesDeferringExpiration;
+    }
+
+    @Override
+    public PropagationEntry takeAll() {
+        // reset the flag before detaching the entries: an entry added in between can only leave it
+        // conservatively set, while the opposite order could clear it for an entry still in the list
+        hasEntriesDeferringExpiration = false;
+        return reverse( top.getAndSet( null ) );
+    }
+
+    private static PropagationEntry reverse( PropagationEntry entry ) {
+        PropagationEntry head = null;
+        while ( entry != null ) {
+            PropagationEntry next = entry.getNext();
+            entry.setNext( head );
+            head = entry;
+            entry = next;
+        }
+        return head;
+    }
+
+    @Override
+    public void reset() {
+        top.set( null );
+        disposed = false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    public synchronized void waitOnRest() {
+        workingMemory.onSuspend();
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            // do nothing
+        }
+    }
+
+    @Override
+    public synchronized void notifyWaitOnRest() {
+        notifyAll();
+        workingMemory.onResume();
+    }
+
+    @Override
+    public Iterator<PropagationEntry> iterator() {
+        // the pending entries are linked from the newest one, so iterate over a snapshot in insertion order
+        List<PropagationEntry> entries = new ArrayList<PropagationEntry>();
+        for (PropagationEntry entry = top.get(); entry != null; entry = entry.getNext()) {
+            entries.add( entry );
+        }
+        Collections.reverse( entries );
+        return entries.iterator();
+    }
+
+    @Override
+    public void onEngineInactive() { }
+}
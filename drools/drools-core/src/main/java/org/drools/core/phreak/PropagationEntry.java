@@ -187,6 +187,8 @@ public interface PropagationEntry {
             WorkingMemoryReteExpireAction action = new WorkingMemoryReteExpireAction( (EventFactHandle) handle, otn );
             if (nextTimestamp <= wm.getTimerService().getCurrentTime()) {
                 wm.addPropagation( action );
+            } else if (wm.getExpirationTimerWheel() != null) {
+                wm.getExpirationTimerWheel().scheduleExpiration( action, nextTimestamp );
             } else {
                 JobContext jobctx = new ObjectTypeNode.ExpireJobContext( action, wm );
                 JobHandle jobHandle = wm.getTimerService()
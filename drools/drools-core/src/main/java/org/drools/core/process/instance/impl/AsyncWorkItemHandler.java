@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.process.instance.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kie.api.runtime.process.WorkItem;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.api.runtime.process.WorkItemManager;
+import org.kie.internal.concurrent.ExecutorProviderFactory;
+import org.kie.internal.runtime.Closeable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the work items of the given handler on an executor instead of the thread of the session, so a slow
+ * handler does not hold the session while it runs.
+ *
+ * The completion or abortion notified by the handler is queued into the session, where it is applied like any
+ * other action of the session, so the work items must be executed by a <code>DefaultWorkItemManager</code>.
+ * A failure of the handler is queued into the session as the abortion of the work item, and the abortion of a
+ * work item whose execution already started waits for that execution to end before aborting it on the handler.
+ *
+ * The number of work items waiting for a thread, and the number and duration of the executed ones, are kept
+ * for each handler, that is for each name the handler is registered with.
+ */
+public class AsyncWorkItemHandler implements WorkItemHandler, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncWorkItemHandler.class);
+
+    private final WorkItemHandler delegate;
+    private final Executor executor;
+
+    private final Map<Long, WorkItemExecution> pendingExecutions = new ConcurrentHashMap<Long, WorkItemExecution>();
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong executionTime = new AtomicLong();
+
+    public AsyncWorkItemHandler(WorkItemHandler delegate) {
+        this(delegate, ExecutorProviderFactory.getExecutorProvider().getExecutor());
+    }
+
+    public AsyncWorkItemHandler(WorkItemHandler delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    public WorkItemHandler getDelegate() {
+        return delegate;
+    }
+
+    public void executeWorkItem(WorkItem workItem, WorkItemManager manager) {
+        if (!(manager instanceof DefaultWorkItemManager)) {
+            // the completion notified from another thread could not be applied safely to the session
+            throw new IllegalArgumentException("Work item " + workItem.getId() + " of " + workItem.getName() +
+                    " cannot be executed asynchronously by " + manager.getClass().getName() + ", a DefaultWorkItemManager is required");
+        }
+        WorkItemExecution execution = new WorkItemExecution(workItem, new QueueingWorkItemManager((DefaultWorkItemManager) manager));
+        queueDepth.incrementAndGet();
+        pendingExecutions.put(workItem.getId(), execution);
+        try {
+            executor.execute(execution);
+        } catch (RejectedExecutionException e) {
+            pendingExecutions.remove(workItem.getId(), execution);
+            execution.cancel();
+            throw e;
+        }
+    }
+
+    public void abortWorkItem(WorkItem workItem, WorkItemManager manager) {
+        WorkItemExecution execution = pendingExecutions.remove(workItem.getId());
+        if (execution != null && !execution.cancel()) {
+            execution.awaitDone();
+        }
+        delegate.abortWorkItem(workItem, manager);
+    }
+
+    public void close() {
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+
+    /**
+     * Returns the number of work items waiting for a thread to be executed.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Returns the number of work items executed without errors.
+     */
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    /**
+     * Returns the number of work items whose execution failed.
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Returns the average time spent executing a work item, in milliseconds.
+     */
+    public double getAverageExecutionTime() {
+        long count = executedCount.get() + failedCount.get();
+        return count == 0 ? 0 : (double) TimeUnit.NANOSECONDS.toMillis(executionTime.get()) / count;
+    }
+
+    private class WorkItemExecution implements Runnable {
+
+        private final WorkItem workItem;
+        private final WorkItemManager manager;
+        // set by the first of the execution and the abortion of the work item
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private WorkItemExecution(WorkItem workItem, WorkItemManager manager) {
+            this.workItem = workItem;
+            this.manager = manager;
+        }
+
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            int queued = queueDepth.decrementAndGet();
+            long start = System.nanoTime();
+            try {
+                delegate.executeWorkItem(workItem, manager);
+                executedCount.incrementAndGet();
+            } catch (RuntimeException e) {
+                failedCount.incrementAndGet();
+                logger.error("Error executing work item {} of {}, aborting it", workItem.getId(), workItem.getName(), e);
+                manager.abortWorkItem(workItem.getId());
+            } finally {
+                long time = System.nanoTime() - start;
+                executionTime.addAndGet(time);
+                pendingExecutions.remove(workItem.getId(), this);
+                done.countDown();
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Executed work item {} of {} in {} ms, {} work items of {} still queued",
+                                 workItem.getId(), workItem.getName(), TimeUnit.NANOSECONDS.toMillis(time), queued, workItem.getName());
+                }
+            }
+        }
+
+        /**
+         * Returns false if the execution already started, so it cannot be cancelled anymore.
+         */
+        private boolean cancel() {
+            if (claimed.compareAndSet(false, true)) {
+                queueDepth.decrementAndGet();
+                done.countDown();
+                return true;
+            }
+            return false;
+        }
+
+        private void awaitDone() {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static class QueueingWorkItemManager implements WorkItemManager {
+
+        private final DefaultWorkItemManager manager;
+
+        private QueueingWorkItemManager(DefaultWorkItemManager manager) {
+            this.manager = manager;
+        }
+
+        public void completeWorkItem(long id, Map<String, Object> results) {
+            manager.queueCompleteWorkItem(id, results);
+        }
+
+        public void abortWorkItem(long id) {
+            manager.queueAbortWorkItem(id);
+        }
+
+        public void registerWorkItemHandler(String workItemName, WorkItemHandler handler) {
+            manager.registerWorkItemHandler(workItemName, handler);
+        }
+    }
+}
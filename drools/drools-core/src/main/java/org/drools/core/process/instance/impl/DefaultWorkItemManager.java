@@ -28,7 +28,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.drools.core.WorkItemHandlerNotFoundException;
+import org.drools.core.WorkingMemoryEntryPoint;
 import org.drools.core.common.InternalKnowledgeRuntime;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.process.instance.WorkItem;
 import org.drools.core.process.instance.WorkItemManager;
 import org.kie.api.runtime.process.ProcessInstance;
@@ -163,6 +166,33 @@ public class DefaultWorkItemManager implements WorkItemManager, Externalizable {
         }
     }
 
+    /**
+     * Queues the completion of the work item into the session, so it can be notified from any thread,
+     * like the ones of an {@link AsyncWorkItemHandler}.
+     * A completion still queued when the session is marshalled is not kept, the work item is marshalled as active.
+     */
+    public void queueCompleteWorkItem(long id, Map<String, Object> results) {
+        queueCompletionAction(new WorkItemCompletionAction(this, id, results, false));
+    }
+
+    /**
+     * Queues the abortion of the work item into the session, so it can be notified from any thread.
+     * An abortion still queued when the session is marshalled is not kept, the work item is marshalled as active.
+     */
+    public void queueAbortWorkItem(long id) {
+        queueCompletionAction(new WorkItemCompletionAction(this, id, null, true));
+    }
+
+    private void queueCompletionAction(WorkItemCompletionAction action) {
+        // not a WorkingMemoryAction, so it is left out of the marshalled action queue
+        try {
+            kruntime.startOperation();
+            ((WorkingMemoryEntryPoint) kruntime).getInternalWorkingMemory().addPropagation(action);
+        } finally {
+            kruntime.endOperation();
+        }
+    }
+
     public void registerWorkItemHandler(String workItemName, WorkItemHandler handler) {
         this.workItemHandlers.put(workItemName, handler);
     }
@@ -199,4 +229,32 @@ public class DefaultWorkItemManager implements WorkItemManager, Externalizable {
        }
         
     }
+
+    public static class WorkItemCompletionAction extends PropagationEntry.AbstractPropagationEntry {
+
+        private final DefaultWorkItemManager workItemManager;
+        private final long workItemId;
+        private final Map<String, Object> results;
+        private final boolean abort;
+
+        public WorkItemCompletionAction(DefaultWorkItemManager workItemManager, long workItemId, Map<String, Object> results, boolean abort) {
+            this.workItemManager = workItemManager;
+            this.workItemId = workItemId;
+            this.results = results;
+            this.abort = abort;
+        }
+
+        public void execute(InternalWorkingMemory workingMemory) {
+            if (abort) {
+                workItemManager.abortWorkItem(workItemId);
+            } else {
+                workItemManager.completeWorkItem(workItemId, results);
+            }
+        }
+
+        @Override
+        public boolean requiresImmediateFlushing() {
+            return true;
+        }
+    }
 }
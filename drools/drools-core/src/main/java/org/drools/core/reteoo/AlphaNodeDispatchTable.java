@@ -0,0 +1,433 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.reteoo;
+
+import org.drools.core.base.ValueType;
+import org.drools.core.spi.FieldValue;
+import org.drools.core.spi.InternalReadAccessor;
+
+/**
+ * Open addressing table dispatching a fact to the hashed AlphaNode whose literal is equal to the value
+ * of the indexed field. Unlike the HashKey based lookup on the ObjectHashMap, keys are read from the fact
+ * as primitives (or as the String instance itself), so a lookup neither boxes nor allocates.
+ * Only int, long and String fields are supported, all the other types keep using the HashKey.
+ */
+public abstract class AlphaNodeDispatchTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    protected final InternalReadAccessor extractor;
+
+    protected AlphaNode[] sinks;
+    protected int size;
+
+    // sink whose literal is null, stored outside of the table since null has no primitive representation
+    private AlphaNode nullSink;
+
+    protected AlphaNodeDispatchTable(InternalReadAccessor extractor) {
+        this.extractor = extractor;
+        this.sinks = new AlphaNode[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Returns the dispatch table specialized for the type read by the given extractor
+     * or null if this type has to be hashed through the HashKey
+     */
+    public static AlphaNodeDispatchTable newDispatchTable(InternalReadAccessor extractor) {
+        ValueType vtype = extractor.getValueType();
+        if ( vtype == null ) {
+            return null;
+        }
+        Class<?> type = vtype.getClassType();
+        if ( type == Integer.TYPE || type == Integer.class || type == Short.TYPE || type == Short.class ||
+             type == Byte.TYPE || type == Byte.class ) {
+            return new IntKeyed( extractor );
+        }
+        if ( type == Long.TYPE || type == Long.class ) {
+            return new LongKeyed( extractor );
+        }
+        if ( type == String.class ) {
+            return new StringKeyed( extractor );
+        }
+        return null;
+    }
+
+    public AlphaNode get(Object object) {
+        if ( extractor.isNullValue( null, object ) ) {
+            return nullSink;
+        }
+        return size == 0 ? null : getNotNull( object );
+    }
+
+    public void put(FieldValue value, AlphaNode sink) {
+        if ( value.isNull() ) {
+            nullSink = sink;
+        } else {
+            if ( (size + 1) * 2 > sinks.length ) {
+                resize( sinks.length * 2 );
+            }
+            putNotNull( value, sink );
+        }
+    }
+
+    public void remove(FieldValue value) {
+        if ( value.isNull() ) {
+            nullSink = null;
+        } else {
+            removeNotNull( value );
+        }
+    }
+
+    public void clear() {
+        nullSink = null;
+        size = 0;
+        sinks = new AlphaNode[INITIAL_CAPACITY];
+        clearKeys( INITIAL_CAPACITY );
+    }
+
+    public int size() {
+        return nullSink != null ? size + 1 : size;
+    }
+
+    protected abstract AlphaNode getNotNull(Object object);
+
+    protected abstract void putNotNull(FieldValue value, AlphaNode sink);
+
+    protected abstract void removeNotNull(FieldValue value);
+
+    protected abstract void resize(int capacity);
+
+    protected abstract void clearKeys(int capacity);
+
+    protected abstract int homeSlot(int slot, int mask);
+
+    protected abstract void moveKey(int from, int to);
+
+    protected abstract void clearKey(int slot);
+
+    static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long value) {
+        return mix( (int) (value ^ (value >>> 32)) );
+    }
+
+    /**
+     * Moves back the entries following a removed slot, so that no tombstone is required and lookups
+     * can always stop at the first empty slot.
+     */
+    protected void shiftBack(int slot) {
+        int mask = sinks.length - 1;
+        int free = slot;
+        int current = (slot + 1) & mask;
+        while ( sinks[current] != null ) {
+            int home = homeSlot( current, mask );
+            // the entry can fill the free slot only if its home slot is not cyclically in (free, current]
+            if ( ((current - home) & mask) >= ((current - free) & mask) ) {
+                moveKey( current, free );
+                sinks[free] = sinks[current];
+                free = current;
+            }
+            current = (current + 1) & mask;
+        }
+        sinks[free] = null;
+        clearKey( free );
+        size--;
+    }
+
+    public static class IntKeyed extends AlphaNodeDispatchTable {
+
+        private int[] keys;
+
+        public IntKeyed(InternalReadAccessor extractor) {
+            super( extractor );
+            this.keys = new int[sinks.length];
+        }
+
+        @Override
+        protected AlphaNode getNotNull(Object object) {
+            int key = extractor.getIntValue( null, object );
+            int mask = sinks.length - 1;
+            for ( int i = mix( key ) & mask; sinks[i] != null; i = (i + 1) & mask ) {
+                if ( keys[i] == key ) {
+                    return sinks[i];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected void putNotNull(FieldValue value, AlphaNode sink) {
+            long longKey = value.getLongValue();
+            int key = (int) longKey;
+            if ( key != longKey ) {
+                // out of the range of the field type, this literal can never be matched
+                return;
+            }
+            int mask = sinks.length - 1;
+            int i = mix( key ) & mask;
+            for ( ; sinks[i] != null; i = (i + 1) & mask ) {
+                if ( keys[i] == key ) {
+                    sinks[i] = sink;
+                    return;
+                }
+            }
+            keys[i] = key;
+            sinks[i] = sink;
+            size++;
+        }
+
+        @Override
+        protected void removeNotNull(FieldValue value) {
+            long longKey = value.getLongValue();
+            int key = (int) longKey;
+            if ( key != longKey ) {
+                return;
+            }
+            int mask = sinks.length - 1;
+            for ( int i = mix( key ) & mask; sinks[i] != null; i = (i + 1) & mask ) {
+                if ( keys[i] == key ) {
+                    shiftBack( i );
+                    return;
+                }
+            }
+        }
+
+        @Override
+        protected void resize(int capacity) {
+            int[] oldKeys = keys;
+            AlphaNode[] oldSinks = sinks;
+            keys = new int[capacity];
+            sinks = new AlphaNode[capacity];
+            int mask = capacity - 1;
+            for ( int j = 0; j < oldSinks.length; j++ ) {
+                if ( oldSinks[j] != null ) {
+                    int i = mix( oldKeys[j] ) & mask;
+                    while ( sinks[i] != null ) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    sinks[i] = oldSinks[j];
+                }
+            }
+        }
+
+        @Override
+        protected void clearKeys(int capacity) {
+            keys = new int[capacity];
+        }
+
+        @Override
+        protected int homeSlot(int slot, int mask) {
+            return mix( keys[slot] ) & mask;
+        }
+
+        @Override
+        protected void moveKey(int from, int to) {
+            keys[to] = keys[from];
+        }
+
+        @Override
+        protected void clearKey(int slot) {
+            keys[slot] = 0;
+        }
+    }
+
+    public static class LongKeyed extends AlphaNodeDispatchTable {
+
+        private long[] keys;
+
+        public LongKeyed(InternalReadAccessor extractor) {
+            super( extractor );
+            this.keys = new long[sinks.length];
+        }
+
+        @Override
+        protected AlphaNode getNotNull(Object object) {
+            long key = extractor.getLongValue( null, object );
+            int mask = sinks.length - 1;
+            for ( int i = mix( key ) & mask; sinks[i] != null; i = (i + 1) & mask ) {
+                if ( keys[i] == key ) {
+                    return sinks[i];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected void putNotNull(FieldValue value, AlphaNode sink) {
+            long key = value.getLongValue();
+            int mask = sinks.length - 1;
+            int i = mix( key ) & mask;
+            for ( ; sinks[i] != null; i = (i + 1) & mask ) {
+                if ( keys[i] == key ) {
+                    sinks[i] = sink;
+                    return;
+                }
+            }
+            keys[i] = key;
+            sinks[i] = sink;
+            size++;
+        }
+
+        @Override
+        protected void removeNotNull(FieldValue value) {
+            long key = value.getLongValue();
+            int mask = sinks.length - 1;
+            for ( int i = mix( key ) & mask; sinks[i] != null; i = (i + 1) & mask ) {
+                if ( keys[i] == key ) {
+                    shiftBack( i );
+                    return;
+                }
+            }
+        }
+
+        @Override
+        protected void resize(int capacity) {
+            long[] oldKeys = keys;
+            AlphaNode[] oldSinks = sinks;
+            keys = new long[capacity];
+            sinks = new AlphaNode[capacity];
+            int mask = capacity - 1;
+            for ( int j = 0; j < oldSinks.length; j++ ) {
+                if ( oldSinks[j] != null ) {
+                    int i = mix( oldKeys[j] ) & mask;
+                    while ( sinks[i] != null ) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    sinks[i] = oldSinks[j];
+                }
+            }
+        }
+
+        @Override
+        protected void clearKeys(int capacity) {
+            keys = new long[capacity];
+        }
+
+        @Override
+        protected int homeSlot(int slot, int mask) {
+            return mix( keys[slot] ) & mask;
+        }
+
+        @Override
+        protected void moveKey(int from, int to) {
+            keys[to] = keys[from];
+        }
+
+        @Override
+        protected void clearKey(int slot) {
+            keys[slot] = 0L;
+        }
+    }
+
+    public static class StringKeyed extends AlphaNodeDispatchTable {
+
+        private String[] keys;
+
+        public StringKeyed(InternalReadAccessor extractor) {
+            super( extractor );
+            this.keys = new String[sinks.length];
+        }
+
+        @Override
+        protected AlphaNode getNotNull(Object object) {
+            Object value = extractor.getValue( null, object );
+            if ( !(value instanceof String) ) {
+                return null;
+            }
+            String key = (String) value;
+            int mask = sinks.length - 1;
+            for ( int i = mix( key.hashCode() ) & mask; sinks[i] != null; i = (i + 1) & mask ) {
+                if ( key.equals( keys[i] ) ) {
+                    return sinks[i];
+                }
+            }
+            return null;
+        }
+
+        @Override
+        protected void putNotNull(FieldValue value, AlphaNode sink) {
+            String key = (String) ValueType.STRING_TYPE.coerce( value.getValue() );
+            int mask = sinks.length - 1;
+            int i = mix( key.hashCode() ) & mask;
+            for ( ; sinks[i] != null; i = (i + 1) & mask ) {
+                if ( key.equals( keys[i] ) ) {
+                    sinks[i] = sink;
+                    return;
+                }
+            }
+            keys[i] = key;
+            sinks[i] = sink;
+            size++;
+        }
+
+        @Override
+        protected void removeNotNull(FieldValue value) {
+            String key = (String) ValueType.STRING_TYPE.coerce( value.getValue() );
+            int mask = sinks.length - 1;
+            for ( int i = mix( key.hashCode() ) & mask; sinks[i] != null; i = (i + 1) & mask ) {
+                if ( key.equals( keys[i] ) ) {
+                    shiftBack( i );
+                    return;
+                }
+            }
+        }
+
+        @Override
+        protected void resize(int capacity) {
+            String[] oldKeys = keys;
+            AlphaNode[] oldSinks = sinks;
+            keys = new String[capacity];
+            sinks = new AlphaNode[capacity];
+            int mask = capacity - 1;
+            for ( int j = 0; j < oldSinks.length; j++ ) {
+                if ( oldSinks[j] != null ) {
+                    int i = mix( oldKeys[j].hashCode() ) & mask;
+                    while ( sinks[i] != null ) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    sinks[i] = oldSinks[j];
+                }
+            }
+        }
+
+        @Override
+        protected void clearKeys(int capacity) {
+            keys = new String[capacity];
+        }
+
+        @Override
+        protected int homeSlot(int slot, int mask) {
+            return mix( keys[slot].hashCode() ) & mask;
+        }
+
+        @Override
+        protected void moveKey(int from, int to) {
+            keys[to] = keys[from];
+        }
+
+        @Override
+        protected void clearKey(int slot) {
+            keys[slot] = null;
+        }
+    }
+}
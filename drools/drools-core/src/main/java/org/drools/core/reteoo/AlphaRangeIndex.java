@@ -0,0 +1,437 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.reteoo;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.drools.core.base.ValueType;
+import org.drools.core.rule.IndexableConstraint;
+import org.drools.core.rule.constraint.MvelConstraint;
+import org.drools.core.spi.AlphaNodeFieldConstraint;
+import org.drools.core.spi.FieldValue;
+import org.drools.core.spi.InternalReadAccessor;
+import org.drools.core.util.bitmask.BitMask;
+import org.drools.core.util.index.IndexUtil.ConstraintType;
+
+/**
+ * Indexes the sibling AlphaNodes comparing the same numeric field against a literal with one of the
+ * &lt;, &gt;, &lt;= or &gt;= operators. The literals of each operator are kept sorted, so the nodes
+ * satisfied by a fact are found with a binary search instead of testing each constraint.
+ * Facts with a null (or NaN) value are evaluated against each constraint as usual.
+ */
+public class AlphaRangeIndex implements Externalizable {
+
+    private static final AlphaNode[] EMPTY = new AlphaNode[0];
+
+    private int                  index;
+    private InternalReadAccessor extractor;
+    private boolean              decimal;
+
+    // all the indexed nodes, in the order they have been added
+    private AlphaNode[]          nodes = EMPTY;
+
+    private boolean              indexed;
+
+    private RangeBound           greaterThan;
+    private RangeBound           greaterOrEqual;
+    private RangeBound           lessThan;
+    private RangeBound           lessOrEqual;
+
+    private BitMask              declaredMask;
+    private boolean              uniformDeclaredMask;
+
+    public AlphaRangeIndex() { }
+
+    public AlphaRangeIndex(InternalReadAccessor extractor) {
+        this.index = extractor.getIndex();
+        this.extractor = extractor;
+        this.decimal = isDecimal( extractor.getValueType() );
+        initBounds();
+    }
+
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        index = in.readInt();
+        extractor = (InternalReadAccessor) in.readObject();
+        decimal = in.readBoolean();
+        nodes = (AlphaNode[]) in.readObject();
+        indexed = in.readBoolean();
+        // the indexed nodes could be still partially deserialized here, so the bounds cannot be rebuilt from them
+        greaterThan = (RangeBound) in.readObject();
+        greaterOrEqual = (RangeBound) in.readObject();
+        lessThan = (RangeBound) in.readObject();
+        lessOrEqual = (RangeBound) in.readObject();
+        declaredMask = (BitMask) in.readObject();
+        uniformDeclaredMask = in.readBoolean();
+    }
+
+    public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt( index );
+        out.writeObject( extractor );
+        out.writeBoolean( decimal );
+        out.writeObject( nodes );
+        out.writeBoolean( indexed );
+        out.writeObject( greaterThan );
+        out.writeObject( greaterOrEqual );
+        out.writeObject( lessThan );
+        out.writeObject( lessOrEqual );
+        out.writeObject( declaredMask );
+        out.writeBoolean( uniformDeclaredMask );
+    }
+
+    private void initBounds() {
+        greaterThan = new RangeBound( ConstraintType.GREATER_THAN );
+        greaterOrEqual = new RangeBound( ConstraintType.GREATER_OR_EQUAL );
+        lessThan = new RangeBound( ConstraintType.LESS_THAN );
+        lessOrEqual = new RangeBound( ConstraintType.LESS_OR_EQUAL );
+    }
+
+    /**
+     * Returns the read accessor of the field compared by the given alpha node if its constraint
+     * can be range indexed, null otherwise
+     */
+    static InternalReadAccessor getRangeIndexableAccessor(AlphaNode alphaNode) {
+        AlphaNodeFieldConstraint fieldConstraint = alphaNode.getConstraint();
+        if ( !(fieldConstraint instanceof IndexableConstraint) ) {
+            return null;
+        }
+        IndexableConstraint constraint = (IndexableConstraint) fieldConstraint;
+        ConstraintType constraintType = constraint.getConstraintType();
+        if ( constraintType == null || !constraintType.isComparison() ) {
+            return null;
+        }
+        InternalReadAccessor extractor = constraint.getFieldExtractor();
+        FieldValue field = constraint.getField();
+        // our current implementation does not support indexing of deeply nested properties
+        if ( extractor == null || field == null || field.isNull() || extractor.getIndex() < 0 ) {
+            return null;
+        }
+        ValueType vtype = extractor.getValueType();
+        if ( isDecimal( vtype ) ) {
+            return !Double.isNaN( field.getDoubleValue() ) && hasExactLiteral( constraint, field, true ) ? extractor : null;
+        }
+        if ( isInteger( vtype ) ) {
+            return field.isIntegerNumberField() && hasExactLiteral( constraint, field, false ) ? extractor : null;
+        }
+        return null;
+    }
+
+    private static boolean isInteger(ValueType vtype) {
+        if ( vtype == null ) {
+            return false;
+        }
+        Class<?> type = vtype.getClassType();
+        return type == Integer.TYPE || type == Integer.class || type == Long.TYPE || type == Long.class ||
+               type == Short.TYPE || type == Short.class || type == Byte.TYPE || type == Byte.class;
+    }
+
+    private static boolean isDecimal(ValueType vtype) {
+        return vtype != null && ( vtype.getClassType() == Double.TYPE || vtype.getClassType() == Double.class );
+    }
+
+    /**
+     * The FieldValue of a literal constraint is coerced to the type of the field (eg an int field compared
+     * with 10.5 has a FieldValue of 10), while mvel evaluates the original literal. Only index the constraints
+     * where the two are guaranteed to be the same number.
+     */
+    private static boolean hasExactLiteral(IndexableConstraint constraint, FieldValue field, boolean decimal) {
+        if ( !(constraint instanceof MvelConstraint) ) {
+            Object value = field.getValue();
+            return decimal ? value instanceof Double : value instanceof Long || value instanceof Integer;
+        }
+        String expression = ((MvelConstraint) constraint).getExpression();
+        String operator = constraint.getConstraintType().getOperator();
+        int operatorPos = expression == null ? -1 : expression.indexOf( operator );
+        if ( operatorPos < 0 ) {
+            return false;
+        }
+        String literal = expression.substring( operatorPos + operator.length() ).trim();
+        if ( literal.endsWith( "L" ) || literal.endsWith( "l" ) || ( decimal && ( literal.endsWith( "D" ) || literal.endsWith( "d" ) ) ) ) {
+            literal = literal.substring( 0, literal.length() - 1 );
+        }
+        try {
+            BigDecimal parsed = new BigDecimal( literal );
+            return decimal ?
+                   parsed.doubleValue() == field.getDoubleValue() :
+                   parsed.compareTo( BigDecimal.valueOf( field.getLongValue() ) ) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public AlphaNode[] getNodes() {
+        return nodes;
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    public void setIndexed(boolean indexed) {
+        this.indexed = indexed;
+    }
+
+    public boolean contains(AlphaNode node) {
+        return indexOf( node ) >= 0;
+    }
+
+    public void add(AlphaNode node) {
+        nodes = Arrays.copyOf( nodes, nodes.length + 1 );
+        nodes[nodes.length - 1] = node;
+        getBound( node ).add( literalKey( node ), node );
+        updateDeclaredMask();
+    }
+
+    public boolean remove(AlphaNode node) {
+        int pos = indexOf( node );
+        if ( pos < 0 ) {
+            return false;
+        }
+        AlphaNode[] newNodes = new AlphaNode[nodes.length - 1];
+        System.arraycopy( nodes, 0, newNodes, 0, pos );
+        System.arraycopy( nodes, pos + 1, newNodes, pos, nodes.length - pos - 1 );
+        nodes = newNodes;
+        getBound( node ).remove( node );
+        updateDeclaredMask();
+        return true;
+    }
+
+    private int indexOf(AlphaNode node) {
+        for ( int i = 0; i < nodes.length; i++ ) {
+            if ( nodes[i] == node ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void updateDeclaredMask() {
+        declaredMask = nodes.length > 0 ? nodes[0].getDeclaredMask() : null;
+        uniformDeclaredMask = declaredMask != null;
+        String statement = uniformDeclaredMask ? declaredMask.getInstancingStatement() : null;
+        for ( int i = 1; i < nodes.length && uniformDeclaredMask; i++ ) {
+            BitMask mask = nodes[i].getDeclaredMask();
+            uniformDeclaredMask = mask != null && statement.equals( mask.getInstancingStatement() );
+        }
+    }
+
+    /**
+     * Returns true if the value of the indexed field in the given fact can be used to look up this index,
+     * that is when the index is active and the value is neither null nor NaN
+     */
+    public boolean canDispatch(Object object) {
+        return indexed && !extractor.isNullValue( null, object ) &&
+               ( !decimal || !Double.isNaN( extractor.getDoubleValue( null, object ) ) );
+    }
+
+    /**
+     * Returns true if all the indexed nodes would re-evaluate their constraint for a modification with the
+     * given mask, so that skipping the nodes not satisfied by the fact is the same as evaluating them
+     */
+    public boolean canDispatchModify(Object object, BitMask modificationMask) {
+        return uniformDeclaredMask && modificationMask.intersects( declaredMask ) && canDispatch( object );
+    }
+
+    public long factKey(Object object) {
+        return decimal ? toSortableLong( extractor.getDoubleValue( null, object ) ) : extractor.getLongValue( null, object );
+    }
+
+    private long literalKey(AlphaNode node) {
+        FieldValue field = ((IndexableConstraint) node.getConstraint()).getField();
+        return decimal ? toSortableLong( field.getDoubleValue() ) : field.getLongValue();
+    }
+
+    /**
+     * Maps a double to a long having the same ordering, so integer and decimal fields can share the same bounds.
+     * -0.0 is normalized to 0.0 since they are equal for the comparison operators.
+     */
+    static long toSortableLong(double value) {
+        long bits = Double.doubleToLongBits( value + 0.0 );
+        return bits ^ ( (bits >> 63) & Long.MAX_VALUE );
+    }
+
+    public RangeBound getGreaterThan() {
+        return greaterThan;
+    }
+
+    public RangeBound getGreaterOrEqual() {
+        return greaterOrEqual;
+    }
+
+    public RangeBound getLessThan() {
+        return lessThan;
+    }
+
+    public RangeBound getLessOrEqual() {
+        return lessOrEqual;
+    }
+
+    private RangeBound getBound(AlphaNode node) {
+        switch ( ((IndexableConstraint) node.getConstraint()).getConstraintType() ) {
+            case GREATER_THAN:
+                return greaterThan;
+            case GREATER_OR_EQUAL:
+                return greaterOrEqual;
+            case LESS_THAN:
+                return lessThan;
+            case LESS_OR_EQUAL:
+                return lessOrEqual;
+        }
+        throw new IllegalArgumentException( "Cannot range index " + node );
+    }
+
+    /**
+     * The literals of the nodes with the same comparison operator, sorted in ascending order.
+     * The nodes satisfied by a given key are those in [start(key), end(key)).
+     */
+    public static class RangeBound implements Externalizable {
+
+        private ConstraintType constraintType;
+
+        private long[]      keys  = new long[0];
+        private AlphaNode[] sinks = EMPTY;
+
+        public RangeBound() { }
+
+        RangeBound(ConstraintType constraintType) {
+            this.constraintType = constraintType;
+        }
+
+        public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            constraintType = (ConstraintType) in.readObject();
+            keys = (long[]) in.readObject();
+            sinks = (AlphaNode[]) in.readObject();
+        }
+
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeObject( constraintType );
+            out.writeObject( keys );
+            out.writeObject( sinks );
+        }
+
+        public int size() {
+            return sinks.length;
+        }
+
+        public AlphaNode getSink(int i) {
+            return sinks[i];
+        }
+
+        public int start(long key) {
+            switch ( constraintType ) {
+                case LESS_THAN:
+                    // field < literal for all the literals greater than key
+                    return upperBound( key );
+                case LESS_OR_EQUAL:
+                    // field <= literal for all the literals greater or equal than key
+                    return lowerBound( key );
+                default:
+                    return 0;
+            }
+        }
+
+        public int end(long key) {
+            switch ( constraintType ) {
+                case GREATER_THAN:
+                    // field > literal for all the literals lower than key
+                    return lowerBound( key );
+                case GREATER_OR_EQUAL:
+                    // field >= literal for all the literals lower or equal than key
+                    return upperBound( key );
+                default:
+                    return sinks.length;
+            }
+        }
+
+        /**
+         * Returns the position of the first literal greater or equal than key
+         */
+        private int lowerBound(long key) {
+            int low = 0;
+            int high = keys.length;
+            while ( low < high ) {
+                int mid = (low + high) >>> 1;
+                if ( keys[mid] < key ) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the position of the first literal strictly greater than key
+         */
+        private int upperBound(long key) {
+            int low = 0;
+            int high = keys.length;
+            while ( low < high ) {
+                int mid = (low + high) >>> 1;
+                if ( keys[mid] <= key ) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void add(long key, AlphaNode sink) {
+            // nodes with the same literal are kept in insertion order
+            int pos = upperBound( key );
+            long[] newKeys = new long[keys.length + 1];
+            AlphaNode[] newSinks = new AlphaNode[sinks.length + 1];
+            System.arraycopy( keys, 0, newKeys, 0, pos );
+            System.arraycopy( sinks, 0, newSinks, 0, pos );
+            newKeys[pos] = key;
+            newSinks[pos] = sink;
+            System.arraycopy( keys, pos, newKeys, pos + 1, keys.length - pos );
+            System.arraycopy( sinks, pos, newSinks, pos + 1, sinks.length - pos );
+            keys = newKeys;
+            sinks = newSinks;
+        }
+
+        void remove(AlphaNode sink) {
+            for ( int pos = 0; pos < sinks.length; pos++ ) {
+                if ( sinks[pos] == sink ) {
+                    long[] newKeys = new long[keys.length - 1];
+                    AlphaNode[] newSinks = new AlphaNode[sinks.length - 1];
+                    System.arraycopy( keys, 0, newKeys, 0, pos );
+                    System.arraycopy( sinks, 0, newSinks, 0, pos );
+                    System.arraycopy( keys, pos + 1, newKeys, pos, keys.length - pos - 1 );
+                    System.arraycopy( sinks, pos + 1, newSinks, pos, sinks.length - pos - 1 );
+                    keys = newKeys;
+                    sinks = newSinks;
+                    return;
+                }
+            }
+        }
+    }
+}
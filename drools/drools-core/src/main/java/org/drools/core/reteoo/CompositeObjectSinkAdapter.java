@@ -21,11 +21,13 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.drools.core.base.ValueType;
+import org.drools.core.base.field.ObjectFieldImpl;
 import org.drools.core.common.BaseNode;
 import org.drools.core.common.InternalFactHandle;
 import org.drools.core.common.InternalWorkingMemory;
@@ -51,6 +53,17 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
     //    public static final int    THRESHOLD_TO_HASH              = Integer.parseInt( System.getProperty( HASH_THRESHOLD_SYSTEM_PROPERTY,
     //                                                                                                      "3" ) );
 
+    /** You can revert to the HashKey based lookup of the hashed sinks via a system property (eg -Ddrools.alphaNodeHashingMode=hashkey) */
+    public static final String HASHING_MODE_SYSTEM_PROPERTY = "drools.alphaNodeHashingMode";
+
+    /** When true int, long and String fields are hashed through an AlphaNodeDispatchTable */
+    static final boolean       PRIMITIVE_HASHING            = !"hashkey".equalsIgnoreCase( System.getProperty( HASHING_MODE_SYSTEM_PROPERTY ) );
+
+    /** You can disable the indexing of the comparison alpha nodes via a system property (eg -Ddrools.alphaNodeRangeIndex=false) */
+    public static final String RANGE_INDEX_SYSTEM_PROPERTY  = "drools.alphaNodeRangeIndex";
+
+    static final boolean       RANGE_INDEXING               = !"false".equalsIgnoreCase( System.getProperty( RANGE_INDEX_SYSTEM_PROPERTY ) );
+
     private static final long serialVersionUID = 510l;
     ObjectSinkNodeList        otherSinks;
     ObjectSinkNodeList        hashableSinks;
@@ -59,6 +72,8 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
 
     ObjectHashMap             hashedSinkMap;
 
+    AlphaRangeIndex[]         rangeIndexes;
+
     private int               alphaNodeHashingThreshold;
 
     private ObjectSink[]      sinks;
@@ -80,6 +95,31 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         hashedFieldIndexes = (LinkedList) in.readObject();
         hashedSinkMap = (ObjectHashMap) in.readObject();
         alphaNodeHashingThreshold = in.readInt();
+        rangeIndexes = (AlphaRangeIndex[]) in.readObject();
+        if ( hashedSinkMap != null ) {
+            populateDispatchTables( hashedFieldIndexes, hashedSinkMap );
+        }
+    }
+
+    static void populateDispatchTables( LinkedList<FieldIndex> fieldIndexes, ObjectHashMap sinkMap ) {
+        for ( FieldIndex fieldIndex = fieldIndexes.getFirst(); fieldIndex != null; fieldIndex = fieldIndex.getNext() ) {
+            populateDispatchTable( fieldIndex, sinkMap );
+        }
+    }
+
+    static void populateDispatchTable( FieldIndex fieldIndex, ObjectHashMap sinkMap ) {
+        if ( fieldIndex.getDispatchTable() == null ) {
+            return;
+        }
+        final Iterator it = sinkMap.newIterator();
+        for ( ObjectEntry entry = (ObjectEntry) it.next(); entry != null; entry = (ObjectEntry) it.next() ) {
+            final HashKey hashKey = (HashKey) entry.getKey();
+            if ( hashKey.getIndex() == fieldIndex.getIndex() ) {
+                // the hashed nodes could be still partially deserialized here, so the literal is taken from the key
+                final FieldValue value = new ObjectFieldImpl( hashKey.isNull() ? null : hashKey.getObjectValue() );
+                fieldIndex.getDispatchTable().put( value, (AlphaNode) entry.getValue() );
+            }
+        }
     }
 
     public void writeExternal(ObjectOutput out) throws IOException {
@@ -88,6 +128,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         out.writeObject( hashedFieldIndexes );
         out.writeObject( hashedSinkMap );
         out.writeInt( alphaNodeHashingThreshold );
+        out.writeObject( rangeIndexes );
     }
 
     public ObjectSinkNodeList getOthers() {
@@ -102,6 +143,10 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         return this.hashedSinkMap;
     }
 
+    public AlphaRangeIndex[] getRangeIndexes() {
+        return this.rangeIndexes;
+    }
+
     public ObjectSinkPropagator addObjectSink(ObjectSink sink) {
         return addObjectSink(sink, 0);
     }
@@ -113,6 +158,14 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         }
         if ( sink.getType() ==  NodeTypeEnums.AlphaNode ) {
             final AlphaNode alphaNode = (AlphaNode) sink;
+            if ( RANGE_INDEXING ) {
+                final InternalReadAccessor rangeAccessor = AlphaRangeIndex.getRangeIndexableAccessor( alphaNode );
+                if ( rangeAccessor != null ) {
+                    addRangeIndexedSink( alphaNode, rangeAccessor );
+                    return this;
+                }
+            }
+
             final InternalReadAccessor readAccessor = getHashableAccessor(alphaNode);
 
             if ( readAccessor != null ) {
@@ -132,6 +185,9 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                                                          fieldIndex.getFieldExtractor() ),
                                             alphaNode,
                                             false );
+                    if ( fieldIndex.getDispatchTable() != null ) {
+                        fieldIndex.getDispatchTable().put( value, alphaNode );
+                    }
                 } else {
                     if ( this.hashableSinks == null ) {
                         this.hashableSinks = new ObjectSinkNodeList();
@@ -175,6 +231,10 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         }
         if ( sink.getType() ==  NodeTypeEnums.AlphaNode ) {
             final AlphaNode alphaNode = (AlphaNode) sink;
+            if ( removeRangeIndexedSink( alphaNode ) ) {
+                return size() == 1 ? new SingleObjectSinkAdapter( getSinks()[0] ) : this;
+            }
+
             final AlphaNodeFieldConstraint fieldConstraint = alphaNode.getConstraint();
 
             if ( fieldConstraint instanceof IndexableConstraint ) {
@@ -191,6 +251,14 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                                                        value,
                                                        fieldAccessor );
                         this.hashedSinkMap.remove( hashKey );
+                        if ( fieldIndex.getDispatchTable() != null ) {
+                            fieldIndex.getDispatchTable().remove( value );
+                            // another sink with the same literal may still be hashed if node sharing is disabled
+                            final AlphaNode remaining = (AlphaNode) this.hashedSinkMap.get( hashKey );
+                            if ( remaining != null ) {
+                                fieldIndex.getDispatchTable().put( value, remaining );
+                            }
+                        }
                         if ( fieldIndex.getCount() <= this.alphaNodeHashingThreshold - 1 ) {
                             // we have less than three so unhash
                             unHashSinks( fieldIndex );
@@ -217,6 +285,63 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         return size() == 1 ? new SingleObjectSinkAdapter( getSinks()[0] ) : this;
     }
 
+    private void addRangeIndexedSink(final AlphaNode alphaNode,
+                                     final InternalReadAccessor readAccessor) {
+        AlphaRangeIndex rangeIndex = findRangeIndex( readAccessor.getIndex() );
+        if ( rangeIndex == null ) {
+            rangeIndex = new AlphaRangeIndex( readAccessor );
+            if ( this.rangeIndexes == null ) {
+                this.rangeIndexes = new AlphaRangeIndex[] { rangeIndex };
+            } else {
+                this.rangeIndexes = Arrays.copyOf( this.rangeIndexes, this.rangeIndexes.length + 1 );
+                this.rangeIndexes[this.rangeIndexes.length - 1] = rangeIndex;
+            }
+        }
+        rangeIndex.add( alphaNode );
+        updateRangeIndexing( rangeIndex );
+    }
+
+    private boolean removeRangeIndexedSink(final AlphaNode alphaNode) {
+        if ( this.rangeIndexes == null ) {
+            return false;
+        }
+        for ( int i = 0; i < this.rangeIndexes.length; i++ ) {
+            final AlphaRangeIndex rangeIndex = this.rangeIndexes[i];
+            if ( rangeIndex.remove( alphaNode ) ) {
+                if ( rangeIndex.size() == 0 ) {
+                    if ( this.rangeIndexes.length == 1 ) {
+                        this.rangeIndexes = null;
+                    } else {
+                        final AlphaRangeIndex[] newRangeIndexes = new AlphaRangeIndex[this.rangeIndexes.length - 1];
+                        System.arraycopy( this.rangeIndexes, 0, newRangeIndexes, 0, i );
+                        System.arraycopy( this.rangeIndexes, i + 1, newRangeIndexes, i, newRangeIndexes.length - i );
+                        this.rangeIndexes = newRangeIndexes;
+                    }
+                } else {
+                    updateRangeIndexing( rangeIndex );
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void updateRangeIndexing(final AlphaRangeIndex rangeIndex) {
+        // below the hashing threshold the constraints are simply evaluated one after the other
+        rangeIndex.setIndexed( this.alphaNodeHashingThreshold != 0 && rangeIndex.size() >= this.alphaNodeHashingThreshold );
+    }
+
+    private AlphaRangeIndex findRangeIndex(final int index) {
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                if ( rangeIndex.getIndex() == index ) {
+                    return rangeIndex;
+                }
+            }
+        }
+        return null;
+    }
+
     void hashSinks(final FieldIndex fieldIndex) {
         if ( this.hashedSinkMap == null ) {
             this.hashedSinkMap = new ObjectHashMap();
@@ -244,6 +369,9 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                                                      value,
                                                      fieldReader ),
                                         alphaNode );
+                if ( fieldIndex.getDispatchTable() != null ) {
+                    fieldIndex.getDispatchTable().put( value, alphaNode );
+                }
 
                 // remove the alpha from the possible candidates of hashable sinks since it is now hashed
                 hashableSinks.remove( alphaNode );
@@ -290,6 +418,10 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             this.hashedSinkMap.remove( hashKey );
         }
 
+        if ( fieldIndex.getDispatchTable() != null ) {
+            fieldIndex.getDispatchTable().clear();
+        }
+
         if ( this.hashedSinkMap.isEmpty() ) {
             this.hashedSinkMap = null;
         }
@@ -371,8 +503,8 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                 if ( !fieldIndex.isHashed() ) {
                     continue;
                 }
-                // this field is hashed so set the existing hashKey and see if there is a sink for it
-                final AlphaNode sink = (AlphaNode) this.hashedSinkMap.get( new HashKey( fieldIndex, object ) );
+                // this field is hashed so see if there is a sink for the value of this field
+                final AlphaNode sink = getHashedSink( fieldIndex, object );
                 if ( sink != null ) {
                     // go straight to the AlphaNode's propagator, as we know it's true and no need to retest
                     sink.getObjectSinkPropagator().propagateAssertObject( factHandle, context, workingMemory );
@@ -390,6 +522,26 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        // propagate range indexed
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                if ( rangeIndex.canDispatch( object ) ) {
+                    final long key = rangeIndex.factKey( object );
+                    propagateAssertObject( rangeIndex.getGreaterThan(), key, factHandle, context, workingMemory );
+                    propagateAssertObject( rangeIndex.getGreaterOrEqual(), key, factHandle, context, workingMemory );
+                    propagateAssertObject( rangeIndex.getLessThan(), key, factHandle, context, workingMemory );
+                    propagateAssertObject( rangeIndex.getLessOrEqual(), key, factHandle, context, workingMemory );
+                } else {
+                    for ( AlphaNode sink : rangeIndex.getNodes() ) {
+                        doPropagateAssertObject( factHandle,
+                                                 context,
+                                                 workingMemory,
+                                                 sink );
+                    }
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             // propagate others
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
@@ -401,6 +553,17 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         }
     }
 
+    private void propagateAssertObject(final AlphaRangeIndex.RangeBound bound,
+                                       final long key,
+                                       final InternalFactHandle factHandle,
+                                       final PropagationContext context,
+                                       final InternalWorkingMemory workingMemory) {
+        for ( int i = bound.start( key ), end = bound.end( key ); i < end; i++ ) {
+            // go straight to the AlphaNode's propagator, as we know it's true and no need to retest
+            bound.getSink( i ).getObjectSinkPropagator().propagateAssertObject( factHandle, context, workingMemory );
+        }
+    }
+
     public void propagateModifyObject(final InternalFactHandle factHandle,
                                       final ModifyPreviousTuples modifyPreviousTuples,
                                       final PropagationContext context,
@@ -416,8 +579,8 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                 if ( !fieldIndex.isHashed() ) {
                     continue;
                 }
-                // this field is hashed so set the existing hashKey and see if there is a sink for it
-                final AlphaNode sink = (AlphaNode) this.hashedSinkMap.get( new HashKey( fieldIndex, object ) );
+                // this field is hashed so see if there is a sink for the value of this field
+                final AlphaNode sink = getHashedSink( fieldIndex, object );
                 if ( sink != null ) {
                     // go straight to the AlphaNode's propagator, as we know it's true and no need to retest
                     sink.getObjectSinkPropagator().propagateModifyObject( factHandle, modifyPreviousTuples, context, workingMemory );
@@ -436,6 +599,27 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        // propagate range indexed
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                if ( rangeIndex.canDispatchModify( object, context.getModificationMask() ) ) {
+                    final long key = rangeIndex.factKey( object );
+                    propagateModifyObject( rangeIndex.getGreaterThan(), key, factHandle, modifyPreviousTuples, context, workingMemory );
+                    propagateModifyObject( rangeIndex.getGreaterOrEqual(), key, factHandle, modifyPreviousTuples, context, workingMemory );
+                    propagateModifyObject( rangeIndex.getLessThan(), key, factHandle, modifyPreviousTuples, context, workingMemory );
+                    propagateModifyObject( rangeIndex.getLessOrEqual(), key, factHandle, modifyPreviousTuples, context, workingMemory );
+                } else {
+                    for ( AlphaNode sink : rangeIndex.getNodes() ) {
+                        doPropagateModifyObject( factHandle,
+                                                 modifyPreviousTuples,
+                                                 context,
+                                                 workingMemory,
+                                                 sink );
+                    }
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             // propagate others
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
@@ -447,6 +631,19 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
     }
+
+    private void propagateModifyObject(final AlphaRangeIndex.RangeBound bound,
+                                       final long key,
+                                       final InternalFactHandle factHandle,
+                                       final ModifyPreviousTuples modifyPreviousTuples,
+                                       final PropagationContext context,
+                                       final InternalWorkingMemory workingMemory) {
+        for ( int i = bound.start( key ), end = bound.end( key ); i < end; i++ ) {
+            // the modification mask intersects the mask of all the indexed nodes, so they would all retest
+            // the constraint: the nodes out of the range can be skipped and the ones in it propagated directly
+            bound.getSink( i ).getObjectSinkPropagator().propagateModifyObject( factHandle, modifyPreviousTuples, context, workingMemory );
+        }
+    }
     
     public void byPassModifyToBetaNode (final InternalFactHandle factHandle,
                                         final ModifyPreviousTuples modifyPreviousTuples,
@@ -461,8 +658,8 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                 if ( !fieldIndex.isHashed() ) {
                     continue;
                 }
-                // this field is hashed so set the existing hashKey and see if there is a sink for it
-                final AlphaNode sink = (AlphaNode) this.hashedSinkMap.get( new HashKey( fieldIndex, object ) );
+                // this field is hashed so see if there is a sink for the value of this field
+                final AlphaNode sink = getHashedSink( fieldIndex, object );
                 if ( sink != null ) {
                     // only alpha nodes are hashable
                     sink.getObjectSinkPropagator().byPassModifyToBetaNode( factHandle, modifyPreviousTuples, context, workingMemory );
@@ -478,6 +675,14 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                for ( AlphaNode sink : rangeIndex.getNodes() ) {
+                    sink.getObjectSinkPropagator().byPassModifyToBetaNode( factHandle, modifyPreviousTuples, context, workingMemory );
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             // propagate others
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {                
@@ -487,6 +692,16 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
         }        
     }
 
+    private AlphaNode getHashedSink(final FieldIndex fieldIndex,
+                                    final Object object) {
+        final AlphaNodeDispatchTable dispatchTable = fieldIndex.getDispatchTable();
+        if ( dispatchTable != null ) {
+            // no need to create a HashKey, the field value is read and looked up as a primitive
+            return dispatchTable.get( object );
+        }
+        return (AlphaNode) this.hashedSinkMap.get( new HashKey( fieldIndex, object ) );
+    }
+
     /**
      * This is a Hook method for subclasses to override. Please keep it protected unless you know
      * what you are doing.
@@ -539,6 +754,14 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                 sinksMap.put( sink, sink );
             }
         }
+
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                for ( AlphaNode sink : rangeIndex.getNodes() ) {
+                    sinksMap.put( sink, sink );
+                }
+            }
+        }
     }
 
     public ObjectSink[] getSinks() {
@@ -572,6 +795,14 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             }
         }
 
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                for ( AlphaNode sink : rangeIndex.getNodes() ) {
+                    sinks[at++] = sink;
+                }
+            }
+        }
+
         if ( this.otherSinks != null ) {
             for ( ObjectSinkNode sink = this.otherSinks.getFirst(); sink != null; sink = sink.getNextObjectSinkNode() ) {
                 sinks[at++] = sink;
@@ -600,7 +831,17 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
     }     
 
     public int size() {
-        return (this.otherSinks != null ? this.otherSinks.size() : 0) + (this.hashableSinks != null ? this.hashableSinks.size() : 0) + (this.hashedSinkMap != null ? this.hashedSinkMap.size() : 0);
+        return (this.otherSinks != null ? this.otherSinks.size() : 0) + (this.hashableSinks != null ? this.hashableSinks.size() : 0) + (this.hashedSinkMap != null ? this.hashedSinkMap.size() : 0) + rangeIndexedSize();
+    }
+
+    private int rangeIndexedSize() {
+        int size = 0;
+        if ( this.rangeIndexes != null ) {
+            for ( AlphaRangeIndex rangeIndex : this.rangeIndexes ) {
+                size += rangeIndex.size();
+            }
+        }
+        return size;
     }
 
     public boolean isEmpty() {
@@ -841,6 +1082,10 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             return 0;
         }
 
+        public boolean isNull() {
+            return this.isNull;
+        }
+
         public Object getObjectValue() {
             switch ( this.type ) {
                 case BOOL :
@@ -897,6 +1142,8 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
 
         private boolean              hashed;
 
+        private transient AlphaNodeDispatchTable dispatchTable;
+
         private FieldIndex           previous;
         private FieldIndex           next;
 
@@ -907,6 +1154,7 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
                           final InternalReadAccessor fieldExtractor) {
             this.index = index;
             this.fieldExtactor = fieldExtractor;
+            this.dispatchTable = PRIMITIVE_HASHING ? AlphaNodeDispatchTable.newDispatchTable( fieldExtractor ) : null;
         }
 
         public void readExternal(ObjectInput in) throws IOException,
@@ -915,6 +1163,8 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             fieldExtactor = (InternalReadAccessor) in.readObject();
             count = in.readInt();
             hashed = in.readBoolean();
+            // the table is rebuilt by the owning sink adapter once its hashed sinks have been read
+            dispatchTable = PRIMITIVE_HASHING ? AlphaNodeDispatchTable.newDispatchTable( fieldExtactor ) : null;
         }
 
         public void writeExternal(ObjectOutput out) throws IOException {
@@ -944,6 +1194,10 @@ public class CompositeObjectSinkAdapter implements ObjectSinkPropagator {
             return this.hashed;
         }
 
+        public AlphaNodeDispatchTable getDispatchTable() {
+            return this.dispatchTable;
+        }
+
         public void setHashed(final boolean hashed) {
             this.hashed = hashed;
         }
@@ -30,13 +30,14 @@ import org.drools.core.common.RuleBasePartitionId;
 import org.drools.core.phreak.PropagationEntry;
 import org.drools.core.reteoo.CompositeObjectSinkAdapter.FieldIndex;
 import org.drools.core.rule.IndexableConstraint;
+import org.drools.core.spi.FieldValue;
 import org.drools.core.spi.InternalReadAccessor;
 import org.drools.core.spi.PropagationContext;
 import org.drools.core.util.ObjectHashMap;
 
 public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropagator {
 
-    private final ObjectSinkPropagator[] partitionedPropagators = new ObjectSinkPropagator[RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER];
+    private ObjectSinkPropagator[] partitionedPropagators;
 
     private boolean hashed = true;
     private CompositeObjectSinkAdapter.FieldIndex fieldIndex;
@@ -44,6 +45,11 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
     private ObjectHashMap hashedSinkMap;
 
     public CompositePartitionAwareObjectSinkAdapter() {
+        this( RuleBasePartitionId.PARALLEL_PARTITIONS_NUMBER );
+    }
+
+    public CompositePartitionAwareObjectSinkAdapter( int partitionsNumber ) {
+        partitionedPropagators = new ObjectSinkPropagator[partitionsNumber];
         Arrays.fill(partitionedPropagators, EmptyObjectSinkAdapter.getInstance());
     }
 
@@ -69,11 +75,15 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
             }
             if (fieldIndex.getIndex() == index) {
                 AlphaNode alpha = (AlphaNode)sink;
+                FieldValue value = ((IndexableConstraint)alpha.getConstraint()).getField();
                 this.hashedSinkMap.put( new CompositeObjectSinkAdapter.HashKey( index,
-                                                                                ((IndexableConstraint)alpha.getConstraint()).getField(),
+                                                                                value,
                                                                                 fieldIndex.getFieldExtractor() ),
                                         alpha,
                                         false );
+                if ( fieldIndex.getDispatchTable() != null ) {
+                    fieldIndex.getDispatchTable().put( value, alpha );
+                }
                 return true;
             }
         }
@@ -109,7 +119,10 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
     public void propagateAssertObject( InternalFactHandle factHandle, PropagationContext context, InternalWorkingMemory workingMemory ) {
         CompositeDefaultAgenda compositeAgenda = (CompositeDefaultAgenda) workingMemory.getAgenda();
         if (hashed) {
-            AlphaNode sink = (AlphaNode) this.hashedSinkMap.get( new CompositeObjectSinkAdapter.HashKey( fieldIndex, factHandle.getObject() ) );
+            AlphaNodeDispatchTable dispatchTable = fieldIndex.getDispatchTable();
+            AlphaNode sink = dispatchTable != null ?
+                             dispatchTable.get( factHandle.getObject() ) :
+                             (AlphaNode) this.hashedSinkMap.get( new CompositeObjectSinkAdapter.HashKey( fieldIndex, factHandle.getObject() ) );
             if ( sink != null ) {
                 compositeAgenda.getPartitionedAgenda( sink.getPartitionId().getParallelEvaluationSlot() )
                                .addPropagation( new HashedInsert( sink, factHandle, context ) );
@@ -232,6 +245,7 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
         out.writeBoolean( hashed );
         out.writeObject( fieldIndex );
         out.writeObject( hashedSinkMap );
+        out.writeInt( partitionedPropagators.length );
         for ( ObjectSinkPropagator partitionedPropagator : partitionedPropagators ) {
             out.writeObject( partitionedPropagator );
         }
@@ -242,6 +256,10 @@ public class CompositePartitionAwareObjectSinkAdapter implements ObjectSinkPropa
         hashed = in.readBoolean();
         fieldIndex = (FieldIndex) in.readObject();
         hashedSinkMap = (ObjectHashMap) in.readObject();
+        if ( hashedSinkMap != null ) {
+            CompositeObjectSinkAdapter.populateDispatchTable( fieldIndex, hashedSinkMap );
+        }
+        partitionedPropagators = new ObjectSinkPropagator[in.readInt()];
         for (int i = 0; i < partitionedPropagators.length; i++) {
             partitionedPropagators[i] = (ObjectSinkPropagator) in.readObject();
         }
@@ -59,6 +59,7 @@ import org.drools.core.time.JobContext;
 import org.drools.core.time.JobHandle;
 import org.drools.core.time.TimerService;
 import org.drools.core.time.impl.DefaultJobHandle;
+import org.drools.core.time.impl.ExpirationTimerWheel;
 import org.drools.core.time.impl.PointInTimeTrigger;
 import org.drools.core.util.bitmask.BitMask;
 import org.drools.core.util.bitmask.EmptyBitMask;
@@ -147,7 +148,7 @@ public class ObjectTypeNode extends ObjectSource
         hashcode = calculateHashCode();
 
         if (objectType != ClassObjectType.InitialFact_ObjectType && context.getKnowledgeBase().getConfiguration().isMultithreadEvaluation()) {
-            this.sink = new CompositePartitionAwareObjectSinkAdapter();
+            this.sink = new CompositePartitionAwareObjectSinkAdapter( context.getKnowledgeBase().getConfiguration().getParallelPartitionsNumber() );
         }
 
         initMemoryId( context );
@@ -675,11 +676,20 @@ public class ObjectTypeNode extends ObjectSource
             DefaultJobHandle jobHandle = ( DefaultJobHandle ) ejobCtx.getJobHandle();
             PointInTimeTrigger trigger = ( PointInTimeTrigger ) jobHandle.getTimerJobInstance().getTrigger();
 
+            return serialize( expireAction, trigger.hasNextFireTime().getTime() );
+        }
+
+        public static ProtobufMessages.Timers.Timer serialize(ExpirationTimerWheel.Entry entry) {
+            return serialize( entry.getExpireAction(), entry.getExpirationTime() );
+        }
+
+        private static ProtobufMessages.Timers.Timer serialize(WorkingMemoryReteExpireAction expireAction,
+                                                               long nextFireTimestamp) {
             return ProtobufMessages.Timers.Timer.newBuilder()
                                                 .setType( ProtobufMessages.Timers.TimerType.EXPIRE )
                                                 .setExpire( ProtobufMessages.Timers.ExpireTimer.newBuilder()
                                                                                                .setHandleId( expireAction.getFactHandle().getId() )
-                                                                                               .setNextFireTimestamp( trigger.hasNextFireTime().getTime() )
+                                                                                               .setNextFireTimestamp( nextFireTimestamp )
                                                                                                .build() )
                                                 .build();
         }
@@ -713,6 +723,13 @@ public class ObjectTypeNode extends ObjectSource
             ExpireTimer _expire = _timer.getExpire();
             InternalFactHandle factHandle = inCtx.handles.get( _expire.getHandleId() );
 
+            ExpirationTimerWheel expirationTimerWheel = inCtx.wm.getExpirationTimerWheel();
+            if ( expirationTimerWheel != null ) {
+                expirationTimerWheel.scheduleExpiration( new WorkingMemoryReteExpireAction( (EventFactHandle) factHandle ),
+                                                         _expire.getNextFireTimestamp() );
+                return;
+            }
+
             TimerService clock = inCtx.wm.getTimerService();
 
             JobContext jobctx = new ExpireJobContext( new WorkingMemoryReteExpireAction((EventFactHandle)factHandle),
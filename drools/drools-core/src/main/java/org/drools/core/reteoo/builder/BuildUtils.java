@@ -144,6 +144,7 @@ public class BuildUtils {
             }
             // set node whit the actual partition label
             node.setPartitionId( context, partition );
+            context.getKnowledgeBase().registerPartitionNode( partition );
             node.attach(context);
             // adds the node to the context list to track all added nodes
             context.getNodes().add( node );
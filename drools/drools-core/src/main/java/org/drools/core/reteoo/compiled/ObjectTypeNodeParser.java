@@ -18,6 +18,7 @@ package org.drools.core.reteoo.compiled;
 
 import org.drools.core.base.ClassFieldReader;
 import org.drools.core.reteoo.AlphaNode;
+import org.drools.core.reteoo.AlphaRangeIndex;
 import org.drools.core.reteoo.BetaNode;
 import org.drools.core.reteoo.CompositeObjectSinkAdapter;
 import org.drools.core.reteoo.CompositePartitionAwareObjectSinkAdapter;
@@ -96,6 +97,7 @@ public class ObjectTypeNodeParser {
             CompositeObjectSinkAdapter composite = (CompositeObjectSinkAdapter) propagator;
 
             traverseSinkLisk(composite.getHashableSinks(), handler);
+            traverseRangeIndexedAlphaNodes(composite.getRangeIndexes(), handler);
             traverseSinkLisk(composite.getOthers(), handler);
             indexableConstraint = traverseHashedAlphaNodes(composite.getHashedSinkMap(), handler);
         } else if (propagator instanceof CompositePartitionAwareObjectSinkAdapter) {
@@ -120,6 +122,15 @@ public class ObjectTypeNodeParser {
         }
     }
 
+    private void traverseRangeIndexedAlphaNodes(AlphaRangeIndex[] rangeIndexes, NetworkHandler handler) {
+        if (rangeIndexes != null) {
+            // the compiled network evaluates each range indexed alpha node as a regular one
+            for (AlphaRangeIndex rangeIndex : rangeIndexes) {
+                traverseSinkLisk(rangeIndex.getNodes(), handler);
+            }
+        }
+    }
+
     private IndexableConstraint traverseHashedAlphaNodes(ObjectHashMap hashedAlphaNodes, NetworkHandler handler) {
         IndexableConstraint hashedFieldReader = null;
         if (hashedAlphaNodes != null && hashedAlphaNodes.size() > 0) {
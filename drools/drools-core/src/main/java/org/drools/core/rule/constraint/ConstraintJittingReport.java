@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.rule.constraint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the outcome of the jitting of the mvel constraints of a kbase: how many of them have been
+ * compiled to bytecode, the time spent compiling them and the expressions that couldn't be compiled
+ * and then keep being interpreted.
+ */
+public class ConstraintJittingReport {
+
+    private final AtomicInteger jittedConstraints = new AtomicInteger();
+    private final AtomicLong jittingNanos = new AtomicLong();
+    private final Queue<String> interpretedExpressions = new ConcurrentLinkedQueue<>();
+
+    void recordJitted( long nanos ) {
+        jittedConstraints.incrementAndGet();
+        jittingNanos.addAndGet( nanos );
+    }
+
+    void recordInterpreted( String expression ) {
+        interpretedExpressions.add( expression );
+    }
+
+    public int getJittedConstraintsCount() {
+        return jittedConstraints.get();
+    }
+
+    public long getJittingTime( TimeUnit unit ) {
+        return unit.convert( jittingNanos.get(), TimeUnit.NANOSECONDS );
+    }
+
+    public Collection<String> getInterpretedExpressions() {
+        return new ArrayList<>( interpretedExpressions );
+    }
+
+    @Override
+    public String toString() {
+        return "ConstraintJittingReport{ jitted constraints: " + getJittedConstraintsCount() +
+               ", jitting time: " + getJittingTime( TimeUnit.MILLISECONDS ) + "ms" +
+               ", not jittable expressions: " + interpretedExpressions + " }";
+    }
+}
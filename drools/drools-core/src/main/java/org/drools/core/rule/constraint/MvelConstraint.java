@@ -37,7 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.drools.core.base.ClassFieldReader;
 import org.drools.core.base.DroolsQuery;
@@ -88,7 +88,8 @@ public class MvelConstraint extends MutableTypeConstraint implements IndexableCo
 
     private static final Logger logger = LoggerFactory.getLogger(MvelConstraint.class);
 
-    protected final transient AtomicInteger invocationCounter = new AtomicInteger(1);
+    // striped, so the threads evaluating the same constraint don't contend on the same counter
+    protected final transient LongAdder invocationCounter = new LongAdder();
     protected transient volatile boolean jitted = false;
 
     private Set<String> packageNames;
@@ -264,8 +265,11 @@ public class MvelConstraint extends MutableTypeConstraint implements IndexableCo
                 }
             }
 
-            if (jittingThreshold != 0 && !isDynamic && invocationCounter.getAndIncrement() == jittingThreshold) {
-                jitEvaluator(handle, workingMemory, tuple);
+            if (jittingThreshold != 0 && !isDynamic) {
+                invocationCounter.increment();
+                if (invocationCounter.sum() >= jittingThreshold) {
+                    jitEvaluator(handle, workingMemory, tuple);
+                }
             }
         }
         try {
@@ -297,8 +301,18 @@ public class MvelConstraint extends MutableTypeConstraint implements IndexableCo
     }
 
     protected void jitEvaluator(InternalFactHandle handle, InternalWorkingMemory workingMemory, Tuple tuple) {
-        jitted = true;
-        ExecutorHolder.executor.execute(new ConditionJitter(this, handle, workingMemory, tuple));
+        // the counter is not atomic, so more threads can reach the threshold at the same time
+        synchronized (this) {
+            if (jitted) {
+                return;
+            }
+            jitted = true;
+        }
+        if (workingMemory.getKnowledgeBase().getConfiguration().isSynchronousJitting()) {
+            conditionEvaluator = executeJitting(handle, workingMemory, tuple, conditionEvaluator);
+        } else {
+            ExecutorHolder.executor.execute(new ConditionJitter(this, handle, workingMemory, tuple));
+        }
     }
 
     private static class ConditionJitter implements Runnable {
@@ -330,9 +344,11 @@ public class MvelConstraint extends MutableTypeConstraint implements IndexableCo
     private ConditionEvaluator executeJitting(InternalFactHandle handle, InternalWorkingMemory workingMemory, Tuple tuple, ConditionEvaluator mvelEvaluator) {
         InternalKnowledgeBase kBase = workingMemory.getKnowledgeBase();
         if ( !isJmxAvailable() && MemoryUtil.permGenStats.isUsageThresholdExceeded(kBase.getConfiguration().getPermGenThreshold()) ) {
+            kBase.getConstraintJittingReport().recordInterpreted( expression );
             return mvelEvaluator;
         }
 
+        long start = System.nanoTime();
         try {
             if (analyzedCondition == null) {
                 analyzedCondition = ((MvelConditionEvaluator) mvelEvaluator).getAnalyzedCondition(handle, workingMemory, tuple);
@@ -340,7 +356,9 @@ public class MvelConstraint extends MutableTypeConstraint implements IndexableCo
             ClassLoader jitClassLoader = kBase.getRootClassLoader() instanceof ProjectClassLoader ?
                     (( ProjectClassLoader ) kBase.getRootClassLoader()).getTypesClassLoader() :
                     kBase.getRootClassLoader();
-            return ASMConditionEvaluatorJitter.jitEvaluator(expression, analyzedCondition, declarations, operators, jitClassLoader, tuple);
+            ConditionEvaluator jittedEvaluator = ASMConditionEvaluatorJitter.jitEvaluator(expression, analyzedCondition, declarations, operators, jitClassLoader, tuple);
+            kBase.getConstraintJittingReport().recordJitted( System.nanoTime() - start );
+            return jittedEvaluator;
         } catch (Throwable t) {
             if (TEST_JITTING) {
                 if (analyzedCondition == null) {
@@ -353,6 +371,7 @@ public class MvelConstraint extends MutableTypeConstraint implements IndexableCo
                              " This is NOT an error and NOT prevent the correct execution since the constraint will be evaluated in intrepreted mode" );
             }
         }
+        kBase.getConstraintJittingReport().recordInterpreted( expression );
         return mvelEvaluator;
     }
 
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.time.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.impl.StatefulKnowledgeSessionImpl.WorkingMemoryReteExpireAction;
+import org.drools.core.phreak.PropagationEntry;
+import org.drools.core.time.Job;
+import org.drools.core.time.JobContext;
+import org.drools.core.time.JobHandle;
+import org.drools.core.time.TimerService;
+
+/**
+ * A hierarchical timer wheel scheduling the expirations of the events of a session.
+ *
+ * Instead of scheduling a job on the session's TimerService for each expiring event, the expirations are
+ * collected in time buckets and only one job per non empty bucket is scheduled. Each level of the wheel has
+ * 64 slots and a slot of a level spans the whole range of the level below it, so the first level buckets
+ * have the granularity of a single millisecond. When the job of a bucket fires, all its due expirations are
+ * executed by a single working memory action, while the ones not yet due are cascaded into the buckets of
+ * the lower levels. Since the jobs are still driven by the TimerService, this works in the same way with
+ * the realtime clock and with the PseudoClockScheduler.
+ *
+ * The entries of the wheel are the JobHandles registered on the expiring EventFactHandles, so an event
+ * retraction removes its pending expirations from the wheel.
+ */
+public class ExpirationTimerWheel {
+
+    public static final String PROPERTY_NAME = "drools.expirationTimerWheel";
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    // 64^10 ms are much more than any reasonable expiration, the last level takes anything beyond it
+    private static final int LEVELS = 10;
+
+    private static final BucketJob bucketJob = new BucketJob();
+
+    private final InternalWorkingMemory workingMemory;
+
+    private final Bucket[][] levels = new Bucket[LEVELS][];
+
+    public ExpirationTimerWheel( InternalWorkingMemory workingMemory ) {
+        this.workingMemory = workingMemory;
+    }
+
+    public void scheduleExpiration( WorkingMemoryReteExpireAction expireAction, long expirationTime ) {
+        Entry entry = new Entry( this, expireAction, expirationTime );
+        // the entry is registered on the handle first, so it cannot be removed from it before being added
+        expireAction.getFactHandle().addJob( entry );
+        synchronized (this) {
+            add( entry, workingMemory.getTimerService().getCurrentTime() );
+        }
+    }
+
+    private void add( Entry entry, long now ) {
+        int level = levelFor( entry.expirationTime - now );
+        int shift = SLOT_BITS * level;
+        long start = entry.expirationTime - Math.floorMod( entry.expirationTime, 1L << shift );
+
+        Bucket[] slots = levels[level];
+        if (slots == null) {
+            slots = new Bucket[SLOTS];
+            levels[level] = slots;
+        }
+        int slot = (int) ( ( start >> shift ) & SLOT_MASK );
+        Bucket bucket = slots[slot];
+        if (bucket == null) {
+            bucket = new Bucket( level, slot );
+            slots[slot] = bucket;
+        }
+        bucket.add( entry );
+
+        // a bucket still waiting for a previous round of its slot can only be fired earlier than needed,
+        // in that case its entries not yet due are simply cascaded again
+        if (bucket.context == null || start < bucket.fireTime) {
+            schedule( bucket, start );
+        }
+    }
+
+    private static int levelFor( long delay ) {
+        int level = 0;
+        for (long span = SLOTS; delay >= span && level < LEVELS - 1; span <<= SLOT_BITS) {
+            level++;
+        }
+        return level;
+    }
+
+    private void schedule( Bucket bucket, long fireTime ) {
+        TimerService timerService = workingMemory.getTimerService();
+        if (bucket.context != null) {
+            timerService.removeJob( bucket.context.getJobHandle() );
+        }
+        BucketJobContext context = new BucketJobContext( this, bucket );
+        context.setJobHandle( timerService.scheduleJob( bucketJob, context, new PointInTimeTrigger( fireTime, null, null ) ) );
+        bucket.context = context;
+        bucket.fireTime = fireTime;
+    }
+
+    private void fire( BucketJobContext context ) {
+        List<Entry> dueEntries = new ArrayList<Entry>();
+        synchronized (this) {
+            Bucket bucket = context.bucket;
+            if (bucket.context != context) {
+                // this job has been replaced by another one firing earlier
+                return;
+            }
+            detach( bucket );
+
+            // the bucket is due at its fire time even if the realtime clock is still slightly behind it
+            long now = Math.max( workingMemory.getTimerService().getCurrentTime(), bucket.fireTime );
+            for (Entry entry = bucket.first; entry != null; ) {
+                Entry next = entry.bucketNext;
+                entry.bucket = null;
+                entry.bucketPrevious = null;
+                entry.bucketNext = null;
+                if (entry.expirationTime <= now) {
+                    dueEntries.add( entry );
+                } else {
+                    add( entry, now );
+                }
+                entry = next;
+            }
+        }
+
+        if (!dueEntries.isEmpty()) {
+            List<WorkingMemoryReteExpireAction> expireActions = new ArrayList<WorkingMemoryReteExpireAction>( dueEntries.size() );
+            for (Entry entry : dueEntries) {
+                entry.expireAction.getFactHandle().removeJob( entry );
+                expireActions.add( entry.expireAction );
+            }
+            workingMemory.startOperation();
+            try {
+                workingMemory.addPropagation( new ExpireBucketAction( expireActions ) );
+            } finally {
+                workingMemory.endOperation();
+            }
+        }
+    }
+
+    private synchronized void cancel( Entry entry ) {
+        entry.setCancel( true );
+        Bucket bucket = entry.bucket;
+        if (bucket != null) {
+            bucket.remove( entry );
+            if (bucket.first == null) {
+                workingMemory.getTimerService().removeJob( bucket.context.getJobHandle() );
+                detach( bucket );
+            }
+        }
+    }
+
+    private void detach( Bucket bucket ) {
+        if (levels[bucket.level][bucket.slot] == bucket) {
+            levels[bucket.level][bucket.slot] = null;
+        }
+        bucket.context = null;
+    }
+
+    /**
+     * Returns the expirations still pending in this wheel ordered by expiration time
+     */
+    public synchronized List<Entry> getEntries() {
+        List<Entry> entries = new ArrayList<Entry>();
+        for (Bucket[] slots : levels) {
+            if (slots != null) {
+                for (Bucket bucket : slots) {
+                    for (Entry entry = bucket != null ? bucket.first : null; entry != null; entry = entry.bucketNext) {
+                        entries.add( entry );
+                    }
+                }
+            }
+        }
+        Collections.sort( entries, ( e1, e2 ) -> Long.compare( e1.expirationTime, e2.expirationTime ) );
+        return entries;
+    }
+
+    /**
+     * Forgets all the pending expirations, the jobs of the buckets are expected to be discarded
+     * together with all the other ones of the TimerService
+     */
+    public synchronized void reset() {
+        for (int i = 0; i < LEVELS; i++) {
+            levels[i] = null;
+        }
+    }
+
+    public static class Entry extends AbstractJobHandle {
+
+        private final ExpirationTimerWheel wheel;
+        private final WorkingMemoryReteExpireAction expireAction;
+        private final long expirationTime;
+
+        private volatile boolean cancel;
+
+        private Bucket bucket;
+        private Entry bucketPrevious;
+        private Entry bucketNext;
+
+        private Entry( ExpirationTimerWheel wheel, WorkingMemoryReteExpireAction expireAction, long expirationTime ) {
+            this.wheel = wheel;
+            this.expireAction = expireAction;
+            this.expirationTime = expirationTime;
+        }
+
+        public WorkingMemoryReteExpireAction getExpireAction() {
+            return expireAction;
+        }
+
+        public long getExpirationTime() {
+            return expirationTime;
+        }
+
+        /**
+         * Removes this expiration from the wheel
+         */
+        public void cancel() {
+            wheel.cancel( this );
+        }
+
+        @Override
+        public long getId() {
+            return expireAction.getFactHandle().getId();
+        }
+
+        @Override
+        public void setCancel( boolean cancel ) {
+            this.cancel = cancel;
+        }
+
+        @Override
+        public boolean isCancel() {
+            return cancel;
+        }
+
+        @Override
+        public String toString() {
+            return "Expiration of " + expireAction.getFactHandle() + " at " + expirationTime;
+        }
+    }
+
+    private static class Bucket {
+        private final int level;
+        private final int slot;
+
+        private Entry first;
+
+        private BucketJobContext context;
+        private long fireTime;
+
+        private Bucket( int level, int slot ) {
+            this.level = level;
+            this.slot = slot;
+        }
+
+        private void add( Entry entry ) {
+            entry.bucket = this;
+            entry.bucketNext = first;
+            if (first != null) {
+                first.bucketPrevious = entry;
+            }
+            first = entry;
+        }
+
+        private void remove( Entry entry ) {
+            if (entry.bucketPrevious != null) {
+                entry.bucketPrevious.bucketNext = entry.bucketNext;
+            } else {
+                first = entry.bucketNext;
+            }
+            if (entry.bucketNext != null) {
+                entry.bucketNext.bucketPrevious = entry.bucketPrevious;
+            }
+            entry.bucket = null;
+            entry.bucketPrevious = null;
+            entry.bucketNext = null;
+        }
+    }
+
+    public static class BucketJob implements Job {
+        public void execute( JobContext ctx ) {
+            BucketJobContext context = (BucketJobContext) ctx;
+            context.wheel.fire( context );
+        }
+    }
+
+    public static class BucketJobContext implements JobContext {
+
+        private final transient ExpirationTimerWheel wheel;
+        private final transient Bucket bucket;
+
+        private JobHandle jobHandle;
+
+        private BucketJobContext( ExpirationTimerWheel wheel, Bucket bucket ) {
+            this.wheel = wheel;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public void setJobHandle( JobHandle jobHandle ) {
+            this.jobHandle = jobHandle;
+        }
+
+        @Override
+        public JobHandle getJobHandle() {
+            return jobHandle;
+        }
+
+        @Override
+        public InternalWorkingMemory getWorkingMemory() {
+            return wheel.workingMemory;
+        }
+    }
+
+    /**
+     * Expires all the due events of a bucket at once
+     */
+    public static class ExpireBucketAction extends PropagationEntry.AbstractPropagationEntry {
+
+        private final List<WorkingMemoryReteExpireAction> expireActions;
+
+        public ExpireBucketAction( List<WorkingMemoryReteExpireAction> expireActions ) {
+            this.expireActions = expireActions;
+        }
+
+        public List<WorkingMemoryReteExpireAction> getExpireActions() {
+            return expireActions;
+        }
+
+        @Override
+        public void execute( InternalWorkingMemory wm ) {
+            for (WorkingMemoryReteExpireAction expireAction : expireActions) {
+                expireAction.execute( wm );
+            }
+        }
+
+        @Override
+        public boolean isPartitionSplittable() {
+            return true;
+        }
+
+        @Override
+        public PropagationEntry getSplitForPartition( int partitionNr ) {
+            List<PropagationEntry> splits = new ArrayList<PropagationEntry>( expireActions.size() );
+            for (WorkingMemoryReteExpireAction expireAction : expireActions) {
+                splits.add( expireAction.getSplitForPartition( partitionNr ) );
+            }
+            return new PartitionedExpireBucketAction( splits, partitionNr );
+        }
+
+        @Override
+        public String toString() {
+            return "Expiration of " + expireActions.size() + " events";
+        }
+    }
+
+    public static class PartitionedExpireBucketAction extends PropagationEntry.AbstractPartitionedPropagationEntry {
+
+        private final List<PropagationEntry> splits;
+
+        public PartitionedExpireBucketAction( List<PropagationEntry> splits, int partition ) {
+            super( partition );
+            this.splits = splits;
+        }
+
+        @Override
+        public void execute( InternalWorkingMemory wm ) {
+            for (PropagationEntry split : splits) {
+                split.execute( wm );
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Expiration of " + splits.size() + " events on partition " + partition;
+        }
+    }
+}
@@ -16,53 +16,195 @@
 
 package org.drools.core.util;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * A pool of resources that, by default, creates a new resource whenever none is available and never shrinks.
+ *
+ * When a maximum size is set, the number of resources created by this pool is bounded and the threads trying to get
+ * one when all of them are in use wait until another thread releases it, up to the given timeout.
+ * When a maximum idle time is set, the resources not used since longer than that time are disposed,
+ * but the pool never shrinks below its minimum size. The idle resources are checked when a resource is taken from
+ * or released to the pool, so no additional thread is required; a pool that may stay unused for a long time can be
+ * shrunk by calling {@link #evictIdleResources()} periodically.
+ */
 public class ScalablePool<T> {
 
     private static final Logger log = LoggerFactory.getLogger(ScalablePool.class);
 
-    private final java.util.Queue<T> pool = new ConcurrentLinkedQueue<T>();
-    private final List<T> resources = Collections.synchronizedList( new ArrayList<>() );
+    // the most recently released resources are at the head, so the ones at the tail are the first to become idle
+    private final Deque<IdleResource<T>> pool = new ConcurrentLinkedDeque<IdleResource<T>>();
+    private final Set<T> resources = ConcurrentHashMap.newKeySet();
 
     private final Supplier<? extends T> supplier;
     private final Consumer<? super T> resetter;
     private final Consumer<? super T> disposer;
 
+    private final int minSize;
+    private final long maxIdleTime;
+    private final long acquireTimeout;
+
+    // the permits to take a resource from the pool, null if this pool is unbounded
+    private final Semaphore permits;
+
+    // the number of resources created and not yet disposed, reserved before disposing one so it never goes below minSize
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private final AtomicLong hitsCount = new AtomicLong();
+    private final AtomicLong missesCount = new AtomicLong();
+    private final AtomicLong waitTime = new AtomicLong();
+
     public ScalablePool( int initialSize, Supplier<? extends T> supplier, Consumer<? super T> resetter, Consumer<? super T> disposer ) {
+        this( initialSize, 0, -1, -1, -1, supplier, resetter, disposer );
+    }
+
+    /**
+     * @param initialSize the number of resources eagerly created
+     * @param minSize the number of resources that are never disposed because idle
+     * @param maxSize the maximum number of resources created by this pool, unbounded if 0 or negative
+     * @param maxIdleTime the milliseconds after which an unused resource is disposed, never if 0 or negative
+     * @param acquireTimeout the milliseconds a thread waits for a resource when this pool is bounded, forever if negative
+     */
+    public ScalablePool( int initialSize, int minSize, int maxSize, long maxIdleTime, long acquireTimeout,
+                         Supplier<? extends T> supplier, Consumer<? super T> resetter, Consumer<? super T> disposer ) {
+        if ( maxSize > 0 && ( minSize > maxSize || initialSize > maxSize ) ) {
+            throw new IllegalArgumentException( "The initial and minimum sizes of a pool cannot be greater than its maximum size" );
+        }
         this.supplier = supplier;
         this.resetter = resetter;
         this.disposer = disposer;
+        this.minSize = minSize;
+        this.maxIdleTime = maxIdleTime;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = maxSize > 0 ? new Semaphore( maxSize, true ) : null;
 
-        for (int i = 0; i < initialSize; i++) {
+        long now = System.currentTimeMillis();
+        for (int i = 0, n = Math.max( initialSize, minSize ); i < n; i++) {
             T t = this.supplier.get();
-            pool.offer( t );
             resources.add( t );
+            size.incrementAndGet();
+            pool.offerLast( new IdleResource<T>( t, now ) );
+            idleCount.incrementAndGet();
         }
     }
 
     public T get() {
-        T t = pool.poll();
-        if (t != null) {
-            return t;
+        if (permits != null) {
+            acquirePermit();
+        }
+
+        IdleResource<T> idle = pool.pollFirst();
+        if (idle != null) {
+            idleCount.decrementAndGet();
+            hitsCount.incrementAndGet();
+            if (maxIdleTime > 0) {
+                evictIdleResources( System.currentTimeMillis() );
+            }
+            return idle.resource;
         }
 
-        t = this.supplier.get();
+        missesCount.incrementAndGet();
+        T t;
+        size.incrementAndGet();
+        try {
+            t = this.supplier.get();
+        } catch (RuntimeException e) {
+            size.decrementAndGet();
+            if (permits != null) {
+                permits.release();
+            }
+            throw e;
+        }
         resources.add( t );
         return t;
     }
 
+    private void acquirePermit() {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            if (acquireTimeout < 0) {
+                permits.acquire();
+            } else if (!permits.tryAcquire( acquireTimeout, TimeUnit.MILLISECONDS )) {
+                throw new IllegalStateException( "Timeout after " + acquireTimeout + "ms waiting for a resource from the pool" );
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "Interrupted while waiting for a resource from the pool", e );
+        } finally {
+            waitTime.addAndGet( System.nanoTime() - start );
+        }
+    }
+
     public void release(T t) {
         resetter.accept( t );
-        pool.offer( t );
+        long now = System.currentTimeMillis();
+        pool.offerFirst( new IdleResource<T>( t, now ) );
+        idleCount.incrementAndGet();
+        if (permits != null) {
+            permits.release();
+        }
+        if (maxIdleTime > 0) {
+            evictIdleResources( now );
+        }
+    }
+
+    /**
+     * Disposes the resources that have not been used for longer than the maximum idle time,
+     * while keeping at least the minimum size of this pool.
+     */
+    public void evictIdleResources() {
+        if (maxIdleTime > 0) {
+            evictIdleResources( System.currentTimeMillis() );
+        }
+    }
+
+    void evictIdleResources( long now ) {
+        while (true) {
+            IdleResource<T> eldest = pool.peekLast();
+            if (eldest == null || now - eldest.releaseTime <= maxIdleTime || !reserveEviction()) {
+                return;
+            }
+            if (!pool.removeLastOccurrence( eldest )) {
+                // taken by another thread in the meanwhile
+                size.incrementAndGet();
+                continue;
+            }
+            idleCount.decrementAndGet();
+            resources.remove( eldest.resource );
+            try {
+                disposer.accept( eldest.resource );
+            } catch (RuntimeException e) {
+                log.warn( "Error disposing an idle resource of the pool", e );
+            }
+        }
+    }
+
+    private boolean reserveEviction() {
+        while (true) {
+            int current = size.get();
+            if (current <= minSize) {
+                return false;
+            }
+            if (size.compareAndSet( current, current - 1 )) {
+                return true;
+            }
+        }
     }
 
     public void shutdown() {
@@ -71,5 +213,52 @@ public class ScalablePool<T> {
         }
         pool.clear();
         resources.clear();
+        size.set( 0 );
+        idleCount.set( 0 );
+    }
+
+    /**
+     * @return the number of resources currently created by this pool, both in use and idle
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * @return the number of resources currently available in this pool
+     */
+    public int getIdleSize() {
+        return idleCount.get();
+    }
+
+    /**
+     * @return the number of requests served with an already existing resource
+     */
+    public long getHitsCount() {
+        return hitsCount.get();
+    }
+
+    /**
+     * @return the number of requests that required the creation of a new resource
+     */
+    public long getMissesCount() {
+        return missesCount.get();
+    }
+
+    /**
+     * @return the total nanoseconds spent by the requesting threads waiting for a resource to be released
+     */
+    public long getWaitTime() {
+        return waitTime.get();
+    }
+
+    private static class IdleResource<T> {
+        private final T resource;
+        private final long releaseTime;
+
+        private IdleResource( T resource, long releaseTime ) {
+            this.resource = resource;
+            this.releaseTime = releaseTime;
+        }
     }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.base.accumulators;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.drools.core.base.accumulators.AbstractDoubleMinMaxAccumulateFunction.DoubleMinMaxData;
+import org.drools.core.base.accumulators.AbstractLongMinMaxAccumulateFunction.LongMinMaxData;
+import org.drools.core.base.accumulators.AbstractMinMaxAccumulateFunction.MinMaxData;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MinMaxAccumulateFunctionTest {
+
+    @Test
+    public void testReverseMax() {
+        MaxAccumulateFunction max = new MaxAccumulateFunction();
+        assertTrue( max.supportsReverse() );
+
+        MinMaxData data = max.createContext();
+        max.init( data );
+        assertNull( max.getResult( data ) );
+
+        max.accumulate( data, "b" );
+        max.accumulate( data, "d" );
+        max.accumulate( data, "d" );
+        max.accumulate( data, "a" );
+        assertEquals( "d", max.getResult( data ) );
+
+        // a duplicated max has to be reversed twice before the next value becomes the max
+        max.reverse( data, "d" );
+        assertEquals( "d", max.getResult( data ) );
+        max.reverse( data, "d" );
+        assertEquals( "b", max.getResult( data ) );
+
+        max.reverse( data, "b" );
+        max.reverse( data, "a" );
+        assertNull( max.getResult( data ) );
+    }
+
+    @Test
+    public void testReverseMin() {
+        MinAccumulateFunction min = new MinAccumulateFunction();
+        MinMaxData data = min.createContext();
+        min.init( data );
+
+        for (int i = 10; i > 0; i--) {
+            min.accumulate( data, i );
+        }
+        min.accumulate( data, null );
+        assertEquals( 1, min.getResult( data ) );
+
+        for (int i = 1; i < 10; i++) {
+            min.reverse( data, i );
+            assertEquals( i + 1, min.getResult( data ) );
+        }
+        min.reverse( data, null );
+        assertEquals( 10, min.getResult( data ) );
+    }
+
+    @Test
+    public void testTypedVariants() {
+        IntegerMaxAccumulateFunction maxI = new IntegerMaxAccumulateFunction();
+        LongMinMaxData intData = maxI.createContext();
+        maxI.accumulate( intData, 3 );
+        maxI.accumulate( intData, -7 );
+        assertEquals( 3, maxI.getResult( intData ) );
+        assertEquals( Integer.class, maxI.getResultType() );
+
+        LongMinAccumulateFunction minL = new LongMinAccumulateFunction();
+        LongMinMaxData longData = minL.createContext();
+        minL.accumulate( longData, Long.MAX_VALUE );
+        minL.accumulate( longData, 5L );
+        minL.reverse( longData, 5L );
+        assertEquals( Long.MAX_VALUE, minL.getResult( longData ) );
+        assertEquals( Long.class, minL.getResultType() );
+
+        // any number is accumulated as a double
+        DoubleMaxAccumulateFunction maxD = new DoubleMaxAccumulateFunction();
+        DoubleMinMaxData doubleData = maxD.createContext();
+        maxD.accumulate( doubleData, 2 );
+        maxD.accumulate( doubleData, 1.5 );
+        assertEquals( 2.0, maxD.getResult( doubleData ) );
+        maxD.reverse( doubleData, 2L );
+        assertEquals( 1.5, maxD.getResult( doubleData ) );
+        assertEquals( Double.class, maxD.getResultType() );
+    }
+
+    @Test
+    public void testPrimitiveMultiset() {
+        LongMaxAccumulateFunction maxL = new LongMaxAccumulateFunction();
+        LongMinAccumulateFunction minL = new LongMinAccumulateFunction();
+        LongMinMaxData data = maxL.createContext();
+        assertNull( maxL.getResult( data ) );
+
+        // more values than the initial capacity, added out of order and with duplicates
+        for (int i = 0; i < 100; i++) {
+            maxL.accumulate( data, (long) ( i * 37 % 50 ) );
+        }
+        assertEquals( 49L, maxL.getResult( data ) );
+        assertEquals( 0L, minL.getResult( data ) );
+
+        for (int i = 49; i > 0; i--) {
+            maxL.reverse( data, (long) i );
+            assertEquals( (long) i, maxL.getResult( data ) );
+            maxL.reverse( data, (long) i );
+            assertEquals( (long) i - 1, maxL.getResult( data ) );
+        }
+        // reversing a value that was never accumulated is ignored
+        maxL.reverse( data, 1000L );
+        assertEquals( 0L, minL.getResult( data ) );
+        maxL.reverse( data, 0L );
+        maxL.reverse( data, 0L );
+        assertNull( maxL.getResult( data ) );
+        assertNull( minL.getResult( data ) );
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        DoubleMinAccumulateFunction minD = new DoubleMinAccumulateFunction();
+        DoubleMinMaxData data = minD.createContext();
+        minD.accumulate( data, 1.0 );
+        minD.accumulate( data, 1.0 );
+        minD.accumulate( data, 3.0 );
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream( baos );
+        out.writeObject( data );
+        out.close();
+        DoubleMinMaxData copy = (DoubleMinMaxData) new ObjectInputStream( new ByteArrayInputStream( baos.toByteArray() ) ).readObject();
+
+        minD.reverse( copy, 1.0 );
+        assertEquals( 1.0, minD.getResult( copy ) );
+        minD.reverse( copy, 1.0 );
+        assertEquals( 3.0, minD.getResult( copy ) );
+    }
+}
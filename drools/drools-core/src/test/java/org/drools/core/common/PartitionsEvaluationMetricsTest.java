@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.common;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PartitionsEvaluationMetricsTest {
+
+    @Test
+    public void testRecordBusyTime() {
+        PartitionsEvaluationMetrics metrics = new PartitionsEvaluationMetrics( 3 );
+        metrics.record( 0, 10L );
+        metrics.record( 2, 5L );
+        metrics.record( 0, 20L );
+
+        assertEquals( 3, metrics.getPartitionsNumber() );
+        assertEquals( 30L, metrics.getBusyTime( 0 ) );
+        assertEquals( 0L, metrics.getBusyTime( 1 ) );
+        assertEquals( 5L, metrics.getBusyTime( 2 ) );
+        assertEquals( 2L, metrics.getEvaluationsCount( 0 ) );
+        assertEquals( 0L, metrics.getEvaluationsCount( 1 ) );
+        assertEquals( 1L, metrics.getEvaluationsCount( 2 ) );
+
+        metrics.reset();
+        assertEquals( 0L, metrics.getBusyTime( 0 ) );
+        assertEquals( 0L, metrics.getEvaluationsCount( 0 ) );
+    }
+
+    @Test
+    public void testPartitionsByLastBusyTime() {
+        PartitionsEvaluationMetrics metrics = new PartitionsEvaluationMetrics( 4 );
+        assertArrayEquals( new int[] { 0, 1, 2, 3 }, metrics.getPartitionsByLastBusyTime() );
+
+        metrics.record( 0, 100L );
+        metrics.record( 1, 5L );
+        metrics.record( 2, 50L );
+        metrics.record( 3, 70L );
+        assertArrayEquals( new int[] { 0, 3, 2, 1 }, metrics.getPartitionsByLastBusyTime() );
+
+        // only the latest evaluation of each partition is considered
+        metrics.record( 0, 1L );
+        assertArrayEquals( new int[] { 3, 2, 1, 0 }, metrics.getPartitionsByLastBusyTime() );
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.drools.core.phreak;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.drools.core.PropagationListType;
+import org.drools.core.common.InternalAgenda;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.KieSessionConfiguration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LockFreePropagationListTest {
+
+    private KieSession ksession;
+    private LockFreePropagationList list;
+
+    @Before
+    public void setUp() {
+        KieSessionConfiguration conf = KnowledgeBaseFactory.newKnowledgeSessionConfiguration();
+        conf.setProperty( PropagationListType.PROPERTY_NAME, PropagationListType.LOCK_FREE.getId() );
+        ksession = KnowledgeBaseFactory.newKnowledgeBase().newKieSession( conf, null );
+        list = new LockFreePropagationList( (InternalWorkingMemory) ksession );
+    }
+
+    @After
+    public void tearDown() {
+        ksession.dispose();
+    }
+
+    @Test
+    public void testSelectedFromSessionConfiguration() {
+        InternalAgenda agenda = ( (InternalWorkingMemory) ksession ).getAgenda();
+        assertTrue( agenda.getPropagationList() instanceof LockFreePropagationList );
+    }
+
+    @Test
+    public void testEntriesAreTakenInInsertionOrder() {
+        assertTrue( list.isEmpty() );
+        assertNull( list.takeAll() );
+
+        for (int i = 0; i < 5; i++) {
+            list.addEntry( new CountingEntry( 0, i ) );
+        }
+        assertFalse( list.isEmpty() );
+
+        Iterator<PropagationEntry> it = list.iterator();
+        for (int i = 0; i < 5; i++) {
+            assertEquals( i, ( (CountingEntry) it.next() ).seq );
+        }
+        assertFalse( it.hasNext() );
+
+        int i = 0;
+        for (PropagationEntry entry = list.takeAll(); entry != null; entry = entry.getNext()) {
+            assertEquals( i++, ( (CountingEntry) entry ).seq );
+        }
+        assertEquals( 5, i );
+        assertTrue( list.isEmpty() );
+    }
+
+    @Test
+    public void testDeferredExpirationFlag() {
+        list.addEntry( new CountingEntry( 0, 0 ) );
+        assertFalse( list.hasEntriesDeferringExpiration() );
+
+        list.addEntry( new CountingEntry( 0, 1 ) {
+            @Override
+            public boolean defersExpiration() {
+                return true;
+            }
+        } );
+        assertTrue( list.hasEntriesDeferringExpiration() );
+
+        list.takeAll();
+        assertFalse( list.hasEntriesDeferringExpiration() );
+    }
+
+    @Test(timeout = 20000L)
+    public void testConcurrentProducers() throws Exception {
+        final int producers = 8;
+        final int entriesPerProducer = 20000;
+
+        final CountDownLatch start = new CountDownLatch( 1 );
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < producers; t++) {
+            final int producer = t;
+            Thread thread = new Thread( () -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException( e );
+                }
+                for (int i = 0; i < entriesPerProducer; i++) {
+                    list.addEntry( new CountingEntry( producer, i ) );
+                }
+            } );
+            thread.start();
+            threads.add( thread );
+        }
+        start.countDown();
+
+        int[] lastSeq = new int[producers];
+        for (int t = 0; t < producers; t++) {
+            lastSeq[t] = -1;
+        }
+        int taken = 0;
+        while (taken < producers * entriesPerProducer) {
+            for (PropagationEntry entry = list.takeAll(); entry != null; entry = entry.getNext()) {
+                CountingEntry countingEntry = (CountingEntry) entry;
+                // the entries of each producer have to be taken exactly once and in the order they have been added
+                assertEquals( lastSeq[countingEntry.producer] + 1, countingEntry.seq );
+                lastSeq[countingEntry.producer] = countingEntry.seq;
+                taken++;
+            }
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue( list.isEmpty() );
+        for (int t = 0; t < producers; t++) {
+            assertEquals( entriesPerProducer - 1, lastSeq[t] );
+        }
+    }
+
+    @Test(timeout = 20000L)
+    public void testWaitOnRestIsNotifiedByAdd() throws Exception {
+        final AtomicBoolean waiting = new AtomicBoolean( false );
+        final List<PropagationEntry> taken = new ArrayList<PropagationEntry>();
+
+        // mimics the rest handling of fireUntilHalt
+        Thread consumer = new Thread( () -> {
+            synchronized (list) {
+                PropagationEntry head = list.takeAll();
+                while (head == null) {
+                    waiting.set( true );
+                    list.waitOnRest();
+                    head = list.takeAll();
+                }
+                taken.add( head );
+            }
+        } );
+        consumer.start();
+
+        while (!waiting.get()) {
+            Thread.sleep( 10 );
+        }
+        PropagationEntry entry = new CountingEntry( 0, 0 );
+        list.addEntry( entry );
+
+        consumer.join( TimeUnit.SECONDS.toMillis( 10 ) );
+        assertFalse( consumer.isAlive() );
+        assertEquals( 1, taken.size() );
+        assertSame( entry, taken.get( 0 ) );
+    }
+
+    private static class CountingEntry extends PropagationEntry.AbstractPropagationEntry {
+        private final int producer;
+        private final int seq;
+
+        private CountingEntry( int producer, int seq ) {
+            this.producer = producer;
+            this.seq = seq;
+        }
+
+        @Override
+        public void execute( InternalWorkingMemory wm ) { }
+    }
+}
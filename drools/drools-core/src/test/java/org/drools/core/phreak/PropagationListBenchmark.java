@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.core.phreak;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.PropagationListType;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.kie.api.runtime.KieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of the PropagationList implementations when the benchmark threads concurrently add
+ * entries to a list drained by a single consumer, as it happens with a fireUntilHalt session fed by many threads.
+ * Run it with its main method, that repeats it with 1 to 32 producer threads.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PropagationListBenchmark {
+
+    private static final int[] PRODUCERS = { 1, 2, 4, 8, 16, 32 };
+
+    @Param({"SYNCHRONIZED", "LOCK_FREE"})
+    private PropagationListType type;
+
+    private KieSession ksession;
+    private PropagationList list;
+    private Thread consumer;
+    private volatile boolean consuming;
+
+    @Setup(Level.Iteration)
+    public void startConsumer() {
+        ksession = KnowledgeBaseFactory.newKnowledgeBase().newKieSession();
+        list = type.createInstance( (InternalWorkingMemory) ksession );
+        consuming = true;
+        consumer = new Thread( () -> {
+            while (consuming) {
+                for (PropagationEntry entry = list.takeAll(); entry != null; entry = entry.getNext()) {
+                    // only drains the list
+                }
+            }
+        } );
+        consumer.setDaemon( true );
+        consumer.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopConsumer() throws InterruptedException {
+        consuming = false;
+        consumer.join();
+        ksession.dispose();
+    }
+
+    @Benchmark
+    public void addEntry() {
+        list.addEntry( new NoopEntry() );
+    }
+
+    public static void main( String[] args ) throws Exception {
+        for (int producers : PRODUCERS) {
+            new Runner( new OptionsBuilder()
+                                .include( PropagationListBenchmark.class.getSimpleName() )
+                                .threads( producers )
+                                .build() ).run();
+        }
+    }
+
+    private static class NoopEntry extends PropagationEntry.AbstractPropagationEntry {
+        @Override
+        public void execute( InternalWorkingMemory wm ) { }
+    }
+}
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
@@ -495,6 +496,90 @@ public class CompositeObjectSinkAdapterTest {
 
     }
 
+    @Test
+    public void testIntDispatchTable() {
+        final CompositeObjectSinkAdapter ad = new CompositeObjectSinkAdapter();
+        InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                          "price" );
+
+        AlphaNode[] alphas = new AlphaNode[100];
+        for ( int i = 0; i < alphas.length; i++ ) {
+            final MvelConstraint lit = new MvelConstraintTestUtil( "price == " + i,
+                                                                   new LongFieldImpl( i ),
+                                                                   extractor );
+            alphas[i] = new AlphaNode( buildContext.getNextId(),
+                                       lit,
+                                       new MockObjectSource( buildContext.getNextId() ),
+                                       buildContext );
+            ad.addObjectSink( alphas[i] );
+        }
+
+        assertNotNull( ad.hashedSinkMap );
+        AlphaNodeDispatchTable dispatchTable = ad.hashedFieldIndexes.getFirst().getDispatchTable();
+        assertTrue( dispatchTable instanceof AlphaNodeDispatchTable.IntKeyed );
+        assertEquals( 100,
+                      dispatchTable.size() );
+
+        Cheese cheese = new Cheese();
+        for ( int i = 0; i < alphas.length; i++ ) {
+            cheese.setPrice( i );
+            assertSame( alphas[i],
+                        dispatchTable.get( cheese ) );
+        }
+        cheese.setPrice( 100 );
+        assertNull( dispatchTable.get( cheese ) );
+
+        // remove every other node, the remaining ones must still be reachable
+        for ( int i = 0; i < alphas.length; i += 2 ) {
+            ad.removeObjectSink( alphas[i] );
+        }
+        assertEquals( 50,
+                      dispatchTable.size() );
+        for ( int i = 0; i < alphas.length; i++ ) {
+            cheese.setPrice( i );
+            if ( i % 2 == 0 ) {
+                assertNull( dispatchTable.get( cheese ) );
+            } else {
+                assertSame( alphas[i],
+                            dispatchTable.get( cheese ) );
+            }
+        }
+    }
+
+    @Test
+    public void testStringDispatchTable() {
+        final CompositeObjectSinkAdapter ad = new CompositeObjectSinkAdapter();
+        InternalReadAccessor extractor = store.getReader( Cheese.class,
+                                                          "type" );
+
+        String[] types = new String[] { "stilton", "brie", "cheddar" };
+        AlphaNode[] alphas = new AlphaNode[types.length];
+        for ( int i = 0; i < types.length; i++ ) {
+            final MvelConstraint lit = new MvelConstraintTestUtil( "type == \"" + types[i] + "\"",
+                                                                   new ObjectFieldImpl( types[i] ),
+                                                                   extractor );
+            alphas[i] = new AlphaNode( buildContext.getNextId(),
+                                       lit,
+                                       new MockObjectSource( buildContext.getNextId() ),
+                                       buildContext );
+            ad.addObjectSink( alphas[i] );
+        }
+
+        AlphaNodeDispatchTable dispatchTable = ad.hashedFieldIndexes.getFirst().getDispatchTable();
+        assertTrue( dispatchTable instanceof AlphaNodeDispatchTable.StringKeyed );
+
+        assertSame( alphas[1],
+                    dispatchTable.get( new Cheese( "brie", 10 ) ) );
+        assertNull( dispatchTable.get( new Cheese( "gorgonzola", 10 ) ) );
+        assertNull( dispatchTable.get( new Cheese( null, 10 ) ) );
+
+        // below the threshold the sinks are unhashed and the table emptied
+        ad.removeObjectSink( alphas[1] );
+        assertNull( ad.hashedSinkMap );
+        assertEquals( 0,
+                      dispatchTable.size() );
+    }
+
     public static class MockExtractor
         implements
         InternalReadAccessor {
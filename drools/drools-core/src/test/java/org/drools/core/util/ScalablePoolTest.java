@@ -18,6 +18,14 @@ package org.drools.core.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -108,6 +116,133 @@ public class ScalablePoolTest {
         check( monitor, 5, 2, 5 );
     }
 
+    @Test
+    public void testBoundedPool() throws Exception {
+        Monitor monitor = new Monitor();
+        ScalablePool<PooledResource> pool = new ScalablePool<>( 1, 0, 2, -1, 500, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        PooledResource resource1 = pool.get();
+        PooledResource resource2 = pool.get();
+        check( monitor, 2, 0, 0 );
+        assertEquals( 1, pool.getHitsCount() );
+        assertEquals( 1, pool.getMissesCount() );
+        assertEquals( 2, pool.getSize() );
+        assertEquals( 0, pool.getIdleSize() );
+
+        try {
+            pool.get();
+            fail("the pool is exhausted, so it should time out");
+        } catch (IllegalStateException e) { }
+        assertTrue( pool.getWaitTime() > 0 );
+
+        CountDownLatch waiting = new CountDownLatch( 1 );
+        Thread releaser = new Thread( () -> {
+            try {
+                waiting.await();
+                Thread.sleep( 20 );
+            } catch (InterruptedException e) {
+                throw new RuntimeException( e );
+            }
+            pool.release( resource1 );
+        } );
+        releaser.start();
+
+        // blocks until the other thread releases a resource
+        waiting.countDown();
+        assertSame( resource1, pool.get() );
+        releaser.join();
+        check( monitor, 2, 1, 0 );
+
+        pool.shutdown();
+        check( monitor, 2, 1, 2 );
+    }
+
+    @Test
+    public void testIdleEviction() {
+        Monitor monitor = new Monitor();
+        ScalablePool<PooledResource> pool = new ScalablePool<>( 0, 1, 3, 1000, -1, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+
+        // warmed up to the minimum size
+        check( monitor, 1, 0, 0 );
+        assertEquals( 1, pool.getIdleSize() );
+
+        PooledResource resource1 = pool.get();
+        PooledResource resource2 = pool.get();
+        PooledResource resource3 = pool.get();
+        check( monitor, 3, 0, 0 );
+
+        pool.release( resource1 );
+        pool.release( resource2 );
+        pool.release( resource3 );
+        assertEquals( 3, pool.getIdleSize() );
+
+        long now = System.currentTimeMillis();
+        pool.evictIdleResources( now );
+        check( monitor, 3, 3, 0 );
+
+        // the idle resources are disposed, but the pool never shrinks below its minimum size
+        pool.evictIdleResources( now + 2000 );
+        check( monitor, 3, 3, 2 );
+        assertEquals( 1, pool.getSize() );
+        assertEquals( 1, pool.getIdleSize() );
+
+        // the most recently released resource is kept
+        assertSame( resource3, pool.get() );
+
+        pool.shutdown();
+        check( monitor, 3, 3, 3 );
+    }
+
+    @Test
+    public void testIdleEvictionOnGet() throws Exception {
+        Monitor monitor = new Monitor();
+        ScalablePool<PooledResource> pool = new ScalablePool<>( 3, 0, -1, 50, -1, () -> new PooledResource( monitor ), PooledResource::reset, PooledResource::dispose );
+        check( monitor, 3, 0, 0 );
+
+        Thread.sleep( 100 );
+
+        // taking a resource disposes the others, idle since longer than the maximum idle time
+        PooledResource resource = pool.get();
+        check( monitor, 3, 0, 2 );
+        assertEquals( 1, pool.getSize() );
+        assertEquals( 0, pool.getIdleSize() );
+
+        pool.release( resource );
+        pool.shutdown();
+    }
+
+    @Test
+    public void testConcurrentEvictionKeepsMinSize() throws Exception {
+        int threads = 8;
+        for (int i = 0; i < 50; i++) {
+            AtomicInteger disposed = new AtomicInteger();
+            ScalablePool<Object> pool = new ScalablePool<>( 10, 5, -1, 1000, -1, Object::new, o -> { }, o -> disposed.incrementAndGet() );
+
+            long now = System.currentTimeMillis() + 2000;
+            CyclicBarrier barrier = new CyclicBarrier( threads );
+            List<Thread> evictors = new ArrayList<>();
+            for (int j = 0; j < threads; j++) {
+                Thread evictor = new Thread( () -> {
+                    try {
+                        barrier.await();
+                    } catch (Exception e) {
+                        throw new RuntimeException( e );
+                    }
+                    pool.evictIdleResources( now );
+                } );
+                evictor.start();
+                evictors.add( evictor );
+            }
+            for (Thread evictor : evictors) {
+                evictor.join();
+            }
+
+            assertEquals( 5, disposed.get() );
+            assertEquals( 5, pool.getSize() );
+            assertEquals( 5, pool.getIdleSize() );
+        }
+    }
+
     private void check( Monitor monitor, int expectedNew, int expectedReset, int expectedDispose ) {
         assertEquals(expectedNew, monitor.newCounter);
         assertEquals(expectedReset, monitor.resetCounter);
@@ -35,6 +35,10 @@ public class SingleConstraint1<A> extends AbstractSingleConstraint {
         return new Variable[] { variable };
     }
 
+    public Predicate1<A> getPredicate1() {
+        return predicate;
+    }
+
     @Override
     public PredicateN getPredicate() {
         return objs -> predicate.test( (A)objs[0] );
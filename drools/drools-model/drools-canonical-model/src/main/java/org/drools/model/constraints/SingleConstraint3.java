@@ -40,6 +40,10 @@ public class SingleConstraint3<A, B, C> extends AbstractSingleConstraint {
         return new Variable[]{var1, var2, var3};
     }
 
+    public Predicate3<A, B, C> getPredicate3() {
+        return predicate;
+    }
+
     @Override
     public PredicateN getPredicate() {
         return objs -> {
@@ -43,6 +43,10 @@ public class SingleConstraint4<A, B, C, D> extends AbstractSingleConstraint {
         return new Variable[]{var1, var2, var3, var4};
     }
 
+    public Predicate4<A, B, C, D> getPredicate4() {
+        return predicate;
+    }
+
     @Override
     public PredicateN getPredicate() {
         return objs -> {
@@ -34,13 +34,62 @@ import org.drools.model.bitmask.EmptyBitMask;
 import org.drools.model.bitmask.EmptyButLastBitMask;
 import org.drools.model.bitmask.LongBitMask;
 import org.drools.model.bitmask.OpenBitSet;
+import org.drools.model.functions.Block1;
+import org.drools.model.functions.Block2;
+import org.drools.model.functions.Block3;
+import org.drools.model.functions.Block4;
+import org.drools.model.functions.BlockN;
 
 public class LambdaConsequence implements Consequence {
 
     private final org.drools.model.Consequence consequence;
 
+    private final int[] declarationIndexes;
+    private final BlockExecutor blockExecutor;
+
     public LambdaConsequence( org.drools.model.Consequence consequence ) {
         this.consequence = consequence;
+        this.declarationIndexes = getDeclarationIndexes( consequence.getVariables() );
+        this.blockExecutor = createBlockExecutor( consequence.getBlock() );
+    }
+
+    private static int[] getDeclarationIndexes( Variable[] vars ) {
+        int[] declarationIndexes = new int[vars.length];
+        int declrCounter = 0;
+        for (int i = 0; i < vars.length; i++) {
+            declarationIndexes[i] = vars[i].isFact() ? declrCounter++ : -1;
+        }
+        return declarationIndexes;
+    }
+
+    private static BlockExecutor createBlockExecutor( BlockN block ) {
+        if (block instanceof Block1.Impl) {
+            Block1 block1 = (Block1) (( Block1.Impl ) block).getLambda();
+            return ( consequence, drools, workingMemory, tuple, declarations ) ->
+                    block1.execute( consequence.getArgument( drools, workingMemory, tuple, declarations, 0 ) );
+        }
+        if (block instanceof Block2.Impl) {
+            Block2 block2 = (Block2) (( Block2.Impl ) block).getLambda();
+            return ( consequence, drools, workingMemory, tuple, declarations ) ->
+                    block2.execute( consequence.getArgument( drools, workingMemory, tuple, declarations, 0 ),
+                                    consequence.getArgument( drools, workingMemory, tuple, declarations, 1 ) );
+        }
+        if (block instanceof Block3.Impl) {
+            Block3 block3 = (Block3) (( Block3.Impl ) block).getLambda();
+            return ( consequence, drools, workingMemory, tuple, declarations ) ->
+                    block3.execute( consequence.getArgument( drools, workingMemory, tuple, declarations, 0 ),
+                                    consequence.getArgument( drools, workingMemory, tuple, declarations, 1 ),
+                                    consequence.getArgument( drools, workingMemory, tuple, declarations, 2 ) );
+        }
+        if (block instanceof Block4.Impl) {
+            Block4 block4 = (Block4) (( Block4.Impl ) block).getLambda();
+            return ( consequence, drools, workingMemory, tuple, declarations ) ->
+                    block4.execute( consequence.getArgument( drools, workingMemory, tuple, declarations, 0 ),
+                                    consequence.getArgument( drools, workingMemory, tuple, declarations, 1 ),
+                                    consequence.getArgument( drools, workingMemory, tuple, declarations, 2 ),
+                                    consequence.getArgument( drools, workingMemory, tuple, declarations, 3 ) );
+        }
+        return null;
     }
 
     @Override
@@ -51,6 +100,11 @@ public class LambdaConsequence implements Consequence {
     @Override
     public void evaluate( KnowledgeHelper knowledgeHelper, WorkingMemory workingMemory ) throws Exception {
         Declaration[] declarations = ((RuleTerminalNode)knowledgeHelper.getMatch().getTuple().getTupleSink()).getRequiredDeclarations();
+        if (blockExecutor != null) {
+            DroolsImpl drools = consequence.isUsingDrools() ? new DroolsImpl(knowledgeHelper, workingMemory) : null;
+            blockExecutor.execute( this, drools, workingMemory, knowledgeHelper.getTuple(), declarations );
+            return;
+        }
         Object[] facts = declarationsToFacts( knowledgeHelper, workingMemory, knowledgeHelper.getTuple(), declarations, consequence.getVariables(), consequence.isUsingDrools() );
         consequence.getBlock().execute( facts );
     }
@@ -87,6 +141,26 @@ public class LambdaConsequence implements Consequence {
         return facts;
     }
 
+    private Object getArgument( DroolsImpl drools, WorkingMemory workingMemory, Tuple tuple, Declaration[] declarations, int index ) {
+        // when the consequence uses drools it is passed as first argument of the block
+        if (drools != null) {
+            if (index == 0) {
+                return drools;
+            }
+            index--;
+        }
+        int declarationIndex = declarationIndexes[index];
+        if (declarationIndex < 0) {
+            return workingMemory.getGlobal( consequence.getVariables()[index].getName() );
+        }
+        Declaration declaration = declarations[declarationIndex];
+        InternalFactHandle fh = getOriginalFactHandle( tuple.get( declaration ) );
+        if (drools != null) {
+            drools.registerFactHandle( fh );
+        }
+        return declaration.getValue( (InternalWorkingMemory ) workingMemory, fh.getObject() );
+    }
+
     private static InternalFactHandle getOriginalFactHandle(InternalFactHandle handle) {
         InternalFactHandle linkedFH = handle.isEvent() ? ((EventFactHandle )handle).getLinkedFactHandle() : null;
         return linkedFH != null ? linkedFH : handle;
@@ -113,4 +187,13 @@ public class LambdaConsequence implements Consequence {
         }
         throw new IllegalArgumentException( "Unknown bitmask: " + mask );
     }
+
+    /**
+     * Executes a block with up to 4 arguments passing the facts directly to it,
+     * so that no array of facts has to be allocated for each firing.
+     */
+    @FunctionalInterface
+    private interface BlockExecutor {
+        void execute( LambdaConsequence consequence, DroolsImpl drools, WorkingMemory workingMemory, Tuple tuple, Declaration[] declarations ) throws Exception;
+    }
 }
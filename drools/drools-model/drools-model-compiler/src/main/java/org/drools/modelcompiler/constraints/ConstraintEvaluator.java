@@ -11,6 +11,15 @@ import org.drools.core.spi.Tuple;
 import org.drools.core.time.Interval;
 import org.drools.model.Index;
 import org.drools.model.SingleConstraint;
+import org.drools.model.constraints.SingleConstraint1;
+import org.drools.model.constraints.SingleConstraint2;
+import org.drools.model.constraints.SingleConstraint3;
+import org.drools.model.constraints.SingleConstraint4;
+import org.drools.model.functions.Predicate1;
+import org.drools.model.functions.Predicate2;
+import org.drools.model.functions.Predicate3;
+import org.drools.model.functions.Predicate4;
+import org.drools.model.functions.PredicateN;
 
 public class ConstraintEvaluator {
 
@@ -22,12 +31,15 @@ public class ConstraintEvaluator {
     private final Declaration patternDeclaration;
     private final Pattern pattern;
 
+    private final ArgumentsEvaluator argumentsEvaluator;
+
     public ConstraintEvaluator(Declaration[] declarations, SingleConstraint constraint) {
         this.constraint = constraint;
         this.pattern = null;
         this.declarations = declarations;
         this.requiredDeclarations = declarations;
         this.patternDeclaration = null;
+        this.argumentsEvaluator = createArgumentsEvaluator( constraint );
     }
 
     public ConstraintEvaluator(Pattern pattern, SingleConstraint constraint) {
@@ -36,6 +48,7 @@ public class ConstraintEvaluator {
         this.declarations = new Declaration[] { pattern.getDeclaration() };
         this.patternDeclaration = findPatternDeclaration();
         this.requiredDeclarations = new Declaration[0];
+        this.argumentsEvaluator = createArgumentsEvaluator( constraint );
     }
 
     public ConstraintEvaluator(Declaration[] declarations, Pattern pattern, SingleConstraint constraint) {
@@ -43,6 +56,45 @@ public class ConstraintEvaluator {
         this.declarations = declarations;
         this.pattern = pattern;
         this.patternDeclaration = findPatternAndRequiredDeclaration();
+        this.argumentsEvaluator = createArgumentsEvaluator( constraint );
+    }
+
+    private static ArgumentsEvaluator createArgumentsEvaluator( SingleConstraint constraint ) {
+        if ( constraint.isTemporal() ) {
+            // temporal constraints are evaluated by their own evaluator
+            return null;
+        }
+        if ( constraint instanceof SingleConstraint1 ) {
+            Predicate1 predicate = (( SingleConstraint1 ) constraint).getPredicate1();
+            return ( evaluator, handle, tuple, workingMemory ) ->
+                    predicate.test( evaluator.getArgument( handle, workingMemory, 0, tuple ) );
+        }
+        if ( constraint instanceof SingleConstraint2 ) {
+            Predicate2 predicate = (( SingleConstraint2 ) constraint).getPredicate2();
+            return ( evaluator, handle, tuple, workingMemory ) ->
+                    predicate.test( evaluator.getArgument( handle, workingMemory, 0, tuple ),
+                                    evaluator.getArgument( handle, workingMemory, 1, tuple ) );
+        }
+        if ( constraint instanceof SingleConstraint3 ) {
+            Predicate3 predicate = (( SingleConstraint3 ) constraint).getPredicate3();
+            return ( evaluator, handle, tuple, workingMemory ) ->
+                    predicate.test( evaluator.getArgument( handle, workingMemory, 0, tuple ),
+                                    evaluator.getArgument( handle, workingMemory, 1, tuple ),
+                                    evaluator.getArgument( handle, workingMemory, 2, tuple ) );
+        }
+        if ( constraint instanceof SingleConstraint4 ) {
+            Predicate4 predicate = (( SingleConstraint4 ) constraint).getPredicate4();
+            return ( evaluator, handle, tuple, workingMemory ) ->
+                    predicate.test( evaluator.getArgument( handle, workingMemory, 0, tuple ),
+                                    evaluator.getArgument( handle, workingMemory, 1, tuple ),
+                                    evaluator.getArgument( handle, workingMemory, 2, tuple ),
+                                    evaluator.getArgument( handle, workingMemory, 3, tuple ) );
+        }
+        PredicateN predicate = constraint.getPredicate();
+        return ( evaluator, handle, tuple, workingMemory ) ->
+                predicate.test( tuple == null ?
+                                evaluator.getAlphaInvocationArgs( handle, workingMemory ) :
+                                evaluator.getBetaInvocationArgs( handle, tuple, workingMemory ) );
     }
 
     private Declaration findPatternDeclaration() {
@@ -70,19 +122,20 @@ public class ConstraintEvaluator {
 
     public boolean evaluate( InternalFactHandle handle, InternalWorkingMemory workingMemory ) {
         try {
-            return constraint.getPredicate().test( declarations.length == 1 ?
-                                                   getSingleArg( handle, workingMemory ) :
-                                                   getAlphaInvocationArgs( handle, workingMemory ) );
+            return argumentsEvaluator.evaluate( this, handle, null, workingMemory );
         } catch (Exception e) {
             throw new RuntimeException( e );
         }
     }
 
-    private Object[] getSingleArg( InternalFactHandle handle, InternalWorkingMemory workingMemory ) {
-        return declarations[0].isInternalFact() ? new Object[] { declarations[0].getValue( workingMemory, handle.getObject() ) } : new Object[] { handle.getObject() };
+    private Object getSingleArg( InternalFactHandle handle, InternalWorkingMemory workingMemory ) {
+        return declarations[0].isInternalFact() ? declarations[0].getValue( workingMemory, handle.getObject() ) : handle.getObject();
     }
 
     public Object[] getAlphaInvocationArgs( InternalFactHandle handle, InternalWorkingMemory workingMemory ) {
+        if (declarations.length == 1) {
+            return new Object[] { getSingleArg( handle, workingMemory ) };
+        }
         Object[] params = new Object[declarations.length];
         for (int i = 0; i < params.length; i++) {
             params[i] = getArgument( handle, workingMemory, declarations[i], null );
@@ -90,6 +143,13 @@ public class ConstraintEvaluator {
         return params;
     }
 
+    private Object getArgument( InternalFactHandle handle, InternalWorkingMemory workingMemory, int index, Tuple tuple ) {
+        // an alpha constraint on a single declaration, as in getAlphaInvocationArgs
+        return tuple == null && declarations.length == 1 ?
+               getSingleArg( handle, workingMemory ) :
+               getArgument( handle, workingMemory, declarations[index], tuple );
+    }
+
     private Object getArgument( InternalFactHandle handle, InternalWorkingMemory workingMemory, Declaration declaration, Tuple tuple ) {
         if (declaration == patternDeclaration) {
             return handle.getObject();
@@ -101,7 +161,7 @@ public class ConstraintEvaluator {
 
     public boolean evaluate(InternalFactHandle handle, Tuple tuple, InternalWorkingMemory workingMemory) {
         try {
-            return constraint.getPredicate().test( getBetaInvocationArgs( handle, tuple, workingMemory ) );
+            return argumentsEvaluator.evaluate( this, handle, tuple, workingMemory );
         } catch (Exception e) {
             throw new RuntimeException( e );
         }
@@ -204,4 +264,13 @@ public class ConstraintEvaluator {
     public Interval getInterval() {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * Evaluates the predicate of a constraint with up to 4 arguments passing them directly to it,
+     * so that no array of arguments has to be allocated for each evaluation.
+     */
+    @FunctionalInterface
+    private interface ArgumentsEvaluator {
+        boolean evaluate( ConstraintEvaluator evaluator, InternalFactHandle handle, Tuple tuple, InternalWorkingMemory workingMemory ) throws Exception;
+    }
 }
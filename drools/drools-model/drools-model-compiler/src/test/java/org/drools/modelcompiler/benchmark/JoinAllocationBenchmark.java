@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.drools.modelcompiler.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.drools.model.Model;
+import org.drools.model.Rule;
+import org.drools.model.Variable;
+import org.drools.model.impl.ModelImpl;
+import org.drools.modelcompiler.builder.KieBaseBuilder;
+import org.drools.modelcompiler.domain.Person;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.drools.model.PatternDSL.declarationOf;
+import static org.drools.model.PatternDSL.on;
+import static org.drools.model.PatternDSL.pattern;
+import static org.drools.model.PatternDSL.rule;
+
+/**
+ * Each operation updates a single fact that is joined, through a not indexed lambda constraint, with all
+ * the other facts in the session without ever matching, so it performs numberOfFacts join attempts
+ * and creates no tuple. Run it with its main method, that adds the gc profiler: gc.alloc.rate.norm,
+ * the number of bytes allocated per operation, has to be the same for any numberOfFacts, proving
+ * that a join attempt doesn't allocate anything.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JoinAllocationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int numberOfFacts;
+
+    private KieSession ksession;
+    private Person left;
+    private FactHandle leftFH;
+
+    @Setup(Level.Trial)
+    public void setUpSession() {
+        Variable<Person> leftV = declarationOf( Person.class );
+        Variable<Person> rightV = declarationOf( Person.class );
+
+        Rule rule = rule( "join" )
+                .build(
+                        pattern(leftV)
+                                .expr("exprA", p -> p.getName().equals( "Left" )),
+                        pattern(rightV)
+                                .expr("exprB", p -> p.getName().equals( "Right" ))
+                                .expr("exprC", leftV, (p1, p2) -> p1.getAge() > p2.getAge()),
+                        on(leftV, rightV).execute((p1, p2) -> { throw new IllegalStateException(); })
+                );
+
+        Model model = new ModelImpl().addRule( rule );
+        KieBase kieBase = KieBaseBuilder.createKieBaseFromModel( model );
+        ksession = kieBase.newKieSession();
+
+        for (int i = 0; i < numberOfFacts; i++) {
+            ksession.insert( new Person( "Right", i ) );
+        }
+        left = new Person( "Left", Integer.MAX_VALUE );
+        leftFH = ksession.insert( left );
+        ksession.fireAllRules();
+    }
+
+    @TearDown(Level.Trial)
+    public void disposeSession() {
+        ksession.dispose();
+    }
+
+    @Benchmark
+    public int joinAttempts() {
+        ksession.update( leftFH, left );
+        return ksession.fireAllRules();
+    }
+
+    public static void main( String[] args ) throws Exception {
+        new Runner( new OptionsBuilder()
+                            .include( JoinAllocationBenchmark.class.getSimpleName() )
+                            .addProfiler( GCProfiler.class )
+                            .build() ).run();
+    }
+}
@@ -17,6 +17,8 @@
 package org.kie.dmn.api.core;
 
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import org.kie.dmn.api.core.event.DMNRuntimeEventManager;
 
@@ -64,6 +66,29 @@ public interface DMNRuntime extends DMNRuntimeEventManager {
      */
     DMNResult evaluateAll( DMNModel model, DMNContext context );
 
+    /**
+     * Evaluate all decisions for the model once for each row of input data,
+     * spreading the rows across the available cores
+     *
+     * @param model the model to evaluate
+     * @param rows the input variables of each evaluation
+     *
+     * @return the lazily evaluated results, in the order of the rows
+     */
+    Stream<DMNResult> evaluateAll( DMNModel model, Iterable<? extends Map<String, Object>> rows );
+
+    /**
+     * Evaluate all decisions for the model once for each row of input data,
+     * spreading the rows across the available cores. The rows are read and
+     * evaluated in bounded chunks, as the results are consumed
+     *
+     * @param model the model to evaluate
+     * @param rows the input variables of each evaluation
+     *
+     * @return the lazily evaluated results, in the encounter order of the rows
+     */
+    Stream<DMNResult> evaluateAll( DMNModel model, Stream<? extends Map<String, Object>> rows );
+
     /**
      * Evaluate the decision identified by the given name and
      * all dependent decisions, given the context
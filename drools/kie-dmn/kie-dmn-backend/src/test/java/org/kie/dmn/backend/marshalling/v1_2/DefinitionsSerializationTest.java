@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.backend.marshalling.v1_2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+import org.kie.dmn.api.marshalling.DMNMarshaller;
+import org.kie.dmn.model.api.Definitions;
+
+import static org.junit.Assert.assertEquals;
+
+public class DefinitionsSerializationTest {
+
+    private static final DMNMarshaller MARSHALLER = new org.kie.dmn.backend.marshalling.v1x.XStreamMarshaller();
+
+    @Test
+    public void testV12_ch11example() throws Exception {
+        checkSerializationRoundTrip("ch11example.dmn");
+    }
+
+    @Test
+    public void testV12_DiamondWithColors() throws Exception {
+        checkSerializationRoundTrip("diamondWithColors.dmn");
+    }
+
+    private void checkSerializationRoundTrip(String xmlfile) throws Exception {
+        Definitions definitions = MARSHALLER.unmarshal(new InputStreamReader(this.getClass().getResourceAsStream(xmlfile)));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(definitions);
+        }
+        Definitions deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (Definitions) in.readObject();
+        }
+
+        assertEquals(definitions.getId(), deserialized.getId());
+        assertEquals(definitions.getName(), deserialized.getName());
+        assertEquals(MARSHALLER.marshal(definitions), MARSHALLER.marshal(deserialized));
+    }
+}
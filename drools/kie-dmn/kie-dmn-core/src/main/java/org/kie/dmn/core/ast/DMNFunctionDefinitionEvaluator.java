@@ -17,8 +17,12 @@
 package org.kie.dmn.core.ast;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.kie.dmn.api.core.DMNContext;
@@ -47,6 +51,8 @@ public class DMNFunctionDefinitionEvaluator
     private final FunctionDefinition functionDefinition;
     private List<FormalParameter> parameters = new ArrayList<>(  );
     private DMNExpressionEvaluator evaluator;
+    private boolean memoization;
+    private Map<List<Object>, Object> sharedInvocations;
 
     public DMNFunctionDefinitionEvaluator(String name, FunctionDefinition fdef ) {
         this.name = name;
@@ -82,11 +88,31 @@ public class DMNFunctionDefinitionEvaluator
         return this.evaluator;
     }
 
+    /**
+     * Memoizes the results of the invocations of the function during each evaluation and, with a positive
+     * sharedCacheSize, across evaluations keeping the sharedCacheSize most recently used ones.
+     * The memoized results are returned by reference, so the function must return values nobody modifies.
+     */
+    public void setMemoization(int sharedCacheSize) {
+        this.memoization = true;
+        this.sharedInvocations = sharedCacheSize <= 0 ? null : Collections.synchronizedMap( new LinkedHashMap<List<Object>, Object>( 16, 0.75f, true ) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Object> eldest) {
+                return size() > sharedCacheSize;
+            }
+        } );
+    }
+
+    public boolean isMemoization() {
+        return memoization;
+    }
+
     @Override
     public EvaluatorResult evaluate(DMNRuntimeEventManager eventManager, DMNResult dmnr) {
         DMNResultImpl result = (DMNResultImpl) dmnr;
         // when this evaluator is executed, it should return a "FEEL function" to register in the context
-        DMNFunction function = new DMNFunction( name, parameters, functionDefinition, evaluator, eventManager, result );
+        DMNFunction function = new DMNFunction( name, parameters, functionDefinition, evaluator, eventManager, result,
+                                                memoization ? new HashMap<>() : null, sharedInvocations );
         return new EvaluatorResultImpl( function, ResultType.SUCCESS );
     }
 
@@ -102,22 +128,62 @@ public class DMNFunctionDefinitionEvaluator
 
     public static class DMNFunction
             extends BaseFEELFunction {
+        private static final Object NULL_RESULT = new Object();
+
         private final List<FormalParameter> parameters;
         private final DMNExpressionEvaluator evaluator;
         private final DMNRuntimeEventManager eventManager;
         private final DMNResultImpl resultContext;
         private final FunctionDefinition functionDefinition;
+        // the results of the invocations of this function, keyed by their arguments; null when not memoized
+        private final Map<List<Object>, Object> invocations;
+        private final Map<List<Object>, Object> sharedInvocations;
 
         public DMNFunction(String name, List<FormalParameter> parameters, FunctionDefinition functionDefinition, DMNExpressionEvaluator evaluator, DMNRuntimeEventManager eventManager, DMNResultImpl result) {
+            this( name, parameters, functionDefinition, evaluator, eventManager, result, null, null );
+        }
+
+        DMNFunction(String name, List<FormalParameter> parameters, FunctionDefinition functionDefinition, DMNExpressionEvaluator evaluator, DMNRuntimeEventManager eventManager, DMNResultImpl result,
+                    Map<List<Object>, Object> invocations, Map<List<Object>, Object> sharedInvocations) {
             super( name );
             this.functionDefinition = functionDefinition;
             this.parameters = parameters;
             this.evaluator = evaluator;
             this.eventManager = eventManager;
             this.resultContext = result;
+            this.invocations = invocations;
+            this.sharedInvocations = sharedInvocations;
         }
 
         public Object invoke(EvaluationContext ctx, Object[] params) {
+            if ( invocations == null ) {
+                EvaluatorResult result = evaluate( ctx, params );
+                return result.getResultType() == ResultType.SUCCESS ? result.getResult() : null;
+            }
+            List<Object> args = Arrays.asList( params.clone() );
+            Object memoized = invocations.get( args );
+            if ( memoized == null && sharedInvocations != null ) {
+                memoized = sharedInvocations.get( args );
+            }
+            if ( memoized != null ) {
+                return memoized == NULL_RESULT ? null : memoized;
+            }
+            int messages = resultContext.getMessages().size();
+            EvaluatorResult result = evaluate( ctx, params );
+            if ( result.getResultType() != ResultType.SUCCESS ) {
+                return null;
+            }
+            if ( resultContext.getMessages().size() == messages ) {
+                Object value = result.getResult() != null ? result.getResult() : NULL_RESULT;
+                invocations.put( args, value );
+                if ( sharedInvocations != null ) {
+                    sharedInvocations.put( args, value );
+                }
+            }
+            return result.getResult();
+        }
+
+        private EvaluatorResult evaluate(EvaluationContext ctx, Object[] params) {
             DMNContext previousContext = resultContext.getContext();
             // we could be more strict and only set the parameters and the dependencies as values in the new
             // context, but for now, cloning the original context
@@ -130,11 +196,7 @@ public class DMNFunctionDefinitionEvaluator
                         dmnContext.set( parameters.get( i ).name, params[i] );
                     }
                     resultContext.setContext( dmnContext );
-                    EvaluatorResult result = evaluator.evaluate( eventManager, resultContext );
-                    if( result.getResultType() == ResultType.SUCCESS ) {
-                        return result.getResult();
-                    }
-                    return null;
+                    return evaluator.evaluate( eventManager, resultContext );
                 } else {
                     MsgUtil.reportMessage( logger,
                                            DMNMessage.Severity.ERROR,
@@ -144,7 +206,7 @@ public class DMNFunctionDefinitionEvaluator
                                            null,
                                            Msg.MISSING_EXPRESSION_FOR_FUNCTION,
                                            getName() );
-                    return null;
+                    return new EvaluatorResultImpl( null, ResultType.FAILURE );
                 }
             } catch ( Exception e ) {
                 MsgUtil.reportMessage( logger,
@@ -156,7 +218,7 @@ public class DMNFunctionDefinitionEvaluator
                                        Msg.ERR_INVOKING_FUNCTION_ON_NODE,
                                        getName(),
                                        getName() );
-                return null;
+                return new EvaluatorResultImpl( null, ResultType.FAILURE );
             } finally {
                 resultContext.setContext( previousContext );
                 dmnContext.exitFrame();
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import javax.xml.namespace.QName;
+
+import org.kie.dmn.core.assembler.DMNAssemblerService;
+
+/**
+ * When enabled, the result of each invocation of a business knowledge model is memoized, keyed by the values of its
+ * arguments, and reused by the following invocations with the same arguments during the same evaluation.
+ * With a positive shared cache size, the results are also kept across evaluations, in a cache of that many entries
+ * per business knowledge model, evicting the least recently used ones.
+ *
+ * This is only correct for business knowledge models whose result depends on their arguments only, and the
+ * evaluation events of their body are not fired again when a memoized result is reused. Invocations that fail
+ * or report any message are never memoized.
+ * Memoized results are not copied: the same instance is returned to every invocation reusing it, also across
+ * evaluations with the shared cache, so a memoized business knowledge model must return values that are never
+ * modified by their callers.
+ *
+ * The option applies to all the business knowledge models; a single one can be memoized with the
+ * drools:memoize attribute, accepting the same values as this option: "true", "false" or the shared cache size.
+ */
+public class BKMMemoizationOption implements DMNOption {
+
+    private static final long serialVersionUID = 510l;
+
+    public static final String PROPERTY_NAME = DMNAssemblerService.ORG_KIE_DMN_PREFIX + ".runtime.bkm.memoization";
+
+    public static final QName MEMOIZE_QNAME = new QName(org.kie.dmn.model.v1_1.KieDMNModelInstrumentedBase.URI_KIE, "memoize");
+
+    public static final QName MEMOIZE_QNAME_V1_2 = new QName(org.kie.dmn.model.v1_2.KieDMNModelInstrumentedBase.URI_KIE, "memoize");
+
+    /**
+     * The default value for this option
+     */
+    public static final boolean DEFAULT_VALUE = false;
+
+    private final boolean memoization;
+
+    private final int sharedCacheSize;
+
+    public BKMMemoizationOption(boolean value) {
+        this(value, 0);
+    }
+
+    public BKMMemoizationOption(boolean value, int sharedCacheSize) {
+        this.memoization = value;
+        this.sharedCacheSize = value ? Math.max(sharedCacheSize, 0) : 0;
+    }
+
+    public BKMMemoizationOption(String value) {
+        this(isMemoization(value), sharedCacheSize(value));
+    }
+
+    private static boolean isMemoization(String value) {
+        return value == null ? DEFAULT_VALUE : Boolean.valueOf(value.trim()) || sharedCacheSize(value) > 0;
+    }
+
+    private static int sharedCacheSize(String value) {
+        try {
+            return value == null ? 0 : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public boolean isMemoization() {
+        return memoization;
+    }
+
+    public int getSharedCacheSize() {
+        return sharedCacheSize;
+    }
+
+}
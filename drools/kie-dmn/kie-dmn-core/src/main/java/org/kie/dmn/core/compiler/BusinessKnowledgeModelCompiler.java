@@ -22,6 +22,7 @@ import org.kie.dmn.api.core.ast.DMNNode;
 import org.kie.dmn.api.core.ast.DecisionServiceNode;
 import org.kie.dmn.core.api.DMNExpressionEvaluator;
 import org.kie.dmn.core.ast.BusinessKnowledgeModelNodeImpl;
+import org.kie.dmn.core.ast.DMNFunctionDefinitionEvaluator;
 import org.kie.dmn.core.impl.DMNModelImpl;
 import org.kie.dmn.core.util.Msg;
 import org.kie.dmn.model.api.BusinessKnowledgeModel;
@@ -75,9 +76,27 @@ public class BusinessKnowledgeModelCompiler implements DRGElementCompiler {
             ctx.setVariable(bkmi.getName(), bkmi.getResultType());
             FunctionDefinition funcDef = bkmi.getBusinessKnowledModel().getEncapsulatedLogic();
             DMNExpressionEvaluator exprEvaluator = compiler.getEvaluatorCompiler().compileExpression( ctx, model, bkmi, bkmi.getName(), funcDef );
+            if ( exprEvaluator instanceof DMNFunctionDefinitionEvaluator ) {
+                BKMMemoizationOption memoization = getMemoizationOption( bkmi.getBusinessKnowledModel(), compiler );
+                if ( memoization.isMemoization() ) {
+                    ((DMNFunctionDefinitionEvaluator) exprEvaluator).setMemoization( memoization.getSharedCacheSize() );
+                }
+            }
             bkmi.setEvaluator( exprEvaluator );
         } finally {
             ctx.exitFrame();
         }
     }
+
+    private static BKMMemoizationOption getMemoizationOption(BusinessKnowledgeModel bkm, DMNCompilerImpl compiler) {
+        // the drools:memoize attribute of the BKM takes precedence over the compiler option
+        String memoize = bkm.getAdditionalAttributes().get( BKMMemoizationOption.MEMOIZE_QNAME_V1_2 );
+        if ( memoize == null ) {
+            memoize = bkm.getAdditionalAttributes().get( BKMMemoizationOption.MEMOIZE_QNAME );
+        }
+        if ( memoize != null ) {
+            return new BKMMemoizationOption( memoize );
+        }
+        return ((DMNCompilerConfigurationImpl) compiler.getDmnCompilerConfig()).getOption( BKMMemoizationOption.class );
+    }
 }
\ No newline at end of file
@@ -81,6 +81,10 @@ public class DMNCompilerConfigurationImpl implements DMNCompilerConfiguration {
             return (T) new CoerceDecisionServiceSingletonOutputOption(properties.get(CoerceDecisionServiceSingletonOutputOption.PROPERTY_NAME));
         } else if (ExecModelCompilerOption.class.equals(option)) {
             return (T) new ExecModelCompilerOption(properties.get(ExecModelCompilerOption.PROPERTY_NAME));
+        } else if (BKMMemoizationOption.class.equals(option)) {
+            return (T) new BKMMemoizationOption(properties.get(BKMMemoizationOption.PROPERTY_NAME));
+        } else if (ParallelEvaluationOption.class.equals(option)) {
+            return (T) new ParallelEvaluationOption(properties.get(ParallelEvaluationOption.PROPERTY_NAME));
         }
         return null;
     }
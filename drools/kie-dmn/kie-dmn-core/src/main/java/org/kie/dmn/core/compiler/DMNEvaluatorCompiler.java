@@ -572,6 +572,7 @@ public class DMNEvaluatorCompiler {
                         ctx.exitFrame();
                     }
                 }
+                rule.getInputEntryText().add( tests.isEmpty() ? null : ut.getText() );
                 rule.getInputEntry().add( (c, x) -> tests.stream().anyMatch( t -> {
                     Boolean result = t.apply( c, x );
                     return result != null && result;
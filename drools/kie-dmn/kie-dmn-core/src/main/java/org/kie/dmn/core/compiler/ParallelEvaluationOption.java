@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.compiler;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.kie.dmn.core.assembler.DMNAssemblerService;
+
+/**
+ * When enabled, the decisions not depending on each other are evaluated concurrently on the given executor,
+ * or on the common ForkJoinPool if none is given.
+ * Enabled through the kmodule property it applies to the models compiled with it, while set on the DMNRuntime it
+ * applies to all of its models.
+ * The before and after evaluate decision events are still fired by the thread calling the DMNRuntime, while the
+ * listeners of the other events are notified by the threads of that executor.
+ */
+public class ParallelEvaluationOption implements DMNOption {
+
+    private static final long serialVersionUID = 510l;
+
+    public static final String PROPERTY_NAME = DMNAssemblerService.ORG_KIE_DMN_PREFIX + ".runtime.parallel";
+
+    /**
+     * The default value for this option
+     */
+    public static final boolean DEFAULT_VALUE = false;
+
+    private final boolean parallelEvaluation;
+
+    private final transient Executor executor;
+
+    public ParallelEvaluationOption(boolean value) {
+        this(value, null);
+    }
+
+    public ParallelEvaluationOption(String value) {
+        this(value == null ? DEFAULT_VALUE : Boolean.valueOf(value));
+    }
+
+    public ParallelEvaluationOption(Executor executor) {
+        this(true, executor);
+    }
+
+    private ParallelEvaluationOption(boolean value, Executor executor) {
+        this.parallelEvaluation = value;
+        this.executor = executor;
+    }
+
+    @Override
+    public String getPropertyName() {
+        return PROPERTY_NAME;
+    }
+
+    public boolean isParallelEvaluation() {
+        return parallelEvaluation;
+    }
+
+    public Executor getExecutor() {
+        return executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+}
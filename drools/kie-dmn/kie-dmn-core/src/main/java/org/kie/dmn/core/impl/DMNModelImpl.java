@@ -16,10 +16,14 @@
 
 package org.kie.dmn.core.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
+import java.io.NotSerializableException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -69,9 +73,10 @@ public class DMNModelImpl
     
     private static enum SerializationFormat {
         // To ensure backward compatibility, append only:
-        DMN_XML
+        DMN_XML,
+        // the serialized Definitions, instead of the DMN XML
+        DMN_DEFINITIONS
     }
-    
 
     private SerializationFormat serializedAs = SerializationFormat.DMN_XML;
     private Resource resource;
@@ -91,6 +96,10 @@ public class DMNModelImpl
      * a compile-time preference to indicate if type-check should be performed during runtime evaluation. 
      */
     private boolean runtimeTypeCheck = false;
+    /**
+     * a compile-time preference to indicate if the independent decisions should be evaluated concurrently.
+     */
+    private boolean parallelEvaluation = false;
 
     private Map<String, QName> importAliases = new HashMap<>();
     private ImportChain importChain;
@@ -395,30 +404,60 @@ public class DMNModelImpl
         this.runtimeTypeCheck = runtimeTypeCheck;
     }
 
+    /**
+     * @return a compile-time preference to indicate if the independent decisions should be evaluated concurrently.
+     */
+    public boolean isParallelEvaluation() {
+        return parallelEvaluation;
+    }
+
+    public void setParallelEvaluation(boolean parallelEvaluation) {
+        this.parallelEvaluation = parallelEvaluation;
+    }
+
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
-        out.writeObject(serializedAs);
-        out.writeObject(resource);
-
         if ( !(out instanceof DroolsObjectOutputStream) ) {
             throw new UnsupportedOperationException();
             // TODO assume some defaults
         }
-        
+
         DroolsObjectOutputStream os = (DroolsObjectOutputStream) out;
         DMNCompilerImpl compiler = (DMNCompilerImpl) os.getCustomExtensions().get(DMNAssemblerService.DMN_COMPILER_CACHE_KEY);
         List<DMNExtensionRegister> dmnRegisteredExtensions = compiler.getRegisteredExtensions();
         
-        String output = DMNMarshallerFactory.newMarshallerWithExtensions(dmnRegisteredExtensions).marshal(this.definitions);
+        // only one of the two forms is written, the Definitions unless they can't be serialized
+        byte[] serializedDefinitions = serializeDefinitions();
+        out.writeObject(serializedDefinitions != null ? SerializationFormat.DMN_DEFINITIONS : SerializationFormat.DMN_XML);
+        out.writeObject(resource);
+        if ( serializedDefinitions != null ) {
+            out.writeObject(serializedDefinitions);
+        } else {
+            out.writeObject(DMNMarshallerFactory.newMarshallerWithExtensions(dmnRegisteredExtensions).marshal(this.definitions));
+        }
+    }
 
-        out.writeObject(output);
+    /**
+     * Returns the serialized Definitions, so that they don't need to be unmarshalled from the XML again when the model
+     * is deserialized, or null if they contain an extension element that isn't serializable.
+     * The FEEL expressions are still parsed and compiled when the model is deserialized, as the compiled model
+     * refers to classes generated at runtime.
+     */
+    byte[] serializeDefinitions() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream os = new ObjectOutputStream(bytes)) {
+            os.writeObject(this.definitions);
+        } catch (NotSerializableException e) {
+            return null;
+        }
+        return bytes.toByteArray();
     }
 
     @Override
     public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
         this.serializedAs = (SerializationFormat) in.readObject();
         this.resource = (Resource) in.readObject();
-        String xml = (String) in.readObject();
+        Object serialized = in.readObject();
         
         if ( !(in instanceof DroolsObjectInputStream) ) {
             throw new UnsupportedOperationException();
@@ -427,9 +466,14 @@ public class DMNModelImpl
         
         DroolsObjectInputStream is = (DroolsObjectInputStream) in;
         DMNCompilerImpl compiler = (DMNCompilerImpl) is.getCustomExtensions().get(DMNAssemblerService.DMN_COMPILER_CACHE_KEY);
-        List<DMNExtensionRegister> dmnRegisteredExtensions = compiler.getRegisteredExtensions();
-        
-        Definitions definitions = DMNMarshallerFactory.newMarshallerWithExtensions(dmnRegisteredExtensions).unmarshal(xml);
+
+        Definitions definitions;
+        if ( serializedAs == SerializationFormat.DMN_DEFINITIONS ) {
+            definitions = deserializeDefinitions((byte[]) serialized, is.getClassLoader());
+        } else {
+            List<DMNExtensionRegister> dmnRegisteredExtensions = compiler.getRegisteredExtensions();
+            definitions = DMNMarshallerFactory.newMarshallerWithExtensions(dmnRegisteredExtensions).unmarshal((String) serialized);
+        }
         
         this.definitions = definitions;
         this.wireTypeRegistry(definitions);
@@ -442,9 +486,20 @@ public class DMNModelImpl
         this.messages  = compiledModel.messages  ;
         this.types     = compiledModel.types     ;
         this.runtimeTypeCheck = compiledModel.runtimeTypeCheck;
+        this.parallelEvaluation = compiledModel.parallelEvaluation;
         this.importAliases = compiledModel.importAliases;
     }
 
+    /**
+     * Returns the deserialized Definitions. As for the rest of the kbase, they can only be read by a version of the
+     * DMN model classes with the same serialVersionUIDs.
+     */
+    static Definitions deserializeDefinitions(byte[] serializedDefinitions, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        try (DroolsObjectInputStream definitionsIn = new DroolsObjectInputStream(new ByteArrayInputStream(serializedDefinitions), classLoader)) {
+            return (Definitions) definitionsIn.readObject();
+        }
+    }
+
     public void setImportAliasForNS(String iAlias, String iNS, String iModelName) {
         if (!getImportAliasFor(iNS, iModelName).isPresent()) {
             this.importAliases.put(iAlias, new QName(iNS, iModelName));
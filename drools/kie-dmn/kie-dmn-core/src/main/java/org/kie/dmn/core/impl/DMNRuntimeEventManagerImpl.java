@@ -16,8 +16,9 @@
 
 package org.kie.dmn.core.impl;
 
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.kie.dmn.api.core.DMNRuntime;
 import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
@@ -25,7 +26,11 @@ import org.kie.dmn.api.core.event.DMNRuntimeEventManager;
 
 public class DMNRuntimeEventManagerImpl implements DMNRuntimeEventManager {
 
-    private Set<DMNRuntimeEventListener> listeners = new HashSet<>();
+    // the listeners can be notified concurrently when the decisions are evaluated in parallel
+    private Set<DMNRuntimeEventListener> listeners = new CopyOnWriteArraySet<>();
+
+    // the listener buffering the events fired by a thread evaluating a decision in parallel
+    private final ThreadLocal<DMNRuntimeEventListener> bufferingListener = new ThreadLocal<>();
 
     private DMNRuntime dmnRuntime;
 
@@ -51,7 +56,20 @@ public class DMNRuntimeEventManagerImpl implements DMNRuntimeEventManager {
 
     @Override
     public Set<DMNRuntimeEventListener> getListeners() {
-        return listeners;
+        DMNRuntimeEventListener buffer = bufferingListener.get();
+        return buffer != null ? Collections.singleton( buffer ) : listeners;
+    }
+
+    /**
+     * Makes the events fired by the current thread notified only to the given listener, instead of the registered
+     * ones, until it is invoked again with null.
+     */
+    void setBufferingListener(DMNRuntimeEventListener listener) {
+        if ( listener != null ) {
+            bufferingListener.set( listener );
+        } else {
+            bufferingListener.remove();
+        }
     }
 
     @Override
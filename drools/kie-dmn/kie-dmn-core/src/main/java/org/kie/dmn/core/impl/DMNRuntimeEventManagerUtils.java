@@ -101,7 +101,7 @@ public final class DMNRuntimeEventManagerUtils {
         }
     }
 
-    private static void notifyListeners(DMNRuntimeEventManager eventManager, Consumer<DMNRuntimeEventListener> consumer) {
+    static void notifyListeners(DMNRuntimeEventManager eventManager, Consumer<DMNRuntimeEventListener> consumer) {
         for( DMNRuntimeEventListener listener : eventManager.getListeners() ) {
             try {
                 consumer.accept( listener );
@@ -19,12 +19,20 @@ package org.kie.dmn.core.impl;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.xml.namespace.QName;
 
@@ -60,6 +68,7 @@ import org.kie.dmn.core.ast.DecisionServiceNodeImpl;
 import org.kie.dmn.core.ast.InputDataNodeImpl;
 import org.kie.dmn.core.compiler.DMNOption;
 import org.kie.dmn.core.compiler.DMNProfile;
+import org.kie.dmn.core.compiler.ParallelEvaluationOption;
 import org.kie.dmn.core.compiler.RuntimeTypeCheckOption;
 import org.kie.dmn.core.util.Msg;
 import org.kie.dmn.core.util.MsgUtil;
@@ -75,10 +84,14 @@ public class DMNRuntimeImpl
         implements DMNRuntime {
     private static final Logger logger = LoggerFactory.getLogger( DMNRuntimeImpl.class );
 
+    // the number of rows of a batch evaluation kept in memory, together with their results, at the same time
+    private static final int BATCH_CHUNK_SIZE = 1024;
+
     private DMNRuntimeEventManagerImpl         eventManager;
     private final InternalKnowledgeBase        knowledgeBase;
 
     private boolean overrideRuntimeTypeCheck = false;
+    private Executor parallelEvaluationExecutor;
 
     public DMNRuntimeImpl(InternalKnowledgeBase knowledgeBase) {
         this.knowledgeBase = knowledgeBase;
@@ -130,13 +143,80 @@ public class DMNRuntimeImpl
         boolean performRuntimeTypeCheck = performRuntimeTypeCheck(model);
         DMNResultImpl result = createResult( model, context );
         // the engine should evaluate all Decisions belonging to the "local" model namespace, not imported decision explicitly.
-        Set<DecisionNode> decisions = model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet());
-        for( DecisionNode decision : decisions ) {
-            evaluateDecision(context, result, decision, performRuntimeTypeCheck);
+        Set<DecisionNode> decisions = getLocalDecisions(model);
+        evaluateDecisions(context, result, decisions, performRuntimeTypeCheck);
+        return result;
+    }
+
+    @Override
+    public Stream<DMNResult> evaluateAll(DMNModel model, Iterable<? extends Map<String, Object>> rows) {
+        Objects.requireNonNull(rows, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "rows"));
+        return evaluateAll(model, StreamSupport.stream(rows.spliterator(), false));
+    }
+
+    @Override
+    public Stream<DMNResult> evaluateAll(DMNModel model, Stream<? extends Map<String, Object>> rows) {
+        Objects.requireNonNull(model, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "model"));
+        Objects.requireNonNull(rows, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "rows"));
+        // what only depends on the model is computed once for the whole batch
+        boolean performRuntimeTypeCheck = performRuntimeTypeCheck(model);
+        List<DecisionNode> decisions = new ArrayList<>(getLocalDecisions(model));
+        Iterator<? extends Map<String, Object>> source = rows.iterator();
+        // the rows are read and evaluated in parallel one chunk at a time, when the previous results have been consumed
+        Iterator<List<DMNResult>> chunks = new Iterator<List<DMNResult>>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public List<DMNResult> next() {
+                if (!source.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<Map<String, Object>> chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+                while (chunk.size() < BATCH_CHUNK_SIZE && source.hasNext()) {
+                    chunk.add(source.next());
+                }
+                return chunk.parallelStream().map(row -> evaluateRow(model, decisions, row, performRuntimeTypeCheck)).collect(Collectors.toList());
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED), false)
+                            .flatMap(List::stream)
+                            .onClose(rows::close);
+    }
+
+    private DMNResult evaluateRow(DMNModel model, List<DecisionNode> decisions, Map<String, Object> row, boolean typeCheck) {
+        // the row is copied straight into the context of the result, without an intermediate DMNContext to be cloned
+        DMNResultImpl result = new DMNResultImpl(model);
+        result.setContext(new DMNContextImpl(row));
+        for (DecisionNode decision : decisions) {
+            result.addDecisionResult(new DMNDecisionResultImpl(decision.getId(), decision.getName()));
+        }
+        // the rows are already evaluated in parallel, so the decisions of a row are evaluated sequentially
+        for (DecisionNode decision : decisions) {
+            evaluateDecision(result.getContext(), result, decision, typeCheck);
         }
         return result;
     }
 
+    private static Set<DecisionNode> getLocalDecisions(DMNModel model) {
+        return model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet());
+    }
+
+    private void evaluateDecisions(DMNContext context, DMNResultImpl result, Collection<DecisionNode> decisions, boolean typeCheck) {
+        Executor executor = getParallelEvaluationExecutor(result.getModel());
+        if (executor != null &&
+            new ParallelDecisionsEvaluation(result, eventManager, decisions).evaluate(executor,
+                                                                                      (r, decision, imported) -> evaluateImportedDecision(r, decision, imported, typeCheck),
+                                                                                      (fork, decision) -> evaluateDecision(fork.getContext(), fork, decision, typeCheck, false))) {
+            return;
+        }
+        for( DecisionNode decision : decisions ) {
+            evaluateDecision(context, result, decision, typeCheck);
+        }
+    }
+
     @Override
     @Deprecated
     public DMNResult evaluateDecisionByName(DMNModel model, String decisionName, DMNContext context) {
@@ -161,6 +241,14 @@ public class DMNRuntimeImpl
         Objects.requireNonNull(context, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "context"));
         Objects.requireNonNull(decisionNames, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "decisionNames"));
         final DMNResultImpl result = createResult( model, context );
+        if (getParallelEvaluationExecutor(model) != null) {
+            List<DecisionNode> decisions = new ArrayList<>();
+            for (String name : decisionNames) {
+                findDecisionByName( model, result, name ).ifPresent( decisions::add );
+            }
+            evaluateDecisions(context, result, decisions, performRuntimeTypeCheck(model));
+            return result;
+        }
         for (String name : decisionNames) {
             evaluateByNameInternal( model, context, result, name );
         }
@@ -169,10 +257,12 @@ public class DMNRuntimeImpl
 
     private void evaluateByNameInternal( DMNModel model, DMNContext context, DMNResultImpl result, String name ) {
         boolean performRuntimeTypeCheck = performRuntimeTypeCheck(model);
+        findDecisionByName( model, result, name ).ifPresent( decision -> evaluateDecision(context, result, decision, performRuntimeTypeCheck) );
+    }
+
+    private Optional<DecisionNode> findDecisionByName( DMNModel model, DMNResultImpl result, String name ) {
         Optional<DecisionNode> decision = Optional.ofNullable(model.getDecisionByName(name));
-        if (decision.isPresent()) {
-            evaluateDecision(context, result, decision.get(), performRuntimeTypeCheck);
-        } else {
+        if (!decision.isPresent()) {
             MsgUtil.reportMessage( logger,
                                    DMNMessage.Severity.ERROR,
                                    null,
@@ -182,6 +272,7 @@ public class DMNRuntimeImpl
                                    Msg.DECISION_NOT_FOUND_FOR_NAME,
                                    name );
         }
+        return decision;
     }
 
     @Override
@@ -190,6 +281,14 @@ public class DMNRuntimeImpl
         Objects.requireNonNull(context, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "context"));
         Objects.requireNonNull(decisionIds, () -> MsgUtil.createMessage(Msg.PARAM_CANNOT_BE_NULL, "decisionIds"));
         final DMNResultImpl result = createResult( model, context );
+        if (getParallelEvaluationExecutor(model) != null) {
+            List<DecisionNode> decisions = new ArrayList<>();
+            for (String id : decisionIds) {
+                findDecisionById( model, result, id ).ifPresent( decisions::add );
+            }
+            evaluateDecisions(context, result, decisions, performRuntimeTypeCheck(model));
+            return result;
+        }
         for ( String id : decisionIds ) {
             evaluateByIdInternal( model, context, result, id );
         }
@@ -198,10 +297,12 @@ public class DMNRuntimeImpl
 
     private void evaluateByIdInternal( DMNModel model, DMNContext context, DMNResultImpl result, String id ) {
         boolean performRuntimeTypeCheck = performRuntimeTypeCheck(model);
+        findDecisionById( model, result, id ).ifPresent( decision -> evaluateDecision(context, result, decision, performRuntimeTypeCheck) );
+    }
+
+    private Optional<DecisionNode> findDecisionById( DMNModel model, DMNResultImpl result, String id ) {
         Optional<DecisionNode> decision = Optional.ofNullable(model.getDecisionById(id));
-        if (decision.isPresent()) {
-            evaluateDecision(context, result, decision.get(), performRuntimeTypeCheck);
-        } else {
+        if (!decision.isPresent()) {
             MsgUtil.reportMessage( logger,
                                    DMNMessage.Severity.ERROR,
                                    null,
@@ -211,6 +312,7 @@ public class DMNRuntimeImpl
                                    Msg.DECISION_NOT_FOUND_FOR_ID,
                                    id );
         }
+        return decision;
     }
 
     @Override
@@ -237,7 +339,7 @@ public class DMNRuntimeImpl
         DMNResultImpl result = new DMNResultImpl(model);
         result.setContext( context.clone() );
 
-        for (DecisionNode decision : model.getDecisions().stream().filter(d -> d.getModelNamespace().equals(model.getNamespace())).collect(Collectors.toSet())) {
+        for (DecisionNode decision : getLocalDecisions(model)) {
             result.addDecisionResult(new DMNDecisionResultImpl(decision.getId(), decision.getName()));
         }
         return result;
@@ -460,7 +562,24 @@ public class DMNRuntimeImpl
 
     }
 
+    private void evaluateImportedDecision(DMNResultImpl result, DecisionNode decision, DecisionNode importedDecision, boolean typeCheck) {
+        if (!isNodeValueDefined(result, decision, importedDecision)) {
+            boolean walkingIntoScope = walkIntoImportScope(result, decision, importedDecision);
+            evaluateDecision(result.getContext(), result, importedDecision, typeCheck);
+            if (walkingIntoScope) {
+                result.getContext().popScope();
+            }
+        }
+    }
+
     private boolean evaluateDecision(DMNContext context, DMNResultImpl result, DecisionNode d, boolean typeCheck) {
+        return evaluateDecision(context, result, d, typeCheck, true);
+    }
+
+    /**
+     * @param fireEvents false if the before and after evaluate decision events of this decision are fired by the caller
+     */
+    private boolean evaluateDecision(DMNContext context, DMNResultImpl result, DecisionNode d, boolean typeCheck, boolean fireEvents) {
         DecisionNodeImpl decision = (DecisionNodeImpl) d;
         String decisionId = d.getModelNamespace().equals(result.getModel().getNamespace()) ? decision.getId() : decision.getModelNamespace() + "#" + decision.getId();
         if (isNodeValueDefined(result, decision, decision)) {
@@ -476,7 +595,9 @@ public class DMNRuntimeImpl
             }
         }
         try {
-            DMNRuntimeEventManagerUtils.fireBeforeEvaluateDecision( eventManager, decision, result );
+            if (fireEvents) {
+                DMNRuntimeEventManagerUtils.fireBeforeEvaluateDecision( eventManager, decision, result );
+            }
             boolean missingInput = false;
             DMNDecisionResultImpl dr = (DMNDecisionResultImpl) result.getDecisionResultById(decisionId);
             if (dr == null) { // an imported Decision now evaluated, requires the creation of the decision result:
@@ -636,7 +757,9 @@ public class DMNRuntimeImpl
             }
             return true;
         } finally {
-            DMNRuntimeEventManagerUtils.fireAfterEvaluateDecision( eventManager, decision, result );
+            if (fireEvents) {
+                DMNRuntimeEventManagerUtils.fireAfterEvaluateDecision( eventManager, decision, result );
+            }
         }
     }
 
@@ -673,9 +796,23 @@ public class DMNRuntimeImpl
         return overrideRuntimeTypeCheck || ((DMNModelImpl) model).isRuntimeTypeCheck();
     }
 
+    /**
+     * Returns the executor evaluating concurrently the independent decisions of the model, or null if they have to
+     * be evaluated sequentially.
+     */
+    private Executor getParallelEvaluationExecutor(DMNModel model) {
+        if (parallelEvaluationExecutor != null) {
+            return parallelEvaluationExecutor;
+        }
+        return ((DMNModelImpl) model).isParallelEvaluation() ? ForkJoinPool.commonPool() : null;
+    }
+
     public final <T extends DMNOption> void setOption(T option) {
         if (option instanceof RuntimeTypeCheckOption) {
             this.overrideRuntimeTypeCheck = ((RuntimeTypeCheckOption) option).isRuntimeTypeCheck();
+        } else if (option instanceof ParallelEvaluationOption) {
+            ParallelEvaluationOption parallelEvaluationOption = (ParallelEvaluationOption) option;
+            this.parallelEvaluationExecutor = parallelEvaluationOption.isParallelEvaluation() ? parallelEvaluationOption.getExecutor() : null;
         }
     }
 
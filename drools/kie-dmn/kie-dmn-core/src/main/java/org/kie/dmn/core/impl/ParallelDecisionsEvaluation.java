@@ -0,0 +1,320 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNDecisionResult;
+import org.kie.dmn.api.core.ast.DMNNode;
+import org.kie.dmn.api.core.ast.DecisionNode;
+import org.kie.dmn.api.core.event.AfterEvaluateBKMEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateContextEntryEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionServiceEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionTableEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateBKMEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateContextEntryEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionServiceEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionTableEvent;
+import org.kie.dmn.api.core.event.DMNRuntimeEventListener;
+import org.kie.dmn.core.ast.DMNBaseNode;
+import org.kie.dmn.core.ast.DecisionNodeImpl;
+
+/**
+ * Evaluates a set of decisions of a model, together with the decisions of the same model they require, scheduling
+ * each of them on the executor as soon as the decisions it depends on have been evaluated.
+ *
+ * The decisions imported from other models are evaluated first, once, by the calling thread. Every decision of the
+ * model is then evaluated on a fork of the DMNResult, containing the input context and the outcome of its
+ * dependencies, so that concurrent evaluations never share any mutable state. When all of them have completed,
+ * the forks are merged into the DMNResult by the calling thread, following the topological order of the decisions
+ * with ties broken by decision id, so the merged result doesn't depend on the scheduling.
+ *
+ * The before and after evaluate decision events are not fired by the forks: they are fired around the merge of each
+ * fork, so the listeners receive them in the same order and with the same DMNResult as in a sequential evaluation.
+ * The finer grained events fired while evaluating a decision, e.g. for its BKM invocations, are buffered by the thread
+ * evaluating it and notified between the before and after events of the decision, with its fork of the DMNResult.
+ */
+class ParallelDecisionsEvaluation {
+
+    interface DecisionEvaluator {
+        void evaluate(DMNResultImpl result, DecisionNode decision);
+    }
+
+    interface ImportedDecisionEvaluator {
+        void evaluate(DMNResultImpl result, DecisionNode decision, DecisionNode importedDecision);
+    }
+
+    private final DMNResultImpl result;
+    private final DMNRuntimeEventManagerImpl eventManager;
+    private final Map<String, DecisionNode> decisions = new LinkedHashMap<>();
+    private final Map<DecisionNode, List<DecisionNode>> dependencies = new HashMap<>();
+    private final Map<DecisionNode, List<DecisionNode>> importedDependencies = new LinkedHashMap<>();
+    private DMNContext inputs;
+    private List<DMNDecisionResult> initialDecisionResults;
+
+    ParallelDecisionsEvaluation(DMNResultImpl result, DMNRuntimeEventManagerImpl eventManager, Collection<DecisionNode> requestedDecisions) {
+        this.result = result;
+        this.eventManager = eventManager;
+        requestedDecisions.forEach( this::collect );
+    }
+
+    private void collect(DecisionNode decision) {
+        if ( decisions.putIfAbsent( decision.getId(), decision ) != null ) {
+            return;
+        }
+        List<DecisionNode> deps = new ArrayList<>();
+        List<DecisionNode> importedDeps = new ArrayList<>();
+        for ( DMNNode dep : ((DMNBaseNode) decision).getDependencies().values() ) {
+            if ( !(dep instanceof DecisionNode) ) {
+                continue;
+            }
+            if ( isLocal( dep ) ) {
+                deps.add( (DecisionNode) dep );
+                collect( (DecisionNode) dep );
+            } else if ( decision.getModelImportAliasFor( dep.getModelNamespace(), dep.getModelName() ).isPresent() ) {
+                // without an alias the dependency can't be resolved, and the fork reports it
+                importedDeps.add( (DecisionNode) dep );
+            }
+        }
+        dependencies.put( decision, deps );
+        if ( !importedDeps.isEmpty() ) {
+            importedDependencies.put( decision, importedDeps );
+        }
+    }
+
+    private boolean isLocal(DMNNode node) {
+        return node.getModelNamespace().equals( result.getModel().getNamespace() );
+    }
+
+    /**
+     * Returns the decisions in topological order, or null if they contain a cycle.
+     */
+    List<DecisionNode> sortedDecisions() {
+        Map<DecisionNode, Integer> pendingDeps = new HashMap<>();
+        Map<DecisionNode, List<DecisionNode>> dependants = new HashMap<>();
+        PriorityQueue<DecisionNode> ready = new PriorityQueue<>( Comparator.comparing( DecisionNode::getId ) );
+        for ( DecisionNode decision : decisions.values() ) {
+            List<DecisionNode> deps = dependencies.get( decision );
+            pendingDeps.put( decision, deps.size() );
+            deps.forEach( dep -> dependants.computeIfAbsent( dep, d -> new ArrayList<>() ).add( decision ) );
+            if ( deps.isEmpty() ) {
+                ready.add( decision );
+            }
+        }
+        List<DecisionNode> sorted = new ArrayList<>();
+        while ( !ready.isEmpty() ) {
+            DecisionNode decision = ready.poll();
+            sorted.add( decision );
+            for ( DecisionNode dependant : dependants.getOrDefault( decision, Collections.emptyList() ) ) {
+                if ( pendingDeps.merge( dependant, -1, Integer::sum ) == 0 ) {
+                    ready.add( dependant );
+                }
+            }
+        }
+        return sorted.size() == decisions.size() ? sorted : null;
+    }
+
+    /**
+     * Evaluates the decisions on the executor and merges their outcome into the result. Returns false, without
+     * evaluating anything, if there is only one decision or if they contain a cycle.
+     *
+     * The evaluator must not fire the before and after evaluate decision events of the decision it is given, as
+     * they are fired while merging.
+     */
+    boolean evaluate(Executor executor, ImportedDecisionEvaluator importedEvaluator, DecisionEvaluator evaluator) {
+        if ( decisions.size() < 2 ) {
+            return false;
+        }
+        List<DecisionNode> sorted = sortedDecisions();
+        if ( sorted == null ) {
+            return false;
+        }
+
+        importedDependencies.forEach( (decision, importedDeps) -> importedDeps.forEach( dep -> importedEvaluator.evaluate( result, decision, dep ) ) );
+        inputs = result.getContext().clone();
+        initialDecisionResults = result.getDecisionResults();
+
+        Map<DecisionNode, CompletableFuture<DMNResultImpl>> forks = new HashMap<>();
+        Map<DecisionNode, EventsBuffer> events = new HashMap<>();
+        for ( DecisionNode decision : sorted ) {
+            List<DecisionNode> deps = dependencies.get( decision );
+            List<CompletableFuture<DMNResultImpl>> depForks = new ArrayList<>();
+            deps.forEach( dep -> depForks.add( forks.get( dep ) ) );
+            // written only by the thread evaluating the decision, and read after joining its fork
+            EventsBuffer buffer = eventManager.hasListeners() ? new EventsBuffer() : null;
+            events.put( decision, buffer );
+            forks.put( decision, CompletableFuture.allOf( depForks.toArray( new CompletableFuture[depForks.size()] ) ).thenApplyAsync( v -> {
+                DMNResultImpl fork = fork( deps, depForks );
+                eventManager.setBufferingListener( buffer );
+                try {
+                    evaluator.evaluate( fork, decision );
+                } finally {
+                    eventManager.setBufferingListener( null );
+                }
+                return fork;
+            }, executor ) );
+        }
+
+        for ( DecisionNode decision : sorted ) {
+            DMNResultImpl fork = join( forks.get( decision ) );
+            DMNRuntimeEventManagerUtils.fireBeforeEvaluateDecision( eventManager, decision, result );
+            EventsBuffer buffer = events.get( decision );
+            if ( buffer != null ) {
+                buffer.replay( eventManager );
+            }
+            merge( decision, fork );
+            DMNRuntimeEventManagerUtils.fireAfterEvaluateDecision( eventManager, decision, result );
+        }
+        return true;
+    }
+
+    private DMNResultImpl fork(List<DecisionNode> deps, List<CompletableFuture<DMNResultImpl>> depForks) {
+        DMNResultImpl fork = new DMNResultImpl( result.getModel() );
+        DMNContext context = inputs.clone();
+        // the scopes of the imported models are maps, filled when evaluating their nodes
+        for ( String alias : ((DMNModelImpl) result.getModel()).getImportAliasesForNS().keySet() ) {
+            Object scope = context.get( alias );
+            if ( scope instanceof Map ) {
+                context.set( alias, new LinkedHashMap<>( (Map<?, ?>) scope ) );
+            }
+        }
+        fork.setContext( context );
+        for ( DMNDecisionResult dr : initialDecisionResults ) {
+            // the imported decisions have already been evaluated, and their results are only read by the fork
+            fork.addDecisionResult( dr.getEvaluationStatus() == DMNDecisionResult.DecisionEvaluationStatus.NOT_EVALUATED ?
+                                    new DMNDecisionResultImpl( dr.getDecisionId(), dr.getDecisionName() ) : dr );
+        }
+        for ( int i = 0; i < deps.size(); i++ ) {
+            DecisionNode dep = deps.get( i );
+            // already completed, so this doesn't block
+            DMNResultImpl depFork = depForks.get( i ).join();
+            fork.addDecisionResult( depFork.getDecisionResultById( dep.getId() ) );
+            String variableName = ((DecisionNodeImpl) dep).getDecision().getVariable().getName();
+            if ( depFork.getContext().isDefined( variableName ) ) {
+                fork.getContext().set( variableName, depFork.getContext().get( variableName ) );
+            }
+        }
+        return fork;
+    }
+
+    private void merge(DecisionNode decision, DMNResultImpl fork) {
+        result.addAll( fork.getMessages() );
+        for ( DMNDecisionResult dr : fork.getDecisionResults() ) {
+            // the imported decisions the fork couldn't resolve are added only if not already added by another one
+            if ( dr.getDecisionId().equals( decision.getId() ) || result.getDecisionResultById( dr.getDecisionId() ) == null ) {
+                result.addDecisionResult( dr );
+            }
+        }
+        DMNContext context = result.getContext();
+        fork.getContext().getAll().forEach( (name, value) -> {
+            if ( !context.isDefined( name ) ) {
+                context.set( name, value );
+            }
+        } );
+    }
+
+    private static DMNResultImpl join(CompletableFuture<DMNResultImpl> fork) {
+        try {
+            return fork.join();
+        } catch (CompletionException e) {
+            if ( e.getCause() instanceof RuntimeException ) {
+                throw (RuntimeException) e.getCause();
+            }
+            if ( e.getCause() instanceof Error ) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Records the events fired while evaluating a decision, to notify them to the registered listeners later.
+     */
+    private static class EventsBuffer implements DMNRuntimeEventListener {
+
+        private final List<Consumer<DMNRuntimeEventListener>> events = new ArrayList<>();
+
+        void replay(DMNRuntimeEventManagerImpl eventManager) {
+            events.forEach( event -> DMNRuntimeEventManagerUtils.notifyListeners( eventManager, event ) );
+        }
+
+        @Override
+        public void beforeEvaluateDecision(BeforeEvaluateDecisionEvent event) {
+            events.add( l -> l.beforeEvaluateDecision( event ) );
+        }
+
+        @Override
+        public void afterEvaluateDecision(AfterEvaluateDecisionEvent event) {
+            events.add( l -> l.afterEvaluateDecision( event ) );
+        }
+
+        @Override
+        public void beforeEvaluateBKM(BeforeEvaluateBKMEvent event) {
+            events.add( l -> l.beforeEvaluateBKM( event ) );
+        }
+
+        @Override
+        public void afterEvaluateBKM(AfterEvaluateBKMEvent event) {
+            events.add( l -> l.afterEvaluateBKM( event ) );
+        }
+
+        @Override
+        public void beforeEvaluateContextEntry(BeforeEvaluateContextEntryEvent event) {
+            events.add( l -> l.beforeEvaluateContextEntry( event ) );
+        }
+
+        @Override
+        public void afterEvaluateContextEntry(AfterEvaluateContextEntryEvent event) {
+            events.add( l -> l.afterEvaluateContextEntry( event ) );
+        }
+
+        @Override
+        public void beforeEvaluateDecisionTable(BeforeEvaluateDecisionTableEvent event) {
+            events.add( l -> l.beforeEvaluateDecisionTable( event ) );
+        }
+
+        @Override
+        public void afterEvaluateDecisionTable(AfterEvaluateDecisionTableEvent event) {
+            events.add( l -> l.afterEvaluateDecisionTable( event ) );
+        }
+
+        @Override
+        public void beforeEvaluateDecisionService(BeforeEvaluateDecisionServiceEvent event) {
+            events.add( l -> l.beforeEvaluateDecisionService( event ) );
+        }
+
+        @Override
+        public void afterEvaluateDecisionService(AfterEvaluateDecisionServiceEvent event) {
+            events.add( l -> l.afterEvaluateDecisionService( event ) );
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionTableEvent;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.api.event.DefaultDMNRuntimeEventListener;
+import org.kie.dmn.core.compiler.BKMMemoizationOption;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class DMNBKMMemoizationTest {
+
+    @Test
+    public void testMemoizeAttribute() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "bkm_memoization.dmn", getClass() );
+        final List<String> evaluatedTables = listenDecisionTables( runtime );
+
+        evaluate( runtime, 5 );
+        // the memoized BKM is evaluated once per distinct argument, the other one at each invocation
+        assertThat( Collections.frequency( evaluatedTables, "classify" ), is( 2 ) );
+        assertThat( Collections.frequency( evaluatedTables, "plain classify" ), is( 2 ) );
+
+        // the results are not kept across evaluations
+        evaluatedTables.clear();
+        evaluate( runtime, 5 );
+        assertThat( Collections.frequency( evaluatedTables, "classify" ), is( 2 ) );
+    }
+
+    @Test
+    public void testMemoizeAttributeDMN12() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "bkm_memoization_v12.dmn", getClass() );
+        final List<String> evaluatedTables = listenDecisionTables( runtime );
+
+        evaluate( runtime, 5 );
+        assertThat( Collections.frequency( evaluatedTables, "classify" ), is( 2 ) );
+        assertThat( Collections.frequency( evaluatedTables, "plain classify" ), is( 2 ) );
+    }
+
+    @Test
+    public void testMemoizationOption() {
+        System.setProperty( BKMMemoizationOption.PROPERTY_NAME, "10" );
+        final DMNRuntime runtime;
+        try {
+            runtime = DMNRuntimeUtil.createRuntime( "bkm_memoization.dmn", getClass() );
+        } finally {
+            System.clearProperty( BKMMemoizationOption.PROPERTY_NAME );
+        }
+        final List<String> evaluatedTables = listenDecisionTables( runtime );
+
+        evaluate( runtime, 5 );
+        assertThat( Collections.frequency( evaluatedTables, "classify" ), is( 2 ) );
+        assertThat( Collections.frequency( evaluatedTables, "plain classify" ), is( 1 ) );
+
+        // the BKM without the attribute also shares its results across evaluations
+        evaluatedTables.clear();
+        evaluate( runtime, 5 );
+        assertThat( Collections.frequency( evaluatedTables, "classify" ), is( 2 ) );
+        assertThat( Collections.frequency( evaluatedTables, "plain classify" ), is( 0 ) );
+
+        evaluatedTables.clear();
+        evaluate( runtime, 20 );
+        assertThat( Collections.frequency( evaluatedTables, "plain classify" ), is( 1 ) );
+    }
+
+    @Test
+    public void testParseOption() {
+        assertThat( new BKMMemoizationOption( (String) null ).isMemoization(), is( false ) );
+        assertThat( new BKMMemoizationOption( "false" ).isMemoization(), is( false ) );
+        assertThat( new BKMMemoizationOption( "true" ).isMemoization(), is( true ) );
+        assertThat( new BKMMemoizationOption( "true" ).getSharedCacheSize(), is( 0 ) );
+        assertThat( new BKMMemoizationOption( "100" ).isMemoization(), is( true ) );
+        assertThat( new BKMMemoizationOption( "100" ).getSharedCacheSize(), is( 100 ) );
+        assertThat( new BKMMemoizationOption( "0" ).isMemoization(), is( false ) );
+    }
+
+    private static List<String> listenDecisionTables( DMNRuntime runtime ) {
+        final List<String> evaluatedTables = new ArrayList<>();
+        runtime.addListener( new DefaultDMNRuntimeEventListener() {
+            @Override
+            public void afterEvaluateDecisionTable( AfterEvaluateDecisionTableEvent event ) {
+                evaluatedTables.add( event.getNodeName() );
+            }
+        } );
+        return evaluatedTables;
+    }
+
+    private static void evaluate( DMNRuntime runtime, int number ) {
+        final DMNModel dmnModel = runtime.getModel( "http://www.drools.org/kie-dmn/bkm-memoization", "bkm memoization" );
+        final DMNContext context = DMNFactory.newContext();
+        context.set( "Number", number );
+
+        final DMNResult dmnResult = runtime.evaluateAll( dmnModel, context );
+        assertThat( DMNRuntimeUtil.formatMessages( dmnResult.getMessages() ), dmnResult.hasErrors(), is( false ) );
+        final String size = number < 10 ? "small" : "big";
+        assertThat( dmnResult.getContext().get( "Size 1" ), is( size ) );
+        assertThat( dmnResult.getContext().get( "Size 2" ), is( size ) );
+        assertThat( dmnResult.getContext().get( "Size 3" ), is( "big" ) );
+        assertThat( dmnResult.getContext().get( "Plain 1" ), is( size ) );
+        assertThat( dmnResult.getContext().get( "Plain 2" ), is( size ) );
+    }
+}
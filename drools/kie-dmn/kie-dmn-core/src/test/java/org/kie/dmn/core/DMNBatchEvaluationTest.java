@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNDecisionResult;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+public class DMNBatchEvaluationTest {
+
+    @Test
+    public void testBatchEvaluation() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0004-lending.dmn", getClass() );
+        final DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1" );
+        assertThat( dmnModel, notNullValue() );
+
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        for ( int i = 0; i < 200; i++ ) {
+            rows.add( lendingRow( 500 + i ) );
+        }
+
+        final List<DMNResult> results = runtime.evaluateAll( dmnModel, rows ).collect( Collectors.toList() );
+        assertThat( results.size(), is( rows.size() ) );
+
+        for ( int i = 0; i < rows.size(); i++ ) {
+            final DMNContext context = DMNFactory.newContext();
+            rows.get( i ).forEach( context::set );
+            final DMNResult expected = runtime.evaluateAll( dmnModel, context );
+            final DMNResult actual = results.get( i );
+
+            assertThat( actual.getContext().get( "BureauData" ), is( rows.get( i ).get( "BureauData" ) ) );
+            assertThat( actual.getMessages().size(), is( expected.getMessages().size() ) );
+            for ( DMNDecisionResult expectedDecision : expected.getDecisionResults() ) {
+                final DMNDecisionResult actualDecision = actual.getDecisionResultById( expectedDecision.getDecisionId() );
+                assertThat( actualDecision.getEvaluationStatus(), is( expectedDecision.getEvaluationStatus() ) );
+                assertThat( actualDecision.getResult(), is( expectedDecision.getResult() ) );
+            }
+        }
+    }
+
+    @Test
+    public void testBatchEvaluationKeepsTheOrderOfTheRows() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0004-lending.dmn", getClass() );
+        final DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1" );
+
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        for ( int i = 0; i < 500; i++ ) {
+            rows.add( lendingRow( i ) );
+        }
+
+        final List<Object> bureauData = new ArrayList<>();
+        runtime.evaluateAll( dmnModel, rows.stream() ).forEach( result -> bureauData.add( result.getContext().get( "BureauData" ) ) );
+        assertThat( bureauData.size(), is( rows.size() ) );
+        for ( int i = 0; i < rows.size(); i++ ) {
+            assertThat( bureauData.get( i ), is( rows.get( i ).get( "BureauData" ) ) );
+        }
+    }
+
+    @Test
+    public void testBatchEvaluationIsLazy() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0004-lending.dmn", getClass() );
+        final DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1" );
+
+        final AtomicInteger readRows = new AtomicInteger();
+        final List<DMNResult> results = runtime.evaluateAll( dmnModel, IntStream.range( 0, 100000 ).peek( i -> readRows.incrementAndGet() ).mapToObj( DMNBatchEvaluationTest::lendingRow ) )
+                                               .limit( 10 )
+                                               .collect( Collectors.toList() );
+        assertThat( results.size(), is( 10 ) );
+        // only the first chunk of rows has been read and evaluated
+        assertThat( readRows.get() < 100000, is( true ) );
+        for ( int i = 0; i < results.size(); i++ ) {
+            assertThat( results.get( i ).getContext().get( "BureauData" ), is( lendingRow( i ).get( "BureauData" ) ) );
+        }
+    }
+
+    private static Map<String, Object> lendingRow( int creditScore ) {
+        final Map<String, Object> applicant = new HashMap<>();
+        final Map<String, Object> monthly = new HashMap<>();
+        monthly.put( "Income", 6000 );
+        monthly.put( "Expenses", 2000 );
+        monthly.put( "Repayments", 0 );
+        applicant.put( "Monthly", monthly );
+        applicant.put( "Age", 35 );
+        applicant.put( "ExistingCustomer", true );
+        applicant.put( "MaritalStatus", "M" );
+        applicant.put( "EmploymentStatus", "EMPLOYED" );
+        final Map<String, Object> product = new HashMap<>();
+        product.put( "ProductType", "STANDARD LOAN" );
+        product.put( "Amount", 350000 );
+        product.put( "Rate", new BigDecimal( "0.0395" ) );
+        product.put( "Term", 360 );
+        final Map<String, Object> bureau = new HashMap<>();
+        bureau.put( "CreditScore", creditScore );
+        bureau.put( "Bankrupt", false );
+
+        final Map<String, Object> row = new HashMap<>();
+        row.put( "ApplicantData", applicant );
+        row.put( "RequestedProduct", product );
+        row.put( "BureauData", bureau );
+        row.put( "SupportingDocuments", "yes" );
+        return row;
+    }
+}
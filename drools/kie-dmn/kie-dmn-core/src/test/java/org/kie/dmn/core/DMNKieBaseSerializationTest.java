@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.drools.core.common.DroolsObjectInputStream;
+import org.drools.core.common.DroolsObjectOutputStream;
+import org.drools.core.impl.InternalKnowledgeBase;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.KieServices;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.assembler.DMNAssemblerService;
+import org.kie.dmn.core.compiler.DMNCompilerImpl;
+import org.kie.dmn.core.impl.DMNModelImpl;
+import org.kie.dmn.core.impl.DMNRuntimeImpl;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+import org.kie.dmn.core.util.KieHelper;
+import org.kie.dmn.core.v1_2.DMN12specificTest;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Serializes a kbase containing DMN models, as done when it is written at build time, and evaluates the models
+ * of the deserialized kbase.
+ */
+public class DMNKieBaseSerializationTest {
+
+    @Test
+    public void testDMN11Model() throws Exception {
+        final DMNRuntime runtime = serializedRuntime( "0004-lending.dmn", getClass() );
+        final DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1" );
+        assertThat( dmnModel, notNullValue() );
+        assertThat( DMNRuntimeUtil.formatMessages( dmnModel.getMessages() ), dmnModel.hasErrors(), is( false ) );
+        assertThat( dmnModel.getDefinitions(), instanceOf( org.kie.dmn.model.v1_1.TDefinitions.class ) );
+
+        final DMNResult dmnResult = runtime.evaluateAll( dmnModel, lendingContext() );
+        assertThat( DMNRuntimeUtil.formatMessages( dmnResult.getMessages() ), dmnResult.hasErrors(), is( false ) );
+        assertThat( dmnResult.getContext().get( "Strategy" ), is( "BUREAU" ) );
+        assertThat( dmnResult.getContext().get( "Eligibility" ), is( "ELIGIBLE" ) );
+    }
+
+    @Test
+    public void testDMN12Model() throws Exception {
+        final DMNRuntime runtime = serializedRuntime( "0001-filter.dmn", DMN12specificTest.class );
+        final DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_f52ca843-504b-4c3b-a6bc-4d377bffef7a", "filter01" );
+        assertThat( dmnModel, notNullValue() );
+        assertThat( DMNRuntimeUtil.formatMessages( dmnModel.getMessages() ), dmnModel.hasErrors(), is( false ) );
+        assertThat( dmnModel.getDefinitions(), instanceOf( org.kie.dmn.model.v1_2.TDefinitions.class ) );
+
+        final List<Map<String, Object>> employees = new ArrayList<>();
+        employees.add( employee( 7792, 10, "Clark" ) );
+        employees.add( employee( 7976, 20, "Adams" ) );
+        employees.add( employee( 7902, 20, "Ford" ) );
+        final DMNContext context = DMNFactory.newContext();
+        context.set( "Employees", employees );
+
+        final DMNResult dmnResult = runtime.evaluateAll( dmnModel, context );
+        assertThat( DMNRuntimeUtil.formatMessages( dmnResult.getMessages() ), dmnResult.hasErrors(), is( false ) );
+        assertThat( dmnResult.getContext().get( "filter01" ), is( Arrays.asList( "Adams", "Ford" ) ) );
+    }
+
+    private static DMNRuntime serializedRuntime( final String resourceName, final Class<?> testClass ) throws Exception {
+        final KieServices ks = KieServices.Factory.get();
+        final KieBase kieBase = KieHelper.getKieContainer( ks.newReleaseId( "org.kie", "dmn-test-" + UUID.randomUUID(), "1.0" ),
+                                                           ks.getResources().newClassPathResource( resourceName, testClass ) ).getKieBase();
+        final DMNCompilerImpl compiler = (DMNCompilerImpl) DMNFactory.newCompiler();
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DroolsObjectOutputStream out = new DroolsObjectOutputStream( bytes )) {
+            out.addCustomExtensions( DMNAssemblerService.DMN_COMPILER_CACHE_KEY, compiler );
+            out.writeObject( kieBase );
+        }
+
+        final InternalKnowledgeBase deserialized;
+        try (DroolsObjectInputStream in = new DroolsObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ), testClass.getClassLoader() )) {
+            in.addCustomExtensions( DMNAssemblerService.DMN_COMPILER_CACHE_KEY, compiler );
+            deserialized = (InternalKnowledgeBase) in.readObject();
+        }
+        final DMNRuntime runtime = new DMNRuntimeImpl( deserialized );
+        for ( DMNModel model : runtime.getModels() ) {
+            assertThat( model, instanceOf( DMNModelImpl.class ) );
+        }
+        return runtime;
+    }
+
+    private static Map<String, Object> employee( final int id, final int dept, final String name ) {
+        final Map<String, Object> employee = new HashMap<>();
+        employee.put( "id", id );
+        employee.put( "dept", dept );
+        employee.put( "name", name );
+        return employee;
+    }
+
+    private static DMNContext lendingContext() {
+        final DMNContext context = DMNFactory.newContext();
+        final Map<String, Object> applicant = new HashMap<>();
+        final Map<String, Object> monthly = new HashMap<>();
+        monthly.put( "Income", 6000 );
+        monthly.put( "Expenses", 2000 );
+        monthly.put( "Repayments", 0 );
+        applicant.put( "Monthly", monthly );
+        applicant.put( "Age", 35 );
+        applicant.put( "ExistingCustomer", true );
+        applicant.put( "MaritalStatus", "M" );
+        applicant.put( "EmploymentStatus", "EMPLOYED" );
+        final Map<String, Object> product = new HashMap<>();
+        product.put( "ProductType", "STANDARD LOAN" );
+        product.put( "Amount", 350000 );
+        product.put( "Rate", new BigDecimal( "0.0395" ) );
+        product.put( "Term", 360 );
+        final Map<String, Object> bureau = new HashMap<>();
+        bureau.put( "CreditScore", 649 );
+        bureau.put( "Bankrupt", false );
+
+        context.set( "ApplicantData", applicant );
+        context.set( "RequestedProduct", product );
+        context.set( "BureauData", bureau );
+        context.set( "SupportingDocuments", "yes" );
+        return context;
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.Message;
+import org.kie.api.builder.Results;
+import org.kie.api.builder.model.KieModuleModel;
+import org.kie.dmn.api.core.DMNContext;
+import org.kie.dmn.api.core.DMNDecisionResult;
+import org.kie.dmn.api.core.DMNModel;
+import org.kie.dmn.api.core.DMNResult;
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.api.core.ast.DMNNode;
+import org.kie.dmn.api.core.ast.DecisionNode;
+import org.kie.dmn.api.core.event.AfterEvaluateBKMEvent;
+import org.kie.dmn.api.core.event.AfterEvaluateDecisionEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateBKMEvent;
+import org.kie.dmn.api.core.event.BeforeEvaluateDecisionEvent;
+import org.kie.dmn.core.api.DMNFactory;
+import org.kie.dmn.core.api.event.DefaultDMNRuntimeEventListener;
+import org.kie.dmn.core.ast.DMNBaseNode;
+import org.kie.dmn.core.compiler.ParallelEvaluationOption;
+import org.kie.dmn.core.impl.DMNModelImpl;
+import org.kie.dmn.core.impl.DMNRuntimeImpl;
+import org.kie.dmn.core.imports.ImportsTest;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class DMNParallelEvaluationTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool( 4 );
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSameResultAsSequentialEvaluation() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0004-lending.dmn", getClass() );
+        final DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1" );
+        assertThat( dmnModel, notNullValue() );
+
+        final DMNResult sequential = runtime.evaluateAll( dmnModel, lendingContext() );
+
+        final List<String> events = Collections.synchronizedList( new ArrayList<>() );
+        runtime.addListener( new DefaultDMNRuntimeEventListener() {
+            @Override
+            public void beforeEvaluateDecision( BeforeEvaluateDecisionEvent event ) {
+                events.add( "before " + event.getDecision().getName() );
+            }
+
+            @Override
+            public void afterEvaluateDecision( AfterEvaluateDecisionEvent event ) {
+                events.add( "after " + event.getDecision().getName() );
+            }
+        } );
+        ((DMNRuntimeImpl) runtime).setOption( new ParallelEvaluationOption( executor ) );
+
+        for ( int i = 0; i < 10; i++ ) {
+            events.clear();
+            final DMNResult parallel = runtime.evaluateAll( dmnModel, lendingContext() );
+            assertThat( parallel.getMessages().toString(), parallel.hasErrors(), is( false ) );
+            assertThat( parallel.getDecisionResults().size(), is( sequential.getDecisionResults().size() ) );
+            for ( DMNDecisionResult expected : sequential.getDecisionResults() ) {
+                final DMNDecisionResult actual = parallel.getDecisionResultById( expected.getDecisionId() );
+                assertThat( actual.getEvaluationStatus(), is( DMNDecisionResult.DecisionEvaluationStatus.SUCCEEDED ) );
+                assertThat( actual.getResult(), is( expected.getResult() ) );
+                assertThat( parallel.getContext().get( expected.getDecisionName() ), is( expected.getResult() ) );
+            }
+
+            // every decision is evaluated after the ones it depends on
+            for ( DecisionNode decision : dmnModel.getDecisions() ) {
+                final int before = events.indexOf( "before " + decision.getName() );
+                assertTrue( before >= 0 );
+                for ( DMNNode dep : ((DMNBaseNode) decision).getDependencies().values() ) {
+                    if ( dep instanceof DecisionNode ) {
+                        assertTrue( events.indexOf( "after " + dep.getName() ) < before );
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEvaluateByName() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0004-lending.dmn", getClass() );
+        ((DMNRuntimeImpl) runtime).setOption( new ParallelEvaluationOption( executor ) );
+        final DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1" );
+
+        final DMNResult dmnResult = runtime.evaluateByName( dmnModel, lendingContext(), "Strategy", "Missing" );
+        assertThat( dmnResult.hasErrors(), is( true ) );
+        assertThat( dmnResult.getContext().get( "Strategy" ), is( "BUREAU" ) );
+        assertThat( dmnResult.getContext().get( "Eligibility" ), is( "ELIGIBLE" ) );
+        assertThat( dmnResult.getDecisionResultByName( "Routing" ).getEvaluationStatus(), is( DMNDecisionResult.DecisionEvaluationStatus.NOT_EVALUATED ) );
+    }
+
+    @Test
+    public void testDecisionEventsFiredWithMergedResult() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0004-lending.dmn", getClass() );
+        ((DMNRuntimeImpl) runtime).setOption( new ParallelEvaluationOption( executor ) );
+        final DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1" );
+
+        final Thread caller = Thread.currentThread();
+        final List<String> errors = new ArrayList<>();
+        final List<DMNResult> results = new ArrayList<>();
+        runtime.addListener( new DefaultDMNRuntimeEventListener() {
+            @Override
+            public void beforeEvaluateDecision( BeforeEvaluateDecisionEvent event ) {
+                if ( Thread.currentThread() != caller ) {
+                    errors.add( "before " + event.getDecision().getName() + " fired by " + Thread.currentThread().getName() );
+                }
+                results.add( event.getResult() );
+            }
+
+            @Override
+            public void afterEvaluateDecision( AfterEvaluateDecisionEvent event ) {
+                final DMNDecisionResult dr = event.getResult().getDecisionResultById( event.getDecision().getId() );
+                if ( dr.getEvaluationStatus() != DMNDecisionResult.DecisionEvaluationStatus.SUCCEEDED ||
+                     !event.getResult().getContext().isDefined( event.getDecision().getName() ) ) {
+                    errors.add( "after " + event.getDecision().getName() + " without its result" );
+                }
+                results.add( event.getResult() );
+            }
+        } );
+
+        final DMNResult dmnResult = runtime.evaluateAll( dmnModel, lendingContext() );
+        assertThat( dmnResult.getMessages().toString(), dmnResult.hasErrors(), is( false ) );
+        assertThat( errors.toString(), errors.isEmpty(), is( true ) );
+        assertThat( results.size(), is( 2 * dmnModel.getDecisions().size() ) );
+        for ( DMNResult result : results ) {
+            assertThat( result, sameInstance( dmnResult ) );
+        }
+    }
+
+    @Test
+    public void testInnerEventsFiredBetweenDecisionEvents() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0004-lending.dmn", getClass() );
+        final DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1" );
+
+        final Thread caller = Thread.currentThread();
+        final List<String> errors = new ArrayList<>();
+        final List<String> bkmEvents = new ArrayList<>();
+        final String[] evaluating = new String[1];
+        runtime.addListener( new DefaultDMNRuntimeEventListener() {
+            @Override
+            public void beforeEvaluateDecision( BeforeEvaluateDecisionEvent event ) {
+                evaluating[0] = event.getDecision().getName();
+            }
+
+            @Override
+            public void afterEvaluateDecision( AfterEvaluateDecisionEvent event ) {
+                evaluating[0] = null;
+            }
+
+            @Override
+            public void beforeEvaluateBKM( BeforeEvaluateBKMEvent event ) {
+                if ( Thread.currentThread() != caller ) {
+                    errors.add( "before " + event.getBusinessKnowledgeModel().getName() + " fired by " + Thread.currentThread().getName() );
+                }
+                if ( evaluating[0] == null ) {
+                    errors.add( "before " + event.getBusinessKnowledgeModel().getName() + " fired outside of a decision" );
+                }
+                bkmEvents.add( "before " + event.getBusinessKnowledgeModel().getName() );
+            }
+
+            @Override
+            public void afterEvaluateBKM( AfterEvaluateBKMEvent event ) {
+                if ( evaluating[0] == null ) {
+                    errors.add( "after " + event.getBusinessKnowledgeModel().getName() + " fired outside of a decision" );
+                }
+                bkmEvents.add( "after " + event.getBusinessKnowledgeModel().getName() );
+            }
+        } );
+
+        runtime.evaluateAll( dmnModel, lendingContext() );
+        final List<String> sequentialBkmEvents = new ArrayList<>( bkmEvents );
+        assertThat( sequentialBkmEvents.isEmpty(), is( false ) );
+
+        ((DMNRuntimeImpl) runtime).setOption( new ParallelEvaluationOption( executor ) );
+        bkmEvents.clear();
+        errors.clear();
+        final DMNResult dmnResult = runtime.evaluateAll( dmnModel, lendingContext() );
+        assertThat( dmnResult.getMessages().toString(), dmnResult.hasErrors(), is( false ) );
+        assertThat( errors.toString(), errors.isEmpty(), is( true ) );
+        assertThat( bkmEvents.size(), is( sequentialBkmEvents.size() ) );
+    }
+
+    @Test
+    public void testImportedDecisionEvaluatedOnce() {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntimeWithAdditionalResources( "Parallel_Greetings.dmn", ImportsTest.class, "Sayhello1ID1D.dmn" );
+        ((DMNRuntimeImpl) runtime).setOption( new ParallelEvaluationOption( executor ) );
+        final DMNModel dmnModel = runtime.getModel( "http://www.drools.org/kie-dmn/parallel-greetings", "Parallel Greetings" );
+        assertThat( DMNRuntimeUtil.formatMessages( dmnModel.getMessages() ), dmnModel.hasErrors(), is( false ) );
+
+        final List<String> events = Collections.synchronizedList( new ArrayList<>() );
+        runtime.addListener( new DefaultDMNRuntimeEventListener() {
+            @Override
+            public void beforeEvaluateDecision( BeforeEvaluateDecisionEvent event ) {
+                events.add( "before " + event.getDecision().getName() );
+            }
+
+            @Override
+            public void afterEvaluateDecision( AfterEvaluateDecisionEvent event ) {
+                events.add( "after " + event.getDecision().getName() );
+            }
+        } );
+
+        final DMNContext context = runtime.newContext();
+        final Map<String, Object> modelA = new HashMap<>();
+        modelA.put( "Person name", "John" );
+        context.set( "modelA", modelA );
+        final DMNResult dmnResult = runtime.evaluateAll( dmnModel, context );
+        assertThat( DMNRuntimeUtil.formatMessages( dmnResult.getMessages() ), dmnResult.hasErrors(), is( false ) );
+        assertThat( dmnResult.getContext().get( "Loud Greeting" ), is( "HELLO, JOHN" ) );
+        assertThat( dmnResult.getContext().get( "Greeting Length" ), is( new BigDecimal( 11 ) ) );
+        assertThat( dmnResult.getDecisionResultByName( "modelA.Greet the Person" ).getResult(), is( "Hello, John" ) );
+        assertThat( events.toString(), Collections.frequency( events, "before Greet the Person" ), is( 1 ) );
+        assertThat( events.toString(), Collections.frequency( events, "after Greet the Person" ), is( 1 ) );
+        assertThat( events.size(), is( 6 ) );
+    }
+
+    @Test
+    public void testEnabledInKModule() {
+        final KieServices ks = KieServices.Factory.get();
+        final KieFileSystem kfs = ks.newKieFileSystem();
+        final KieModuleModel kmm = ks.newKieModuleModel();
+        kmm.setConfigurationProperty( ParallelEvaluationOption.PROPERTY_NAME, "true" );
+        kfs.writeKModuleXML( kmm.toXML() );
+        kfs.write( ks.getResources().newClassPathResource( "0004-lending.dmn", getClass() ) );
+        final Results results = ks.newKieBuilder( kfs ).buildAll().getResults();
+        assertThat( results.getMessages().toString(), results.hasMessages( Message.Level.ERROR ), is( false ) );
+        final DMNRuntime runtime = ks.newKieContainer( ks.getRepository().getDefaultReleaseId() ).newKieSession().getKieRuntime( DMNRuntime.class );
+
+        final DMNModel dmnModel = runtime.getModel( "http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1" );
+        assertThat( ((DMNModelImpl) dmnModel).isParallelEvaluation(), is( true ) );
+
+        final DMNResult dmnResult = runtime.evaluateAll( dmnModel, lendingContext() );
+        assertThat( dmnResult.getMessages().toString(), dmnResult.hasErrors(), is( false ) );
+        assertThat( dmnResult.getContext().get( "Strategy" ), is( "BUREAU" ) );
+        assertThat( dmnResult.getContext().get( "Routing" ), notNullValue() );
+    }
+
+    private static DMNContext lendingContext() {
+        final DMNContext context = DMNFactory.newContext();
+        final Map<String, Object> applicant = new HashMap<>();
+        final Map<String, Object> monthly = new HashMap<>();
+        monthly.put( "Income", 6000 );
+        monthly.put( "Expenses", 2000 );
+        monthly.put( "Repayments", 0 );
+        applicant.put( "Monthly", monthly );
+        applicant.put( "Age", 35 );
+        applicant.put( "ExistingCustomer", true );
+        applicant.put( "MaritalStatus", "M" );
+        applicant.put( "EmploymentStatus", "EMPLOYED" );
+        final Map<String, Object> product = new HashMap<>();
+        product.put( "ProductType", "STANDARD LOAN" );
+        product.put( "Amount", 350000 );
+        product.put( "Rate", new BigDecimal( "0.0395" ) );
+        product.put( "Term", 360 );
+        final Map<String, Object> bureau = new HashMap<>();
+        bureau.put( "CreditScore", 649 );
+        bureau.put( "Bankrupt", false );
+
+        context.set( "ApplicantData", applicant );
+        context.set( "RequestedProduct", product );
+        context.set( "BureauData", bureau );
+        context.set( "SupportingDocuments", "yes" );
+        return context;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.core.impl;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.kie.dmn.api.core.DMNRuntime;
+import org.kie.dmn.backend.marshalling.v1x.DMNMarshallerFactory;
+import org.kie.dmn.core.DMNRuntimeTest;
+import org.kie.dmn.core.util.DMNRuntimeUtil;
+import org.kie.dmn.model.api.Definitions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the time to read back the Definitions of a DMN model deserialized with a kbase, when they are serialized
+ * as the DMN XML and when they are serialized as they are. The rest of the loading, i.e. the compilation of the model,
+ * is the same in both cases.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DMNModelDeserializationBenchmark {
+
+    private String xml;
+    private byte[] serializedDefinitions;
+
+    @Setup
+    public void serializeModel() throws IOException {
+        final DMNRuntime runtime = DMNRuntimeUtil.createRuntime( "0004-lending.dmn", DMNRuntimeTest.class );
+        final DMNModelImpl model = (DMNModelImpl) runtime.getModel( "http://www.trisotech.com/definitions/_4e0f0b70-d31c-471c-bd52-5ca709ed362b", "Lending1" );
+        xml = DMNMarshallerFactory.newDefaultMarshaller().marshal( model.getDefinitions() );
+        serializedDefinitions = model.serializeDefinitions();
+    }
+
+    @Benchmark
+    public Definitions unmarshalXml() {
+        return DMNMarshallerFactory.newDefaultMarshaller().unmarshal( xml );
+    }
+
+    @Benchmark
+    public Definitions deserializeDefinitions() throws IOException, ClassNotFoundException {
+        return DMNModelImpl.deserializeDefinitions( serializedDefinitions, getClass().getClassLoader() );
+    }
+
+    public static void main( String[] args ) throws Exception {
+        new Runner( new OptionsBuilder()
+                            .include( DMNModelDeserializationBenchmark.class.getSimpleName() )
+                            .build() ).run();
+    }
+}
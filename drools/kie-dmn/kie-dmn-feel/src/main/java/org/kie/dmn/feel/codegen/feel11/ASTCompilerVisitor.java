@@ -75,6 +75,8 @@ import org.kie.dmn.feel.lang.ast.UnaryTestNode;
 import org.kie.dmn.feel.lang.ast.Visitor;
 import org.kie.dmn.feel.lang.impl.MapBackedType;
 import org.kie.dmn.feel.lang.types.BuiltInType;
+import org.kie.dmn.feel.runtime.functions.MatchesFunction;
+import org.kie.dmn.feel.runtime.functions.ReplaceFunction;
 import org.kie.dmn.feel.util.EvalHelper;
 
 import static org.kie.dmn.feel.codegen.feel11.DirectCompilerResult.mergeFDs;
@@ -218,6 +220,13 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
     public DirectCompilerResult visit(InfixOpNode n) {
         DirectCompilerResult left = n.getLeft().accept(this);
         DirectCompilerResult right = n.getRight().accept(this);
+        if (left.resultType == BuiltInType.NUMBER && right.resultType == BuiltInType.NUMBER) {
+            MethodCallExpr expr = Expressions.numericBinary(
+                    n.getOperator(),
+                    left.getExpression(),
+                    right.getExpression());
+            return DirectCompilerResult.of(expr, numericResultType(n.getOperator())).withFD(left).withFD(right);
+        }
         MethodCallExpr expr = Expressions.binary(
                 n.getOperator(),
                 left.getExpression(),
@@ -225,6 +234,26 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
         return DirectCompilerResult.of(expr, BuiltInType.UNKNOWN).withFD(left).withFD(right);
     }
 
+    private static Type numericResultType(InfixOpNode.InfixOperator operator) {
+        switch (operator) {
+            case ADD:
+            case SUB:
+            case MULT:
+            case DIV:
+            case POW:
+                return BuiltInType.NUMBER;
+            case LTE:
+            case LT:
+            case GT:
+            case GTE:
+            case EQ:
+            case NE:
+                return BuiltInType.BOOLEAN;
+            default:
+                return BuiltInType.UNKNOWN;
+        }
+    }
+
     @Override
     public DirectCompilerResult visit(InstanceOfNode n) {
         DirectCompilerResult expr = n.getExpression().accept(this);
@@ -408,6 +437,16 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
     public DirectCompilerResult visit(FunctionInvocationNode n) {
         DirectCompilerResult functionName = n.getName().accept(this);
         DirectCompilerResult params = n.getParams().accept(this);
+        FieldDeclaration literalPattern = literalPattern(n);
+        if (literalPattern != null) {
+            String patternName = literalPattern.getVariable(0).getNameAsString();
+            return DirectCompilerResult.of(
+                    Expressions.invokeWithPattern(functionName.getExpression(), params.getExpression(), new NameExpr(patternName)),
+                    functionName.resultType,
+                    literalPattern)
+                    .withFD(functionName)
+                    .withFD(params);
+        }
         return DirectCompilerResult.of(
                 Expressions.invoke(functionName.getExpression(), params.getExpression()),
                 functionName.resultType)
@@ -415,6 +454,39 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
                 .withFD(params);
     }
 
+    /**
+     * The regular expressions written as literals in an invocation of matches() or replace() are compiled in a
+     * constant of the generated class, which is used when the name is bound to the built-in function at runtime.
+     * Returns null if the invocation doesn't have a literal pattern, or the name is defined by the expression itself.
+     */
+    private FieldDeclaration literalPattern(FunctionInvocationNode n) {
+        if (!(n.getName() instanceof NameRefNode) || scopeHelper.resolveType(n.getName().getText()).isPresent()) {
+            return null;
+        }
+        List<BaseNode> params = n.getParams().getElements();
+        switch (n.getName().getText()) {
+            case "matches":
+                if ((params.size() == 2 || params.size() == 3) && isStringLiteral(params.get(1)) && (params.size() == 2 || isStringLiteral(params.get(2)))) {
+                    return Constants.pattern(MatchesFunction.class, stringLiteral(params.get(1)), params.size() == 3 ? stringLiteral(params.get(2)) : null);
+                }
+                break;
+            case "replace":
+                if ((params.size() == 3 || params.size() == 4) && isStringLiteral(params.get(1)) && (params.size() == 3 || isStringLiteral(params.get(3)))) {
+                    return Constants.pattern(ReplaceFunction.class, stringLiteral(params.get(1)), params.size() == 4 ? stringLiteral(params.get(3)) : null);
+                }
+                break;
+        }
+        return null;
+    }
+
+    private static boolean isStringLiteral(BaseNode node) {
+        return node instanceof StringNode;
+    }
+
+    private static String stringLiteral(BaseNode node) {
+        return EvalHelper.unescapeString(node.getText());
+    }
+
     @Override
     public DirectCompilerResult visit(NamedParameterNode n) {
         DirectCompilerResult name = n.getName().accept(this);
@@ -580,7 +652,9 @@ public class ASTCompilerVisitor implements Visitor<DirectCompilerResult> {
     @Override
     public DirectCompilerResult visit(UnaryTestNode n) {
         DirectCompilerResult value = n.getValue().accept(this);
-        Expression expr = Expressions.unary(n.getOperator(), value.getExpression());
+        Expression expr = value.resultType == BuiltInType.NUMBER ?
+                Expressions.numericUnary(n.getOperator(), value.getExpression()) :
+                Expressions.unary(n.getOperator(), value.getExpression());
         Expressions.NamedLambda namedLambda = Expressions.namedUnaryLambda(expr, n.getText());
         DirectCompilerResult r =
                 DirectCompilerResult.of(namedLambda.name(), BuiltInType.UNARY_TEST)
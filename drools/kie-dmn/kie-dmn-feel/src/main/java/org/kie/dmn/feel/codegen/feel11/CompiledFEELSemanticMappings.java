@@ -415,6 +415,127 @@ public class CompiledFEELSemanticMappings {
         return not(EvalHelper.isEqual(left, right, null));
     }
 
+    /**
+     * Same as {@link #add(Object, Object)}, used when both operands are known to be numbers:
+     * integer operands fitting in a long are added as longs, falling back to BigDecimal on overflow.
+     */
+    public static Object addNumbers(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            try {
+                return BigDecimal.valueOf(Math.addExact(((Number) left).longValue(), ((Number) right).longValue()));
+            } catch (ArithmeticException e) {
+                // overflow
+            }
+        }
+        return add(left, right);
+    }
+
+    /**
+     * Same as {@link #sub(Object, Object)}, used when both operands are known to be numbers:
+     * integer operands fitting in a long are subtracted as longs, falling back to BigDecimal on overflow.
+     */
+    public static Object subNumbers(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            try {
+                return BigDecimal.valueOf(Math.subtractExact(((Number) left).longValue(), ((Number) right).longValue()));
+            } catch (ArithmeticException e) {
+                // overflow
+            }
+        }
+        return sub(left, right);
+    }
+
+    /**
+     * Same as {@link #mult(Object, Object)}, used when both operands are known to be numbers:
+     * integer operands fitting in a long are multiplied as longs, falling back to BigDecimal on overflow.
+     */
+    public static Object multNumbers(Object left, Object right) {
+        if (isLong(left) && isLong(right)) {
+            try {
+                return BigDecimal.valueOf(Math.multiplyExact(((Number) left).longValue(), ((Number) right).longValue()));
+            } catch (ArithmeticException e) {
+                // overflow
+            }
+        }
+        return mult(left, right);
+    }
+
+    /**
+     * Same as {@link #lt(Object, Object)}, used when both operands are known to be numbers.
+     */
+    public static Boolean ltNumbers(Object left, Object right) {
+        int c = compareNumbers(left, right);
+        return c != NOT_COMPARABLE ? c < 0 : lt(left, right);
+    }
+
+    /**
+     * Same as {@link #lte(Object, Object)}, used when both operands are known to be numbers.
+     */
+    public static Boolean lteNumbers(Object left, Object right) {
+        int c = compareNumbers(left, right);
+        return c != NOT_COMPARABLE ? c <= 0 : lte(left, right);
+    }
+
+    /**
+     * Same as {@link #gt(Object, Object)}, used when both operands are known to be numbers.
+     */
+    public static Boolean gtNumbers(Object left, Object right) {
+        int c = compareNumbers(left, right);
+        return c != NOT_COMPARABLE ? c > 0 : gt(left, right);
+    }
+
+    /**
+     * Same as {@link #gte(Object, Object)}, used when both operands are known to be numbers.
+     */
+    public static Boolean gteNumbers(Object left, Object right) {
+        int c = compareNumbers(left, right);
+        return c != NOT_COMPARABLE ? c >= 0 : gte(left, right);
+    }
+
+    /**
+     * Same as {@link #eq(Object, Object)}, used when both operands are known to be numbers.
+     */
+    public static Boolean eqNumbers(Object left, Object right) {
+        int c = compareNumbers(left, right);
+        return c != NOT_COMPARABLE ? c == 0 : eq(left, right);
+    }
+
+    /**
+     * Same as {@link #ne(Object, Object)}, used when both operands are known to be numbers.
+     */
+    public static Boolean neNumbers(Object left, Object right) {
+        int c = compareNumbers(left, right);
+        return c != NOT_COMPARABLE ? c != 0 : ne(left, right);
+    }
+
+    private static final int NOT_COMPARABLE = Integer.MIN_VALUE;
+
+    /**
+     * Compares two numbers without converting them, or returns NOT_COMPARABLE if they are not both
+     * BigDecimals or integers fitting in a long, e.g. when one of them is null.
+     */
+    private static int compareNumbers(Object left, Object right) {
+        if (left instanceof BigDecimal && right instanceof BigDecimal) {
+            return Integer.signum(((BigDecimal) left).compareTo((BigDecimal) right));
+        }
+        if (isLong(left) && isLong(right)) {
+            return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+        }
+        return NOT_COMPARABLE;
+    }
+
+    /**
+     * Returns true if the value is an integer number whose longValue() is exact: the result of the arithmetic
+     * on such numbers, when it doesn't overflow, has at most 19 digits and is never rounded by MathContext.DECIMAL128.
+     */
+    private static boolean isLong(Object value) {
+        if (value instanceof BigDecimal) {
+            BigDecimal bd = (BigDecimal) value;
+            return bd.scale() == 0 && bd.precision() < 19;
+        }
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
     public static Object negateTest(Object param) {
         if (param instanceof Boolean) {
             return param.equals(Boolean.FALSE);
@@ -25,6 +25,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 import ch.obermuhlner.math.big.BigDecimalMath;
 import org.antlr.v4.runtime.tree.ParseTree;
@@ -68,6 +69,8 @@ import org.kie.dmn.feel.runtime.UnaryTest;
 import org.kie.dmn.feel.runtime.events.ASTEventBase;
 import org.kie.dmn.feel.runtime.events.InvalidParametersEvent;
 import org.kie.dmn.feel.runtime.events.SyntaxErrorEvent;
+import org.kie.dmn.feel.runtime.functions.MatchesFunction;
+import org.kie.dmn.feel.runtime.functions.ReplaceFunction;
 import org.kie.dmn.feel.util.EvalHelper;
 import org.kie.dmn.feel.util.Msg;
 
@@ -436,6 +439,24 @@ public class CompiledFEELSupport {
         return null;
     }
 
+    /**
+     * Invokes a function with a literal pattern, compiled in the given one: when the name is bound to the built-in
+     * matches() or replace(), and the arguments are strings, the pattern is applied without looking it up in the
+     * PatternCache. Otherwise, or if the literal pattern is invalid, it is the same as invoke().
+     */
+    public static Object invokeWithPattern(EvaluationContext feelExprCtx, Object function, Object params, Pattern pattern) {
+        if (pattern != null && function != null && params instanceof List) {
+            List<?> args = (List<?>) params;
+            if (function.getClass() == MatchesFunction.class && args.get(0) instanceof String) {
+                return pattern.matcher((String) args.get(0)).find();
+            }
+            if (function.getClass() == ReplaceFunction.class && args.get(0) instanceof String && args.get(2) instanceof String) {
+                return pattern.matcher((String) args.get(0)).replaceAll((String) args.get(2));
+            }
+        }
+        return invoke(feelExprCtx, function, params);
+    }
+
     private static Object[] toFunctionParams(Object params) {
         Object[] invocationParams = null;
         if (params instanceof List) {
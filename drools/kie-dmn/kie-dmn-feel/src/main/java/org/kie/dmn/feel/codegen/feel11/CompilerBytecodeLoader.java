@@ -164,8 +164,12 @@ public class CompilerBytecodeLoader {
         }
         ClassOrInterfaceDeclaration classDecl = classDecls.get(0);
 
+        // the patterns don't depend on any other field, and the lambdas of the other fields can use them
         fieldDeclarations.stream()
-                .filter(fd -> !isUnaryTest(fd))
+                .filter(this::isPattern)
+                .sorted(new SortFieldDeclarationStrategy()).forEach(classDecl::addMember);
+        fieldDeclarations.stream()
+                .filter(fd -> !isUnaryTest(fd) && !isPattern(fd))
                 .sorted(new SortFieldDeclarationStrategy()).forEach(classDecl::addMember);
         fieldDeclarations.stream()
                 .filter(fd -> fd.getVariable(0).getName().asString().startsWith("UT"))
@@ -183,6 +187,10 @@ public class CompilerBytecodeLoader {
         return fd.getVariable(0).getName().asString().startsWith("UT");
     }
 
+    private boolean isPattern(FieldDeclaration fd) {
+        return fd.getVariable(0).getName().asString().startsWith("PATTERN_");
+    }
+
     private String generateRandomPackage() {
         String uuid = UUID.randomUUID().toString().replaceAll("-", "");
         return this.getClass().getPackage().getName() + ".gen" + uuid;
@@ -21,6 +21,7 @@ package org.kie.dmn.feel.codegen.feel11;
 import java.math.BigDecimal;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.regex.Pattern;
 
 import org.drools.javaparser.JavaParser;
 import org.drools.javaparser.ast.Modifier;
@@ -29,7 +30,9 @@ import org.drools.javaparser.ast.body.VariableDeclarator;
 import org.drools.javaparser.ast.expr.Expression;
 import org.drools.javaparser.ast.expr.FieldAccessExpr;
 import org.drools.javaparser.ast.expr.LambdaExpr;
+import org.drools.javaparser.ast.expr.MethodCallExpr;
 import org.drools.javaparser.ast.expr.NameExpr;
+import org.drools.javaparser.ast.expr.NullLiteralExpr;
 import org.drools.javaparser.ast.expr.ObjectCreationExpr;
 import org.drools.javaparser.ast.expr.StringLiteralExpr;
 import org.drools.javaparser.ast.type.ClassOrInterfaceType;
@@ -49,6 +52,7 @@ public class Constants {
     public static final String RangeBoundary =
             Range.RangeBoundary.class.getCanonicalName();
     public static final Expression BuiltInTypeT = JavaParser.parseExpression("org.kie.dmn.feel.lang.types.BuiltInType");
+    public static final ClassOrInterfaceType PatternT = new ClassOrInterfaceType(Pattern.class.getCanonicalName());
     public static final ClassOrInterfaceType FunctionT = JavaParser.parseClassOrInterfaceType("java.util.function.Function<EvaluationContext, Object>");
 
     public static FieldDeclaration of(Type type, String name, Expression initializer) {
@@ -91,6 +95,23 @@ public class Constants {
         return "ZZFN_" + CodegenStringUtil.escapeIdentifier(originalText);
     }
 
+    /**
+     * The constant holding the pattern of an invocation of the given function whose pattern and flags are literals,
+     * compiled by its compileLiteralPattern( pattern, flags ) when the generated class is initialized.
+     */
+    public static FieldDeclaration pattern(Class<?> function, String pattern, String flags) {
+        MethodCallExpr initializer = new MethodCallExpr(new NameExpr(function.getCanonicalName()), "compileLiteralPattern")
+                .addArgument(new StringLiteralExpr().setString(pattern))
+                .addArgument(flags == null ? new NullLiteralExpr() : new StringLiteralExpr().setString(flags));
+        return of(PatternT, patternName(function, pattern, flags), initializer);
+    }
+
+    public static String patternName(Class<?> function, String pattern, String flags) {
+        String key = function.getSimpleName() + pattern + (flags == null ? "" : "/" + flags);
+        // the hash tells apart the patterns escaped to the same identifier
+        return "PATTERN_" + CodegenStringUtil.escapeIdentifier(key) + "_" + Integer.toHexString(key.hashCode());
+    }
+
     public static FieldAccessExpr rangeBoundary(RangeNode.IntervalBoundary boundary) {
         return new FieldAccessExpr(
                 new NameExpr(RangeBoundary),
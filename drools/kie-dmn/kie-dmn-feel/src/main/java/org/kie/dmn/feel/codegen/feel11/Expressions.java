@@ -134,6 +134,40 @@ public class Expressions {
         }
     }
 
+    /**
+     * Same as {@link #binary(InfixOpNode.InfixOperator, Expression, Expression)}, for operands known to be numbers:
+     * the arithmetic and the comparisons use the mappings having a fast path for them.
+     */
+    public static MethodCallExpr numericBinary(
+            InfixOpNode.InfixOperator operator,
+            Expression l,
+            Expression r) {
+        switch (operator) {
+            case ADD:
+                return arithmetic("addNumbers", l, r);
+            case SUB:
+                return arithmetic("subNumbers", l, r);
+            case MULT:
+                return arithmetic("multNumbers", l, r);
+
+            case LTE:
+                return comparison("lteNumbers", l, r);
+            case LT:
+                return comparison("ltNumbers", l, r);
+            case GT:
+                return comparison("gtNumbers", l, r);
+            case GTE:
+                return comparison("gteNumbers", l, r);
+            case EQ:
+                return equality("eqNumbers", l, r);
+            case NE:
+                return equality("neNumbers", l, r);
+            default:
+                // the result of a division or an exponentiation is not exact in general
+                return binary(operator, l, r);
+        }
+    }
+
     private static MethodCallExpr arithmetic(String op, Expression left, Expression right) {
         return new MethodCallExpr(null, op, new NodeList<>(left, right));
     }
@@ -181,6 +215,28 @@ public class Expressions {
         }
     }
 
+    /**
+     * Same as {@link #unary(UnaryTestNode.UnaryOperator, Expression)}, for a right operand known to be a number.
+     */
+    public static Expression numericUnary(
+            UnaryTestNode.UnaryOperator operator,
+            Expression right) {
+        switch (operator) {
+            case LTE:
+                return unaryComparison("lteNumbers", right);
+            case LT:
+                return unaryComparison("ltNumbers", right);
+            case GT:
+                return unaryComparison("gtNumbers", right);
+            case GTE:
+                return unaryComparison("gteNumbers", right);
+            case NE:
+                return unaryComparison("neNumbers", right);
+            default:
+                return unary(operator, right);
+        }
+    }
+
     public static MethodCallExpr unaryComparison(String operator, Expression right) {
         return new MethodCallExpr(null, operator, new NodeList<>(LEFT_EXPR, right));
     }
@@ -338,6 +394,14 @@ public class Expressions {
                 .addArgument(params);
     }
 
+    public static MethodCallExpr invokeWithPattern(Expression functionName, Expression params, Expression pattern) {
+        return new MethodCallExpr(STDLIB, "invokeWithPattern")
+                .addArgument(FeelCtx.FEELCTX)
+                .addArgument(functionName)
+                .addArgument(params)
+                .addArgument(pattern);
+    }
+
     public static MethodCallExpr filter(Expression expr, Expression filter) {
         return new MethodCallExpr(new MethodCallExpr(STDLIB, "filter")
                                           .addArgument(FeelCtx.FEELCTX)
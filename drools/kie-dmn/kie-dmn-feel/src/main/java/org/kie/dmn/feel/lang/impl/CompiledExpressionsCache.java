@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import org.kie.dmn.feel.lang.CompiledExpression;
+
+/**
+ * A bounded cache of the expressions compiled by FEELImpl when evaluating a FEEL string, keyed by the
+ * expression text and the names and types of the input variables it is compiled with.
+ * When full, the least recently used expression is evicted.
+ */
+public class CompiledExpressionsCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final int maxSize;
+    private final Map<Key, CompiledExpression> expressions;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CompiledExpressionsCache( int maxSize ) {
+        this.maxSize = maxSize;
+        this.expressions = new LinkedHashMap<Key, CompiledExpression>( 16, 0.75f, true ) {
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<Key, CompiledExpression> eldest ) {
+                if ( size() > CompiledExpressionsCache.this.maxSize ) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the expression compiled for the given text and input variables, compiling it if it is not cached.
+     * A newly compiled expression is cached only if cacheable returns true after its compilation.
+     */
+    CompiledExpression getOrCompile( String expression, Map<String, Object> inputVariables, Supplier<CompiledExpression> compiler, BooleanSupplier cacheable ) {
+        if ( maxSize <= 0 ) {
+            return compiler.get();
+        }
+        Key key = new Key( expression, inputVariables );
+        CompiledExpression compiled;
+        synchronized ( expressions ) {
+            compiled = expressions.get( key );
+        }
+        if ( compiled != null ) {
+            hits.increment();
+            return compiled;
+        }
+        misses.increment();
+        // compiled outside the lock: two threads missing the same key at the same time both compile it
+        compiled = compiler.get();
+        if ( compiled != null && cacheable.getAsBoolean() ) {
+            synchronized ( expressions ) {
+                expressions.put( key, compiled );
+            }
+        }
+        return compiled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int size() {
+        synchronized ( expressions ) {
+            return expressions.size();
+        }
+    }
+
+    public void clear() {
+        synchronized ( expressions ) {
+            expressions.clear();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the ratio of the lookups that found the expression already compiled, or 0 if there was no lookup yet.
+     */
+    public double getHitRatio() {
+        long hitCount = getHitCount();
+        long lookups = hitCount + getMissCount();
+        return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledExpressionsCache{ size: " + size() + "/" + maxSize +
+               ", hits: " + getHitCount() + ", misses: " + getMissCount() + ", evictions: " + getEvictionCount() + " }";
+    }
+
+    private static class Key {
+        private final String expression;
+        private final Map<String, Object> variables;
+        private final int hashCode;
+
+        private Key( String expression, Map<String, Object> inputVariables ) {
+            this.expression = expression;
+            this.variables = inputVariables != null ? shapeOf( inputVariables ) : null;
+            this.hashCode = 31 * expression.hashCode() + ( variables != null ? variables.hashCode() : 0 );
+        }
+
+        /**
+         * The names of the variables and the types of their values, where the nested contexts are
+         * described recursively, since the compiler also defines the names of their entries.
+         */
+        private static Map<String, Object> shapeOf( Map<String, Object> variables ) {
+            Map<String, Object> shape = new HashMap<>();
+            for ( Map.Entry<String, Object> e : variables.entrySet() ) {
+                Object value = e.getValue();
+                shape.put( e.getKey(), value instanceof Map ? shapeOf( (Map<String, Object>) value ) : value != null ? value.getClass() : null );
+            }
+            return shape;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if ( this == o ) return true;
+            if ( !(o instanceof Key) ) return false;
+            Key key = (Key) o;
+            return hashCode == key.hashCode && expression.equals( key.expression ) &&
+                   ( variables != null ? variables.equals( key.variables ) : key.variables == null );
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.kie.dmn.feel.lang.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,6 +27,7 @@ import java.util.Optional;
 import java.util.Set;
 
 import org.drools.javaparser.ast.CompilationUnit;
+import org.kie.dmn.api.feel.runtime.events.FEELEvent;
 import org.kie.dmn.api.feel.runtime.events.FEELEventListener;
 import org.kie.dmn.feel.FEEL;
 import org.kie.dmn.feel.codegen.feel11.CompiledFEELExpression;
@@ -58,6 +60,7 @@ public class FEELImpl
     private final Optional<ExecutionFrameImpl> customFrame;
     private final Collection<FEELFunction> customFunctions;
     private final boolean doCompile;
+    private final CompiledExpressionsCache compiledExpressionsCache = new CompiledExpressionsCache( CompiledExpressionsCache.DEFAULT_MAX_SIZE );
 
     public FEELImpl() {
         this(ClassLoaderUtil.findDefaultClassLoader(), Collections.emptyList());
@@ -129,22 +132,13 @@ public class FEELImpl
     
     @Override
     public Object evaluate(String expression, EvaluationContext ctx) {
-        CompilerContext compilerCtx = newCompilerContext(ctx.getListeners());
-        Map<String, Object> inputVariables = ctx.getAllValues();
-        if ( inputVariables != null ) {
-            inputVariables.entrySet().stream().forEach( e -> compilerCtx.addInputVariable( e.getKey(), e.getValue() ) );
-        }
-        CompiledExpression expr = compile( expression, compilerCtx );
+        CompiledExpression expr = compileCached( expression, ctx.getAllValues(), ctx.getListeners() );
         return evaluate( expr, ctx );
     }
 
     @Override
     public Object evaluate(String expression, Map<String, Object> inputVariables) {
-        CompilerContext ctx = newCompilerContext();
-        if ( inputVariables != null ) {
-            inputVariables.entrySet().stream().forEach( e -> ctx.addInputVariable( e.getKey(), e.getValue() ) );
-        }
-        CompiledExpression expr = compile( expression, ctx );
+        CompiledExpression expr = compileCached( expression, inputVariables, Collections.emptySet() );
         if ( inputVariables == null ) {
             return evaluate( expr, EMPTY_INPUT );
         } else {
@@ -152,6 +146,33 @@ public class FEELImpl
         }
     }
 
+    private CompiledExpression compileCached(String expression, Map<String, Object> inputVariables, Collection<FEELEventListener> listeners) {
+        // compiled with a listener only collecting the events, so that the cached expression does not retain the
+        // caller listeners: the events are replayed to the caller, and an expression notifying any is not cached
+        List<FEELEvent> compileEvents = new ArrayList<>();
+        CompiledExpression compiled = compiledExpressionsCache.getOrCompile( expression, inputVariables, () -> {
+            FEELEventListenersManager compileEventsManager = new FEELEventListenersManager();
+            compileEventsManager.addListener( compileEvents::add );
+            CompilerContext ctx = new CompilerContextImpl( compileEventsManager ).addFEELFunctions( customFunctions );
+            if ( inputVariables != null ) {
+                inputVariables.entrySet().stream().forEach( e -> ctx.addInputVariable( e.getKey(), e.getValue() ) );
+            }
+            return compile( expression, ctx );
+        }, compileEvents::isEmpty );
+        if ( !compileEvents.isEmpty() ) {
+            FEELEventListenersManager eventsManager = getEventsManager( listeners );
+            compileEvents.forEach( eventsManager::notifyListeners );
+        }
+        return compiled;
+    }
+
+    /**
+     * Returns the cache of the expressions compiled to evaluate a FEEL string, with its hit and miss metrics.
+     */
+    public CompiledExpressionsCache getCompiledExpressionsCache() {
+        return compiledExpressionsCache;
+    }
+
     @Override
     public Object evaluate(CompiledExpression expr, Map<String, Object> inputVariables) {
         CompiledFEELExpression e = (CompiledFEELExpression) expr;
@@ -51,6 +51,7 @@ th OutputClause.
 public class DTDecisionRule implements Indexed {
     private int                      index;
     private List<UnaryTest>          inputEntry;
+    private List<String>             inputEntryText;
     private List<CompiledExpression> outputEntry;
 
     public DTDecisionRule(int index) {
@@ -69,6 +70,18 @@ index) inputExpression.
         return this.inputEntry;
     }
 
+    /**
+The FEEL texts of the inputEntry instances, when they are known at compile time,
+used to index the decision table on the literal and range tests. A null text
+means the corresponding inputEntry is not indexable.
+     */
+    public List<String> getInputEntryText() {
+        if ( inputEntryText == null ) {
+            inputEntryText = new ArrayList<>();
+        }
+        return this.inputEntryText;
+    }
+
     /**
 A list of the instances of LiteralExpression that compose
 the output components of this DecisionRule. 
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Index over the input entries of a decision table, built from the FEEL texts of its cells.
+ *
+ * For each column the cells that are a dash, a list of number or string literals, a comparison of a number
+ * or a number range are indexed: the literals in a hash map and the ranges in an interval tree. Any other
+ * cell is residual and its test has to be evaluated as usual. Looking up the actual inputs returns, for each
+ * column that could be used, the rules whose cell is certainly satisfied, so the rules that can match are the
+ * intersection over the columns of the satisfied and residual rules.
+ */
+class DTInputIndex {
+
+    private static final String NUMBER = "-?\\d+(?:\\.\\d+)?";
+    private static final String STRING = "\"[^\"\\\\]*\"";
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile( NUMBER );
+    private static final Pattern STRING_LITERAL = Pattern.compile( STRING );
+    private static final Pattern COMPARISON = Pattern.compile( "(<=|>=|<|>)\\s*(" + NUMBER + ")" );
+    private static final Pattern RANGE = Pattern.compile( "([\\[(\\]])\\s*(" + NUMBER + ")\\s*\\.\\.\\s*(" + NUMBER + ")\\s*([\\])\\[])" );
+    // a comma not inside a string literal
+    private static final Pattern TERMS_SEPARATOR = Pattern.compile( ",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)" );
+
+    // a range whose low bound is greater than its high bound, that doesn't include any number
+    private static final Object EMPTY_INTERVAL = new Object();
+
+    private final int rulesNumber;
+    private final ColumnIndex[] columns;
+
+    private DTInputIndex( int rulesNumber, ColumnIndex[] columns ) {
+        this.rulesNumber = rulesNumber;
+        this.columns = columns;
+    }
+
+    /**
+     * Returns the index of the given rules, or null if none of the input entries can be indexed.
+     */
+    static DTInputIndex create( int inputsNumber, List<DTDecisionRule> decisionRules ) {
+        ColumnIndex[] columns = new ColumnIndex[inputsNumber];
+        boolean indexed = false;
+        for ( int i = 0; i < inputsNumber; i++ ) {
+            columns[i] = new ColumnIndex( decisionRules.size() );
+            for ( int r = 0; r < decisionRules.size(); r++ ) {
+                List<String> texts = decisionRules.get( r ).getInputEntryText();
+                columns[i].addCell( r, i < texts.size() ? texts.get( i ) : null );
+            }
+            if ( columns[i].isIndexed() ) {
+                columns[i].buildIntervalTree();
+                indexed = true;
+            } else {
+                columns[i] = null;
+            }
+        }
+        return indexed ? new DTInputIndex( decisionRules.size(), columns ) : null;
+    }
+
+    /**
+     * Looks up the actual inputs in the indexed columns, filling satisfied with the rules whose cell is certainly
+     * satisfied by the input of that column, or null for the columns that couldn't be used for these inputs.
+     *
+     * @return the rules that can match the inputs
+     */
+    BitSet findCandidates( Object[] params, BitSet[] satisfied ) {
+        BitSet candidates = new BitSet( rulesNumber );
+        candidates.set( 0, rulesNumber );
+        for ( int i = 0; i < columns.length; i++ ) {
+            if ( columns[i] != null && columns[i].accepts( params[i] ) ) {
+                satisfied[i] = columns[i].findSatisfied( params[i] );
+                BitSet columnCandidates = (BitSet) satisfied[i].clone();
+                columnCandidates.or( columns[i].residual );
+                candidates.and( columnCandidates );
+            }
+        }
+        return candidates;
+    }
+
+    private enum CellKind { NUMBER, STRING }
+
+    private static class ColumnIndex {
+        private final BitSet any;
+        private final BitSet residual;
+        private final Map<Object, BitSet> literals = new HashMap<>();
+        private final List<Interval> intervals = new ArrayList<>();
+        private CellKind kind;
+        private IntervalNode intervalTree;
+
+        private ColumnIndex( int rulesNumber ) {
+            this.any = new BitSet( rulesNumber );
+            this.residual = new BitSet( rulesNumber );
+        }
+
+        private boolean isIndexed() {
+            return !literals.isEmpty() || !intervals.isEmpty();
+        }
+
+        private void addCell( int rule, String text ) {
+            if ( text == null ) {
+                residual.set( rule );
+                return;
+            }
+            text = text.trim();
+            if ( text.equals( "-" ) ) {
+                any.set( rule );
+                return;
+            }
+            List<Object> terms = new ArrayList<>();
+            for ( String term : TERMS_SEPARATOR.split( text ) ) {
+                Object parsed = parseTerm( term.trim() );
+                if ( parsed == null ) {
+                    residual.set( rule );
+                    return;
+                }
+                terms.add( parsed );
+            }
+            for ( Object term : terms ) {
+                if ( term == EMPTY_INTERVAL ) {
+                    continue;
+                }
+                if ( term instanceof Interval ) {
+                    ((Interval) term).rule = rule;
+                    intervals.add( (Interval) term );
+                } else {
+                    literals.computeIfAbsent( term, k -> new BitSet() ).set( rule );
+                }
+            }
+        }
+
+        private Object parseTerm( String term ) {
+            if ( STRING_LITERAL.matcher( term ).matches() ) {
+                return ofKind( CellKind.STRING ) ? term.substring( 1, term.length() - 1 ) : null;
+            }
+            Object parsed = parseNumericTerm( term );
+            return parsed != null && ofKind( CellKind.NUMBER ) ? parsed : null;
+        }
+
+        private static Object parseNumericTerm( String term ) {
+            if ( NUMBER_LITERAL.matcher( term ).matches() ) {
+                return normalize( new BigDecimal( term ) );
+            }
+            Matcher comparison = COMPARISON.matcher( term );
+            if ( comparison.matches() ) {
+                String op = comparison.group( 1 );
+                BigDecimal value = new BigDecimal( comparison.group( 2 ) );
+                return op.startsWith( "<" ) ?
+                       new Interval( null, false, value, op.length() == 2 ) :
+                       new Interval( value, op.length() == 2, null, false );
+            }
+            Matcher range = RANGE.matcher( term );
+            if ( range.matches() ) {
+                BigDecimal low = new BigDecimal( range.group( 2 ) );
+                BigDecimal high = new BigDecimal( range.group( 3 ) );
+                if ( low.compareTo( high ) > 0 ) {
+                    // it never matches, and it couldn't be placed in the interval tree
+                    return EMPTY_INTERVAL;
+                }
+                return new Interval( low, range.group( 1 ).equals( "[" ), high, range.group( 4 ).equals( "]" ) );
+            }
+            return null;
+        }
+
+        private boolean ofKind( CellKind cellKind ) {
+            // the cells of a column are indexed only if they are all of the same kind
+            if ( kind == null ) {
+                kind = cellKind;
+            }
+            return kind == cellKind;
+        }
+
+        private boolean accepts( Object param ) {
+            // with any other input the tests could also notify events, so they are evaluated as usual
+            return kind == CellKind.NUMBER ? param instanceof BigDecimal : param instanceof String;
+        }
+
+        private BitSet findSatisfied( Object param ) {
+            BitSet satisfied = (BitSet) any.clone();
+            Object key = kind == CellKind.NUMBER ? normalize( (BigDecimal) param ) : param;
+            BitSet equal = literals.get( key );
+            if ( equal != null ) {
+                satisfied.or( equal );
+            }
+            if ( intervalTree != null ) {
+                intervalTree.collect( (BigDecimal) param, satisfied );
+            }
+            return satisfied;
+        }
+
+        private void buildIntervalTree() {
+            if ( !intervals.isEmpty() ) {
+                intervalTree = IntervalNode.build( intervals );
+            }
+        }
+
+        private static BigDecimal normalize( BigDecimal value ) {
+            // numbers are compared by value, so 1 and 1.0 must have the same key
+            return value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        }
+    }
+
+    /**
+     * A range of numbers, where a null bound is unlimited.
+     */
+    private static class Interval {
+        private final BigDecimal low;
+        private final boolean lowInclusive;
+        private final BigDecimal high;
+        private final boolean highInclusive;
+        private int rule;
+
+        private Interval( BigDecimal low, boolean lowInclusive, BigDecimal high, boolean highInclusive ) {
+            this.low = low;
+            this.lowInclusive = lowInclusive;
+            this.high = high;
+            this.highInclusive = highInclusive;
+        }
+
+        private boolean isAboveLow( BigDecimal value ) {
+            if ( low == null ) {
+                return true;
+            }
+            int c = low.compareTo( value );
+            return c < 0 || ( c == 0 && lowInclusive );
+        }
+
+        private boolean isBelowHigh( BigDecimal value ) {
+            if ( high == null ) {
+                return true;
+            }
+            int c = high.compareTo( value );
+            return c > 0 || ( c == 0 && highInclusive );
+        }
+    }
+
+    // the unlimited bounds first and, for the same bound, the inclusive ones first
+    private static final Comparator<Interval> BY_LOW_ASC = ( i1, i2 ) -> {
+        if ( i1.low == null || i2.low == null ) {
+            return i1.low == null ? ( i2.low == null ? 0 : -1 ) : 1;
+        }
+        int c = i1.low.compareTo( i2.low );
+        return c != 0 ? c : Boolean.compare( i2.lowInclusive, i1.lowInclusive );
+    };
+
+    private static final Comparator<Interval> BY_HIGH_DESC = ( i1, i2 ) -> {
+        if ( i1.high == null || i2.high == null ) {
+            return i1.high == null ? ( i2.high == null ? 0 : -1 ) : 1;
+        }
+        int c = i2.high.compareTo( i1.high );
+        return c != 0 ? c : Boolean.compare( i2.highInclusive, i1.highInclusive );
+    };
+
+    /**
+     * A node of a centered interval tree: it holds the intervals whose closed hull contains its center,
+     * while the ones entirely below or above it are in the left and right subtrees.
+     */
+    private static class IntervalNode {
+        private final BigDecimal center;
+        private final Interval[] byLow;
+        private final Interval[] byHigh;
+        private final IntervalNode left;
+        private final IntervalNode right;
+
+        private IntervalNode( BigDecimal center, List<Interval> intervals, IntervalNode left, IntervalNode right ) {
+            this.center = center;
+            this.byLow = intervals.stream().sorted( BY_LOW_ASC ).toArray( Interval[]::new );
+            this.byHigh = intervals.stream().sorted( BY_HIGH_DESC ).toArray( Interval[]::new );
+            this.left = left;
+            this.right = right;
+        }
+
+        private static IntervalNode build( List<Interval> intervals ) {
+            if ( intervals.isEmpty() ) {
+                return null;
+            }
+            List<BigDecimal> bounds = new ArrayList<>();
+            for ( Interval interval : intervals ) {
+                if ( interval.low != null ) {
+                    bounds.add( interval.low );
+                }
+                if ( interval.high != null ) {
+                    bounds.add( interval.high );
+                }
+            }
+            bounds.sort( Comparator.naturalOrder() );
+            BigDecimal center = bounds.get( bounds.size() / 2 );
+
+            List<Interval> below = new ArrayList<>();
+            List<Interval> above = new ArrayList<>();
+            List<Interval> overlapping = new ArrayList<>();
+            for ( Interval interval : intervals ) {
+                if ( interval.high != null && interval.high.compareTo( center ) < 0 ) {
+                    below.add( interval );
+                } else if ( interval.low != null && interval.low.compareTo( center ) > 0 ) {
+                    above.add( interval );
+                } else {
+                    overlapping.add( interval );
+                }
+            }
+            return new IntervalNode( center, overlapping, build( below ), build( above ) );
+        }
+
+        private void collect( BigDecimal value, BitSet result ) {
+            int c = value.compareTo( center );
+            if ( c < 0 ) {
+                // all these intervals reach the center, so only their lower bound has to be checked
+                for ( Interval interval : byLow ) {
+                    if ( !interval.isAboveLow( value ) ) {
+                        break;
+                    }
+                    result.set( interval.rule );
+                }
+                if ( left != null ) {
+                    left.collect( value, result );
+                }
+            } else if ( c > 0 ) {
+                for ( Interval interval : byHigh ) {
+                    if ( !interval.isBelowHigh( value ) ) {
+                        break;
+                    }
+                    result.set( interval.rule );
+                }
+                if ( right != null ) {
+                    right.collect( value, result );
+                }
+            } else {
+                // the value is one of the bounds, check if they are inclusive
+                for ( Interval interval : byLow ) {
+                    if ( interval.isAboveLow( value ) && interval.isBelowHigh( value ) ) {
+                        result.set( interval.rule );
+                    }
+                }
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.kie.dmn.feel.runtime.decisiontables;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -56,6 +57,7 @@ public class DecisionTableImpl implements DecisionTable {
     private List<DTDecisionRule> decisionRules;
     private HitPolicy            hitPolicy;
     private boolean              hasDefaultValues;
+    private DTInputIndex         inputIndex;
 
     private FEEL feel;
 
@@ -74,6 +76,7 @@ public class DecisionTableImpl implements DecisionTable {
         this.hitPolicy = hitPolicy;
         this.hasDefaultValues = outputs.stream().allMatch( o -> o.getDefaultValue() != null );
         this.feel = feel;
+        this.inputIndex = DTInputIndex.create( inputs.size(), decisionRules );
     }
 
     /**
@@ -242,9 +245,20 @@ public class DecisionTableImpl implements DecisionTable {
      */
     private List<DTDecisionRule> findMatches(EvaluationContext ctx, Object[] params) {
         List<DTDecisionRule> matchingDecisionRules = new ArrayList<>();
-        for ( DTDecisionRule decisionRule : decisionRules ) {
-            if ( matches( ctx, params, decisionRule ) ) {
-                matchingDecisionRules.add( decisionRule );
+        if ( inputIndex != null ) {
+            // only the candidates found through the index can match, in the same order of the linear scan
+            BitSet[] satisfied = new BitSet[params.length];
+            BitSet candidates = inputIndex.findCandidates( params, satisfied );
+            for ( int i = candidates.nextSetBit( 0 ); i >= 0; i = candidates.nextSetBit( i + 1 ) ) {
+                if ( matches( ctx, params, decisionRules.get( i ), i, satisfied ) ) {
+                    matchingDecisionRules.add( decisionRules.get( i ) );
+                }
+            }
+        } else {
+            for ( DTDecisionRule decisionRule : decisionRules ) {
+                if ( matches( ctx, params, decisionRule ) ) {
+                    matchingDecisionRules.add( decisionRule );
+                }
             }
         }
         ctx.notifyEvt( () -> {
@@ -267,7 +281,23 @@ public class DecisionTableImpl implements DecisionTable {
      * @return
      */
     private boolean matches(EvaluationContext ctx, Object[] params, DTDecisionRule rule) {
+        return matches( ctx, params, rule, -1, null );
+    }
+
+    /**
+     * Checks if the parameters match a single rule, skipping the cells that the index already found satisfied
+     * @param ctx
+     * @param params
+     * @param rule
+     * @param ruleIndex the position of the rule in the table
+     * @param satisfied for each column the rules whose cell is satisfied, or null if the index wasn't used
+     * @return
+     */
+    private boolean matches(EvaluationContext ctx, Object[] params, DTDecisionRule rule, int ruleIndex, BitSet[] satisfied) {
         for( int i = 0; i < params.length; i++ ) {
+            if ( satisfied != null && satisfied[i] != null && satisfied[i].get( ruleIndex ) ) {
+                continue;
+            }
             CompiledExpression compiledInput = inputs.get(i).getCompiledInput();
             if ( compiledInput instanceof CompiledFEELExpression) {
                 ctx.setValue("?", ((CompiledFEELExpression) compiledInput).apply(ctx));
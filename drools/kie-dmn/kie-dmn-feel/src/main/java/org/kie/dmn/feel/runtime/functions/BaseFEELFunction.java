@@ -17,6 +17,11 @@
 package org.kie.dmn.feel.runtime.functions;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.math.BigDecimal;
@@ -25,6 +30,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -49,9 +56,15 @@ public abstract class BaseFEELFunction
 
     private final Logger logger = LoggerFactory.getLogger( getClass() );
 
+    // the variable parameters functions can be invoked with any number of arguments, so the cache is bounded
+    private static final int MAX_CACHED_CALL_SHAPES = 256;
+
     private String name;
     private Symbol symbol;
 
+    // the invoke method resolved for each shape of the invocations of this function
+    private final Map<CallShape, DispatchTarget> dispatchCache = new ConcurrentHashMap<>();
+
     public BaseFEELFunction(String name) {
         this.name = name;
         this.symbol = new FunctionSymbol( name, this );
@@ -80,14 +93,17 @@ public abstract class BaseFEELFunction
             if ( !isCustomFunction() ) {
                 List<String> available = null;
                 if ( isNamedParams ) {
-                    available = Stream.of( params ).map( p -> ((NamedParameter) p).getName() ).collect( Collectors.toList() );
+                    available = new ArrayList<>( params.length );
+                    for ( Object p : params ) {
+                        available.add( ((NamedParameter) p).getName() );
+                    }
                 }
 
 
                 CandidateMethod cm = getCandidateMethod( ctx, params, isNamedParams, available );
 
                 if ( cm != null ) {
-                    Object result = cm.apply.invoke( this, cm.actualParams );
+                    Object result = cm.invoke( this );
 
                     if ( result instanceof Either ) {
                         @SuppressWarnings("unchecked")
@@ -99,7 +115,7 @@ public abstract class BaseFEELFunction
                                                            InvalidParametersEvent invalidParametersEvent = (InvalidParametersEvent) left;
                                                            invalidParametersEvent.setNodeName( getName() );
                                                            invalidParametersEvent.setActualParameters(
-                                                                   Stream.of( cm.apply.getParameters() ).map( p -> p.getAnnotation( ParameterName.class ).value() ).collect( Collectors.toList() ),
+                                                                   Stream.of( cm.getApply().getParameters() ).map( p -> p.getAnnotation( ParameterName.class ).value() ).collect( Collectors.toList() ),
                                                                    Arrays.asList( cm.actualParams )
                                                            );
                                                        }
@@ -185,6 +201,16 @@ public abstract class BaseFEELFunction
     }
 
     private CandidateMethod getCandidateMethod(EvaluationContext ctx, Object[] params, boolean isNamedParams, List<String> available) {
+        CallShape callShape = new CallShape( params, isNamedParams );
+        DispatchTarget target = dispatchCache.get( callShape );
+        if ( target != null ) {
+            CandidateMethod cm = matchMethod( ctx, target, params, isNamedParams, available, null );
+            if ( cm != null ) {
+                cm.setApply( target );
+                return cm;
+            }
+        }
+
         CandidateMethod candidate = null;
         // first, look for exact matches
         for ( Method m : getClass().getDeclaredMethods() ) {
@@ -192,78 +218,103 @@ public abstract class BaseFEELFunction
                 continue;
             }
 
-            Object[] actualParams = null;
-            boolean injectCtx = Arrays.stream( m.getParameterTypes() ).anyMatch( p -> EvaluationContext.class.isAssignableFrom( p ) );
-            if( injectCtx ) {
-                actualParams = new Object[ params.length + 1 ];
-                int j = 0;
-                for (int i = 0; i < m.getParameterCount(); i++) {
-                    if( EvaluationContext.class.isAssignableFrom( m.getParameterTypes()[i] ) ) {
-                        if( isNamedParams ) {
-                            actualParams[i] = new NamedParameter( "ctx", ctx );
-                        } else {
-                            actualParams[i] = ctx;
-                        }
-                    } else if (j < params.length) {
-                        actualParams[i] = params[j];
-                        j++;
-                    }
-                }
-            } else {
-                actualParams = params;
-            }
-            if( isNamedParams ) {
-                actualParams = calculateActualParams( ctx, m, actualParams, available );
-                if( actualParams == null ) {
-                    // incompatible method
-                    continue;
+            DispatchTarget dispatchTarget = new DispatchTarget( m );
+            CandidateMethod cm = matchMethod( ctx, dispatchTarget, params, isNamedParams, available, callShape );
+            if ( cm != null ) {
+                cm.setApply( dispatchTarget );
+                if ( candidate == null || cm.getScore() > candidate.getScore() ) {
+                    candidate = cm;
                 }
             }
-            CandidateMethod cm = new CandidateMethod( actualParams );
+        }
 
-            Class<?>[] parameterTypes = m.getParameterTypes();
-            if( !isNamedParams ) {
-                // if named parameters, then it has been adjusted already in the calculateActualParams method,
-                // otherwise adjust here
-                adjustForVariableParameters( cm, parameterTypes );
-            }
+        if ( candidate != null && !callShape.valueDependent ) {
+            cacheDispatchTarget( callShape, candidate.getDispatchTarget() );
+        }
+        return candidate;
+    }
 
-            if ( parameterTypes.length != cm.getActualParams().length ) {
-                continue;
+    private void cacheDispatchTarget(CallShape callShape, DispatchTarget target) {
+        if ( dispatchCache.size() >= MAX_CACHED_CALL_SHAPES ) {
+            // make room for the new shape if some classes of the cached ones have been unloaded
+            dispatchCache.keySet().removeIf( CallShape::isStale );
+            if ( dispatchCache.size() >= MAX_CACHED_CALL_SHAPES ) {
+                return;
             }
+        }
+        target.bindInvoker();
+        // the built-in functions are singletons, so the cached shape must not keep the classes of the parameters alive
+        dispatchCache.put( callShape.weak(), target );
+    }
 
-            boolean found = true;
-            for ( int i = 0; i < parameterTypes.length; i++ ) {
-                Class<?> currentIdxActualParameterType = cm.getActualClasses()[i];
-                if ( currentIdxActualParameterType != null && !parameterTypes[i].isAssignableFrom( currentIdxActualParameterType ) ) {
-                    // singleton list spec defines that "a=[a]", i.e., singleton collections should be treated as the single element
-                    // and vice-versa
-                    if ( Collection.class.isAssignableFrom( currentIdxActualParameterType ) ) {
-                        Collection<?> valueCollection = (Collection<?>) actualParams[i];                    
-                        if ( valueCollection.size() == 1 ) {
-                            Object singletonValue = valueCollection.iterator().next();
-                            // re-perform the assignable-from check, this time using the element itself the singleton value from the original parameter list
-                            if ( parameterTypes[i].isAssignableFrom( singletonValue.getClass() ) ) {
-                                Object[] newParams = new Object[cm.getActualParams().length];
-                                System.arraycopy( cm.getActualParams(), 0, newParams, 0, cm.getActualParams().length ); // can't rely on adjustForVariableParameters() have actually copied
-                                newParams[i] = singletonValue;
-                                cm.setActualParams(newParams);
-                                continue;
-                            }
-                        }
+    private CandidateMethod matchMethod(EvaluationContext ctx, DispatchTarget target, Object[] params, boolean isNamedParams, List<String> available, CallShape callShape) {
+        Method m = target.method;
+        Class<?>[] parameterTypes = target.parameterTypes;
+        Object[] actualParams = null;
+        if( target.injectCtx ) {
+            actualParams = new Object[ params.length + 1 ];
+            int j = 0;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if( EvaluationContext.class.isAssignableFrom( parameterTypes[i] ) ) {
+                    if( isNamedParams ) {
+                        actualParams[i] = new NamedParameter( "ctx", ctx );
+                    } else {
+                        actualParams[i] = ctx;
                     }
-                    found = false;
-                    break;
+                } else if (j < params.length) {
+                    actualParams[i] = params[j];
+                    j++;
                 }
             }
-            if ( found ) {
-                cm.setApply( m );
-                if ( candidate == null || cm.getScore() > candidate.getScore() ) {
-                    candidate = cm;
+        } else {
+            actualParams = params;
+        }
+        if( isNamedParams ) {
+            actualParams = calculateActualParams( ctx, m, actualParams, available );
+            if( actualParams == null ) {
+                // incompatible method
+                return null;
+            }
+        }
+        CandidateMethod cm = new CandidateMethod( actualParams );
+
+        if( !isNamedParams ) {
+            // if named parameters, then it has been adjusted already in the calculateActualParams method,
+            // otherwise adjust here
+            adjustForVariableParameters( cm, parameterTypes );
+        }
+
+        if ( parameterTypes.length != cm.getActualParams().length ) {
+            return null;
+        }
+
+        for ( int i = 0; i < parameterTypes.length; i++ ) {
+            Class<?> currentIdxActualParameterType = cm.getActualClasses()[i];
+            if ( currentIdxActualParameterType != null && !parameterTypes[i].isAssignableFrom( currentIdxActualParameterType ) ) {
+                // singleton list spec defines that "a=[a]", i.e., singleton collections should be treated as the single element
+                // and vice-versa
+                if ( Collection.class.isAssignableFrom( currentIdxActualParameterType ) ) {
+                    if ( callShape != null ) {
+                        // the resolution depends on the size of the collection and not only on its type
+                        callShape.valueDependent = true;
+                    }
+                    Collection<?> valueCollection = (Collection<?>) actualParams[i];                    
+                    if ( valueCollection.size() == 1 ) {
+                        Object singletonValue = valueCollection.iterator().next();
+                        // re-perform the assignable-from check, this time using the element itself the singleton value from the original parameter list
+                        if ( parameterTypes[i].isAssignableFrom( singletonValue.getClass() ) ) {
+                            Object[] newParams = new Object[cm.getActualParams().length];
+                            System.arraycopy( cm.getActualParams(), 0, newParams, 0, cm.getActualParams().length ); // can't rely on adjustForVariableParameters() have actually copied
+                            newParams[i] = singletonValue;
+                            cm.setActualParams(newParams);
+                            continue;
+                        }
+                    }
                 }
+                return null;
             }
         }
-        return candidate;
+        return cm;
     }
 
     @Override
@@ -349,7 +400,7 @@ public abstract class BaseFEELFunction
     }
 
     private static class CandidateMethod {
-        private Method   apply         = null;
+        private DispatchTarget dispatchTarget = null;
         private Object[] actualParams  = null;
         private Class[]  actualClasses = null;
         private int score;
@@ -368,14 +419,22 @@ public abstract class BaseFEELFunction
         }
 
         public Method getApply() {
-            return apply;
+            return dispatchTarget.method;
         }
 
-        public void setApply(Method apply) {
-            this.apply = apply;
+        public DispatchTarget getDispatchTarget() {
+            return dispatchTarget;
+        }
+
+        public void setApply(DispatchTarget dispatchTarget) {
+            this.dispatchTarget = dispatchTarget;
             calculateScore();
         }
 
+        public Object invoke(BaseFEELFunction function) throws Exception {
+            return dispatchTarget.invoke( function, actualParams );
+        }
+
         public Object[] getActualParams() {
             return actualParams;
         }
@@ -386,7 +445,10 @@ public abstract class BaseFEELFunction
         }
 
         private void populateActualClasses() {
-            this.actualClasses = Stream.of( this.actualParams ).map( p -> p != null ? p.getClass() : null ).toArray( Class[]::new );
+            this.actualClasses = new Class[this.actualParams.length];
+            for ( int i = 0; i < this.actualParams.length; i++ ) {
+                this.actualClasses[i] = this.actualParams[i] != null ? this.actualParams[i].getClass() : null;
+            }
         }
 
         public Class[] getActualClasses() {
@@ -399,4 +461,149 @@ public abstract class BaseFEELFunction
 
     }
 
+    /**
+     * The shape of an invocation: whether its parameters are named, their names and the types of their values.
+     * Unless the resolution of the invoke method also depends on the values, all the invocations with the same
+     * shape are dispatched to the same method.
+     *
+     * The shapes used as keys of the cache only weakly reference the types of the values, which may be classes of an
+     * application that has to be unloaded; the shapes built for a lookup strongly reference them.
+     */
+    private static class CallShape {
+        private final boolean isNamedParams;
+        private final String[] names;
+        private final Class<?>[] classes;
+        private final WeakReference<Class<?>>[] weakClasses;
+        private final int hashCode;
+
+        // not part of the key, set while resolving the invoke method for this shape
+        private boolean valueDependent;
+
+        private CallShape(Object[] params, boolean isNamedParams) {
+            this.isNamedParams = isNamedParams;
+            this.names = isNamedParams ? new String[params.length] : null;
+            this.classes = new Class<?>[params.length];
+            this.weakClasses = null;
+            for ( int i = 0; i < params.length; i++ ) {
+                Object value = params[i];
+                if ( isNamedParams ) {
+                    names[i] = ((NamedParameter) value).getName();
+                    value = ((NamedParameter) value).getValue();
+                }
+                classes[i] = value != null ? value.getClass() : null;
+            }
+            this.hashCode = 31 * (31 * Boolean.hashCode( isNamedParams ) + Arrays.hashCode( names )) + Arrays.hashCode( classes );
+        }
+
+        @SuppressWarnings("unchecked")
+        private CallShape(CallShape shape) {
+            this.isNamedParams = shape.isNamedParams;
+            this.names = shape.names;
+            this.classes = null;
+            this.weakClasses = new WeakReference[shape.classes.length];
+            for ( int i = 0; i < weakClasses.length; i++ ) {
+                weakClasses[i] = shape.classes[i] != null ? new WeakReference<>( shape.classes[i] ) : null;
+            }
+            this.hashCode = shape.hashCode;
+        }
+
+        private CallShape weak() {
+            return new CallShape( this );
+        }
+
+        private int size() {
+            return classes != null ? classes.length : weakClasses.length;
+        }
+
+        private boolean isNullAt(int i) {
+            return classes != null ? classes[i] == null : weakClasses[i] == null;
+        }
+
+        private Class<?> classAt(int i) {
+            return classes != null ? classes[i] : weakClasses[i].get();
+        }
+
+        private boolean isStale() {
+            if ( weakClasses != null ) {
+                for ( WeakReference<Class<?>> weakClass : weakClasses ) {
+                    if ( weakClass != null && weakClass.get() == null ) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if ( this == o ) return true;
+            if ( !(o instanceof CallShape) ) return false;
+            CallShape that = (CallShape) o;
+            if ( isNamedParams != that.isNamedParams || size() != that.size() || !Arrays.equals( names, that.names ) ) {
+                return false;
+            }
+            for ( int i = 0; i < size(); i++ ) {
+                if ( isNullAt( i ) != that.isNullAt( i ) ) {
+                    return false;
+                }
+                // a class that has been unloaded does not match any other
+                if ( !isNullAt( i ) && classAt( i ) != that.classAt( i ) ) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * An invoke method of a function. Once it is cached for a call shape it is invoked through a MethodHandle
+     * taking the actual parameters as an array, so it doesn't pay the access checks of the reflective invocation.
+     */
+    private static class DispatchTarget {
+        private static final MethodType INVOKER_TYPE = MethodType.methodType( Object.class, BaseFEELFunction.class, Object[].class );
+
+        private final Method method;
+        private final Class<?>[] parameterTypes;
+        private final boolean injectCtx;
+        private volatile MethodHandle invoker;
+
+        private DispatchTarget(Method method) {
+            this.method = method;
+            this.parameterTypes = method.getParameterTypes();
+            boolean injectCtx = false;
+            for ( Class<?> parameterType : parameterTypes ) {
+                injectCtx |= EvaluationContext.class.isAssignableFrom( parameterType );
+            }
+            this.injectCtx = injectCtx;
+        }
+
+        private void bindInvoker() {
+            try {
+                invoker = MethodHandles.publicLookup().unreflect( method )
+                        .asFixedArity()
+                        .asSpreader( Object[].class, method.getParameterCount() )
+                        .asType( INVOKER_TYPE );
+            } catch ( IllegalAccessException e ) {
+                // keep invoking it reflectively
+            }
+        }
+
+        private Object invoke(BaseFEELFunction function, Object[] actualParams) throws Exception {
+            MethodHandle mh = invoker;
+            if ( mh == null ) {
+                return method.invoke( function, actualParams );
+            }
+            try {
+                return mh.invokeExact( function, actualParams );
+            } catch ( Throwable t ) {
+                // wrapped as the reflective invocation does, so that it is reported as an error of the function
+                throw new InvocationTargetException( t );
+            }
+        }
+    }
 }
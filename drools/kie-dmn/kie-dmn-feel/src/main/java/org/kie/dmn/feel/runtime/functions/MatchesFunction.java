@@ -43,7 +43,7 @@ public class MatchesFunction
         }
         try {
             int f = processFlags( flags );
-            Pattern p = Pattern.compile( pattern, f );
+            Pattern p = PatternCache.compile( pattern, f );
             Matcher m = p.matcher( input );
             return FEELFnResult.ofResult( m.find() );
         } catch ( PatternSyntaxException e ) {
@@ -55,7 +55,15 @@ public class MatchesFunction
         }
     }
 
-    private int processFlags(String flags) {
+    /**
+     * Compiles the pattern of an invocation whose pattern and flags are literals, when the expression is compiled.
+     * Returns null if the pattern or the flags are invalid, as they are reported when the function is invoked.
+     */
+    public static Pattern compileLiteralPattern(String pattern, String flags) {
+        return PatternCache.compileLiteral( pattern, processFlags( flags ) );
+    }
+
+    private static int processFlags(String flags) {
         int f = 0;
         if( flags != null ) {
             if( flags.contains( "s" ) ) {
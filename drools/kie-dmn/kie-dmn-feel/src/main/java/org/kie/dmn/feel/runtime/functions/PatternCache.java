@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.functions;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * The regular expressions compiled by the FEEL functions working on patterns, kept in a bounded cache evicting the
+ * oldest one when full. The patterns are looked up without locking, so that the threads evaluating FEEL expressions
+ * concurrently don't contend on the cache.
+ *
+ * The patterns written as literals in a compiled FEEL expression are held by the generated class, and they are also
+ * added to the cache so that the interpreted invocations with the same pattern find them.
+ */
+public final class PatternCache {
+
+    public static final int MAX_PATTERNS = 1000;
+
+    private static final Map<Key, Pattern> patterns = new ConcurrentHashMap<>();
+
+    // the insertion order of the cached patterns, to evict the oldest one
+    private static final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private PatternCache() {
+        // It is not allowed to create instances of util classes.
+    }
+
+    /**
+     * Returns the compiled pattern, as Pattern.compile( regex, flags ) does.
+     */
+    public static Pattern compile( String regex, int flags ) {
+        Key key = new Key( regex, flags );
+        Pattern pattern = patterns.get( key );
+        if ( pattern == null ) {
+            // compiled outside of the map, so two threads missing the same pattern at the same time both compile it
+            pattern = Pattern.compile( regex, flags );
+            Pattern previous = patterns.putIfAbsent( key, pattern );
+            if ( previous != null ) {
+                return previous;
+            }
+            insertionOrder.add( key );
+            while ( patterns.size() > MAX_PATTERNS ) {
+                Key eldest = insertionOrder.poll();
+                if ( eldest == null ) {
+                    break;
+                }
+                patterns.remove( eldest );
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Compiles a pattern written as a literal in a FEEL expression. An invalid pattern is ignored
+     * here, returning null, so that it is reported, as any other one, when the function using it is invoked.
+     */
+    static Pattern compileLiteral( String regex, int flags ) {
+        try {
+            return compile( regex, flags );
+        } catch ( PatternSyntaxException | IllegalArgumentException e ) {
+            // reported at runtime
+            return null;
+        }
+    }
+
+    static boolean isCached( String regex, int flags ) {
+        return patterns.containsKey( new Key( regex, flags ) );
+    }
+
+    private static class Key {
+        private final String regex;
+        private final int flags;
+
+        private Key( String regex, int flags ) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if ( this == o ) return true;
+            if ( !(o instanceof Key) ) return false;
+            Key key = (Key) o;
+            return flags == key.flags && regex.equals( key.regex );
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * regex.hashCode() + flags;
+        }
+    }
+}
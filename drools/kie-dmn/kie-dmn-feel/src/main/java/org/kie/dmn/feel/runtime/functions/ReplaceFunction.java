@@ -19,6 +19,8 @@ package org.kie.dmn.feel.runtime.functions;
 import org.kie.dmn.api.feel.runtime.events.FEELEvent.Severity;
 import org.kie.dmn.feel.runtime.events.InvalidParametersEvent;
 
+import java.util.regex.Pattern;
+
 public class ReplaceFunction
         extends BaseFEELFunction {
 
@@ -43,14 +45,23 @@ public class ReplaceFunction
             return FEELFnResult.ofError( new InvalidParametersEvent( Severity.ERROR, "replacement", "cannot be null" ) );
         }
 
-        final String flagsString;
+        // same as input.replaceAll( regex, replacement ), without compiling the regex every time
+        return FEELFnResult.ofResult( PatternCache.compile( toRegex( pattern, flags ), 0 ).matcher( input ).replaceAll( replacement ) );
+    }
+
+    /**
+     * Compiles the pattern of an invocation whose pattern and flags are literals, when the expression is compiled.
+     * Returns null if the pattern or the flags are invalid, as they are reported when the function is invoked.
+     */
+    public static Pattern compileLiteralPattern(String pattern, String flags) {
+        return PatternCache.compileLiteral( toRegex( pattern, flags ), 0 );
+    }
+
+    private static String toRegex(String pattern, String flags) {
         if (flags != null && !flags.isEmpty()) {
-            flagsString = "(?" + flags + ")";
-        } else {
-            flagsString = "";
+            return "(?" + flags + ")" + pattern;
         }
-
-        return FEELFnResult.ofResult( input.replaceAll( flagsString + pattern, replacement ) );
+        return pattern;
     }
 
 }
@@ -32,7 +32,6 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TimeZone;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiPredicate;
@@ -47,8 +46,6 @@ import org.slf4j.LoggerFactory;
 public class EvalHelper {
     public static final Logger LOG = LoggerFactory.getLogger( EvalHelper.class );
 
-    private static final Map<String, Method> accessorCache = new ConcurrentHashMap<>();
-
     public static String normalizeVariableName(String name) {
         // private static final Pattern SPACES_PATTERN = Pattern.compile( "[\\s\u00A0]+" );
         // return SPACES_PATTERN.matcher( name.trim() ).replaceAll( " " );
@@ -341,10 +338,10 @@ public class EvalHelper {
                     return PropertyValueResult.notDefined();
             }
         } else {
-            Method getter = getGenericAccessor( current.getClass(), property );
+            PropertyAccessors.PropertyAccessor getter = PropertyAccessors.getAccessor( current.getClass(), property );
             if ( getter != null ) {
                 try {
-                    result = getter.invoke(current);
+                    result = getter.get(current);
                 } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
                     e.printStackTrace();
                     return PropertyValueResult.of(Either.ofLeft(e));
@@ -378,22 +375,25 @@ public class EvalHelper {
      */
     public static Method getGenericAccessor(Class<?> clazz, String field) {
         LOG.trace( "getGenericAccessor({}, {})", clazz, field );
+        PropertyAccessors.PropertyAccessor accessor = PropertyAccessors.getAccessor( clazz, field );
+        return accessor != null ? accessor.getMethod() : null;
+    }
 
-        String accessorQualifiedName = new StringBuilder(clazz.getCanonicalName())
-			.append(".").append(field).toString();
-
-        return accessorCache.computeIfAbsent(accessorQualifiedName, key ->
-        	Stream.of( clazz.getMethods() )
+    static Method findGenericAccessor(Class<?> clazz, String field) {
+        return Stream.of( clazz.getMethods() )
             .filter( m -> Optional.ofNullable( m.getAnnotation( FEELProperty.class ) )
                     .map( ann -> ann.value().equals( field ) )
                     .orElse( false )
             )
             .findFirst()
-            .orElse( getAccessor( clazz, field ) ));
+            .orElse( getAccessor( clazz, field ) );
     }
 
+    /**
+     * The accessors are cached per Class, so a reloaded class never gets the accessors of a stale one
+     * and there's nothing to clear anymore.
+     */
     public static void clearGenericAccessorCache() {
-        accessorCache.clear();
     }
 
     /**
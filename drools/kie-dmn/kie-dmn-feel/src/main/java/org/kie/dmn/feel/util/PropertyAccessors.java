@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The accessors of the properties of the Java objects used in FEEL, cached per class.
+ * Since the cache is attached to the Class itself, classes with the same name loaded by different
+ * ClassLoaders get their own accessors, and they are released together with their ClassLoader.
+ * The properties not defined by a class are cached as well.
+ */
+public final class PropertyAccessors {
+
+    public interface PropertyAccessor {
+
+        Object get(Object bean) throws IllegalAccessException, InvocationTargetException;
+
+        Method getMethod();
+    }
+
+    private static final PropertyAccessor NOT_DEFINED = new ReflectiveAccessor( null );
+
+    private static final ClassValue<Map<String, PropertyAccessor>> ACCESSORS = new ClassValue<Map<String, PropertyAccessor>>() {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue( Class<?> type ) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private PropertyAccessors() {
+        // It is not allowed to create instances of util classes.
+    }
+
+    /**
+     * Returns the accessor of the given property, FEEL annotated or else Java accessor, or null if the class doesn't define it.
+     */
+    public static PropertyAccessor getAccessor( Class<?> clazz, String property ) {
+        PropertyAccessor accessor = ACCESSORS.get( clazz ).computeIfAbsent( property, p -> createAccessor( EvalHelper.findGenericAccessor( clazz, p ) ) );
+        return accessor != NOT_DEFINED ? accessor : null;
+    }
+
+    private static PropertyAccessor createAccessor( Method method ) {
+        if ( method == null ) {
+            return NOT_DEFINED;
+        }
+        try {
+            return new MethodHandleAccessor( method );
+        } catch (IllegalAccessException e) {
+            // e.g. a public method of a class that isn't public: keep invoking it reflectively, with the same outcome as before
+            return new ReflectiveAccessor( method );
+        }
+    }
+
+    private static class MethodHandleAccessor implements PropertyAccessor {
+
+        private static final MethodType GETTER_TYPE = MethodType.methodType( Object.class, Object.class );
+
+        private final Method method;
+        private final MethodHandle handle;
+
+        private MethodHandleAccessor( Method method ) throws IllegalAccessException {
+            this.method = method;
+            this.handle = MethodHandles.publicLookup().unreflect( method ).asType( GETTER_TYPE );
+        }
+
+        @Override
+        public Object get( Object bean ) throws InvocationTargetException {
+            try {
+                return (Object) handle.invokeExact( bean );
+            } catch (Throwable t) {
+                // wrapped as Method.invoke does, so the callers see the same exceptions
+                throw new InvocationTargetException( t );
+            }
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+    }
+
+    private static class ReflectiveAccessor implements PropertyAccessor {
+
+        private final Method method;
+
+        private ReflectiveAccessor( Method method ) {
+            this.method = method;
+        }
+
+        @Override
+        public Object get( Object bean ) throws IllegalAccessException, InvocationTargetException {
+            return method.invoke( bean );
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+    }
+}
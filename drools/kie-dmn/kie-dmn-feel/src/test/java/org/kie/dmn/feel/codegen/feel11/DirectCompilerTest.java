@@ -198,6 +198,40 @@ public class DirectCompilerTest {
         assertThat(parseCompileEvaluate("\"ciao\" instance of string"), is(true));
     }
 
+    @Test
+    public void test_numericFastPath() {
+        assertThat(parseCompileEvaluate("1 + 2 * 3 - 4"), is(BigDecimal.valueOf(3)));
+        assertThat(parseCompileEvaluate("1.5 + 2"), is(new BigDecimal("3.5")));
+        assertThat(parseCompileEvaluate("0.1 * 3"), is(new BigDecimal("0.3")));
+        // overflowing a long falls back to BigDecimal
+        assertThat(parseCompileEvaluate("9223372036854775807 + 1"), is(new BigDecimal("9223372036854775808")));
+        assertThat(parseCompileEvaluate("-9223372036854775807 - 2"), is(new BigDecimal("-9223372036854775809")));
+        assertThat(parseCompileEvaluate("4294967296 * 4294967296"), is(new BigDecimal("18446744073709551616")));
+        assertThat(parseCompileEvaluate("1 < 2"), is(true));
+        assertThat(parseCompileEvaluate("2 <= 1"), is(false));
+        assertThat(parseCompileEvaluate("1 + 1 = 2"), is(true));
+        assertThat(parseCompileEvaluate("1.0 = 1"), is(true));
+        assertThat(parseCompileEvaluate("1 != 1.00"), is(false));
+        assertThat(parseCompileEvaluate("2.5 > 2"), is(true));
+    }
+
+    @Test
+    public void test_numericFastPath_typedVariables() {
+        Type numberType = BuiltInType.NUMBER;
+        CompiledFEELExpression compiledExpression = parse("a * b + 1 >= 7", mapOf(entry("a", numberType), entry("b", numberType)));
+
+        EvaluationContext context = CodegenTestUtil.newEmptyEvaluationContext();
+        context.setValue("a", 2);
+        context.setValue("b", 3);
+        assertThat(compiledExpression.apply(context), is(true));
+
+        context.setValue("b", new BigDecimal("2.5"));
+        assertThat(compiledExpression.apply(context), is(false));
+
+        context.setValue("b", null);
+        assertThat(compiledExpression.apply(context), nullValue());
+    }
+
     @Test
     public void test_between() {
         assertThat(parseCompileEvaluate("10 between 5 and 12"), is(true));
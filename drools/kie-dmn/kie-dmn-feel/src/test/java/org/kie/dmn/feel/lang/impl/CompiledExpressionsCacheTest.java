@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.lang.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.kie.dmn.api.feel.runtime.events.FEELEvent;
+import org.kie.dmn.api.feel.runtime.events.FEELEventListener;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+public class CompiledExpressionsCacheTest {
+
+    private static final CompiledExpression COMPILED = new CompiledExpression() { };
+
+    @Test
+    public void testHitsAndMisses() {
+        CompiledExpressionsCache cache = new CompiledExpressionsCache( 10 );
+        AtomicInteger compilations = new AtomicInteger();
+
+        Map<String, Object> vars = new HashMap<>();
+        vars.put( "a", BigDecimal.ONE );
+        compile( cache, "a + 1", vars, compilations );
+        vars.put( "a", BigDecimal.TEN );
+        compile( cache, "a + 1", vars, compilations );
+        assertEquals( 1, compilations.get() );
+
+        // same names with a different type
+        compile( cache, "a + 1", Collections.singletonMap( "a", "x" ), compilations );
+        // same names with a different nested context
+        compile( cache, "a + 1", Collections.singletonMap( "a", Collections.singletonMap( "b", BigDecimal.ONE ) ), compilations );
+        compile( cache, "a + 1", Collections.singletonMap( "a", Collections.singletonMap( "c", BigDecimal.ONE ) ), compilations );
+        assertEquals( 4, compilations.get() );
+
+        assertEquals( 1, cache.getHitCount() );
+        assertEquals( 4, cache.getMissCount() );
+        assertEquals( 0.2, cache.getHitRatio(), 0.0001 );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        CompiledExpressionsCache cache = new CompiledExpressionsCache( 2 );
+        AtomicInteger compilations = new AtomicInteger();
+
+        compile( cache, "1", null, compilations );
+        compile( cache, "2", null, compilations );
+        compile( cache, "1", null, compilations );
+        compile( cache, "3", null, compilations );
+        assertEquals( 2, cache.size() );
+        assertEquals( 1, cache.getEvictionCount() );
+
+        compile( cache, "1", null, compilations );
+        assertEquals( 3, compilations.get() );
+        compile( cache, "2", null, compilations );
+        assertEquals( 4, compilations.get() );
+    }
+
+    @Test
+    public void testNotCacheable() {
+        CompiledExpressionsCache cache = new CompiledExpressionsCache( 10 );
+        cache.getOrCompile( "a", null, () -> COMPILED, () -> false );
+        assertEquals( 0, cache.size() );
+    }
+
+    @Test
+    public void testFEELEvaluation() {
+        FEELImpl feel = (FEELImpl) FEEL.newInstance();
+        CompiledExpressionsCache cache = feel.getCompiledExpressionsCache();
+        for ( int i = 0; i < 5; i++ ) {
+            BigDecimal result = (BigDecimal) feel.evaluate( "a + 1", Collections.singletonMap( "a", BigDecimal.valueOf( i ) ) );
+            assertEquals( 0, BigDecimal.valueOf( i + 1 ).compareTo( result ) );
+        }
+        assertEquals( 1, cache.getMissCount() );
+        assertEquals( 4, cache.getHitCount() );
+
+        // an expression reporting a syntax error keeps being compiled, so the error is notified every time
+        feel.evaluate( "a +", Collections.emptyMap() );
+        assertEquals( 1, cache.size() );
+    }
+
+    @Test
+    public void testCompileEventsNotifiedToEachCaller() {
+        FEELImpl feel = (FEELImpl) FEEL.newInstance();
+        List<FEELEvent> firstEvents = new ArrayList<>();
+        List<FEELEvent> secondEvents = new ArrayList<>();
+
+        feel.evaluate( "a +", feel.newEvaluationContext( Collections.<FEELEventListener>singleton( firstEvents::add ), Collections.emptyMap() ) );
+        assertFalse( firstEvents.isEmpty() );
+
+        // the listeners of the first caller are not retained by the compiled expression
+        int firstCount = firstEvents.size();
+        feel.evaluate( "a +", feel.newEvaluationContext( Collections.<FEELEventListener>singleton( secondEvents::add ), Collections.emptyMap() ) );
+        assertEquals( firstCount, firstEvents.size() );
+        assertFalse( secondEvents.isEmpty() );
+    }
+
+    private static void compile( CompiledExpressionsCache cache, String expression, Map<String, Object> vars, AtomicInteger compilations ) {
+        CompiledExpression compiled = cache.getOrCompile( expression, vars, () -> {
+            compilations.incrementAndGet();
+            return new CompiledExpression() { };
+        }, () -> true );
+        assertNotNull( compiled );
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class DTInputIndexTest {
+
+    @Test
+    public void testNotIndexable() {
+        assertNull( DTInputIndex.create( 1, rules( new String[]{ "-" }, new String[]{ "? > x" }, new String[]{ null } ) ) );
+    }
+
+    @Test
+    public void testLiterals() {
+        DTInputIndex index = DTInputIndex.create( 2, rules( new String[]{ "\"A\"", "1" },
+                                                            new String[]{ "\"B\", \"C\"", "1.0" },
+                                                            new String[]{ "-", "2" },
+                                                            new String[]{ "\"A\"", "-" } ) );
+
+        assertEquals( bits( 0, 3 ), find( index, "A", BigDecimal.ONE ) );
+        assertEquals( bits( 1 ), find( index, "B", new BigDecimal( "1.00" ) ) );
+        assertEquals( bits( 2 ), find( index, "C", new BigDecimal( "2.00" ) ) );
+        assertEquals( bits( 2 ), find( index, "D", new BigDecimal( "2" ) ) );
+    }
+
+    @Test
+    public void testRanges() {
+        DTInputIndex index = DTInputIndex.create( 1, rules( new String[]{ "< 10" },
+                                                            new String[]{ "[10..20)" },
+                                                            new String[]{ "[20..30]" },
+                                                            new String[]{ "> 30" },
+                                                            new String[]{ ">= 30" },
+                                                            new String[]{ "]10..20]" },
+                                                            new String[]{ "15, 40" } ) );
+
+        assertEquals( bits( 0 ), find( index, new BigDecimal( "-5" ) ) );
+        assertEquals( bits( 1 ), find( index, new BigDecimal( "10" ) ) );
+        assertEquals( bits( 1, 5, 6 ), find( index, new BigDecimal( "15.0" ) ) );
+        assertEquals( bits( 2, 5 ), find( index, new BigDecimal( "20" ) ) );
+        assertEquals( bits( 2, 4 ), find( index, new BigDecimal( "30" ) ) );
+        assertEquals( bits( 3, 4, 6 ), find( index, new BigDecimal( "40" ) ) );
+    }
+
+    @Test
+    public void testInvertedRangeNeverMatches() {
+        DTInputIndex index = DTInputIndex.create( 1, rules( new String[]{ "[10..1]" },
+                                                            new String[]{ "[1..10]" },
+                                                            new String[]{ "5, ]10..1[" } ) );
+
+        assertEquals( bits( 1, 2 ), find( index, new BigDecimal( "5" ) ) );
+        assertEquals( bits( 1 ), find( index, new BigDecimal( "10" ) ) );
+        assertEquals( bits(), find( index, new BigDecimal( "20" ) ) );
+    }
+
+    @Test
+    public void testResidualCellsAreCandidates() {
+        DTInputIndex index = DTInputIndex.create( 1, rules( new String[]{ "1" },
+                                                            new String[]{ "not(1)" },
+                                                            new String[]{ "2" },
+                                                            new String[]{ null } ) );
+
+        BitSet[] satisfied = new BitSet[1];
+        assertEquals( bits( 0, 1, 3 ), index.findCandidates( new Object[]{ BigDecimal.ONE }, satisfied ) );
+        assertEquals( bits( 0 ), satisfied[0] );
+
+        // an input of another type can't use the index
+        satisfied = new BitSet[1];
+        assertEquals( bits( 0, 1, 2, 3 ), index.findCandidates( new Object[]{ "1" }, satisfied ) );
+        assertNull( satisfied[0] );
+    }
+
+    private static BitSet find( DTInputIndex index, Object... params ) {
+        BitSet[] satisfied = new BitSet[params.length];
+        return index.findCandidates( params, satisfied );
+    }
+
+    private static List<DTDecisionRule> rules( String[]... inputEntries ) {
+        List<DTDecisionRule> rules = new ArrayList<>();
+        for ( int i = 0; i < inputEntries.length; i++ ) {
+            DTDecisionRule rule = new DTDecisionRule( i );
+            rule.getInputEntryText().addAll( Arrays.asList( inputEntries[i] ) );
+            rules.add( rule );
+        }
+        return rules;
+    }
+
+    private static BitSet bits( int... rules ) {
+        BitSet bits = new BitSet();
+        for ( int rule : rules ) {
+            bits.set( rule );
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.decisiontables;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.lang.impl.FEELEventListenersManager;
+import org.kie.dmn.feel.runtime.UnaryTest;
+import org.kie.dmn.feel.runtime.events.DecisionTableRulesMatchedEvent;
+import org.kie.dmn.feel.runtime.functions.FEELFnResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Evaluates the same decision table with and without the index of its input entries, checking that for every
+ * hit policy they match the same rules and return the same result.
+ */
+public class DecisionTableImplIndexTest {
+
+    private static final String[][] RULES = {
+            { "< 10", "\"A\"" },
+            { "[10..20)", "\"A\", \"B\"" },
+            { "[10..1]", "-" },
+            { "[20..30]", "-" },
+            { ">= 30", "\"C\"" },
+            { "-", "\"B\"" },
+            { "15, 40", "-" },
+            { "]10..20]", "not(\"A\")" },
+            { "-", "-" }
+    };
+
+    private static final Object[] SCORES = { new BigDecimal( "-5" ), new BigDecimal( "5" ), BigDecimal.TEN, new BigDecimal( "15.0" ),
+                                              new BigDecimal( "20" ), new BigDecimal( "30" ), new BigDecimal( "40" ), null, "15" };
+
+    private static final Object[] CATEGORIES = { "A", "B", "C", "D", null };
+
+    private final FEEL feel = FEEL.newInstance();
+
+    @Test
+    public void testIndexedEvaluationMatchesLinearScan() {
+        assertNotNull( DTInputIndex.create( 2, rules( true ) ) );
+
+        for ( HitPolicy hitPolicy : HitPolicy.values() ) {
+            DecisionTableImpl indexed = decisionTable( hitPolicy, true );
+            DecisionTableImpl linear = decisionTable( hitPolicy, false );
+            for ( Object score : SCORES ) {
+                for ( Object category : CATEGORIES ) {
+                    String message = hitPolicy + " with score " + score + " and category " + category;
+                    assertEquals( message, evaluate( linear, score, category ), evaluate( indexed, score, category ) );
+                }
+            }
+        }
+    }
+
+    private List<Object> evaluate( DecisionTableImpl decisionTable, Object score, Object category ) {
+        List<Object> outcome = new ArrayList<>();
+        FEELEventListenersManager eventsManager = new FEELEventListenersManager();
+        eventsManager.addListener( event -> {
+            if ( event instanceof DecisionTableRulesMatchedEvent ) {
+                outcome.add( ((DecisionTableRulesMatchedEvent) event).getMatches() );
+            }
+        } );
+        EvaluationContext ctx = new EvaluationContextImpl( DecisionTableImplIndexTest.class.getClassLoader(), eventsManager );
+        ctx.setValue( "score", score );
+        ctx.setValue( "category", category );
+        FEELFnResult<Object> result = decisionTable.evaluate( ctx, new Object[0] );
+        outcome.add( result.cata( e -> "error: " + ( e != null ? e.getMessage() : null ), r -> r ) );
+        return outcome;
+    }
+
+    private DecisionTableImpl decisionTable( HitPolicy hitPolicy, boolean withText ) {
+        List<DTInputClause> inputs = Arrays.asList( new DTInputClause( "score", null, null, null ),
+                                                    new DTInputClause( "category", null, null, null ) );
+        List<UnaryTest> outputValues = new ArrayList<>();
+        for ( int i = RULES.length; i > 0; i-- ) {
+            outputValues.addAll( feel.evaluateUnaryTests( String.valueOf( i ) ) );
+        }
+        List<DTOutputClause> outputs = Arrays.asList( new DTOutputClause( "result", outputValues ) );
+        return new DecisionTableImpl( "table", Arrays.asList( "score", "category" ), inputs, outputs, rules( withText ), hitPolicy, feel );
+    }
+
+    private List<DTDecisionRule> rules( boolean withText ) {
+        List<DTDecisionRule> rules = new ArrayList<>();
+        for ( int i = 0; i < RULES.length; i++ ) {
+            DTDecisionRule rule = new DTDecisionRule( i );
+            for ( String text : RULES[i] ) {
+                List<UnaryTest> tests = feel.evaluateUnaryTests( text );
+                rule.getInputEntry().add( ( c, x ) -> tests.stream().anyMatch( t -> {
+                    Boolean result = t.apply( c, x );
+                    return result != null && result;
+                } ) );
+                if ( withText ) {
+                    rule.getInputEntryText().add( text );
+                }
+            }
+            rule.getOutputEntry().add( feel.compile( String.valueOf( i + 1 ), feel.newCompilerContext() ) );
+            rules.add( rule );
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.functions;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.dmn.api.feel.runtime.events.FEELEvent;
+import org.kie.dmn.feel.lang.EvaluationContext;
+import org.kie.dmn.feel.lang.impl.EvaluationContextImpl;
+import org.kie.dmn.feel.lang.impl.FEELEventListenersManager;
+import org.kie.dmn.feel.lang.impl.NamedParameter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class BaseFEELFunctionTest {
+
+    private EvaluationContext ctx;
+    private List<FEELEvent> events;
+
+    @Before
+    public void setUp() {
+        events = new ArrayList<>();
+        FEELEventListenersManager eventsManager = new FEELEventListenersManager();
+        eventsManager.addListener( events::add );
+        ctx = new EvaluationContextImpl( BaseFEELFunctionTest.class.getClassLoader(), eventsManager );
+    }
+
+    @Test
+    public void testRepeatedInvocationsWithSameShape() {
+        final CountFunction countFunction = new CountFunction();
+        for ( int i = 0; i < 3; i++ ) {
+            assertNumber( 2, countFunction.invokeReflectively( ctx, new Object[]{ Arrays.asList( 1, 2 ) } ) );
+            assertNumber( 3, countFunction.invokeReflectively( ctx, new Object[]{ 1, 2, 3 } ) );
+        }
+    }
+
+    @Test
+    public void testOverloadsWithDifferentArity() {
+        final SubstringFunction substringFunction = new SubstringFunction();
+        for ( int i = 0; i < 3; i++ ) {
+            assertEquals( "cde", substringFunction.invokeReflectively( ctx, new Object[]{ "abcde", BigDecimal.valueOf( 3 ) } ) );
+            assertEquals( "cd", substringFunction.invokeReflectively( ctx, new Object[]{ "abcde", BigDecimal.valueOf( 3 ), BigDecimal.valueOf( 2 ) } ) );
+            assertEquals( "bc", substringFunction.invokeReflectively( ctx, new Object[]{
+                    new NamedParameter( "string", "abcde" ),
+                    new NamedParameter( "start position", BigDecimal.valueOf( 2 ) ),
+                    new NamedParameter( "length", BigDecimal.valueOf( 2 ) ) } ) );
+        }
+    }
+
+    @Test
+    public void testSingletonListIsNotCachedByType() {
+        final StringLengthFunction stringLengthFunction = new StringLengthFunction();
+        final List<String> list = new ArrayList<>();
+        list.add( "abc" );
+        assertNumber( 3, stringLengthFunction.invokeReflectively( ctx, new Object[]{ list } ) );
+        // a list of the same type but with more elements can't be used as a string
+        list.add( "de" );
+        assertNull( stringLengthFunction.invokeReflectively( ctx, new Object[]{ list } ) );
+    }
+
+    @Test
+    public void testErrorIsReportedAsEvent() {
+        final ErrorFunction errorFunction = new ErrorFunction();
+        // the second invocation goes through the cached method
+        for ( int i = 1; i <= 2; i++ ) {
+            assertNull( errorFunction.invokeReflectively( ctx, new Object[]{ "boom" } ) );
+            assertEquals( i, events.size() );
+            assertEquals( FEELEvent.Severity.ERROR, events.get( i - 1 ).getSeverity() );
+            assertSame( AssertionError.class, events.get( i - 1 ).getSourceException().getCause().getClass() );
+        }
+    }
+
+    public static class ErrorFunction extends BaseFEELFunction {
+
+        public ErrorFunction() {
+            super( "error" );
+        }
+
+        public Object invoke(@ParameterName( "message" ) String message) {
+            throw new AssertionError( message );
+        }
+    }
+
+    private static void assertNumber( final int expected, final Object actual ) {
+        assertEquals( 0, BigDecimal.valueOf( expected ).compareTo( (BigDecimal) actual ) );
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.dmn.feel.runtime.functions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.Test;
+import org.kie.dmn.api.feel.runtime.events.FEELEvent;
+import org.kie.dmn.feel.FEEL;
+import org.kie.dmn.feel.lang.CompiledExpression;
+import org.kie.dmn.feel.parser.feel11.profiles.DoCompileFEELProfile;
+import org.kie.dmn.feel.runtime.events.InvalidParametersEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PatternCacheTest {
+
+    @Test
+    public void testCompiledOnce() {
+        Pattern pattern = PatternCache.compile( "^fo*b", 0 );
+        assertSame( pattern, PatternCache.compile( "^fo*b", 0 ) );
+        assertNotSame( pattern, PatternCache.compile( "^fo*b", Pattern.CASE_INSENSITIVE ) );
+        assertEquals( Pattern.CASE_INSENSITIVE, PatternCache.compile( "^fo*b", Pattern.CASE_INSENSITIVE ).flags() );
+    }
+
+    @Test
+    public void testLiteralPatternsCompiledWithTheExpression() {
+        FEEL feel = FEEL.newInstance( Collections.singletonList( new DoCompileFEELProfile() ) );
+
+        CompiledExpression matches = feel.compile( "matches( input, \"literal-m+\", \"i\" )", feel.newCompilerContext() );
+        assertTrue( PatternCache.isCached( "literal-m+", Pattern.CASE_INSENSITIVE ) );
+        assertEquals( Boolean.TRUE, feel.evaluate( matches, Collections.singletonMap( "input", "LITERAL-MM" ) ) );
+
+        CompiledExpression replace = feel.compile( "replace( input, \"literal-r+\", \"x\", \"i\" )", feel.newCompilerContext() );
+        assertTrue( PatternCache.isCached( "(?i)literal-r+", 0 ) );
+        assertEquals( "x!", feel.evaluate( replace, Collections.singletonMap( "input", "LITERAL-RR!" ) ) );
+
+        // a pattern which isn't a literal is only compiled when the function is invoked
+        feel.compile( "matches( input, pattern )", feel.newCompilerContext() );
+        assertFalse( PatternCache.isCached( "literal-p+", 0 ) );
+    }
+
+    @Test
+    public void testLiteralPatternOnlyUsedWithTheBuiltInFunction() {
+        FEEL feel = FEEL.newInstance( Collections.singletonList( new DoCompileFEELProfile() ) );
+
+        CompiledExpression builtIn = feel.compile( "matches( input, \"^b+\" )", feel.newCompilerContext() );
+        assertEquals( Boolean.TRUE, feel.evaluate( builtIn, Collections.singletonMap( "input", "bbc" ) ) );
+        assertEquals( Boolean.FALSE, feel.evaluate( builtIn, Collections.singletonMap( "input", "abc" ) ) );
+        // a value which isn't a string is reported as for any other invocation
+        assertNull( feel.evaluate( builtIn, Collections.singletonMap( "input", null ) ) );
+
+        // a function with the same name defined by the expression
+        assertEquals( "custom", feel.evaluate( "{ matches : function( a, b ) \"custom\", result : matches( \"abc\", \"^b+\" ) }.result" ) );
+        assertEquals( "a-c", feel.evaluate( "{ replace : function( a, b, c ) \"a-c\", result : replace( \"abc\", \"b\", \"x\" ) }.result" ) );
+    }
+
+    @Test
+    public void testInvalidLiteralPatternReportedWhenInvoked() {
+        FEEL feel = FEEL.newInstance( Collections.singletonList( new DoCompileFEELProfile() ) );
+        List<FEELEvent> events = new ArrayList<>();
+        feel.addListener( events::add );
+
+        CompiledExpression matches = feel.compile( "matches( \"abc\", \"(abc\" )", feel.newCompilerContext() );
+        assertFalse( PatternCache.isCached( "(abc", 0 ) );
+        assertNull( feel.evaluate( matches, Collections.emptyMap() ) );
+        assertTrue( events.stream().anyMatch( e -> e.getSeverity() == FEELEvent.Severity.ERROR ) );
+        FunctionTestUtil.assertResultError( new MatchesFunction().invoke( "abc", "(abc" ), InvalidParametersEvent.class );
+    }
+
+    @Test
+    public void testLiteralPatternsAreBounded() {
+        MatchesFunction.compileLiteralPattern( "literal-0", null );
+        for ( int i = 1; i <= PatternCache.MAX_PATTERNS; i++ ) {
+            MatchesFunction.compileLiteralPattern( "literal-" + i, null );
+        }
+        assertFalse( PatternCache.isCached( "literal-0", 0 ) );
+        assertTrue( PatternCache.isCached( "literal-" + PatternCache.MAX_PATTERNS, 0 ) );
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void testInvalidPattern() {
+        PatternCache.compile( "(abc", 0 );
+    }
+
+    @Test
+    public void testDynamicPatternsAreBounded() {
+        Pattern first = PatternCache.compile( "dynamic-0", 0 );
+        for ( int i = 1; i <= PatternCache.MAX_PATTERNS; i++ ) {
+            PatternCache.compile( "dynamic-" + i, 0 );
+        }
+        assertNotSame( first, PatternCache.compile( "dynamic-0", 0 ) );
+    }
+}
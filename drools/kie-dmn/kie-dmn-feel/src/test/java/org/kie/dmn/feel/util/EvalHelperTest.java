@@ -16,10 +16,15 @@
 
 package org.kie.dmn.feel.util;
 
+import java.math.BigDecimal;
+
 import org.junit.Test;
+import org.kie.dmn.feel.model.Person;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.kie.dmn.feel.util.EvalHelper.normalizeVariableName;
 
 public class EvalHelperTest {
@@ -50,4 +55,24 @@ public class EvalHelperTest {
         assertEquals("b", normalizeVariableName("b "));
         assertEquals("ab c", normalizeVariableName("ab c  "));
     }
+
+    @Test
+    public void testGetDefinedValueOfJavaBean() {
+        Person person = new Person("John", "Doe", 33);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("John", EvalHelper.getDefinedValue(person, "first name").getValueResult().getOrElse(null));
+            assertEquals(0, BigDecimal.valueOf(33).compareTo((BigDecimal) EvalHelper.getDefinedValue(person, "age").getValueResult().getOrElse(null)));
+            assertFalse(EvalHelper.getDefinedValue(person, "nickname").isDefined());
+        }
+    }
+
+    @Test
+    public void testAccessorsAreCachedPerClass() {
+        PropertyAccessors.PropertyAccessor accessor = PropertyAccessors.getAccessor(Person.class, "last name");
+        assertSame(accessor, PropertyAccessors.getAccessor(Person.class, "last name"));
+        assertEquals("getLastName", accessor.getMethod().getName());
+        assertNull(PropertyAccessors.getAccessor(Person.class, "nickname"));
+        assertNull(EvalHelper.getGenericAccessor(Person.class, "nickname"));
+        assertEquals("getAge", EvalHelper.getGenericAccessor(Person.class, "age").getName());
+    }
 }
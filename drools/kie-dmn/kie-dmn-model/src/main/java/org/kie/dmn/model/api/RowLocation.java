@@ -16,9 +16,13 @@
 
 package org.kie.dmn.model.api;
 
+import java.io.Serializable;
+
 import javax.xml.stream.Location;
 
-public class RowLocation implements Location {
+public class RowLocation implements Location, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private int lineNumber;
     private String publicId;
@@ -16,6 +16,7 @@
 
 package org.kie.dmn.model.v1_1;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -29,7 +30,10 @@ import javax.xml.stream.Location;
 import org.kie.dmn.model.api.DMNModelInstrumentedBase;
 import org.kie.dmn.model.api.RowLocation;
 
-public abstract class KieDMNModelInstrumentedBase implements DMNModelInstrumentedBase {
+public abstract class KieDMNModelInstrumentedBase implements DMNModelInstrumentedBase, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     public static final String URI_FEEL = "http://www.omg.org/spec/FEEL/20140401";
     public static final String URI_DMN = "http://www.omg.org/spec/DMN/20151101/dmn.xsd";
     public static final String URI_KIE = "http://www.drools.org/kie/dmn/1.1";
@@ -19,4 +19,5 @@ import org.kie.dmn.model.api.Artifact;
 
 public abstract class TArtifact extends TDMNElement implements Artifact {
 
+    private static final long serialVersionUID = 1L;
 }
@@ -21,6 +21,8 @@ import org.kie.dmn.model.api.InformationItem;
 
 public class TBinding extends KieDMNModelInstrumentedBase implements Binding {
 
+    private static final long serialVersionUID = 1L;
+
     private InformationItem parameter;
     private Expression expression;
 
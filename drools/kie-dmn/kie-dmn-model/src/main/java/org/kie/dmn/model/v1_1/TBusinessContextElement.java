@@ -19,6 +19,8 @@ import org.kie.dmn.model.api.BusinessContextElement;
 
 public abstract class TBusinessContextElement extends TNamedElement implements BusinessContextElement {
 
+    private static final long serialVersionUID = 1L;
+
     private String uri;
 
     @Override
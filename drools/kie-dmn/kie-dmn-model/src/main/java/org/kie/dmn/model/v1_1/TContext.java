@@ -23,6 +23,8 @@ import org.kie.dmn.model.api.ContextEntry;
 
 public class TContext extends TExpression implements Context {
 
+    private static final long serialVersionUID = 1L;
+
     private List<ContextEntry> contextEntry;
 
     @Override
@@ -21,6 +21,8 @@ import org.kie.dmn.model.api.InformationItem;
 
 public class TContextEntry extends KieDMNModelInstrumentedBase implements ContextEntry, NotADMNElementInV11 {
 
+    private static final long serialVersionUID = 1L;
+
     private InformationItem variable;
     private Expression expression;
 
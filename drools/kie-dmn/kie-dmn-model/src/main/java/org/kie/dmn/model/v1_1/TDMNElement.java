@@ -22,6 +22,8 @@ import org.kie.dmn.model.api.DMNElement;
 
 public abstract class TDMNElement extends KieDMNModelInstrumentedBase implements DMNElement {
 
+    private static final long serialVersionUID = 1L;
+
     private String description;
     private ExtensionElements extensionElements;
     private String id;
@@ -69,6 +71,8 @@ public abstract class TDMNElement extends KieDMNModelInstrumentedBase implements
 
     public static class TExtensionElements extends KieDMNModelInstrumentedBase implements ExtensionElements {
 
+        private static final long serialVersionUID = 1L;
+
         private List<Object> any;
 
         @Override
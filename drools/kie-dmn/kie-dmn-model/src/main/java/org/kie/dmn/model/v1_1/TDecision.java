@@ -28,6 +28,8 @@ import org.kie.dmn.model.api.KnowledgeRequirement;
 
 public class TDecision extends TDRGElement implements Decision {
 
+    private static final long serialVersionUID = 1L;
+
     private String question;
     private String allowedAnswers;
     private InformationItem variable;
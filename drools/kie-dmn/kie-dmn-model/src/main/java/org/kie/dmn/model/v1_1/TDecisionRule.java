@@ -25,6 +25,8 @@ import org.kie.dmn.model.api.UnaryTests;
 
 public class TDecisionRule extends TDMNElement implements DecisionRule {
 
+    private static final long serialVersionUID = 1L;
+
     private List<UnaryTests> inputEntry;
     private List<LiteralExpression> outputEntry;
 
@@ -24,6 +24,8 @@ import org.kie.dmn.model.api.InformationItem;
 
 public class TDecisionService extends TNamedElement implements DecisionService {
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * This is not defined in the v1.1 XSD but used in this pojo for full backport of Decision Service onto v1.1 runtime. 
      */
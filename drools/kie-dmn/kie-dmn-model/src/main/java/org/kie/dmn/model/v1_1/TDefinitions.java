@@ -35,6 +35,8 @@ import org.kie.dmn.model.v1_1.extensions.DecisionServices;
 
 public class TDefinitions extends TNamedElement implements Definitions {
 
+    private static final long serialVersionUID = 1L;
+
     public static final String DEFAULT_EXPRESSION_LANGUAGE = "http://www.omg.org/spec/FEEL/20140401";
 
     public static final String DEFAULT_TYPE_LANGUAGE = "http://www.omg.org/spec/FEEL/20140401";
@@ -21,6 +21,8 @@ import org.kie.dmn.model.api.Expression;
 
 public abstract class TExpression extends TDMNElement implements Expression {
 
+    private static final long serialVersionUID = 1L;
+
     private QName typeRef;
 
     @Override
@@ -27,6 +27,8 @@ import org.kie.dmn.model.api.InformationItem;
 
 public class TFunctionDefinition extends TExpression implements FunctionDefinition {
 
+    private static final long serialVersionUID = 1L;
+
     @Deprecated
     public static final QName KIND_QNAME = new QName( KieDMNModelInstrumentedBase.URI_KIE, "kind" );
 
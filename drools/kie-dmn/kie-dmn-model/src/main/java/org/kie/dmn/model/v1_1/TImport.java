@@ -21,6 +21,8 @@ import org.kie.dmn.model.api.Import;
 
 public class TImport extends KieDMNModelInstrumentedBase implements Import, NotADMNElementInV11 {
 
+    private static final long serialVersionUID = 1L;
+
     public static final QName NAME_QNAME = new QName(KieDMNModelInstrumentedBase.URI_KIE, "name");
     public static final QName MODELNAME_QNAME = new QName(KieDMNModelInstrumentedBase.URI_KIE, "modelName");
 
@@ -19,6 +19,8 @@ import org.kie.dmn.model.api.ImportedValues;
 
 public class TImportedValues extends TImport implements ImportedValues {
 
+    private static final long serialVersionUID = 1L;
+
     private String importedElement;
     private String expressionLanguage;
 
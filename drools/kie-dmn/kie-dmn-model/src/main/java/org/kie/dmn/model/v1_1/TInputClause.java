@@ -21,6 +21,8 @@ import org.kie.dmn.model.api.UnaryTests;
 
 public class TInputClause extends TDMNElement implements InputClause {
 
+    private static final long serialVersionUID = 1L;
+
     private LiteralExpression inputExpression;
     private UnaryTests inputValues;
 
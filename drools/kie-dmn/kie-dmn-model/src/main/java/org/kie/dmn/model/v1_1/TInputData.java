@@ -20,6 +20,8 @@ import org.kie.dmn.model.api.InputData;
 
 public class TInputData extends TDRGElement implements InputData {
 
+    private static final long serialVersionUID = 1L;
+
     private InformationItem variable;
 
     @Override
@@ -24,6 +24,8 @@ import org.kie.dmn.model.api.Invocation;
 
 public class TInvocation extends TExpression implements Invocation {
 
+    private static final long serialVersionUID = 1L;
+
     private Expression expression;
     private List<Binding> binding;
 
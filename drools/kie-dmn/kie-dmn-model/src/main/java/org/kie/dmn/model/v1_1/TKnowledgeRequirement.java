@@ -20,6 +20,8 @@ import org.kie.dmn.model.api.KnowledgeRequirement;
 
 public class TKnowledgeRequirement extends KieDMNModelInstrumentedBase implements KnowledgeRequirement, NotADMNElementInV11 {
 
+    private static final long serialVersionUID = 1L;
+
     private DMNElementReference requiredKnowledge;
 
     @Override
@@ -20,6 +20,8 @@ import org.kie.dmn.model.api.LiteralExpression;
 
 public class TLiteralExpression extends TExpression implements LiteralExpression {
 
+    private static final long serialVersionUID = 1L;
+
     private String text;
     private ImportedValues importedValues;
     private String expressionLanguage;
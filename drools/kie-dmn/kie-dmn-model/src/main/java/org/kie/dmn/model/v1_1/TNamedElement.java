@@ -19,6 +19,8 @@ import org.kie.dmn.model.api.NamedElement;
 
 public abstract class TNamedElement extends TDMNElement implements NamedElement {
 
+    private static final long serialVersionUID = 1L;
+
     private String name;
 
     @Override
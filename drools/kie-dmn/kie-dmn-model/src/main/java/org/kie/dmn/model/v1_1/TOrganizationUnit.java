@@ -23,6 +23,8 @@ import org.kie.dmn.model.api.OrganizationUnit;
 
 public class TOrganizationUnit extends TBusinessContextElement implements OrganizationUnit {
 
+    private static final long serialVersionUID = 1L;
+
     private List<DMNElementReference> decisionMade;
     private List<DMNElementReference> decisionOwned;
 
@@ -23,6 +23,8 @@ import org.kie.dmn.model.api.UnaryTests;
 
 public class TOutputClause extends TDMNElement implements OutputClause {
 
+    private static final long serialVersionUID = 1L;
+
     private UnaryTests outputValues;
     private LiteralExpression defaultOutputEntry;
     private String name;
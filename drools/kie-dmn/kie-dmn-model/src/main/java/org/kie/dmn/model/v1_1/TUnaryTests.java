@@ -19,6 +19,8 @@ import org.kie.dmn.model.api.UnaryTests;
 
 public class TUnaryTests extends TDMNElement implements UnaryTests {
 
+    private static final long serialVersionUID = 1L;
+
     private String text;
     private String expressionLanguage;
 
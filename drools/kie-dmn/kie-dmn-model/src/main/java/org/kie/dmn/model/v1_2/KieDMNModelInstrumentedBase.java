@@ -16,6 +16,7 @@
 
 package org.kie.dmn.model.v1_2;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -28,7 +29,9 @@ import javax.xml.stream.Location;
 import org.kie.dmn.model.api.DMNModelInstrumentedBase;
 import org.kie.dmn.model.api.RowLocation;
 
-public abstract class KieDMNModelInstrumentedBase implements DMNModelInstrumentedBase {
+public abstract class KieDMNModelInstrumentedBase implements DMNModelInstrumentedBase, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static final String URI_DMN = "http://www.omg.org/spec/DMN/20180521/MODEL/";
     public static final String URI_FEEL = "http://www.omg.org/spec/DMN/20180521/FEEL/";
@@ -20,4 +20,5 @@ import org.kie.dmn.model.api.Artifact;
 
 public class TArtifact extends TDMNElement implements Artifact {
 
+    private static final long serialVersionUID = 1L;
 }
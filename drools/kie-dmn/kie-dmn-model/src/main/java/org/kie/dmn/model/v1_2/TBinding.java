@@ -22,6 +22,8 @@ import org.kie.dmn.model.api.InformationItem;
 
 public class TBinding extends KieDMNModelInstrumentedBase implements Binding {
 
+    private static final long serialVersionUID = 1L;
+
     protected InformationItem parameter;
     protected Expression expression;
 
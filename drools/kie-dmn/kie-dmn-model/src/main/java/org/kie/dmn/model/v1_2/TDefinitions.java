@@ -36,6 +36,8 @@ import org.kie.dmn.model.api.dmndi.DMNDI;
 
 public class TDefinitions extends TNamedElement implements Definitions {
 
+    private static final long serialVersionUID = 1L;
+
     public static final String DEFAULT_EXPRESSION_LANGUAGE = URI_FEEL;
 
     public static final String DEFAULT_TYPE_LANGUAGE = URI_FEEL;
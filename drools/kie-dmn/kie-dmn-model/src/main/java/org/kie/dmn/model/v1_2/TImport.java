@@ -20,6 +20,8 @@ import org.kie.dmn.model.api.Import;
 
 public class TImport extends TNamedElement implements Import {
 
+    private static final long serialVersionUID = 1L;
+
     protected String namespace;
     protected String locationURI;
     protected String importType;
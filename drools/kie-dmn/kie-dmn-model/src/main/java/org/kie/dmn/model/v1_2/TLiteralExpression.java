@@ -21,6 +21,8 @@ import org.kie.dmn.model.api.LiteralExpression;
 
 public class TLiteralExpression extends TExpression implements LiteralExpression {
 
+    private static final long serialVersionUID = 1L;
+
     protected String text;
     protected ImportedValues importedValues;
     protected String expressionLanguage;
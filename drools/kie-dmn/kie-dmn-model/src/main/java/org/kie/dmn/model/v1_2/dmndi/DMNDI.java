@@ -31,6 +31,8 @@ import org.kie.dmn.model.v1_2.dmndi.Style.IDREFStubStyle;
 
 public class DMNDI extends KieDMNModelInstrumentedBase implements org.kie.dmn.model.api.dmndi.DMNDI {
 
+    private static final long serialVersionUID = 1L;
+
     protected List<DMNDiagram> dmnDiagram;
     protected List<DMNStyle> dmnStyle;
 
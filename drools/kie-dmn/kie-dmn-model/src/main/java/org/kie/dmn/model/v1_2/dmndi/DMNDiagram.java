@@ -23,6 +23,8 @@ import javax.xml.bind.JAXBElement;
 
 public class DMNDiagram extends Diagram implements org.kie.dmn.model.api.dmndi.DMNDiagram {
 
+    private static final long serialVersionUID = 1L;
+
     protected org.kie.dmn.model.api.dmndi.Dimension size;
     protected List<org.kie.dmn.model.api.dmndi.DiagramElement> dmnDiagramElement;
 
@@ -18,6 +18,8 @@ package org.kie.dmn.model.v1_2.dmndi;
 
 public abstract class Diagram extends DiagramElement implements org.kie.dmn.model.api.dmndi.Diagram {
 
+    private static final long serialVersionUID = 1L;
+
     protected String name;
     protected String documentation;
     protected Double resolution;
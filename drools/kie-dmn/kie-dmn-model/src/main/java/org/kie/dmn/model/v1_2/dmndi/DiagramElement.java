@@ -25,6 +25,8 @@ import org.kie.dmn.model.v1_2.KieDMNModelInstrumentedBase;
 
 public abstract class DiagramElement extends KieDMNModelInstrumentedBase implements org.kie.dmn.model.api.dmndi.DiagramElement {
 
+    private static final long serialVersionUID = 1L;
+
     protected org.kie.dmn.model.api.dmndi.DiagramElement.Extension extension;
     protected org.kie.dmn.model.api.dmndi.Style style;
     protected org.kie.dmn.model.api.dmndi.Style sharedStyle;
@@ -25,6 +25,8 @@ import org.w3c.dom.Element;
 
 public abstract class Style extends KieDMNModelInstrumentedBase implements org.kie.dmn.model.api.dmndi.Style {
 
+    private static final long serialVersionUID = 1L;
+
     protected org.kie.dmn.model.api.dmndi.Style.Extension extension;
     protected String id;
 
@@ -115,6 +117,8 @@ public abstract class Style extends KieDMNModelInstrumentedBase implements org.k
 
     public static class IDREFStubStyle extends Style {
 
+        private static final long serialVersionUID = 1L;
+
         public IDREFStubStyle(String id) {
             this.id = id;
         }
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.bpmn2;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.jbpm.bpmn2.objects.TestWorkItemHandler;
+import org.junit.After;
+import org.junit.Test;
+import org.kie.api.KieBase;
+import org.kie.api.event.process.DefaultProcessEventListener;
+import org.kie.api.event.process.ProcessNodeTriggeredEvent;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.api.runtime.process.WorkItem;
+
+/**
+ * Runs processes with the triggers nested deeper than jbpm.max.trigger.depth queued, checking that they reach
+ * the same state and trigger the same nodes as when all the triggers run from within.
+ */
+public class TriggerDepthTest extends JbpmBpmn2TestCase {
+
+    private static final String MAX_TRIGGER_DEPTH = "jbpm.max.trigger.depth";
+
+    @After
+    public void clearProperties() {
+        System.clearProperty(MAX_TRIGGER_DEPTH);
+    }
+
+    @Test
+    public void testParallelSplit() throws Exception {
+        KieBase kbase = createKnowledgeBase("BPMN2-ParallelSplit.bpmn2");
+        assertSameTriggeredNodes(kbase, ksession -> {
+            ProcessInstance processInstance = ksession.startProcess("com.sample.test");
+            assertProcessInstanceCompleted(processInstance);
+        });
+    }
+
+    @Test
+    public void testInclusiveSplitAndJoin() throws Exception {
+        KieBase kbase = createKnowledgeBase("BPMN2-InclusiveSplitAndJoin.bpmn2");
+        assertSameTriggeredNodes(kbase, ksession -> {
+            TestWorkItemHandler workItemHandler = new TestWorkItemHandler();
+            ksession.getWorkItemManager().registerWorkItemHandler("Human Task", workItemHandler);
+            Map<String, Object> params = new HashMap<String, Object>();
+            params.put("x", 15);
+            ProcessInstance processInstance = ksession.startProcess("com.sample.test", params);
+
+            List<WorkItem> activeWorkItems = workItemHandler.getWorkItems();
+            assertEquals(2, activeWorkItems.size());
+            for (WorkItem wi : activeWorkItems) {
+                ksession.getWorkItemManager().completeWorkItem(wi.getId(), null);
+            }
+            assertProcessInstanceFinished(processInstance, ksession);
+        });
+    }
+
+    @Test
+    public void testMultiInstanceLoop() throws Exception {
+        KieBase kbase = createKnowledgeBaseWithoutDumper("BPMN2-MultiInstanceLoopCharacteristicsProcessWithOutput.bpmn2");
+        assertSameTriggeredNodes(kbase, ksession -> {
+            Map<String, Object> params = new HashMap<String, Object>();
+            List<String> myList = new ArrayList<String>();
+            List<String> myListOut = new ArrayList<String>();
+            myList.add("First Item");
+            myList.add("Second Item");
+            params.put("list", myList);
+            params.put("listOut", myListOut);
+            ProcessInstance processInstance = ksession.startProcess("MultiInstanceLoopCharacteristicsProcessWithOutput", params);
+            assertProcessInstanceCompleted(processInstance);
+            assertEquals(2, myListOut.size());
+        });
+    }
+
+    @Test
+    public void testSignalBoundaryEventOnTask() throws Exception {
+        KieBase kbase = createKnowledgeBase("BPMN2-BoundarySignalEventOnTaskbpmn2.bpmn");
+        assertSameTriggeredNodes(kbase, ksession -> {
+            TestWorkItemHandler handler = new TestWorkItemHandler();
+            ksession.getWorkItemManager().registerWorkItemHandler("Human Task", handler);
+            ProcessInstance processInstance = ksession.startProcess("BoundarySignalOnTask");
+            ksession.getWorkItemManager().completeWorkItem(handler.getWorkItem().getId(), null);
+            ksession.signalEvent("MySignal", "value");
+            ksession.getWorkItemManager().completeWorkItem(handler.getWorkItem().getId(), null);
+            assertProcessInstanceFinished(processInstance, ksession);
+        });
+    }
+
+    @Test
+    public void testCompensationViaIntermediateThrowEvent() throws Exception {
+        KieBase kbase = createKnowledgeBase("compensation/BPMN2-Compensation-IntermediateThrowEvent.bpmn2");
+        assertSameTriggeredNodes(kbase, ksession -> {
+            TestWorkItemHandler workItemHandler = new TestWorkItemHandler();
+            ksession.getWorkItemManager().registerWorkItemHandler("Human Task", workItemHandler);
+            Map<String, Object> params = new HashMap<String, Object>();
+            params.put("x", "0");
+            ProcessInstance processInstance = ksession.startProcess("CompensateIntermediateThrowEvent", params);
+            ksession.getWorkItemManager().completeWorkItem(workItemHandler.getWorkItem().getId(), null);
+
+            assertProcessInstanceCompleted(processInstance.getId(), ksession);
+            assertProcessVarValue(processInstance, "x", "1");
+        });
+    }
+
+    @Test
+    public void testSubProcess() throws Exception {
+        KieBase kbase = createKnowledgeBase("BPMN2-SubProcess.bpmn2");
+        assertSameTriggeredNodes(kbase, ksession -> {
+            ProcessInstance processInstance = ksession.startProcess("SubProcess");
+            assertProcessInstanceCompleted(processInstance);
+        });
+    }
+
+    private void assertSameTriggeredNodes(KieBase kbase, Consumer<KieSession> scenario) throws Exception {
+        List<String> expected = getTriggeredNodes(kbase, scenario);
+        // every trigger nested in another one is queued
+        System.setProperty(MAX_TRIGGER_DEPTH, "1");
+        List<String> actual = getTriggeredNodes(kbase, scenario);
+        // the queued triggers run once the enclosing ones returned, so only the triggered nodes are compared
+        Collections.sort(expected);
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+    }
+
+    private List<String> getTriggeredNodes(KieBase kbase, Consumer<KieSession> scenario) throws Exception {
+        KieSession ksession = createKnowledgeSession(kbase);
+        List<String> triggeredNodes = new ArrayList<String>();
+        ksession.addEventListener(new DefaultProcessEventListener() {
+            @Override
+            public void beforeNodeTriggered(ProcessNodeTriggeredEvent event) {
+                triggeredNodes.add(String.valueOf(event.getNodeInstance().getNodeName()));
+            }
+        });
+        try {
+            scenario.accept(ksession);
+        } finally {
+            ksession.dispose();
+        }
+        return triggeredNodes;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.builder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.drools.compiler.lang.descr.ProcessDescr;
+import org.jbpm.process.core.impl.DataTransformerRegistry;
+import org.jbpm.workflow.core.WorkflowProcess;
+import org.jbpm.workflow.core.node.ForEachNode;
+import org.kie.api.definition.process.Node;
+import org.kie.api.definition.process.Process;
+import org.kie.api.runtime.process.DataTransformer;
+
+/**
+ * Compiles the collection expression and the completion condition of a for each node once,
+ * so they are not parsed again each time the node is triggered or an iteration completes.
+ */
+public class ForEachNodeBuilder extends EventBasedNodeBuilder {
+
+    private static final String MVEL_LANGUAGE = "http://www.mvel.org/2.0";
+
+    public void build(Process process,
+                      ProcessDescr processDescr,
+                      ProcessBuildContext context,
+                      Node node) {
+        super.build(process, processDescr, context, node);
+        ForEachNode forEachNode = (ForEachNode) node;
+        WorkflowProcess wfProcess = (WorkflowProcess) process;
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("imports", wfProcess.getImports());
+        parameters.put("classloader", context.getConfiguration().getClassLoader());
+
+        DataTransformer transformer = DataTransformerRegistry.get().find(MVEL_LANGUAGE);
+        String collectionExpression = forEachNode.getCollectionExpression();
+        if (collectionExpression != null) {
+            forEachNode.setCompiledCollectionExpression(compile(transformer, collectionExpression, parameters));
+        }
+        String completionConditionExpression = forEachNode.getCompletionConditionExpression();
+        if (completionConditionExpression != null && !completionConditionExpression.isEmpty()) {
+            forEachNode.setCompiledCompletionConditionExpression(compile(transformer, completionConditionExpression, parameters));
+        }
+    }
+
+    private Object compile(DataTransformer transformer, String expression, Map<String, Object> parameters) {
+        try {
+            return transformer.compile(expression, parameters);
+        } catch (RuntimeException e) {
+            // invalid expressions are reported when the node is executed, as they have always been
+            return null;
+        }
+    }
+
+}
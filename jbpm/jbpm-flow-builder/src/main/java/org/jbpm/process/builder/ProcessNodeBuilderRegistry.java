@@ -81,7 +81,7 @@ public class ProcessNodeBuilderRegistry {
         register( NodeImpl.class,
                 new MultiConditionalSequenceFlowNodeBuilder() );
         register( ForEachNode.class,
-                new EventBasedNodeBuilder() );
+                new ForEachNodeBuilder() );
         register( EventNode.class,
                 new EventNodeBuilder() );
         register( BoundaryEventNode.class,
@@ -97,6 +97,74 @@ public class ProcessForEachTest extends AbstractBaseTest {
         assertEquals(3, myList.size());
     }
     
+    @Test
+    public void testForEachCollectionExpression() {
+        Reader source = new StringReader(
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<process xmlns=\"http://drools.org/drools-5.0/process\"\n" +
+            "         xmlns:xs=\"http://www.w3.org/2001/XMLSchema-instance\"\n" +
+            "         xs:schemaLocation=\"http://drools.org/drools-5.0/process drools-processes-5.0.xsd\"\n" +
+            "         type=\"RuleFlow\" name=\"ForEach\" id=\"org.drools.ForEach\" package-name=\"org.drools\" >\n" +
+            "  <header>\n" +
+            "    <globals>\n" +
+            "      <global identifier=\"myList\" type=\"java.util.List\" />\n" +
+            "    </globals>\n" +
+            "    <variables>\n" +
+            "      <variable name=\"collection\" >\n" +
+            "        <type name=\"org.jbpm.process.core.datatype.impl.type.ObjectDataType\" className=\"java.util.List\" />\n" +
+            "      </variable>\n" +
+            "    </variables>\n" +
+            "  </header>\n" +
+            "\n" +
+            "  <nodes>\n" +
+            "    <forEach id=\"2\" name=\"ForEach\" variableName=\"item\" collectionExpression=\"collection.subList(0, 2)\" >\n" +
+            "      <nodes>\n" +
+            "    <actionNode id=\"1\" name=\"Action\" >\n" +
+            "        <action type=\"expression\" dialect=\"mvel\" >myList.add(item);</action>\n" +
+            "    </actionNode>\n" +
+            "      </nodes>\n" +
+            "      <connections>\n" +
+            "      </connections>\n" +
+            "      <in-ports>\n" +
+            "        <in-port type=\"DROOLS_DEFAULT\" nodeId=\"1\" nodeInType=\"DROOLS_DEFAULT\" />\n" +
+            "      </in-ports>\n" +
+            "      <out-ports>\n" +
+            "        <out-port type=\"DROOLS_DEFAULT\" nodeId=\"1\" nodeOutType=\"DROOLS_DEFAULT\" />\n" +
+            "      </out-ports>\n" +
+            "    </forEach>\n" +
+            "    <start id=\"1\" name=\"Start\" />\n" +
+            "    <end id=\"3\" name=\"End\" />\n" +
+            "  </nodes>\n" +
+            "\n" +
+            "  <connections>\n" +
+            "    <connection from=\"1\" to=\"2\" />\n" +
+            "    <connection from=\"2\" to=\"3\" />\n" +
+            "  </connections>\n" +
+            "</process>");
+        builder.addRuleFlow(source);
+        
+        KieSession workingMemory = createKieSession(builder.getPackages());
+        
+        List<String> myList = new ArrayList<String>();
+        workingMemory.setGlobal("myList", myList);
+        List<String> collection = new ArrayList<String>();
+        collection.add("one");
+        collection.add("two");
+        collection.add("three");
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("collection", collection);
+        ProcessInstance processInstance = ( ProcessInstance )
+            workingMemory.startProcess("org.drools.ForEach", params);
+        assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.getState());
+        assertEquals(2, myList.size());
+
+        // the compiled expression is evaluated again by the following instances
+        processInstance = ( ProcessInstance )
+            workingMemory.startProcess("org.drools.ForEach", params);
+        assertEquals(ProcessInstance.STATE_COMPLETED, processInstance.getState());
+        assertEquals(4, myList.size());
+    }
+    
     @Test
     public void testForEachLargeList() {
         Reader source = new StringReader(
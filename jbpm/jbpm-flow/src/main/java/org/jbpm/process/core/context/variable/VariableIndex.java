@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.core.context.variable;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The position of each variable declared in a variable scope, in declaration order, so that the instances of the
+ * scope can keep the values of the declared variables in an array. It is immutable and shared by all the instances
+ * of the scope.
+ */
+public class VariableIndex implements Serializable {
+
+    private static final long serialVersionUID = 510l;
+
+    private final String[] names;
+    private final Map<String, Integer> indexes;
+
+    VariableIndex(List<Variable> variables) {
+        this.names = new String[variables.size()];
+        this.indexes = new HashMap<String, Integer>();
+        for (int i = 0; i < names.length; i++) {
+            names[i] = variables.get(i).getName();
+            // the first declaration wins, as in VariableScope.findVariable
+            indexes.putIfAbsent(names[i], i);
+        }
+    }
+
+    /**
+     * Returns the position of the given variable, or -1 if it is not declared.
+     */
+    public int indexOf(String name) {
+        Integer index = indexes.get(name);
+        return index != null ? index : -1;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    boolean matches(List<Variable> variables) {
+        if (variables.size() != names.length) {
+            return false;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (!Objects.equals(names[i], variables.get(i).getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
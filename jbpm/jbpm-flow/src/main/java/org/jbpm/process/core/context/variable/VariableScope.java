@@ -36,6 +36,7 @@ public class VariableScope extends AbstractContext {
     private static final long serialVersionUID = 510l;
     
     private List<Variable> variables;
+    private transient volatile VariableIndex variableIndex;
     
     public VariableScope() {
         this.variables = new ArrayList<Variable>();
@@ -56,6 +57,19 @@ public class VariableScope extends AbstractContext {
         this.variables = variables;
     }
 
+    /**
+     * Returns the positions of the declared variables. The variables may still be modified through
+     * {@link #getVariables()}, so a new index is built whenever they don't match the previous one anymore.
+     */
+    public VariableIndex getVariableIndex() {
+        VariableIndex index = this.variableIndex;
+        if (index == null || !index.matches(this.variables)) {
+            index = new VariableIndex(this.variables);
+            this.variableIndex = index;
+        }
+        return index;
+    }
+
     public String[] getVariableNames() {
         final String[] result = new String[this.variables.size()];
         if (this.variables != null) {
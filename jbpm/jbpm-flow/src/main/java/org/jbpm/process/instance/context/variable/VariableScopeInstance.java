@@ -16,12 +16,19 @@
 
 package org.jbpm.process.instance.context.variable;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import org.drools.core.event.ProcessEventSupport;
 import org.jbpm.process.core.context.variable.Variable;
+import org.jbpm.process.core.context.variable.VariableIndex;
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.process.instance.ContextInstanceContainer;
 import org.jbpm.process.instance.InternalProcessRuntime;
@@ -36,9 +43,14 @@ public class VariableScopeInstance extends AbstractContextInstance {
 
     private static final long serialVersionUID = 510l;    
     
-    private Map<String, Object> variables = new HashMap<String, Object>();
+    // the values of the declared variables, by their position in the variable scope
+    private VariableIndex variableIndex;
+    private Object[] values;
+    // the variables that are not declared, allocated when the first one is set
+    private Map<String, Object> variables;
     private transient String variableIdPrefix = null;
     private transient String variableInstanceIdPrefix = null;
+    private transient Map<String, Object> variablesView;
 
     public String getContextType() {
         return VariableScope.VARIABLE_SCOPE;
@@ -46,7 +58,7 @@ public class VariableScopeInstance extends AbstractContextInstance {
 
     public Object getVariable(String name) {
                 
-        Object value = variables.get(name);
+        Object value = internalGetVariable(name);
         if (value != null) {
             return value;
         }
@@ -71,8 +83,23 @@ public class VariableScopeInstance extends AbstractContextInstance {
         return null;
     }
 
+    private Object internalGetVariable(String name) {
+        int index = variableIndex != null ? variableIndex.indexOf(name) : -1;
+        if (index >= 0) {
+            Object value = values[index];
+            return value != Unset.VALUE ? value : null;
+        }
+        return variables != null ? variables.get(name) : null;
+    }
+
+    /**
+     * Returns an unmodifiable view of the variables that were set, declared or not.
+     */
     public Map<String, Object> getVariables() {
-        return Collections.unmodifiableMap(variables);
+        if (variablesView == null) {
+            variablesView = new VariablesView();
+        }
+        return variablesView;
     }
 
     public void setVariable(String name, Object value) {
@@ -102,8 +129,37 @@ public class VariableScopeInstance extends AbstractContextInstance {
     }
     
     public void internalSetVariable(String name, Object value) {
-        // not a case, store it in normal variables
-    	variables.put(name, value);
+        if (variableIndex == null && getContextInstanceContainer() != null) {
+            allocateValues();
+        }
+        int index = variableIndex != null ? variableIndex.indexOf(name) : -1;
+        if (index >= 0) {
+            values[index] = value;
+        } else {
+            // not a case, store it in normal variables
+            if (variables == null) {
+                variables = new HashMap<String, Object>();
+            }
+            variables.put(name, value);
+        }
+    }
+    
+    private void allocateValues() {
+        variableIndex = getVariableScope().getVariableIndex();
+        values = new Object[variableIndex.size()];
+        Arrays.fill(values, Unset.VALUE);
+        if (variables != null) {
+            // the declared variables set before the container was attached, or deserialized from an instance
+            // keeping all the variables in the map, are moved to their slots
+            for (Iterator<Map.Entry<String, Object>> iterator = variables.entrySet().iterator(); iterator.hasNext(); ) {
+                Map.Entry<String, Object> variable = iterator.next();
+                int index = variableIndex.indexOf(variable.getKey());
+                if (index >= 0) {
+                    values[index] = variable.getValue();
+                    iterator.remove();
+                }
+            }
+        }
     }
     
     public VariableScope getVariableScope() {
@@ -112,6 +168,9 @@ public class VariableScopeInstance extends AbstractContextInstance {
     
     public void setContextInstanceContainer(ContextInstanceContainer contextInstanceContainer) {
     	super.setContextInstanceContainer(contextInstanceContainer);
+    	if (variableIndex == null) {
+    	    allocateValues();
+    	}
     	for (Variable variable : getVariableScope().getVariables()) {
             if (variable.getValue() != null) {
                 setVariable(variable.getName(), variable.getValue());
@@ -123,4 +182,98 @@ public class VariableScopeInstance extends AbstractContextInstance {
     	}
 	}
 
+    private class VariablesView extends AbstractMap<String, Object> {
+
+        @Override
+        public Object get(Object key) {
+            return key instanceof String ? internalGetVariable((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+            int index = variableIndex != null ? variableIndex.indexOf((String) key) : -1;
+            if (index >= 0) {
+                return values[index] != Unset.VALUE;
+            }
+            return variables != null && variables.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            int size = variables != null ? variables.size() : 0;
+            if (values != null) {
+                for (Object value : values) {
+                    if (value != Unset.VALUE) {
+                        size++;
+                    }
+                }
+            }
+            return size;
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return new AbstractSet<Map.Entry<String, Object>>() {
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator() {
+                    return new VariablesIterator();
+                }
+
+                @Override
+                public int size() {
+                    return VariablesView.this.size();
+                }
+            };
+        }
+    }
+
+    private class VariablesIterator implements Iterator<Map.Entry<String, Object>> {
+
+        // the declared variables are iterated first, then the other ones
+        private int index = -1;
+        private Iterator<Map.Entry<String, Object>> others;
+
+        private VariablesIterator() {
+            nextSlot();
+        }
+
+        private void nextSlot() {
+            index++;
+            while (values != null && index < values.length && values[index] == Unset.VALUE) {
+                index++;
+            }
+        }
+
+        public boolean hasNext() {
+            if (values != null && index < values.length) {
+                return true;
+            }
+            if (others == null) {
+                others = variables != null ? variables.entrySet().iterator() : Collections.<Map.Entry<String, Object>>emptyIterator();
+            }
+            return others.hasNext();
+        }
+
+        public Map.Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (others == null) {
+                Map.Entry<String, Object> entry = new AbstractMap.SimpleImmutableEntry<String, Object>(variableIndex.getName(index), values[index]);
+                nextSlot();
+                return entry;
+            }
+            Map.Entry<String, Object> entry = others.next();
+            return new AbstractMap.SimpleImmutableEntry<String, Object>(entry);
+        }
+    }
+
+    // tells a declared variable that was never set from one set to null, and survives serialization
+    private enum Unset {
+        VALUE
+    }
+
 }
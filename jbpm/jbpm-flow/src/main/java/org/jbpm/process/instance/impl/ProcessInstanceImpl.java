@@ -18,6 +18,7 @@ package org.jbpm.process.instance.impl;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,10 +54,12 @@ public abstract class ProcessInstanceImpl implements ProcessInstance, Serializab
     private transient Process process;
     private String processXml;
     private int state = STATE_PENDING;
-    private Map<String, ContextInstance> contextInstances = new HashMap<String, ContextInstance>();
-    private Map<String, List<ContextInstance>> subContextInstances = new HashMap<String, List<ContextInstance>>();
+    // allocated when the first context instance is set
+    private Map<String, ContextInstance> contextInstances = Collections.emptyMap();
+    // allocated when first needed, most instances have none
+    private Map<String, List<ContextInstance>> subContextInstances = Collections.emptyMap();
     private transient InternalKnowledgeRuntime kruntime;
-    private Map<String, Object> metaData = new HashMap<String, Object>();
+    private Map<String, Object> metaData;
     private String outcome;
     private long parentProcessInstanceId = -1;
     private String description;
@@ -157,6 +160,9 @@ public abstract class ProcessInstanceImpl implements ProcessInstance, Serializab
     }
     
     public void setContextInstance(String contextId, ContextInstance contextInstance) {
+        if (this.contextInstances.isEmpty()) {
+            this.contextInstances = new HashMap<String, ContextInstance>();
+        }
         this.contextInstances.put(contextId, contextInstance);
     }
     
@@ -180,6 +186,9 @@ public abstract class ProcessInstanceImpl implements ProcessInstance, Serializab
     public void addContextInstance(String contextId, ContextInstance contextInstance) {
         List<ContextInstance> list = this.subContextInstances.get(contextId);
         if (list == null) {
+            if (this.subContextInstances.isEmpty()) {
+                this.subContextInstances = new HashMap<String, List<ContextInstance>>();
+            }
             list = new ArrayList<ContextInstance>();
             this.subContextInstances.put(contextId, list);
         }
@@ -262,11 +271,14 @@ public abstract class ProcessInstanceImpl implements ProcessInstance, Serializab
     }
 
 	public Map<String, Object> getMetaData() {
+		if (this.metaData == null) {
+			this.metaData = new HashMap<String, Object>();
+		}
 		return this.metaData;
 	}
 
     public void setMetaData(String name, Object data) {
-        this.metaData.put(name, data);
+        getMetaData().put(name, data);
     }
 
     public void setOutcome(String outcome) {
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workflow.core.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jbpm.process.core.event.EventFilter;
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.process.core.event.NonAcceptingEventTypeFilter;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.CompositeContextNode;
+import org.jbpm.workflow.core.node.CompositeNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.jbpm.workflow.core.node.EventNodeInterface;
+import org.jbpm.workflow.core.node.EventSubProcessNode;
+import org.jbpm.workflow.core.node.ForEachNode;
+import org.jbpm.workflow.core.node.StateNode;
+import org.kie.api.definition.process.Node;
+
+/**
+ * The nodes of a process that can accept an event, indexed by the type of the event.
+ *
+ * The types accepted by a node are known in advance when they are given by plain event type filters. The nodes
+ * whose types depend on the process instance, like the ones using #{variable} patterns, dynamic nodes or custom
+ * event filters, are returned for every type. The nodes are always returned in the same order as in the process,
+ * and they still have to be asked whether they accept the event.
+ */
+public class EventNodesIndex {
+
+    private final Map<String, List<Node>> nodesByType = new HashMap<String, List<Node>>();
+    private final List<Node> nodesForAnyType = new ArrayList<Node>();
+
+    public EventNodesIndex(Node[] nodes) {
+        Map<Node, Set<String>> acceptedTypes = new IdentityHashMap<Node, Set<String>>();
+        Set<String> allTypes = new HashSet<String>();
+        for (Node node: nodes) {
+            if (node instanceof EventNodeInterface) {
+                Set<String> types = getAcceptedTypes(node);
+                acceptedTypes.put(node, types);
+                if (types != null) {
+                    allTypes.addAll(types);
+                }
+            }
+        }
+        for (String type: allTypes) {
+            nodesByType.put(type, new ArrayList<Node>());
+        }
+        for (Node node: nodes) {
+            if (!acceptedTypes.containsKey(node)) {
+                continue;
+            }
+            Set<String> types = acceptedTypes.get(node);
+            if (types == null) {
+                nodesForAnyType.add(node);
+            }
+            for (Map.Entry<String, List<Node>> entry: nodesByType.entrySet()) {
+                if (types == null || types.contains(entry.getKey())) {
+                    entry.getValue().add(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the nodes that might accept an event of the given type.
+     */
+    public List<Node> getNodes(String type) {
+        List<Node> nodes = nodesByType.get(type);
+        return Collections.unmodifiableList(nodes != null ? nodes : nodesForAnyType);
+    }
+
+    /**
+     * Returns all the types of events the node might accept, or null if they are not known in advance.
+     */
+    static Set<String> getAcceptedTypes(Node node) {
+        Class<?> nodeClass = node.getClass();
+        if (nodeClass == EventNode.class) {
+            // accepts an event only if all its filters do
+            for (EventFilter filter: ((EventNode) node).getEventFilters()) {
+                if (filter.getClass() == NonAcceptingEventTypeFilter.class) {
+                    return Collections.emptySet();
+                }
+                String type = getStaticType(filter);
+                if (type != null) {
+                    return Collections.singleton(type);
+                }
+            }
+            return null;
+        } else if (nodeClass == BoundaryEventNode.class) {
+            // accepts an event if any of its filters does
+            return getAcceptedTypes(((EventNode) node).getEventFilters(), new HashSet<String>());
+        } else if (nodeClass == EventSubProcessNode.class) {
+            Set<String> types = getAcceptedTypes(((EventSubProcessNode) node).getEventTypeFilters(), new HashSet<String>());
+            return types != null ? getAcceptedTypes(((CompositeNode) node).internalGetNodes(), types) : null;
+        } else if (nodeClass == CompositeNode.class || nodeClass == CompositeContextNode.class ||
+                   nodeClass == StateNode.class || nodeClass == ForEachNode.class) {
+            // accepts an event if any of its event nodes does
+            return getAcceptedTypes(((CompositeNode) node).internalGetNodes(), new HashSet<String>());
+        }
+        return null;
+    }
+
+    private static Set<String> getAcceptedTypes(List<? extends EventFilter> filters, Set<String> types) {
+        for (EventFilter filter: filters) {
+            if (filter.getClass() == NonAcceptingEventTypeFilter.class) {
+                continue;
+            }
+            String type = getStaticType(filter);
+            if (type == null) {
+                return null;
+            }
+            types.add(type);
+        }
+        return types;
+    }
+
+    private static Set<String> getAcceptedTypes(Node[] nodes, Set<String> types) {
+        for (Node node: nodes) {
+            if (node instanceof EventNodeInterface) {
+                Set<String> nodeTypes = getAcceptedTypes(node);
+                if (nodeTypes == null) {
+                    return null;
+                }
+                types.addAll(nodeTypes);
+            }
+        }
+        return types;
+    }
+
+    private static String getStaticType(EventFilter filter) {
+        if (filter.getClass() == EventTypeFilter.class) {
+            String type = ((EventTypeFilter) filter).getType();
+            // variable patterns are resolved by each process instance
+            if (type != null && !type.contains("#{")) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -36,6 +36,7 @@ public class WorkflowProcessImpl extends ProcessImpl implements WorkflowProcess,
     private boolean autoComplete = false;
     private boolean dynamic = false;
     private org.jbpm.workflow.core.NodeContainer nodeContainer;
+    private transient volatile EventNodesIndex eventNodesIndex;
     
     public WorkflowProcessImpl() {
         nodeContainer = (org.jbpm.workflow.core.NodeContainer) createNodeContainer();
@@ -66,15 +67,30 @@ public class WorkflowProcessImpl extends ProcessImpl implements WorkflowProcess,
     }
 
     public void removeNode(final Node node) {
+        eventNodesIndex = null;
         nodeContainer.removeNode(node);
         ((org.jbpm.workflow.core.Node) node).setNodeContainer(null);
     }
 
     public void addNode(final Node node) {
+        eventNodesIndex = null;
         nodeContainer.addNode(node);
         ((org.jbpm.workflow.core.Node) node).setNodeContainer(this);
     }
     
+    /**
+     * Returns the index of the nodes accepting events, built on first use, when the process
+     * definition is expected to be complete.
+     */
+    public EventNodesIndex getEventNodesIndex() {
+        EventNodesIndex index = eventNodesIndex;
+        if (index == null) {
+            index = new EventNodesIndex(getNodes());
+            eventNodesIndex = index;
+        }
+        return index;
+    }
+
     public boolean isAutoComplete() {
         return autoComplete;
     }
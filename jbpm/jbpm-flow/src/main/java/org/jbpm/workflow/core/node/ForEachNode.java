@@ -27,6 +27,7 @@ import org.jbpm.process.core.context.variable.Variable;
 import org.jbpm.process.core.context.variable.VariableScope;
 import org.jbpm.workflow.core.impl.ConnectionImpl;
 import org.jbpm.workflow.core.impl.ExtendedNodeImpl;
+import org.mvel2.MVEL;
 
 /**
  * A for each node.
@@ -46,6 +47,8 @@ public class ForEachNode extends CompositeContextNode {
     private String outputCollectionExpression;
     private String completionConditionExpression;
     private boolean waitForCompletion = true;
+    private transient volatile Object compiledCollectionExpression;
+    private transient volatile Object compiledCompletionConditionExpression;
 
     public ForEachNode() {
         // Split
@@ -224,6 +227,22 @@ public class ForEachNode extends CompositeContextNode {
 
     public void setCollectionExpression(String collectionExpression) {
         this.collectionExpression = collectionExpression;
+        this.compiledCollectionExpression = null;
+    }
+
+    /**
+     * Returns the compiled MVEL form of the collection expression, compiling it the first time
+     * if it was not already compiled when the process was built.
+     */
+    public Object getCompiledCollectionExpression() {
+        if (compiledCollectionExpression == null && collectionExpression != null) {
+            compiledCollectionExpression = MVEL.compileExpression(collectionExpression);
+        }
+        return compiledCollectionExpression;
+    }
+
+    public void setCompiledCollectionExpression(Object compiledCollectionExpression) {
+        this.compiledCollectionExpression = compiledCollectionExpression;
     }
     
     public String getOutputCollectionExpression() {
@@ -298,5 +317,21 @@ public class ForEachNode extends CompositeContextNode {
 	public void setCompletionConditionExpression(
 			String completionConditionExpression) {
 		this.completionConditionExpression = completionConditionExpression;
+		this.compiledCompletionConditionExpression = null;
+	}
+
+	/**
+	 * Returns the compiled MVEL form of the completion condition, compiling it the first time
+	 * if it was not already compiled when the process was built.
+	 */
+	public Object getCompiledCompletionConditionExpression() {
+		if (compiledCompletionConditionExpression == null && completionConditionExpression != null) {
+			compiledCompletionConditionExpression = MVEL.compileExpression(completionConditionExpression);
+		}
+		return compiledCompletionConditionExpression;
+	}
+
+	public void setCompiledCompletionConditionExpression(Object compiledCompletionConditionExpression) {
+		this.compiledCompletionConditionExpression = compiledCompletionConditionExpression;
 	}
 }
@@ -85,7 +85,12 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
     }
 
     public void setNodeId(final long nodeId) {
+        long previousNodeId = this.nodeId;
         this.nodeId = nodeId;
+        if (previousNodeId != nodeId && nodeInstanceContainer instanceof WorkflowProcessInstanceImpl) {
+            // e.g. when migrating the process instance
+            ((WorkflowProcessInstanceImpl) nodeInstanceContainer).nodeIdChanged(this, previousNodeId);
+        }
     }
 
     public long getNodeId() {
@@ -378,6 +383,17 @@ public abstract class NodeInstanceImpl implements org.jbpm.workflow.instance.Nod
     }
     
     protected void triggerNodeInstance(org.jbpm.workflow.instance.NodeInstance nodeInstance, String type, boolean fireEvents) {
+        if (processInstance instanceof WorkflowProcessInstanceImpl) {
+            // nested triggers may be run later to bound the depth of the stack
+            ((WorkflowProcessInstanceImpl) processInstance).executeTrigger(
+                (org.jbpm.workflow.instance.NodeInstanceContainer) getNodeInstanceContainer(),
+                () -> internalTriggerNodeInstance(nodeInstance, type, fireEvents));
+        } else {
+            internalTriggerNodeInstance(nodeInstance, type, fireEvents);
+        }
+    }
+
+    private void internalTriggerNodeInstance(org.jbpm.workflow.instance.NodeInstance nodeInstance, String type, boolean fireEvents) {
     	boolean hidden = false;
     	if (getNode().getMetaData().get("hidden") != null) {
     		hidden = true;
@@ -18,10 +18,13 @@ package org.jbpm.workflow.instance.impl;
 
 import static org.jbpm.workflow.instance.impl.DummyEventListener.EMPTY_EVENT_LISTENER;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -48,6 +51,7 @@ import org.jbpm.process.instance.timer.TimerInstance;
 import org.jbpm.util.PatternConstants;
 import org.jbpm.workflow.core.DroolsAction;
 import org.jbpm.workflow.core.impl.NodeImpl;
+import org.jbpm.workflow.core.impl.WorkflowProcessImpl;
 import org.jbpm.workflow.core.node.ActionNode;
 import org.jbpm.workflow.core.node.DynamicNode;
 import org.jbpm.workflow.core.node.EndNode;
@@ -85,13 +89,17 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 
 	private static final long serialVersionUID = 510l;
 	private static final Logger logger = LoggerFactory.getLogger(WorkflowProcessInstanceImpl.class);
+	private static final String MAX_TRIGGER_DEPTH = "jbpm.max.trigger.depth";
 
 	private final List<NodeInstance> nodeInstances = new ArrayList<NodeInstance>();;
+	// the lists are replaced rather than modified, so that a copy of the map is a snapshot of the node instances
+	private final Map<Long, List<NodeInstance>> nodeInstancesByNodeId = new HashMap<Long, List<NodeInstance>>();
 
 	private AtomicLong singleNodeInstanceCounter = new AtomicLong(-1);
 
-	private Map<String, List<EventListener>> eventListeners = new HashMap<String, List<EventListener>>();
-	private Map<String, List<EventListener>> externalEventListeners = new HashMap<String, List<EventListener>>();
+	// allocated when the first listener is added
+	private Map<String, List<EventListener>> eventListeners = Collections.emptyMap();
+	private Map<String, List<EventListener>> externalEventListeners = Collections.emptyMap();
 
 	private List<String> completedNodeIds = new ArrayList<String>();
 	private List<String> activatingNodeIds;
@@ -111,6 +119,11 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 	private Date slaDueDate;
 	private long slaTimerId = -1;
 
+	private transient int triggerDepth;
+	private transient int maxTriggerDepth;
+	private transient Deque<Runnable> deferredTriggers;
+	private transient List<Runnable> nestedDeferredTriggers;
+
     public NodeContainer getNodeContainer() {
 		return getWorkflowProcess();
 	}
@@ -123,6 +136,93 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
     		((NodeInstanceImpl) nodeInstance).setId(id);
 	    }
 		this.nodeInstances.add(nodeInstance);
+		indexNodeInstance(nodeInstance, nodeInstance.getNodeId());
+	}
+
+	private void indexNodeInstance(NodeInstance nodeInstance, long nodeId) {
+		List<NodeInstance> current = nodeInstancesByNodeId.get(nodeId);
+		List<NodeInstance> updated = new ArrayList<NodeInstance>(current == null ? 1 : current.size() + 1);
+		if (current != null) {
+			updated.addAll(current);
+		}
+		updated.add(nodeInstance);
+		nodeInstancesByNodeId.put(nodeId, Collections.unmodifiableList(updated));
+	}
+
+	private void unindexNodeInstance(NodeInstance nodeInstance, long nodeId) {
+		List<NodeInstance> current = nodeInstancesByNodeId.get(nodeId);
+		if (current == null) {
+			return;
+		}
+		List<NodeInstance> updated = new ArrayList<NodeInstance>(current);
+		updated.remove(nodeInstance);
+		if (updated.isEmpty()) {
+			nodeInstancesByNodeId.remove(nodeId);
+		} else {
+			nodeInstancesByNodeId.put(nodeId, Collections.unmodifiableList(updated));
+		}
+	}
+
+	void nodeIdChanged(NodeInstance nodeInstance, long previousNodeId) {
+		if (nodeInstances.contains(nodeInstance)) {
+			unindexNodeInstance(nodeInstance, previousNodeId);
+			// keeps the same order as in the list of node instances
+			nodeInstancesByNodeId.remove(nodeInstance.getNodeId());
+			for (NodeInstance ni: getNodeInstances(nodeInstance.getNodeId(), nodeInstances)) {
+				indexNodeInstance(ni, ni.getNodeId());
+			}
+		}
+	}
+
+	/**
+	 * Runs the trigger of a node instance by another one. Triggering a node instance triggers the following ones
+	 * from within, so when the jbpm.max.trigger.depth property is set, the triggers nested deeper than it are queued
+	 * instead, and run when the outermost one returns, unless their node instance container is not active anymore.
+	 * The queued triggers run depth first, but only once the node instances that queued them returned, so the order
+	 * of the node events is not the one of the nested triggers. The property is not set by default, so the triggers
+	 * always run from within.
+	 */
+	public void executeTrigger(org.jbpm.workflow.instance.NodeInstanceContainer nodeInstanceContainer, Runnable trigger) {
+		if (triggerDepth == 0) {
+			maxTriggerDepth = Integer.getInteger(MAX_TRIGGER_DEPTH, 0);
+		} else if (maxTriggerDepth > 0 && triggerDepth >= maxTriggerDepth) {
+			if (nestedDeferredTriggers == null) {
+				deferredTriggers = new ArrayDeque<Runnable>();
+				nestedDeferredTriggers = new ArrayList<Runnable>();
+			}
+			nestedDeferredTriggers.add(() -> {
+				if (nodeInstanceContainer.getState() == ProcessInstance.STATE_ACTIVE) {
+					trigger.run();
+				}
+			});
+			return;
+		}
+		boolean outermost = triggerDepth == 0;
+		triggerDepth++;
+		try {
+			trigger.run();
+			if (outermost && nestedDeferredTriggers != null) {
+				// the queued triggers start again from this depth, and queue the triggers nested too deep in turn
+				Runnable deferredTrigger;
+				do {
+					// the triggers queued by the last one run before the ones queued earlier
+					for (int i = nestedDeferredTriggers.size() - 1; i >= 0; i--) {
+						deferredTriggers.addFirst(nestedDeferredTriggers.get(i));
+					}
+					nestedDeferredTriggers.clear();
+					deferredTrigger = deferredTriggers.poll();
+					if (deferredTrigger != null) {
+						deferredTrigger.run();
+					}
+				} while (deferredTrigger != null);
+			}
+		} finally {
+			triggerDepth--;
+			if (outermost) {
+				deferredTriggers = null;
+				nestedDeferredTriggers = null;
+			}
+		}
 	}
 
     @Override
@@ -149,7 +249,9 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 			getKnowledgeRuntime().delete(
 					getKnowledgeRuntime().getFactHandle(nodeInstance));
 		}
-		this.nodeInstances.remove(nodeInstance);
+		if (this.nodeInstances.remove(nodeInstance)) {
+			unindexNodeInstance(nodeInstance, nodeInstance.getNodeId());
+		}
 	}
 
 	public Collection<org.kie.api.runtime.process.NodeInstance> getNodeInstances() {
@@ -218,15 +320,12 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 	}
 
 	public List<NodeInstance> getNodeInstances(final long nodeId) {
-		List<NodeInstance> result = new ArrayList<NodeInstance>();
-		for (final Iterator<NodeInstance> iterator = this.nodeInstances
-				.iterator(); iterator.hasNext();) {
-			final NodeInstance nodeInstance = iterator.next();
-			if (nodeInstance.getNodeId() == nodeId) {
-				result.add(nodeInstance);
-			}
-		}
-		return result;
+		return getNodeInstances(nodeId, nodeInstancesByNodeId);
+	}
+
+	private static List<NodeInstance> getNodeInstances(final long nodeId, final Map<Long, List<NodeInstance>> currentView) {
+		List<NodeInstance> nodeInstances = currentView.get(nodeId);
+		return nodeInstances != null ? new ArrayList<NodeInstance>(nodeInstances) : new ArrayList<NodeInstance>();
 	}
 
 	public List<NodeInstance> getNodeInstances(final long nodeId, final List<NodeInstance> currentView) {
@@ -563,7 +662,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
                 return;                
             }
 
-			List<NodeInstance> currentView = new ArrayList<NodeInstance>(this.nodeInstances);
+			Map<Long, List<NodeInstance>> currentView = new HashMap<Long, List<NodeInstance>>(this.nodeInstancesByNodeId);
 
 			try {
 				this.activatingNodeIds = new ArrayList<String>();
@@ -579,7 +678,7 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 						listener.signalEvent(type, event);
 					}
 				}
-				for (Node node : getWorkflowProcess().getNodes()) {
+				for (Node node : getEventNodes(type)) {
 			        if (node instanceof EventNodeInterface) {
 			            if (((EventNodeInterface) node).acceptsEvent(type, event, getResolver(node, type, currentView))) {
 			                if (node instanceof EventNode && ((EventNode) node).getFrom() == null) {
@@ -633,7 +732,14 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 		}
 	}
 
-	private Function<String, String> getResolver(Node node, String type, List<NodeInstance> currentView) {
+	private List<Node> getEventNodes(String type) {
+	    if (getWorkflowProcess() instanceof WorkflowProcessImpl) {
+	        return ((WorkflowProcessImpl) getWorkflowProcess()).getEventNodesIndex().getNodes(type);
+	    }
+	    return Arrays.asList(getWorkflowProcess().getNodes());
+	}
+
+	private Function<String, String> getResolver(Node node, String type, Map<Long, List<NodeInstance>> currentView) {
         if (node instanceof DynamicNode) {
             // special handling for dynamic node to allow to resolve variables from individual node instances of the dynamic node
             // instead of just relying on process instance's variables
@@ -697,6 +803,14 @@ public abstract class WorkflowProcessInstanceImpl extends ProcessInstanceImpl
 		Map<String, List<EventListener>> eventListeners = external ? this.externalEventListeners : this.eventListeners;
 		List<EventListener> listeners = eventListeners.get(type);
 		if (listeners == null) {
+			if (eventListeners.isEmpty()) {
+				eventListeners = new HashMap<String, List<EventListener>>();
+				if (external) {
+					this.externalEventListeners = eventListeners;
+				} else {
+					this.eventListeners = eventListeners;
+				}
+			}
 			listeners = new CopyOnWriteArrayList<EventListener>();
 			eventListeners.put(type, listeners);
 			if (external) {
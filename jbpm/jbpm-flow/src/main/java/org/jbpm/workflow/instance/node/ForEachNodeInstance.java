@@ -104,7 +104,7 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
             collection = variableScopeInstance.getVariable(collectionExpression);
         } else {
             try {
-                collection = MVELSafeHelper.getEvaluator().eval(collectionExpression, new NodeInstanceResolverFactory(this));
+                collection = MVELSafeHelper.getEvaluator().executeExpression(getForEachNode().getCompiledCollectionExpression(), new NodeInstanceResolverFactory(this));
             } catch (Throwable t) {
                 throw new IllegalArgumentException(
                     "Could not find collection " + collectionExpression);
@@ -239,7 +239,7 @@ public class ForEachNodeInstance extends CompositeContextNodeInstance {
         		return false;
         	}
         	try {
-                Object result = MVELSafeHelper.getEvaluator().eval(expression, new ForEachNodeInstanceResolverFactory(this, tempVariables));
+                Object result = MVELSafeHelper.getEvaluator().executeExpression(getForEachNode().getCompiledCompletionConditionExpression(), new ForEachNodeInstanceResolverFactory(this, tempVariables));
                 if ( !(result instanceof Boolean) ) {
                     throw new RuntimeException( "Completion condition expression must return boolean values: " + result 
                     		+ " for expression " + expression);
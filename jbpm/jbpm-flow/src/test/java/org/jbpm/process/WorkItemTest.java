@@ -22,8 +22,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.drools.core.WorkItemHandlerNotFoundException;
+import org.drools.core.common.InternalAgenda;
+import org.drools.core.common.InternalWorkingMemory;
+import org.drools.core.process.instance.impl.AsyncWorkItemHandler;
 import org.jbpm.process.core.ParameterDefinition;
 import org.jbpm.process.core.Work;
 import org.jbpm.process.core.context.variable.Variable;
@@ -47,6 +53,9 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.process.ProcessInstance;
+import org.kie.api.runtime.process.WorkItem;
+import org.kie.api.runtime.process.WorkItemHandler;
+import org.kie.api.runtime.process.WorkItemManager;
 import org.slf4j.LoggerFactory;
 
 public class WorkItemTest extends AbstractBaseTest {
@@ -147,6 +156,216 @@ public class WorkItemTest extends AbstractBaseTest {
                              processInstance.getState() );
     }
 	
+    @Test
+    public void testAsyncWorkItemHandler() {
+        String processId = "org.drools.actions";
+        String workName = "Unnexistent Task";
+        RuleFlowProcess process = getWorkItemProcess( processId,
+                                                      workName );
+        KieSession ksession = createKieSession(process); 
+        
+        Map<String, Object> output = new HashMap<String, Object>();
+        output.put("Result", "test");
+        
+        List<Runnable> executions = new ArrayList<Runnable>();
+        AsyncWorkItemHandler handler = new AsyncWorkItemHandler(new MockDataWorkItemHandler(output), executions::add);
+        ksession.getWorkItemManager().registerWorkItemHandler( workName,
+                                                               handler );
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put( "UserName",
+                        "John Doe" );
+        parameters.put( "Person",
+                        new Person( "John Doe" ) );
+
+        ProcessInstance processInstance = ksession.startProcess( "org.drools.actions",
+                                                                  parameters );
+        // the work item is only executed when the executor runs it
+        Assert.assertEquals( ProcessInstance.STATE_ACTIVE,
+                             processInstance.getState() );
+        Assert.assertEquals( 1, executions.size() );
+        Assert.assertEquals( 1, handler.getQueueDepth() );
+        
+        executions.get(0).run();
+        
+        Object numberVariable = ((WorkflowProcessInstance)processInstance).getVariable("MyObject");
+        Assert.assertEquals("test", numberVariable);
+        Assert.assertEquals( ProcessInstance.STATE_COMPLETED,
+                             processInstance.getState() );
+        Assert.assertEquals( 0, handler.getQueueDepth() );
+        Assert.assertEquals( 1, handler.getExecutedCount() );
+    }
+	
+    @Test(timeout = 10000)
+    public void testAsyncWorkItemCompletedWhileFiring() throws Exception {
+        String processId = "org.drools.actions";
+        String workName = "Unnexistent Task";
+        RuleFlowProcess process = getWorkItemProcess( processId,
+                                                      workName );
+        KieSession ksession = createKieSession(process); 
+        
+        Map<String, Object> output = new HashMap<String, Object>();
+        output.put("Result", "test");
+        
+        List<Runnable> executions = new ArrayList<Runnable>();
+        AsyncWorkItemHandler handler = new AsyncWorkItemHandler(new MockDataWorkItemHandler(output), executions::add);
+        ksession.getWorkItemManager().registerWorkItemHandler( workName,
+                                                               handler );
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put( "UserName",
+                        "John Doe" );
+        parameters.put( "Person",
+                        new Person( "John Doe" ) );
+
+        ProcessInstance processInstance = ksession.startProcess( "org.drools.actions",
+                                                                  parameters );
+        Assert.assertEquals( 1, executions.size() );
+
+        Thread firing = new Thread( ksession::fireUntilHalt );
+        firing.start();
+        InternalAgenda agenda = ((InternalWorkingMemory) ksession).getAgenda();
+        while ( !agenda.isFiring() ) {
+            Thread.sleep( 10 );
+        }
+
+        // the completion is notified from another thread and applied by the firing one
+        Thread completing = new Thread( executions.get(0) );
+        completing.start();
+        completing.join();
+        while ( processInstance.getState() != ProcessInstance.STATE_COMPLETED ) {
+            Thread.sleep( 10 );
+        }
+        ksession.halt();
+        firing.join();
+
+        Object numberVariable = ((WorkflowProcessInstance)processInstance).getVariable("MyObject");
+        Assert.assertEquals("test", numberVariable);
+        Assert.assertEquals( 0, handler.getQueueDepth() );
+        Assert.assertEquals( 1, handler.getExecutedCount() );
+    }
+	
+    @Test
+    public void testAsyncWorkItemRejected() {
+        String processId = "org.drools.actions";
+        String workName = "Unnexistent Task";
+        RuleFlowProcess process = getWorkItemProcess( processId,
+                                                      workName );
+        KieSession ksession = createKieSession(process); 
+        
+        AsyncWorkItemHandler handler = new AsyncWorkItemHandler(new DoNothingWorkItemHandler(), execution -> {
+            throw new RejectedExecutionException();
+        });
+        ksession.getWorkItemManager().registerWorkItemHandler( workName,
+                                                               handler );
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put( "UserName",
+                        "John Doe" );
+        parameters.put( "Person",
+                        new Person( "John Doe" ) );
+
+        try {
+            ksession.startProcess( "org.drools.actions",
+                                   parameters );
+            Assert.fail( "should fail when the executor rejects the work item" );
+        } catch ( RuntimeException e ) {
+
+        }
+        Assert.assertEquals( 0, handler.getQueueDepth() );
+    }
+	
+    @Test
+    public void testAsyncWorkItemFailureAborted() {
+        String processId = "org.drools.actions";
+        String workName = "Unnexistent Task";
+        RuleFlowProcess process = getWorkItemProcess( processId,
+                                                      workName );
+        KieSession ksession = createKieSession(process); 
+        
+        List<Runnable> executions = new ArrayList<Runnable>();
+        AsyncWorkItemHandler handler = new AsyncWorkItemHandler(new WorkItemHandler() {
+            public void executeWorkItem(WorkItem workItem, WorkItemManager manager) {
+                throw new IllegalStateException( "failing work item" );
+            }
+            public void abortWorkItem(WorkItem workItem, WorkItemManager manager) {
+            }
+        }, executions::add);
+        ksession.getWorkItemManager().registerWorkItemHandler( workName,
+                                                               handler );
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put( "UserName",
+                        "John Doe" );
+        parameters.put( "Person",
+                        new Person( "John Doe" ) );
+
+        ProcessInstance processInstance = ksession.startProcess( "org.drools.actions",
+                                                                  parameters );
+        executions.get(0).run();
+
+        // the failed work item is aborted, so the process continues after it
+        Assert.assertEquals( ProcessInstance.STATE_COMPLETED,
+                             processInstance.getState() );
+        Assert.assertEquals( 0, handler.getExecutedCount() );
+        Assert.assertEquals( 1, handler.getFailedCount() );
+    }
+	
+    @Test(timeout = 10000)
+    public void testAsyncWorkItemAbortedWhileExecuting() throws Exception {
+        String processId = "org.drools.actions";
+        String workName = "Unnexistent Task";
+        RuleFlowProcess process = getWorkItemProcess( processId,
+                                                      workName );
+        KieSession ksession = createKieSession(process); 
+        
+        CountDownLatch started = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+        List<String> events = new CopyOnWriteArrayList<String>();
+        List<Runnable> executions = new ArrayList<Runnable>();
+        AsyncWorkItemHandler handler = new AsyncWorkItemHandler(new WorkItemHandler() {
+            public void executeWorkItem(WorkItem workItem, WorkItemManager manager) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException( e );
+                }
+                events.add( "executed" );
+            }
+            public void abortWorkItem(WorkItem workItem, WorkItemManager manager) {
+                events.add( "aborted" );
+            }
+        }, executions::add);
+        ksession.getWorkItemManager().registerWorkItemHandler( workName,
+                                                               handler );
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put( "UserName",
+                        "John Doe" );
+        parameters.put( "Person",
+                        new Person( "John Doe" ) );
+
+        ProcessInstance processInstance = ksession.startProcess( "org.drools.actions",
+                                                                  parameters );
+        Thread executing = new Thread( executions.get(0) );
+        executing.start();
+        started.await();
+
+        // the abortion waits for the running execution instead of aborting the work item under it
+        Thread aborting = new Thread( () -> ksession.abortProcessInstance( processInstance.getId() ) );
+        aborting.start();
+        Thread.sleep( 100 );
+        Assert.assertTrue( events.isEmpty() );
+
+        release.countDown();
+        executing.join();
+        aborting.join();
+        Assert.assertEquals( 2, events.size() );
+        Assert.assertEquals( "executed", events.get(0) );
+        Assert.assertEquals( "aborted", events.get(1) );
+    }
+	
     @Test
     public void testMockDataWorkItemHandlerCustomFunction() {
         String processId = "org.drools.actions";
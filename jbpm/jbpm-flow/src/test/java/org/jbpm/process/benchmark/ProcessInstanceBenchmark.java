@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.process.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.drools.core.impl.KnowledgeBaseFactory;
+import org.drools.core.impl.KnowledgeBaseImpl;
+import org.jbpm.process.core.context.variable.Variable;
+import org.jbpm.process.core.datatype.impl.type.ObjectDataType;
+import org.jbpm.process.instance.impl.Action;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.workflow.core.DroolsAction;
+import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.impl.ConnectionImpl;
+import org.jbpm.workflow.core.impl.DroolsConsequenceAction;
+import org.jbpm.workflow.core.node.ActionNode;
+import org.jbpm.workflow.core.node.EndNode;
+import org.jbpm.workflow.core.node.StartNode;
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.process.ProcessInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Each operation starts and completes a straight-through process instance, going through numberOfNodes action
+ * nodes, with numberOfVariables declared variables set when it starts. The score is the number of instances per
+ * second. Run it with its main method, that adds the gc profiler: gc.alloc.rate.norm is the number of bytes
+ * allocated per instance.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProcessInstanceBenchmark {
+
+    private static final String PROCESS_ID = "org.jbpm.benchmark";
+
+    @Param({"1", "10"})
+    private int numberOfNodes;
+
+    @Param({"2", "10"})
+    private int numberOfVariables;
+
+    private KieSession ksession;
+    private Map<String, Object> parameters;
+
+    @Setup(Level.Trial)
+    public void setUpSession() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        process.setId(PROCESS_ID);
+        process.setName("benchmark");
+        process.setPackageName("org.jbpm");
+
+        List<Variable> variables = new ArrayList<Variable>();
+        parameters = new HashMap<String, Object>();
+        for (int i = 0; i < numberOfVariables; i++) {
+            Variable variable = new Variable();
+            variable.setName("var" + i);
+            variable.setType(new ObjectDataType("java.lang.Integer"));
+            variables.add(variable);
+            parameters.put("var" + i, i);
+        }
+        process.getVariableScope().setVariables(variables);
+
+        StartNode startNode = new StartNode();
+        startNode.setId(1);
+        process.addNode(startNode);
+        Node previous = startNode;
+        for (int i = 0; i < numberOfNodes; i++) {
+            ActionNode actionNode = new ActionNode();
+            actionNode.setId(i + 2);
+            DroolsAction action = new DroolsConsequenceAction("java", null);
+            action.setMetaData("Action", (Action) context -> context.getVariable("var0"));
+            actionNode.setAction(action);
+            process.addNode(actionNode);
+            new ConnectionImpl(previous, Node.CONNECTION_DEFAULT_TYPE, actionNode, Node.CONNECTION_DEFAULT_TYPE);
+            previous = actionNode;
+        }
+        EndNode endNode = new EndNode();
+        endNode.setId(numberOfNodes + 2);
+        process.addNode(endNode);
+        new ConnectionImpl(previous, Node.CONNECTION_DEFAULT_TYPE, endNode, Node.CONNECTION_DEFAULT_TYPE);
+
+        KieBase kbase = KnowledgeBaseFactory.newKnowledgeBase();
+        ((KnowledgeBaseImpl) kbase).addProcess(process);
+        ksession = kbase.newKieSession();
+    }
+
+    @TearDown(Level.Trial)
+    public void disposeSession() {
+        ksession.dispose();
+    }
+
+    @Benchmark
+    public ProcessInstance startProcess() {
+        return ksession.startProcess(PROCESS_ID, parameters);
+    }
+
+    public static void main( String[] args ) throws Exception {
+        new Runner( new OptionsBuilder()
+                            .include( ProcessInstanceBenchmark.class.getSimpleName() )
+                            .addProfiler( GCProfiler.class )
+                            .build() ).run();
+    }
+}
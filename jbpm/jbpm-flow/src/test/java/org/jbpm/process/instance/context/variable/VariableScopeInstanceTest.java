@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jbpm.process.instance.context.variable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jbpm.process.core.context.variable.Variable;
+import org.jbpm.process.core.context.variable.VariableScope;
+import org.jbpm.process.core.datatype.impl.type.StringDataType;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.ruleflow.instance.RuleFlowProcessInstance;
+import org.jbpm.test.util.AbstractBaseTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+public class VariableScopeInstanceTest extends AbstractBaseTest {
+
+    private RuleFlowProcessInstance processInstance;
+
+    public void addLogger() {
+        logger = LoggerFactory.getLogger(this.getClass());
+    }
+
+    @Before
+    public void createProcessInstance() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        process.setId("org.jbpm.variables");
+        Variable variable = new Variable();
+        variable.setName("declared");
+        variable.setType(new StringDataType());
+        process.getVariableScope().getVariables().add(variable);
+
+        processInstance = new RuleFlowProcessInstance();
+        processInstance.setProcess(process);
+    }
+
+    @Test
+    public void testUnsetAndNullDeclaredVariable() {
+        VariableScopeInstance variableScopeInstance = getVariableScopeInstance();
+        assertNull(variableScopeInstance.getVariable("declared"));
+        assertFalse(variableScopeInstance.getVariables().containsKey("declared"));
+
+        variableScopeInstance.internalSetVariable("declared", "value");
+        assertEquals("value", variableScopeInstance.getVariable("declared"));
+
+        // a variable explicitly set to null is still reported
+        variableScopeInstance.internalSetVariable("declared", null);
+        assertNull(variableScopeInstance.getVariable("declared"));
+        assertTrue(variableScopeInstance.getVariables().containsKey("declared"));
+        assertNull(variableScopeInstance.getVariables().get("declared"));
+    }
+
+    @Test
+    public void testUndeclaredVariable() {
+        VariableScopeInstance variableScopeInstance = getVariableScopeInstance();
+        variableScopeInstance.internalSetVariable("declared", "value");
+        variableScopeInstance.internalSetVariable("undeclared", "other value");
+
+        assertEquals("other value", variableScopeInstance.getVariable("undeclared"));
+        Map<String, Object> variables = variableScopeInstance.getVariables();
+        assertEquals(2, variables.size());
+        assertEquals("value", variables.get("declared"));
+        assertEquals("other value", variables.get("undeclared"));
+    }
+
+    @Test
+    public void testVariablesView() {
+        VariableScopeInstance variableScopeInstance = getVariableScopeInstance();
+        Map<String, Object> variables = variableScopeInstance.getVariables();
+        assertTrue(variables.isEmpty());
+
+        variableScopeInstance.internalSetVariable("declared", "value");
+        assertEquals(Collections.singletonMap("declared", "value"), variables);
+
+        variableScopeInstance.internalSetVariable("declared", "new value");
+        variableScopeInstance.internalSetVariable("undeclared", "other value");
+        Map<String, Object> expected = new HashMap<String, Object>();
+        expected.put("declared", "new value");
+        expected.put("undeclared", "other value");
+        assertEquals(expected, variables);
+        assertEquals(expected, new HashMap<String, Object>(variables));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testVariablesViewUnmodifiable() {
+        VariableScopeInstance variableScopeInstance = getVariableScopeInstance();
+        variableScopeInstance.internalSetVariable("declared", "value");
+        variableScopeInstance.getVariables().put("declared", "new value");
+    }
+
+    @Test
+    public void testVariableSetBeforeContainerAttached() {
+        VariableScope variableScope = (VariableScope) processInstance.getContextContainer().getDefaultContext(VariableScope.VARIABLE_SCOPE);
+        VariableScopeInstance variableScopeInstance = new VariableScopeInstance();
+        variableScopeInstance.internalSetVariable("declared", "value");
+        variableScopeInstance.internalSetVariable("undeclared", "other value");
+
+        variableScopeInstance.setProcessInstance(processInstance);
+        variableScopeInstance.setContextId(variableScope.getId());
+        variableScopeInstance.setContextInstanceContainer(processInstance);
+        assertEquals("value", variableScopeInstance.getVariable("declared"));
+        assertEquals("other value", variableScopeInstance.getVariable("undeclared"));
+
+        // the declared variable was moved to its slot, so the value set afterwards is the only one kept
+        variableScopeInstance.internalSetVariable("declared", null);
+        assertNull(variableScopeInstance.getVariable("declared"));
+        assertTrue(variableScopeInstance.getVariables().containsKey("declared"));
+        assertNull(variableScopeInstance.getVariables().get("declared"));
+        assertEquals(2, variableScopeInstance.getVariables().size());
+    }
+
+    private VariableScopeInstance getVariableScopeInstance() {
+        return (VariableScopeInstance) processInstance.getContextInstance(VariableScope.VARIABLE_SCOPE);
+    }
+}
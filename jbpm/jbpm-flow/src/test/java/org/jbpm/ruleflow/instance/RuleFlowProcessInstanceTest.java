@@ -16,13 +16,25 @@
 
 package org.jbpm.ruleflow.instance;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.drools.core.runtime.process.ProcessRuntimeFactory;
 import org.jbpm.process.instance.ProcessRuntimeFactoryServiceImpl;
+import org.jbpm.process.instance.impl.Action;
 import org.jbpm.ruleflow.core.RuleFlowProcess;
 import org.jbpm.test.util.AbstractBaseTest;
+import org.jbpm.workflow.core.DroolsAction;
+import org.jbpm.workflow.core.Node;
+import org.jbpm.workflow.core.impl.ConnectionImpl;
+import org.jbpm.workflow.core.impl.DroolsConsequenceAction;
+import org.jbpm.workflow.core.node.ActionNode;
+import org.jbpm.workflow.core.node.EndNode;
+import org.jbpm.workflow.core.node.StartNode;
 import org.junit.Test;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.process.ProcessInstance;
@@ -64,4 +76,48 @@ public class RuleFlowProcessInstanceTest extends AbstractBaseTest  {
         assertNotNull(instance);
     }
 
+    @Test
+    public void testStartProcessLongChain() throws Exception {
+        RuleFlowProcess process = new RuleFlowProcess();
+        process.setId(PROCESS_ID);
+        process.setName("test");
+        process.setPackageName("org.mycomp.myprocess");
+
+        final List<Integer> executed = new ArrayList<Integer>();
+        StartNode startNode = new StartNode();
+        startNode.setId(1);
+        process.addNode(startNode);
+        Node previous = startNode;
+        // deep enough to overflow the stack if every node was triggered from within the previous one
+        int length = 5000;
+        for (int i = 0; i < length; i++) {
+            final int index = i;
+            ActionNode actionNode = new ActionNode();
+            actionNode.setId(i + 2);
+            DroolsAction action = new DroolsConsequenceAction("java", null);
+            action.setMetaData("Action", (Action) context -> executed.add(index));
+            actionNode.setAction(action);
+            process.addNode(actionNode);
+            new ConnectionImpl(previous, Node.CONNECTION_DEFAULT_TYPE, actionNode, Node.CONNECTION_DEFAULT_TYPE);
+            previous = actionNode;
+        }
+        EndNode endNode = new EndNode();
+        endNode.setId(length + 2);
+        process.addNode(endNode);
+        new ConnectionImpl(previous, Node.CONNECTION_DEFAULT_TYPE, endNode, Node.CONNECTION_DEFAULT_TYPE);
+
+        KieSession workingMemory = createKieSession(process);
+        ProcessInstance instance;
+        System.setProperty("jbpm.max.trigger.depth", "100");
+        try {
+            instance = workingMemory.startProcess(PROCESS_ID);
+        } finally {
+            System.clearProperty("jbpm.max.trigger.depth");
+        }
+        assertEquals(ProcessInstance.STATE_COMPLETED, instance.getState());
+        assertEquals(length, executed.size());
+        for (int i = 0; i < length; i++) {
+            assertEquals(i, executed.get(i).intValue());
+        }
+    }
 }
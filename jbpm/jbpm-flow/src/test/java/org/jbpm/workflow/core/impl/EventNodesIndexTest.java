@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jbpm.workflow.core.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jbpm.process.core.event.EventTypeFilter;
+import org.jbpm.process.core.event.NonAcceptingEventTypeFilter;
+import org.jbpm.ruleflow.core.RuleFlowProcess;
+import org.jbpm.workflow.core.node.ActionNode;
+import org.jbpm.workflow.core.node.BoundaryEventNode;
+import org.jbpm.workflow.core.node.EventNode;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EventNodesIndexTest {
+
+    @Test
+    public void testNodesByType() {
+        RuleFlowProcess process = new RuleFlowProcess();
+        ActionNode actionNode = new ActionNode();
+        actionNode.setId(1);
+        process.addNode(actionNode);
+        EventNode staticNode = eventNode(2, "signalA");
+        process.addNode(staticNode);
+        EventNode variableNode = eventNode(3, "signal-#{name}");
+        process.addNode(variableNode);
+        BoundaryEventNode boundaryNode = new BoundaryEventNode();
+        boundaryNode.setId(4);
+        boundaryNode.addEventFilter(filter("signalA"));
+        boundaryNode.addEventFilter(filter("signalB"));
+        process.addNode(boundaryNode);
+        EventNode nonAcceptingNode = new EventNode();
+        nonAcceptingNode.setId(5);
+        nonAcceptingNode.addEventFilter(new NonAcceptingEventTypeFilter());
+        process.addNode(nonAcceptingNode);
+
+        EventNodesIndex index = process.getEventNodesIndex();
+        assertEquals(Arrays.asList(staticNode, variableNode, boundaryNode), index.getNodes("signalA"));
+        assertEquals(Arrays.asList(variableNode, boundaryNode), index.getNodes("signalB"));
+        assertEquals(Collections.singletonList(variableNode), index.getNodes("signal-john"));
+
+        // the index is rebuilt when the nodes change
+        EventNode otherNode = eventNode(6, "signalB");
+        process.addNode(otherNode);
+        assertEquals(Arrays.asList(variableNode, boundaryNode, otherNode), process.getEventNodesIndex().getNodes("signalB"));
+    }
+
+    @Test
+    public void testAcceptedTypes() {
+        assertEquals(Collections.singleton("signalA"), EventNodesIndex.getAcceptedTypes(eventNode(1, "signalA")));
+        assertNull(EventNodesIndex.getAcceptedTypes(eventNode(2, "#{signal}")));
+        assertNull(EventNodesIndex.getAcceptedTypes(new ActionNode()));
+    }
+
+    private static EventNode eventNode(long id, String type) {
+        EventNode eventNode = new EventNode();
+        eventNode.setId(id);
+        eventNode.addEventFilter(filter(type));
+        return eventNode;
+    }
+
+    private static EventTypeFilter filter(String type) {
+        EventTypeFilter filter = new EventTypeFilter();
+        filter.setType(type);
+        return filter;
+    }
+}